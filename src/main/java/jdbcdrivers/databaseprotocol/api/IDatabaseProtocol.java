@@ -4,9 +4,10 @@ import java.io.DataInput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.net.URI;
-import java.util.Collection;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.function.IntConsumer;
 
 import jdbcdrivers.generic.GenericResultSetMetaData;
 import jdbcdrivers.generic.ResultRowDecoder;
@@ -29,7 +30,12 @@ public interface IDatabaseProtocol<PREPARED_STATEMENT, DATA_TYPE> {
 
     void setAutoCommit(DataOutputStream dataOutput, DataInput dataInput, boolean on) throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
 
-    void executeQuery(DataOutputStream dataOutput, DataInput dataInput, String sql) throws ProtocolErrorException, IOException;
+    /**
+     * Execute a query.
+     *
+     * @param fetchSize number of rows to request from the database at a time, {@code 0} for database default
+     */
+    void executeQuery(DataOutputStream dataOutput, DataInput dataInput, String sql, int fetchSize) throws ProtocolErrorException, IOException;
 
     int executeUpdate(DataOutputStream dataOutput, DataInput dataInput, String sql) throws ProtocolErrorException, IOException;
 
@@ -40,8 +46,18 @@ public interface IDatabaseProtocol<PREPARED_STATEMENT, DATA_TYPE> {
 
         private final PREPARED_STATEMENT preparedStatement;
         private final int numParameters;
+        private final int numColumns;
 
         public PreparedStatementResult(PREPARED_STATEMENT preparedStatement, int numParameters) {
+            this(preparedStatement, numParameters, 0);
+        }
+
+        /**
+         * @param preparedStatement the prepared statement
+         * @param numParameters number of parameters
+         * @param numColumns number of result columns retained by the prepared statement, for estimating its size when cached
+         */
+        public PreparedStatementResult(PREPARED_STATEMENT preparedStatement, int numParameters, int numColumns) {
 
             Objects.requireNonNull(preparedStatement);
 
@@ -50,8 +66,14 @@ public interface IDatabaseProtocol<PREPARED_STATEMENT, DATA_TYPE> {
                 throw new IllegalArgumentException();
             }
 
+            if (numColumns < 0) {
+
+                throw new IllegalArgumentException();
+            }
+
             this.preparedStatement = preparedStatement;
             this.numParameters = numParameters;
+            this.numColumns = numColumns;
         }
 
         public PREPARED_STATEMENT getPreparedStatement() {
@@ -61,27 +83,67 @@ public interface IDatabaseProtocol<PREPARED_STATEMENT, DATA_TYPE> {
         public int getNumParameters() {
             return numParameters;
         }
+
+        public int getNumColumns() {
+            return numColumns;
+        }
     }
 
     PreparedStatementResult<PREPARED_STATEMENT> prepareStatement(DataOutputStream dataOutput, DataInput dataInput, String sql, GenericStatementExecutionOptions statementParameters)
             throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
 
+    /**
+     * Execute a prepared query.
+     *
+     * @param fetchSize number of rows to request from the database at a time, {@code 0} for database default
+     */
     void executePreparedQuery(PREPARED_STATEMENT preparedStatement, DataOutputStream dataOutput, DataInput dataInput,
-            IGenericPreparedStatementParameterGetters preparedStatementParameters, StringEncoder stringEncoder)
+            IGenericPreparedStatementParameterGetters preparedStatementParameters, StringEncoder stringEncoder, int fetchSize)
                     throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
 
     int executePreparedUpdate(PREPARED_STATEMENT preparedStatement, DataOutputStream dataOutput, DataInput dataInput,
             IGenericPreparedStatementParameterGetters preparedStatementParameters, StringEncoder stringEncoder)
                     throws ProtocolErrorException, ProtocolErrorCodeException,  IOException;
 
+    /**
+     * Write a prepared update to {@code dataOutput} without flushing, so that several updates may be sent before reading any responses.
+     */
+    void sendPreparedUpdate(PREPARED_STATEMENT preparedStatement, DataOutputStream dataOutput, IGenericPreparedStatementParameterGetters preparedStatementParameters,
+            StringEncoder stringEncoder) throws IOException;
+
+    /**
+     * Receive the response to a prepared update previously sent by {@link #sendPreparedUpdate(Object, DataOutputStream, IGenericPreparedStatementParameterGetters, StringEncoder)}.
+     *
+     * @throws ProtocolErrorCodeException if the database returned an error for this update, the response is then completely read so that responses
+     *                                     to any subsequently sent updates may still be received
+     */
+    int receivePreparedUpdateResponse(PREPARED_STATEMENT preparedStatement, DataInput dataInput) throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
+
     void closePreparedStatement(PREPARED_STATEMENT preparedStatement, DataOutputStream dataOutput, DataInput dataInput)
             throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
 
-    int[] executeBatches(PREPARED_STATEMENT preparedStatement, Collection<? extends IGenericPreparedStatementParameterGetters> batches, DataOutputStream dataOutput,
-            DataInput dataInput, StringEncoder stringEncoder) throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
+    /**
+     * Execute batches, sending rows in frames of about {@code maxFrameBytes} and receiving the responses to each frame before sending the next,
+     * so that memory use does not depend on the number of rows.
+     *
+     * @param updateCountsDst receives the update count of each row, in order
+     */
+    void executeBatches(PREPARED_STATEMENT preparedStatement, Iterator<? extends IGenericPreparedStatementParameterGetters> batches, int maxFrameBytes,
+            DataOutputStream dataOutput, DataInput dataInput, StringEncoder stringEncoder, IntConsumer updateCountsDst)
+                    throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
 
     void sendBegin(DataOutputStream dataOutput, DataInput dataInput) throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
 
+    /**
+     * Write a begin transaction request to {@code dataOutput} without flushing, for sending together with subsequent requests.
+     */
+    void sendBeginRequest(DataOutputStream dataOutput) throws IOException;
+
+    /**
+     * Receive the response to a begin transaction request previously sent by {@link #sendBeginRequest(DataOutputStream)}.
+     */
+    void receiveBeginResponse(DataInput dataInput) throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
+
     void sendCommit(DataOutputStream dataOutput, DataInput dataInput) throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
 
     GenericResultSetMetaData<DATA_TYPE> retrieveResultMetaData(DataInput dataInput) throws ProtocolErrorException, IOException;
@@ -89,7 +151,7 @@ public interface IDatabaseProtocol<PREPARED_STATEMENT, DATA_TYPE> {
     GenericResultSetMetaData<DATA_TYPE> retrievePreparedResultMetaData(DataInput dataInput, PREPARED_STATEMENT preparedStatement)
             throws ProtocolErrorException, IOException;
 
-    void retrieveResultRows(DataInput dataInput, byte[] dst, int maxRowsToRetrieve, int numBytesPerRow, IRetrievedRows retrievedRows)
+    void retrieveResultRows(DataInput dataInput, IResultRowsDestination dst, int maxRowsToRetrieve, int numBytesPerRow, IRetrievedRows retrievedRows)
             throws ProtocolErrorException, ProtocolErrorCodeException, IOException;
 
     @Deprecated // currently not in use
@@ -0,0 +1,27 @@
+package jdbcdrivers.databaseprotocol.api;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * Destination for result row bytes, row bytes are read directly from protocol input into the buffer they are later decoded from.
+ */
+public interface IResultRowsDestination {
+
+    /**
+     * Get the number of bytes there is room for in the destination.
+     *
+     * @return remaining number of bytes that may be received
+     */
+    long getRemainingCapacity();
+
+    /**
+     * Receive the bytes of a row directly from protocol input.
+     *
+     * @param dataInput {@link DataInput} to read row bytes from
+     * @param numBytes the number of bytes in the row
+     *
+     * @throws IOException if reading from {@code dataInput} failed
+     */
+    void receiveRowBytes(DataInput dataInput, int numBytes) throws IOException;
+}
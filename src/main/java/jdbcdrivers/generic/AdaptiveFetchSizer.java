@@ -0,0 +1,125 @@
+package jdbcdrivers.generic;
+
+/**
+ * Decides how many rows to retrieve at a time from observed retrievals, for result sets without an explicit fetch size.
+ *
+ * Retrieves enough rows that the round-trip time is a small fraction of the time the consumer spends processing them, so that fast consumers
+ * retrieve large batches while slow consumers do not buffer more rows than needed. The number of rows is also limited to how many rows of
+ * the observed average length fit in the receive buffer, which may be more than if every row was of max length.
+ */
+final class AdaptiveFetchSizer {
+
+    private static final boolean DEBUG = Boolean.FALSE;
+
+    // Round-trip time should be at most 1 / this of consumer time for the rows retrieved
+    private static final int ROUND_TRIP_TO_CONSUMER_TIME_FACTOR = 8;
+
+    // Weight of previous value in moving averages, out of 1 << AVERAGE_SHIFT
+    private static final int AVERAGE_SHIFT = 2;
+    private static final int AVERAGE_PREVIOUS_WEIGHT = 3;
+
+    private final int maxRows;
+    private final int maxBytesPerRow;
+    private final int bufferSize;
+
+    private int numRowsToRetrieve;
+
+    // Moving averages, 0 if not yet observed
+    private long averageRowBytes;
+    private long averageRoundTripNanos;
+    private long averageConsumerNanosPerRow;
+
+    /**
+     * @param initialRows number of rows for first retrieval
+     * @param maxRows max number of rows to retrieve at a time
+     * @param maxBytesPerRow max number of bytes of a row
+     * @param bufferSize number of bytes of receive buffer
+     */
+    AdaptiveFetchSizer(int initialRows, int maxRows, int maxBytesPerRow, int bufferSize) {
+
+        if (maxRows < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (initialRows < 1 || initialRows > maxRows) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (maxBytesPerRow < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (bufferSize < maxBytesPerRow) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.maxRows = maxRows;
+        this.maxBytesPerRow = maxBytesPerRow;
+        this.bufferSize = bufferSize;
+
+        this.numRowsToRetrieve = initialRows;
+    }
+
+    int getNumRowsToRetrieve() {
+        return numRowsToRetrieve;
+    }
+
+    /**
+     * Update from a completed retrieval.
+     *
+     * @param numRows number of rows retrieved
+     * @param numBytes number of bytes of rows retrieved
+     * @param roundTripNanos time spent retrieving the rows
+     * @param consumerNanos time the consumer spent processing the rows of the previous retrieval, 0 if no previous retrieval
+     * @param numPreviousRows number of rows of the previous retrieval, 0 if no previous retrieval
+     */
+    void onRetrieved(int numRows, int numBytes, long roundTripNanos, long consumerNanos, int numPreviousRows) {
+
+        if (numRows < 0 || numBytes < 0 || roundTripNanos < 0L || consumerNanos < 0L || numPreviousRows < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (numRows > 0) {
+
+            this.averageRowBytes = average(averageRowBytes, Math.max(numBytes / numRows, 1));
+        }
+
+        this.averageRoundTripNanos = average(averageRoundTripNanos, Math.max(roundTripNanos, 1L));
+
+        if (numPreviousRows > 0) {
+
+            this.averageConsumerNanosPerRow = average(averageConsumerNanosPerRow, Math.max(consumerNanos / numPreviousRows, 1L));
+        }
+
+        // Rows of average length that fit in buffer, receiving stops when less than max row length remains
+        final long rowsForBuffer = averageRowBytes != 0L
+                ? (bufferSize - maxBytesPerRow) / averageRowBytes + 1
+                : bufferSize / maxBytesPerRow;
+
+        // Until consumer time is known, assume fast consumer
+        final long rowsForConsumer = averageConsumerNanosPerRow != 0L
+                ? averageRoundTripNanos * ROUND_TRIP_TO_CONSUMER_TIME_FACTOR / averageConsumerNanosPerRow + 1
+                : Long.MAX_VALUE;
+
+        // Grow at most by doubling, so that a single outlier does not overshoot, but shrink right away
+        final long rows = Math.min(Math.min(rowsForBuffer, rowsForConsumer), (long)numRowsToRetrieve * 2);
+
+        this.numRowsToRetrieve = (int)Math.max(Math.min(rows, maxRows), 1L);
+
+        if (DEBUG) {
+
+            System.out.println("adaptive fetch size averageRowBytes=" + averageRowBytes + " averageRoundTripNanos=" + averageRoundTripNanos
+                    + " averageConsumerNanosPerRow=" + averageConsumerNanosPerRow + " numRowsToRetrieve=" + numRowsToRetrieve);
+        }
+    }
+
+    private static long average(long average, long value) {
+
+        return average != 0L ? (average * AVERAGE_PREVIOUS_WEIGHT + value) >>> AVERAGE_SHIFT : value;
+    }
+}
@@ -0,0 +1,121 @@
+package jdbcdrivers.generic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Reusable {@link CharSequence} view over 7-bit ASCII string bytes, for comparing or hashing string column values without decoding to a {@link String}.
+ *
+ * The hash code is the same as that of the equal {@link String}, though instances are only equal to other instances of this class.
+ */
+public final class AsciiCharSequence implements CharSequence {
+
+    private byte[] bytes;
+    private int offset;
+    private int length;
+
+    /**
+     * View a range of bytes all known to be 7-bit ASCII.
+     *
+     * @param bytes the bytes
+     * @param offset offset of string into {@code bytes}
+     * @param length number of bytes of string
+     */
+    public void init(byte[] bytes, int offset, int length) {
+
+        Objects.requireNonNull(bytes);
+
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+
+        if (index < 0 || index >= length) {
+
+            throw new IndexOutOfBoundsException();
+        }
+
+        return (char)bytes[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+
+        return toString().subSequence(start, end);
+    }
+
+    /**
+     * Compare characters to any {@link CharSequence}.
+     *
+     * @param other the {@link CharSequence} to compare to
+     *
+     * @return {@code true} if same characters, {@code false} otherwise
+     */
+    public boolean contentEquals(CharSequence other) {
+
+        boolean equals = other.length() == length;
+
+        for (int i = 0; equals && i < length; ++ i) {
+
+            equals = other.charAt(i) == bytes[offset + i];
+        }
+
+        return equals;
+    }
+
+    @Override
+    public int hashCode() {
+
+        int hashCode = 0;
+
+        for (int i = 0; i < length; ++ i) {
+
+            hashCode = 31 * hashCode + bytes[offset + i];
+        }
+
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+
+        final boolean result;
+
+        if (this == object) {
+
+            result = true;
+        }
+        else if (object == null) {
+
+            result = false;
+        }
+        else if (getClass() != object.getClass()) {
+
+            result = false;
+        }
+        else {
+            result = contentEquals((AsciiCharSequence)object);
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -2,10 +2,14 @@ package jdbcdrivers.generic;
 
 import java.math.BigDecimal;
 import java.sql.JDBCType;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
 
+import jdbcdrivers.generic.api.ColumnBatch;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.ProtocolStateException;
 import jdbcdrivers.generic.exceptions.ResultSetClosedException;
 import jdbcdrivers.generic.exceptions.WrongColumnTypeException;
 
@@ -73,8 +77,27 @@ abstract class BaseByteSequenceResultSet<PREPARED_STATEMENT, DATA_TYPE> extends
     private long bufferedRowsByteOffset;
     private long numBufferedRowBytes;
 
+    // Offsets of columns relative to start of current row, computed on first access to a column not at a constant offset
+    private final int[] rowColumnOffsets;
+    private boolean rowColumnOffsetsComputed;
+
+    // Incremented for every row, so that values decoded for previous rows need not be cleared
+    private long rowNumber;
+
+    // Values decoded per column and the row number they were decoded for, allocated on first decode
+    private Object[] decodedValues;
+    private long[] decodedValueRowNumbers;
+
+    // Views over string bytes per column, allocated on first use
+    private AsciiCharSequence[] charSequences;
+
+    private final boolean stringDictionaries;
+
+    // Dictionaries of decoded strings per column if enabled, allocated on first use
+    private StringDictionary[] columnStringDictionaries;
+
     BaseByteSequenceResultSet(PREPARED_STATEMENT preparedStatement, ResultSetClosing resultSetClosing, GenericResultSetMetaData<DATA_TYPE> metaData,
-            ResultRowDecoder<DATA_TYPE> resultRowDecoder) {
+            ResultRowDecoder<DATA_TYPE> resultRowDecoder, boolean stringDictionaries) {
         super(preparedStatement, resultSetClosing, metaData, resultRowDecoder);
 
         this.resultRowDecoder = Objects.requireNonNull(resultRowDecoder);
@@ -86,6 +109,17 @@ abstract class BaseByteSequenceResultSet<PREPARED_STATEMENT, DATA_TYPE> extends
 
         this.bufferedRowsByteOffset = 0L;
         this.numBufferedRowBytes = 0L;
+
+        this.rowColumnOffsets = new int[metaData.getNumColumns()];
+        this.rowColumnOffsetsComputed = false;
+
+        this.rowNumber = 0L;
+
+        this.stringDictionaries = stringDictionaries;
+    }
+
+    final boolean isStringDictionaries() {
+        return stringDictionaries;
     }
 
     @Override
@@ -101,23 +135,40 @@ abstract class BaseByteSequenceResultSet<PREPARED_STATEMENT, DATA_TYPE> extends
 
             throw new IllegalStateException();
         }
+        else if (isClosed()) {
+
+            // Must not retrieve rows of any query executed since on the same connection, e.g. after returned to a connection pool
+            throw new ProtocolStateException();
+        }
         else if (numBufferedRows == 0L || bufferRowIndex == numBufferedRows - 1L) {
 
             // No more data buffered, retrieve more
             this.numBufferedRows = retrieveMoreRows();
             this.bufferRowIndex = 0L;
             this.bufferedRowsByteOffset = 0L;
-            this.numBufferedRowBytes = 0L;
+            this.numBufferedRowBytes = getNumRowBytes(numBufferedRows);
         }
         else {
-            // More data available from buffers
-            ++ this.bufferRowIndex;
+            // More data available from buffers, rows of constant length at multiples of row length, otherwise skip past current row
+            final int constantRowLength = getConstantRowLength();
 
-            getBytesResult(bufferedRowsByteOffset, bytesResult);
+            if (constantRowLength != NO_CONSTANT_ROW_LENGTH) {
+
+                ++ this.bufferRowIndex;
 
-            this.bufferedRowsByteOffset += getRowLength(bufferRowIndex);
+                this.bufferedRowsByteOffset = bufferRowIndex * constantRowLength;
+            }
+            else {
+                this.bufferedRowsByteOffset += getRowLength(bufferRowIndex);
+
+                ++ this.bufferRowIndex;
+            }
         }
 
+        this.rowColumnOffsetsComputed = false;
+
+        ++ this.rowNumber;
+
         final boolean hasNext = numBufferedRows > 0L;
 
         if (DEBUG) {
@@ -136,12 +187,129 @@ abstract class BaseByteSequenceResultSet<PREPARED_STATEMENT, DATA_TYPE> extends
 
         final Column<DATA_TYPE> column = checkNotClosedAndGetColumn(index, stringJDBCTypes);
 
-        getBytesResult(bufferedRowsByteOffset, bytesResult);
+        final Object decodedValue = getDecodedValue(index);
 
-        final byte[] bytes = bytesResult.getBytes();
-        final int rowColumnBytesOffset = getResultRowColumnBytesOffset(bytes, bytesResult.getBytesOffset(), column, index);
+        final String result;
+
+        if (decodedValue instanceof String) {
+
+            result = (String)decodedValue;
+        }
+        else {
+            getBytesResult(bufferedRowsByteOffset, bytesResult);
 
-        return resultRowDecoder.decodeString(bytesResult.getBytes(), bytesResult.getByteBuffer(), column.getDataType(), rowColumnBytesOffset, column.getLength(), cachedValues);
+            final byte[] bytes = bytesResult.getBytes();
+            final int rowColumnBytesOffset = getResultRowColumnBytesOffset(bytes, bytesResult.getBytesOffset(), column, index);
+
+            result = decodeString(bytes, column, index, rowColumnBytesOffset);
+
+            setDecodedValue(index, result);
+        }
+
+        return result;
+    }
+
+    private String decodeString(byte[] bytes, Column<DATA_TYPE> column, int index, int rowColumnBytesOffset) {
+
+        final DATA_TYPE dataType = column.getDataType();
+        final int length = column.getLength();
+
+        final StringDictionary stringDictionary = getStringDictionary(index);
+
+        String result;
+
+        if (stringDictionary != null) {
+
+            final int stringBytesOffset = resultRowDecoder.getStringBytesOffset(bytes, dataType, rowColumnBytesOffset, length);
+            final int stringBytesLength = resultRowDecoder.getStringBytesLength(bytes, dataType, rowColumnBytesOffset, length);
+
+            result = stringDictionary.get(bytes, stringBytesOffset, stringBytesLength);
+
+            if (result == null) {
+
+                result = resultRowDecoder.decodeString(bytes, bytesResult.getByteBuffer(), dataType, rowColumnBytesOffset, length, cachedValues);
+
+                stringDictionary.put(bytes, stringBytesOffset, stringBytesLength, result);
+            }
+        }
+        else {
+            result = resultRowDecoder.decodeString(bytes, bytesResult.getByteBuffer(), dataType, rowColumnBytesOffset, length, cachedValues);
+        }
+
+        return result;
+    }
+
+    private StringDictionary getStringDictionary(int index) {
+
+        StringDictionary result;
+
+        if (stringDictionaries) {
+
+            if (columnStringDictionaries == null) {
+
+                this.columnStringDictionaries = new StringDictionary[getMetaData().getNumColumns()];
+            }
+
+            result = columnStringDictionaries[index];
+
+            if (result == null) {
+
+                result = columnStringDictionaries[index] = new StringDictionary();
+            }
+            else if (!result.isEnabled()) {
+
+                result = null;
+            }
+        }
+        else {
+            result = null;
+        }
+
+        return result;
+    }
+
+    @Override
+    public final CharSequence getCharSequence(int index) throws ResultSetClosedException, WrongColumnTypeException {
+
+        final Column<DATA_TYPE> column = checkNotClosedAndGetColumn(index, stringJDBCTypes);
+
+        final Object decodedValue = getDecodedValue(index);
+
+        final CharSequence result;
+
+        if (decodedValue instanceof String) {
+
+            result = (String)decodedValue;
+        }
+        else {
+            getBytesResult(bufferedRowsByteOffset, bytesResult);
+
+            final byte[] bytes = bytesResult.getBytes();
+            final int rowColumnBytesOffset = getResultRowColumnBytesOffset(bytes, bytesResult.getBytesOffset(), column, index);
+
+            if (charSequences == null) {
+
+                this.charSequences = new AsciiCharSequence[getMetaData().getNumColumns()];
+            }
+
+            AsciiCharSequence charSequence = charSequences[index];
+
+            if (charSequence == null) {
+
+                charSequence = charSequences[index] = new AsciiCharSequence();
+            }
+
+            result = resultRowDecoder.decodeCharSequence(bytesResult.getBytes(), bytesResult.getByteBuffer(), column.getDataType(), rowColumnBytesOffset,
+                    column.getLength(), charSequence, cachedValues);
+
+            // Only memoize if decoded, a view is not retained
+            if (result instanceof String) {
+
+                setDecodedValue(index, result);
+            }
+        }
+
+        return result;
     }
 
     @Override
@@ -298,12 +466,206 @@ abstract class BaseByteSequenceResultSet<PREPARED_STATEMENT, DATA_TYPE> extends
 
         final Column<DATA_TYPE> column = checkNotClosedAndGetColumn(index);
 
-        getBytesResult(bufferedRowsByteOffset, bytesResult);
+        final Object decodedValue = getDecodedValue(index);
 
-        final byte[] bytes = bytesResult.getBytes();
-        final int rowColumnBytesOffset = getResultRowColumnBytesOffset(bytes, bytesResult.getBytesOffset(), column, index);
+        final Object result;
 
-        return resultRowDecoder.decodeObject(bytesResult.getBytes(), bytesResult.getByteBuffer(), column.getDataType(), rowColumnBytesOffset, column.getLength(), cachedValues);
+        if (decodedValue != null) {
+
+            result = decodedValue;
+        }
+        else {
+            getBytesResult(bufferedRowsByteOffset, bytesResult);
+
+            final byte[] bytes = bytesResult.getBytes();
+            final int rowColumnBytesOffset = getResultRowColumnBytesOffset(bytes, bytesResult.getBytesOffset(), column, index);
+
+            // String values through any dictionary
+            result = stringDictionaries && stringJDBCTypes.contains(column.getJDBCType())
+                    ? decodeString(bytes, column, index, rowColumnBytesOffset)
+                    : resultRowDecoder.decodeObject(bytesResult.getBytes(), bytesResult.getByteBuffer(), column.getDataType(), rowColumnBytesOffset,
+                            column.getLength(), cachedValues);
+
+            setDecodedValue(index, result);
+        }
+
+        return result;
+    }
+
+    private Object getDecodedValue(int index) {
+
+        return decodedValues != null && decodedValueRowNumbers[index] == rowNumber ? decodedValues[index] : null;
+    }
+
+    private void setDecodedValue(int index, Object value) {
+
+        if (decodedValues == null) {
+
+            final int numColumns = getMetaData().getNumColumns();
+
+            this.decodedValues = new Object[numColumns];
+            this.decodedValueRowNumbers = new long[numColumns];
+        }
+
+        decodedValues[index] = value;
+        decodedValueRowNumbers[index] = rowNumber;
+    }
+
+    @Override
+    public final int nextBatch(ColumnBatch columnBatch) throws ResultSetClosedException, WrongColumnTypeException, GenericProtocolException {
+
+        Objects.requireNonNull(columnBatch);
+
+        final int numSelectedColumns = columnBatch.getNumSelectedColumns();
+        final int capacity = columnBatch.getCapacity();
+
+        final List<Column<DATA_TYPE>> batchColumns = new ArrayList<>(numSelectedColumns);
+
+        // Check all columns before moving past any rows
+        for (int i = 0; i < numSelectedColumns; ++ i) {
+
+            final int index = columnBatch.getColumnIndex(i);
+
+            final Column<DATA_TYPE> column;
+
+            switch (columnBatch.getVectorType(i)) {
+
+            case INT:
+
+                column = checkNotClosedAndGetColumn(index, JDBCType.INTEGER);
+                break;
+
+            case LONG:
+
+                column = checkNotClosedAndGetColumn(index, JDBCType.BIGINT);
+                break;
+
+            case DOUBLE:
+
+                column = checkNotClosedAndGetColumn(index, JDBCType.DOUBLE);
+                break;
+
+            case STRING:
+
+                column = checkNotClosedAndGetColumn(index, stringJDBCTypes);
+
+                if (columnBatch.getStringBytes(i).length < (long)capacity * column.getLength()) {
+
+                    throw new IllegalArgumentException();
+                }
+                break;
+
+            default:
+                throw new UnsupportedOperationException();
+            }
+
+            if (columnBatch.getNulls(i) != null && !resultRowDecoder.canDecodeNull(column.getDataType())) {
+
+                throw new IllegalArgumentException();
+            }
+
+            batchColumns.add(column);
+        }
+
+        int numRows = 0;
+
+        while (numRows < capacity && next()) {
+
+            // Decode directly from row bytes
+            getBytesResult(bufferedRowsByteOffset, bytesResult);
+
+            final byte[] bytes = bytesResult.getBytes();
+            final int bytesOffset = bytesResult.getBytesOffset();
+
+            for (int i = 0; i < numSelectedColumns; ++ i) {
+
+                final Column<DATA_TYPE> column = batchColumns.get(i);
+
+                final int rowColumnBytesOffset = getResultRowColumnBytesOffset(bytes, bytesOffset, column, columnBatch.getColumnIndex(i));
+
+                decodeBatchColumn(columnBatch, i, numRows, column, bytes, rowColumnBytesOffset);
+            }
+
+            ++ numRows;
+        }
+
+        return numRows;
+    }
+
+    private void decodeBatchColumn(ColumnBatch columnBatch, int selectedIndex, int rowIndex, Column<DATA_TYPE> column, byte[] bytes, int rowColumnBytesOffset) {
+
+        final DATA_TYPE dataType = column.getDataType();
+        final int length = column.getLength();
+
+        final long[] nulls = columnBatch.getNulls(selectedIndex);
+
+        if (nulls != null) {
+
+            final long bit = 1L << rowIndex;
+
+            if (resultRowDecoder.isNull(bytes, dataType, rowColumnBytesOffset, length)) {
+
+                nulls[rowIndex >>> 6] |= bit;
+            }
+            else {
+                nulls[rowIndex >>> 6] &= ~bit;
+            }
+        }
+
+        switch (columnBatch.getVectorType(selectedIndex)) {
+
+        case INT:
+
+            columnBatch.getIntValues(selectedIndex)[rowIndex] = resultRowDecoder.decodeInt(bytes, dataType, rowColumnBytesOffset, length);
+            break;
+
+        case LONG:
+
+            columnBatch.getLongValues(selectedIndex)[rowIndex] = resultRowDecoder.decodeLong(bytes, dataType, rowColumnBytesOffset, length);
+            break;
+
+        case DOUBLE:
+
+            columnBatch.getDoubleValues(selectedIndex)[rowIndex] = resultRowDecoder.decodeDouble(bytes, dataType, rowColumnBytesOffset, length);
+            break;
+
+        case STRING:
+
+            final int[] offsets = columnBatch.getStringOffsets(selectedIndex);
+
+            // Strings follow each other, end of one is start of next
+            final int stringOffset = rowIndex == 0 ? 0 : offsets[rowIndex];
+
+            offsets[rowIndex] = stringOffset;
+            offsets[rowIndex + 1] = stringOffset + resultRowDecoder.decodeStringBytes(bytes, dataType, rowColumnBytesOffset, length,
+                    columnBatch.getStringBytes(selectedIndex), stringOffset);
+            break;
+
+        default:
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Position on the first of buffered rows, as if returned from {@link #retrieveMoreRows()} by the first call to {@link #next()}.
+     *
+     * @param numRows number of buffered rows
+     */
+    final void positionOnFirstRow(long numRows) {
+
+        if (rowNumber != 0L || numRows <= 0L) {
+
+            throw new IllegalStateException();
+        }
+
+        this.numBufferedRows = numRows;
+        this.bufferRowIndex = 0L;
+        this.bufferedRowsByteOffset = 0L;
+        this.numBufferedRowBytes = getNumRowBytes(numRows);
+
+        this.rowColumnOffsetsComputed = false;
+
+        ++ this.rowNumber;
     }
 
     final BufferedResultSet<PREPARED_STATEMENT, DATA_TYPE> readRemainingToBuffer() throws GenericProtocolException {
@@ -320,11 +682,44 @@ abstract class BaseByteSequenceResultSet<PREPARED_STATEMENT, DATA_TYPE> extends
         return resultRowDecoder;
     }
 
+    private long getNumRowBytes(long numRows) {
+
+        final int constantRowLength = getConstantRowLength();
+
+        if (constantRowLength != NO_CONSTANT_ROW_LENGTH) {
+
+            return numRows * constantRowLength;
+        }
+
+        long numBytes = 0L;
+
+        for (long i = 0L; i < numRows; ++ i) {
+
+            numBytes += getRowLength(i);
+        }
+
+        return numBytes;
+    }
+
     private int getResultRowColumnBytesOffset(byte[] resultRowBytes, int bytesOffset, Column<DATA_TYPE> column, int index) {
 
-        final int result = column.isRetrieveByOffset()
-                ? bytesOffset + column.getByteArrayRowOffset()
-                : getResultRowDecoder().findRowColumnOffset(resultRowBytes, getMetaData(), bytesOffset, index);
+        final int result;
+
+        if (column.isRetrieveByOffset()) {
+
+            result = bytesOffset + column.getByteArrayRowOffset();
+        }
+        else {
+            // Find all column offsets at once instead of skipping preceding columns for every column accessed
+            if (!rowColumnOffsetsComputed) {
+
+                getResultRowDecoder().findRowColumnOffsets(resultRowBytes, getMetaData(), bytesOffset, rowColumnOffsets);
+
+                this.rowColumnOffsetsComputed = true;
+            }
+
+            result = bytesOffset + rowColumnOffsets[index];
+        }
 
         if (DEBUG) {
 
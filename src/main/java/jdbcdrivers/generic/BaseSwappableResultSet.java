@@ -3,6 +3,7 @@ package jdbcdrivers.generic;
 import java.math.BigDecimal;
 import java.util.Objects;
 
+import jdbcdrivers.generic.api.ColumnBatch;
 import jdbcdrivers.generic.api.IGenericResultSetMetaData;
 import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
@@ -28,6 +29,9 @@ abstract class BaseSwappableResultSet extends GenericResultSet {
     @Override
     public final void close() throws AlreadyClosedException, GenericProtocolException {
 
+        // Already removed from the connection if closed
+        getDelegate().checkNotAlreadyClosed();
+
         try {
             getDelegate().close();
         }
@@ -42,6 +46,18 @@ abstract class BaseSwappableResultSet extends GenericResultSet {
         return getDelegate().next();
     }
 
+    @Override
+    public final CharSequence getCharSequence(int index) throws ResultSetClosedException, WrongColumnTypeException {
+
+        return getDelegate().getCharSequence(index);
+    }
+
+    @Override
+    public final int nextBatch(ColumnBatch columnBatch) throws ResultSetClosedException, WrongColumnTypeException, GenericProtocolException {
+
+        return getDelegate().nextBatch(columnBatch);
+    }
+
     @Override
     public final String getString(int index) throws ResultSetClosedException, WrongColumnTypeException {
 
@@ -1,8 +1,11 @@
 package jdbcdrivers.generic;
 
+import java.io.IOException;
 import java.util.Objects;
 
+import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.ProtocolIOException;
 import jdbcdrivers.util.IntLargeArray;
 
 /**
@@ -14,14 +17,61 @@ import jdbcdrivers.util.IntLargeArray;
 final class BufferedResultSet<PREPARED_STATEMENT, DATA_TYPE> extends BaseByteSequenceResultSet<PREPARED_STATEMENT, DATA_TYPE> {
 
     private final ResultSetBuffer resultSetBuffer;
+
+    // Null if rows are of constant length
     private final IntLargeArray rowLengths;
 
+    // Number of buffered rows not yet returned from retrieveMoreRows(), all returned at once
+    private long numRowsToRetrieve;
+
+    /**
+     * @param numRows number of rows in {@code resultSetBuffer}
+     * @param onFirstRow whether positioned on the first row, when continuing from the current row of a result set that was buffered,
+     *                   otherwise before the first row
+     */
     BufferedResultSet(PREPARED_STATEMENT preparedStatement, ResultSetClosing resultSetClosing, GenericResultSetMetaData<DATA_TYPE> metaData,
-            ResultRowDecoder<DATA_TYPE> resultRowDecoder, ResultSetBuffer resultSetBuffer, IntLargeArray rowLengths) {
-        super(preparedStatement, resultSetClosing, metaData, resultRowDecoder);
+            ResultRowDecoder<DATA_TYPE> resultRowDecoder, boolean stringDictionaries, ResultSetBuffer resultSetBuffer, IntLargeArray rowLengths,
+            long numRows, boolean onFirstRow) {
+        super(preparedStatement, resultSetClosing, metaData, resultRowDecoder, stringDictionaries);
 
         this.resultSetBuffer = Objects.requireNonNull(resultSetBuffer);
+
+        if (rowLengths == null && getConstantRowLength() == NO_CONSTANT_ROW_LENGTH) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (numRows < 0L || numRows > Integer.MAX_VALUE || (onFirstRow && numRows == 0L)) {
+
+            throw new IllegalArgumentException();
+        }
+
         this.rowLengths = rowLengths;
+
+        if (onFirstRow) {
+
+            positionOnFirstRow(numRows);
+
+            this.numRowsToRetrieve = 0L;
+        }
+        else {
+            this.numRowsToRetrieve = numRows;
+        }
+    }
+
+    @Override
+    public void close() throws AlreadyClosedException, GenericProtocolException {
+
+        super.close();
+
+        // Release any off heap chunks and delete any spill file
+        try {
+            resultSetBuffer.close();
+        }
+        catch (IOException ex) {
+
+            throw new ProtocolIOException(ex);
+        }
     }
 
     @Override
@@ -40,12 +90,16 @@ final class BufferedResultSet<PREPARED_STATEMENT, DATA_TYPE> extends BaseByteSeq
     @Override
     int retrieveMoreRows() throws GenericProtocolException {
 
-        throw new UnsupportedOperationException();
+        final int numRows = (int)numRowsToRetrieve;
+
+        this.numRowsToRetrieve = 0L;
+
+        return numRows;
     }
 
     @Override
     int getRowLength(long rowIndex) {
 
-        return rowLengths.getValue(rowIndex);
+        return rowLengths != null ? rowLengths.getValue(rowIndex) : getConstantRowLength();
     }
 }
@@ -0,0 +1,74 @@
+package jdbcdrivers.generic;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.Objects;
+
+import jdbcdrivers.databaseprotocol.api.IResultRowsDestination;
+
+/**
+ * Reusable destination for receiving result rows into a byte array.
+ */
+final class ByteArrayResultRowsDestination implements IResultRowsDestination {
+
+    private final byte[] bytes;
+    private final int capacity;
+
+    private int numBytes;
+
+    ByteArrayResultRowsDestination(byte[] bytes) {
+        this(bytes, bytes.length);
+    }
+
+    /**
+     * @param bytes array to receive into
+     * @param capacity number of bytes of array to receive into, e.g. when array is pooled and may be larger than needed
+     */
+    ByteArrayResultRowsDestination(byte[] bytes, int capacity) {
+
+        Objects.requireNonNull(bytes);
+
+        if (capacity < 0 || capacity > bytes.length) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.bytes = bytes;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public long getRemainingCapacity() {
+
+        return capacity - numBytes;
+    }
+
+    @Override
+    public void receiveRowBytes(DataInput dataInput, int numBytes) throws IOException {
+
+        Objects.requireNonNull(dataInput);
+
+        if (numBytes < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (numBytes > getRemainingCapacity()) {
+
+            throw new IllegalStateException();
+        }
+
+        dataInput.readFully(bytes, this.numBytes, numBytes);
+
+        this.numBytes += numBytes;
+    }
+
+    int getNumBytes() {
+        return numBytes;
+    }
+
+    void reset() {
+
+        this.numBytes = 0;
+    }
+}
@@ -1,10 +1,36 @@
 package jdbcdrivers.generic;
 
 import java.math.BigDecimal;
-
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Cached boxed values and short strings, so that decoding common values does not allocate.
+ *
+ * Values are cached on first use, in segments allocated on first use, so that the cache costs neither startup time nor heap for values
+ * never decoded. Caching is configured by system properties read when this class is initialized.
+ */
 public final class CachedValues {
 
-    static final int MAX_CACHED_INTEGER = 100000;
+    /**
+     * System property for whether to cache values at all, default {@code true}.
+     */
+    static final String CACHED_VALUES_PROPERTY = "jdbcdrivers.cachedValues";
+
+    /**
+     * System property for max non-negative integer value to cache, default {@link #DEFAULT_MAX_CACHED_INTEGER}.
+     */
+    static final String MAX_CACHED_INTEGER_PROPERTY = "jdbcdrivers.cachedValues.maxInteger";
+
+    /**
+     * System property for whether to cache strings of three characters, default {@code true}.
+     */
+    static final String CACHE_THREE_CHARACTER_STRINGS_PROPERTY = "jdbcdrivers.cachedValues.threeCharacterStrings";
+
+    static final int DEFAULT_MAX_CACHED_INTEGER = 100000;
 
     private static final char ASCII_MAX = 127;
 
@@ -16,70 +42,111 @@ public final class CachedValues {
 
     private static final int THREE_CHARACTERS_SHIFT = 6;
     private static final int THREE_CHARACTERS_SHIFT_TWICE = THREE_CHARACTERS_SHIFT * 2;
+    private static final int THREE_CHARACTERS_MASK = (1 << THREE_CHARACTERS_SHIFT) - 1;
 
     private static final String EMPTY_STRING = "";
 
-    private static final CachedValues instance = new CachedValues();
+    private static final CachedValues instance = new CachedValues(
+            Boolean.parseBoolean(System.getProperty(CACHED_VALUES_PROPERTY, "true")),
+            Integer.getInteger(MAX_CACHED_INTEGER_PROPERTY, DEFAULT_MAX_CACHED_INTEGER),
+            Boolean.parseBoolean(System.getProperty(CACHE_THREE_CHARACTER_STRINGS_PROPERTY, "true")));
 
     public static CachedValues getInstance() {
 
         return instance;
     }
 
-    private final Short[] cachedShorts;
-    private final Integer[] cachedIntegers;
+    /**
+     * Values created on first get, in segments allocated on first get.
+     *
+     * @param <T> type of value
+     */
+    private static final class Segments<T> {
 
-    private final String[] cachedLengthOneStrings;
-    private final String[] cachedLengthTwoStrings;
-    private final String[] cachedLengthThreeStrings;
+        private static final int SEGMENT_SHIFT = 10;
+        private static final int SEGMENT_LENGTH = 1 << SEGMENT_SHIFT;
+        private static final int SEGMENT_MASK = SEGMENT_LENGTH - 1;
 
-    private final char[] cachedThreeCharacters;
-    private final int[] threeCharacterIndices;
+        private final IntFunction<T> createValue;
 
-    private CachedValues() {
+        // Values are immutable so may be read without synchronization, at worst a value is created again
+        private final AtomicReferenceArray<Object[]> segments;
 
-        final short maxCachedShort = Short.MAX_VALUE;
+        Segments(int length, IntFunction<T> createValue) {
 
-        this.cachedShorts = new Short[maxCachedShort + 1];
+            this.createValue = Objects.requireNonNull(createValue);
+
+            this.segments = new AtomicReferenceArray<>((length + SEGMENT_LENGTH - 1) >>> SEGMENT_SHIFT);
+        }
 
-        for (int i = 0; i <= maxCachedShort; ++ i) {
+        @SuppressWarnings("unchecked")
+        T get(int index) {
 
-            if (i > Short.MAX_VALUE) {
+            final int segmentIndex = index >>> SEGMENT_SHIFT;
 
-                throw new IllegalStateException();
+            Object[] segment = segments.get(segmentIndex);
+
+            if (segment == null) {
+
+                segments.compareAndSet(segmentIndex, null, new Object[SEGMENT_LENGTH]);
+
+                segment = segments.get(segmentIndex);
             }
 
-            cachedShorts[i] = Short.valueOf((short)i);
-        }
+            final int valueIndex = index & SEGMENT_MASK;
 
-        final int maxCachedInteger = MAX_CACHED_INTEGER;
+            Object value = segment[valueIndex];
 
-        this.cachedIntegers = new Integer[maxCachedInteger + 1];
+            if (value == null) {
 
-        for (int i = 0; i <= maxCachedInteger; ++ i) {
+                value = createValue.apply(index);
 
-            cachedIntegers[i] = Integer.valueOf(i);
+                segment[valueIndex] = value;
+            }
+
+            return (T)value;
         }
+    }
 
-        this.cachedLengthOneStrings = new String[CACHE_ONE_CHAR_MAX + 1];
-        this.cachedLengthTwoStrings = new String[(CACHE_TWO_CHARS_MAX + 1) * (CACHE_TWO_CHARS_MAX + 1)];
+    private final int maxCachedShort;
+    private final int maxCachedInteger;
 
-        final char[] twoChars = new char[2];
+    // Null if not cached
+    private final Segments<Short> cachedShorts;
+    private final Segments<Integer> cachedIntegers;
 
-        for (char c1 = 0; c1 <= CACHE_TWO_CHARS_MAX; ++ c1) {
+    private final Segments<String> cachedLengthOneStrings;
+    private final Segments<String> cachedLengthTwoStrings;
+    private final Segments<String> cachedLengthThreeStrings;
 
-            cachedLengthOneStrings[c1] = String.valueOf(c1);
+    private final char[] cachedThreeCharacters;
+    private final int[] threeCharacterIndices;
 
-            for (char c2 = 0; c2 <= CACHE_TWO_CHARS_MAX; ++ c2) {
+    /**
+     * @param cacheValues whether to cache any values
+     * @param maxCachedInteger max non-negative integer value to cache, {@code -1} for none
+     * @param cacheThreeCharacterStrings whether to cache strings of three characters
+     */
+    CachedValues(boolean cacheValues, int maxCachedInteger, boolean cacheThreeCharacterStrings) {
 
-                twoChars[0] = c1;
-                twoChars[1] = c2;
+        if (maxCachedInteger < -1) {
 
-                cachedLengthTwoStrings[twoCharactersIndex(c1, c2)] = String.valueOf(twoChars);
-            }
+            throw new IllegalArgumentException();
         }
 
-        final int numCachedThreeCharacters = 1 << 6;
+        this.maxCachedInteger = cacheValues ? maxCachedInteger : -1;
+        this.maxCachedShort = Math.min(this.maxCachedInteger, Short.MAX_VALUE);
+
+        this.cachedShorts = maxCachedShort >= 0 ? new Segments<>(maxCachedShort + 1, i -> Short.valueOf((short)i)) : null;
+        this.cachedIntegers = this.maxCachedInteger >= 0 ? new Segments<>(this.maxCachedInteger + 1, Integer::valueOf) : null;
+
+        this.cachedLengthOneStrings = cacheValues ? new Segments<>(CACHE_ONE_CHAR_MAX + 1, i -> String.valueOf((char)i)) : null;
+        this.cachedLengthTwoStrings = cacheValues
+                ? new Segments<>((CACHE_TWO_CHARS_MAX + 1) * (CACHE_TWO_CHARS_MAX + 1),
+                        i -> String.valueOf(new char[] { (char)(i >>> TWO_CHARACTERS_SHIFT), (char)(i & CACHE_TWO_CHARS_MAX) }))
+                : null;
+
+        final int numCachedThreeCharacters = 1 << THREE_CHARACTERS_SHIFT;
 
         this.cachedThreeCharacters = new char[numCachedThreeCharacters];
 
@@ -108,7 +175,10 @@ public final class CachedValues {
             throw new IllegalStateException();
         }
 
-        this.threeCharacterIndices = new int[CACHE_THREE_CHARS_MAX];
+        // Index of each cached three character, -1 for others
+        this.threeCharacterIndices = new int[CACHE_THREE_CHARS_MAX + 1];
+
+        Arrays.fill(threeCharacterIndices, -1);
 
         int threeCharaterIndex = 0;
 
@@ -117,30 +187,22 @@ public final class CachedValues {
             threeCharacterIndices[c] = threeCharaterIndex ++;
         }
 
-        this.cachedLengthThreeStrings = new String[numCachedThreeCharacters * numCachedThreeCharacters * numCachedThreeCharacters];
-
-        final char[] threeChars = new char[3];
-
-        for (int i = 0; i < numCachedThreeCharacters; ++ i) {
-
-            for (int j = 0; j < numCachedThreeCharacters; ++ j) {
-
-                for (int k = 0; k < numCachedThreeCharacters; ++ k) {
+        this.cachedLengthThreeStrings = cacheValues && cacheThreeCharacterStrings
+                ? new Segments<>(numCachedThreeCharacters * numCachedThreeCharacters * numCachedThreeCharacters, this::createLengthThreeString)
+                : null;
+    }
 
-                    final char c1 = cachedThreeCharacters[i];
-                    final char c2 = cachedThreeCharacters[j];
-                    final char c3 = cachedThreeCharacters[k];
+    private String createLengthThreeString(int index) {
 
-                    threeChars[0] = c1;
-                    threeChars[1] = c2;
-                    threeChars[2] = c3;
+        final char c1 = cachedThreeCharacters[index >>> THREE_CHARACTERS_SHIFT_TWICE];
+        final char c2 = cachedThreeCharacters[(index >>> THREE_CHARACTERS_SHIFT) & THREE_CHARACTERS_MASK];
+        final char c3 = cachedThreeCharacters[index & THREE_CHARACTERS_MASK];
 
-                    final int index = threeCharactersIndex(c1, c2, c3);
+        return String.valueOf(new char[] { c1, c2, c3 });
+    }
 
-                    cachedLengthThreeStrings[index] = String.valueOf(threeChars);
-                }
-            }
-        }
+    int getMaxCachedInteger() {
+        return maxCachedInteger;
     }
 
     public Byte getByte(byte value) {
@@ -150,12 +212,12 @@ public final class CachedValues {
 
     public Short getShort(short value) {
 
-        return value >= 0 ? cachedShorts[value] : Short.valueOf(value);
+        return value >= 0 && value <= maxCachedShort ? cachedShorts.get(value) : Short.valueOf(value);
     }
 
     public Integer getInt(int value) {
 
-        return value >= 0 && value <= MAX_CACHED_INTEGER ? cachedIntegers[value] : Integer.valueOf(value);
+        return value >= 0 && value <= maxCachedInteger ? cachedIntegers.get(value) : Integer.valueOf(value);
     }
 
     public Long getLong(long value) {
@@ -198,7 +260,7 @@ public final class CachedValues {
 
             final char c = value[0];
 
-            result = c <= CACHE_ONE_CHAR_MAX ? cachedLengthOneStrings[c] : String.valueOf(c);
+            result = cachedLengthOneStrings != null && c <= CACHE_ONE_CHAR_MAX ? cachedLengthOneStrings.get(c) : String.valueOf(c);
             break;
 
         case 2: {
@@ -206,7 +268,9 @@ public final class CachedValues {
             final char c1 = value[0];
             final char c2 = value[1];
 
-            result = c1 <= CACHE_TWO_CHARS_MAX && c2 <= CACHE_TWO_CHARS_MAX ? cachedLengthTwoStrings[twoCharactersIndex(c1, c2)] : String.valueOf(value);
+            result = cachedLengthTwoStrings != null && c1 <= CACHE_TWO_CHARS_MAX && c2 <= CACHE_TWO_CHARS_MAX
+                    ? cachedLengthTwoStrings.get(twoCharactersIndex(c1, c2))
+                    : String.valueOf(value, 0, length);
             break;
         }
 
@@ -216,9 +280,9 @@ public final class CachedValues {
             final char c2 = value[1];
             final char c3 = value[2];
 
-            result = isCachedThreeCharacter(c1) && isCachedThreeCharacter(c2) && isCachedThreeCharacter(c3)
-                    ? cachedLengthThreeStrings[threeCharactersIndex(c1, c2, c3)]
-                    : String.valueOf(value);
+            result = cachedLengthThreeStrings != null && isCachedThreeCharacter(c1) && isCachedThreeCharacter(c2) && isCachedThreeCharacter(c3)
+                    ? cachedLengthThreeStrings.get(threeCharactersIndex(c1, c2, c3))
+                    : String.valueOf(value, 0, length);
             break;
 
         default:
@@ -229,20 +293,61 @@ public final class CachedValues {
         return result;
     }
 
-    boolean isCachedThreeCharacter(char c) {
+    /**
+     * Get a string from bytes all known to be 7-bit ASCII, without decoding through a charset.
+     *
+     * @param bytes the bytes
+     * @param offset offset of string into {@code bytes}
+     * @param length number of bytes of string
+     *
+     * @return the string
+     */
+    public String getAsciiString(byte[] bytes, int offset, int length) {
 
-        boolean found = false;
+        final String result;
 
-        for (char cahedThreeCharacter : cachedThreeCharacters) {
+        switch (length) {
 
-            if (cahedThreeCharacter == c) {
+        case 0:
 
-                found = true;
-                break;
-            }
+            result = EMPTY_STRING;
+            break;
+
+        case 1:
+
+            result = cachedLengthOneStrings != null ? cachedLengthOneStrings.get(bytes[offset]) : new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+            break;
+
+        case 2:
+
+            result = cachedLengthTwoStrings != null
+                    ? cachedLengthTwoStrings.get(twoCharactersIndex((char)bytes[offset], (char)bytes[offset + 1]))
+                    : new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+            break;
+
+        case 3:
+
+            final char c1 = (char)bytes[offset];
+            final char c2 = (char)bytes[offset + 1];
+            final char c3 = (char)bytes[offset + 2];
+
+            result = cachedLengthThreeStrings != null && isCachedThreeCharacter(c1) && isCachedThreeCharacter(c2) && isCachedThreeCharacter(c3)
+                    ? cachedLengthThreeStrings.get(threeCharactersIndex(c1, c2, c3))
+                    : new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+            break;
+
+        default:
+            // ASCII is a subset of ISO-8859-1, which is copied directly into compact strings
+            result = new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+            break;
         }
 
-        return found;
+        return result;
+    }
+
+    boolean isCachedThreeCharacter(char c) {
+
+        return c <= CACHE_THREE_CHARS_MAX && threeCharacterIndices[c] >= 0;
     }
 
     private static int twoCharactersIndex(char c1, char c2) {
@@ -19,6 +19,8 @@ import jdbcdrivers.generic.exceptions.WrongColumnTypeException;
  */
 abstract class ColumnGenericResultSet<PREPARED_STATEMENT, DATA_TYPE> extends RowDataResultSet {
 
+    static final int NO_CONSTANT_ROW_LENGTH = -1;
+
     /**
      * Result set column meta data.
      *
@@ -82,6 +84,9 @@ abstract class ColumnGenericResultSet<PREPARED_STATEMENT, DATA_TYPE> extends Row
 
     private final List<Column<DATA_TYPE>> columns;
 
+    // Length of every row if all columns are of constant length, otherwise NO_CONSTANT_ROW_LENGTH
+    private final int constantRowLength;
+
     ColumnGenericResultSet(PREPARED_STATEMENT preparedStatement, ResultSetClosing resultSetClosing, GenericResultSetMetaData<DATA_TYPE> metaData,
             ResultRowDecoder<DATA_TYPE> resultRowDecoder) {
         super(resultSetClosing);
@@ -95,6 +100,8 @@ abstract class ColumnGenericResultSet<PREPARED_STATEMENT, DATA_TYPE> extends Row
 
         boolean retrieveByOffset = true;
 
+        int rowLength = 0;
+
         for (int i = 0; i < numColumns; ++ i) {
 
             final ResultSetColumn<DATA_TYPE> resultSetColumn = metaData.getColumn(i);
@@ -109,7 +116,11 @@ abstract class ColumnGenericResultSet<PREPARED_STATEMENT, DATA_TYPE> extends Row
             final Column<DATA_TYPE> column = new Column<>(resultSetColumn, retrieveByOffset);
 
             columns.add(column);
+
+            rowLength += resultSetColumn.getNumRowBytesForColumn();
         }
+
+        this.constantRowLength = retrieveByOffset && rowLength > 0 ? rowLength : NO_CONSTANT_ROW_LENGTH;
     }
 
     @Override
@@ -126,6 +137,10 @@ abstract class ColumnGenericResultSet<PREPARED_STATEMENT, DATA_TYPE> extends Row
         return metaData;
     }
 
+    final int getConstantRowLength() {
+        return constantRowLength;
+    }
+
     final Column<DATA_TYPE> checkNotClosedAndGetColumn(int index, JDBCType jdbcType) throws ResultSetClosedException, WrongColumnTypeException {
 
         Objects.requireNonNull(jdbcType);
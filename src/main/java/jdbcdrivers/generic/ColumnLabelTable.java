@@ -0,0 +1,115 @@
+package jdbcdrivers.generic;
+
+import java.util.Objects;
+
+/**
+ * Open addressing table of column indices by column label, comparing labels case insensitively without allocating lower case copies.
+ */
+final class ColumnLabelTable {
+
+    static final int NOT_FOUND = -1;
+
+    private final String[] labels;
+
+    // Column index plus one per slot, 0 for empty slot
+    private final int[] slotIndices;
+    private final int[] slotHashes;
+    private final int slotMask;
+
+    /**
+     * @param labels column labels, first column is returned for duplicate labels
+     */
+    ColumnLabelTable(String[] labels) {
+
+        Objects.requireNonNull(labels);
+
+        this.labels = labels;
+
+        // At most half full for short probe sequences
+        final int numSlots = Integer.highestOneBit(Math.max(labels.length, 1) * 2 - 1) << 1;
+
+        this.slotIndices = new int[numSlots];
+        this.slotHashes = new int[numSlots];
+        this.slotMask = numSlots - 1;
+
+        for (int i = 0; i < labels.length; ++ i) {
+
+            final String label = Objects.requireNonNull(labels[i]);
+
+            if (getIndex(label) == NOT_FOUND) {
+
+                final int hash = foldedHash(label);
+
+                int slot = hash & slotMask;
+
+                while (slotIndices[slot] != 0) {
+
+                    slot = (slot + 1) & slotMask;
+                }
+
+                slotIndices[slot] = i + 1;
+                slotHashes[slot] = hash;
+            }
+        }
+    }
+
+    /**
+     * Get index of column by label.
+     *
+     * @param label the column label, compared case insensitively
+     *
+     * @return column index or {@link #NOT_FOUND}
+     */
+    int getIndex(String label) {
+
+        final int hash = foldedHash(label);
+
+        int result = NOT_FOUND;
+
+        for (int slot = hash & slotMask; slotIndices[slot] != 0; slot = (slot + 1) & slotMask) {
+
+            final int index = slotIndices[slot] - 1;
+
+            if (slotHashes[slot] == hash && labels[index].equalsIgnoreCase(label)) {
+
+                result = index;
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Hash of characters folded the same way as by {@link String#equalsIgnoreCase(String)}, so that labels equal ignoring case hash the same.
+     */
+    private static int foldedHash(String label) {
+
+        final int length = label.length();
+
+        int hash = 0;
+
+        for (int i = 0; i < length; ++ i) {
+
+            final char c = label.charAt(i);
+
+            final char folded;
+
+            if (c >= 'A' && c <= 'Z') {
+
+                folded = (char)(c + ('a' - 'A'));
+            }
+            else if (c < 128) {
+
+                folded = c;
+            }
+            else {
+                folded = Character.toLowerCase(Character.toUpperCase(c));
+            }
+
+            hash = 31 * hash + folded;
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+}
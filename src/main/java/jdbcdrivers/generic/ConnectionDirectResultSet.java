@@ -1,16 +1,26 @@
 package jdbcdrivers.generic;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import jdbcdrivers.databaseprotocol.api.IResultRowsDestination;
+import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
 import jdbcdrivers.generic.exceptions.ProtocolErrorException;
+import jdbcdrivers.generic.exceptions.ProtocolIOException;
 import jdbcdrivers.util.IntLargeArray;
 
 /**
  * Result set for retrieving row from a database connection.
  *
- * @implNote buffers some rows locally
+ * @implNote buffers some rows locally, optionally retrieving the next rows in the background while the current rows are consumed.
+ *           Retrieving ahead runs as a task of the connection {@link SerialExecutor}, so the connection is held exclusively for the whole retrieval
+ *           and any operation entering the connection afterwards, e.g. executing another statement that buffers this result set, runs after it.
+ *           A thread already holding the connection cancels any retrieval ahead not yet started instead of waiting for it, and does not start one.
+ *           Rows retrieved ahead are published only through completion of the retrieval, all other state is updated by the consuming thread.
  *
  * @param <PREPARED_STATEMENT> database protocol prepared statement type
  * @param <DATA_TYPE> database protocol datatype
@@ -19,8 +29,11 @@ final class ConnectionDirectResultSet<PREPARED_STATEMENT, DATA_TYPE> extends Bas
 
     private static final boolean DEBUG = Boolean.FALSE;
 
-    // Max number of bytes to buffer locally
-    private static final int MAX_BUFFER_SIZE = 10 * 1024 * 1024;
+    // Upper limit on max number of bytes to buffer locally
+    static final int MAX_BUFFER_SIZE = 64 * 1024 * 1024;
+
+    // Without fetch size, max factor of rows to retrieve at a time over rows of max length that fit in buffer
+    private static final int MAX_ADAPTIVE_ROWS_FACTOR = 8;
 
     // For retrieving more results from the connection from the database
     private final ResultRetrieval retrieval;
@@ -28,51 +41,164 @@ final class ConnectionDirectResultSet<PREPARED_STATEMENT, DATA_TYPE> extends Bas
     // Buffer chunk size when retrieving remaining rows
     private final int remainingResultSetBufferChunkSize;
 
+    // Max number of bytes of remaining rows to buffer on heap before spilling to file
+    private final long remainingResultSetSpillThresholdBytes;
+
+    // Pool of off heap chunks when buffering remaining rows, null if buffering on heap
+    private final DirectChunkPool remainingResultSetDirectChunkPool;
+
+    // Pool that receive buffers are allocated from and released to
+    private final ReceiveBufferPool receiveBufferPool;
+
+    // Number of bytes of row buffer used for receiving, buffer may be larger
+    private final int receiveBufferSize;
+
+    // For retrieving the next rows while the current rows are consumed, holding the connection exclusively, null if not retrieving ahead
+    private final SerialExecutor readAheadExecutor;
+
+    // For retrieving ahead, not entering the connection again since run exclusively by the read ahead executor, null if not retrieving ahead
+    private final ResultRetrieval readAheadRetrieval;
+
+    // Whether receive buffers have been released to pool, on close or when swapped to buffered result set
+    private boolean receiveBuffersReleased;
+
     // Max number of rows to retrieve at a time
     private final int maxRowsToRetrieve;
 
-    // Length of rows retrieved into buffers
-    private final int[] rowLengths;
+    // Number of rows to retrieve at a time from observed retrievals, null if fetch size set
+    private final AdaptiveFetchSizer adaptiveFetchSizer;
 
-    // Scratch object initialized by database protocol about retrieved roles
-    private final RetrievedRows retrievedRows;
+    // When previous retrieval completed and its number of rows, for consumer time per row
+    private long previousRetrievedNanos;
+    private int numPreviousRetrievedRows;
 
     // Number of remaining rows of the entire result set, only applicable if database returns the total number of rows
     // ahead of row data
     private long remainingRowsOfResult;
 
-    // Row buffer
-    private final byte[] resultRowBytes;
+    // Whether all rows of the result set have been retrieved, so that the connection is not read past the end of the result set
+    private boolean allRowsRetrieved;
+
+    /**
+     * Buffers for receiving a number of rows into.
+     */
+    private static final class ReceiveBuffers {
+
+        // Row buffer
+        private final byte[] resultRowBytes;
+
+        // Corresponding ByteBuffer
+        private final ByteBuffer resultRowByteBuffer;
+
+        // Length of rows retrieved into buffers, null if rows are of constant length
+        private final int[] rowLengths;
+
+        // Scratch object initialized by database protocol about retrieved rows
+        private final RetrievedRows retrievedRows;
+
+        // For receiving rows directly into the row buffer
+        private final ByteArrayResultRowsDestination resultRowsDestination;
 
-    // Corresponding ByteBuffer
-    private final ByteBuffer resultRowByteBuffer;
+        // Time spent retrieving rows last received into buffers
+        private long retrievalNanos;
 
+        ReceiveBuffers(ReceiveBufferPool receiveBufferPool, int maxRows, int bufferSize, int constantRowLength) {
+
+            if (constantRowLength != NO_CONSTANT_ROW_LENGTH) {
+
+                this.rowLengths = null;
+                this.retrievedRows = new RetrievedRows(constantRowLength);
+            }
+            else {
+                this.rowLengths = receiveBufferPool.allocateIntArray(maxRows);
+                this.retrievedRows = new RetrievedRows(rowLengths);
+            }
+
+            this.resultRowBytes = receiveBufferPool.allocateByteArray(bufferSize);
+            this.resultRowByteBuffer = ByteBuffer.wrap(resultRowBytes);
+            this.resultRowsDestination = new ByteArrayResultRowsDestination(resultRowBytes, bufferSize);
+        }
+
+        void release(ReceiveBufferPool receiveBufferPool) {
+
+            receiveBufferPool.releaseByteArray(resultRowBytes);
+
+            if (rowLengths != null) {
+
+                receiveBufferPool.releaseIntArray(rowLengths);
+            }
+        }
+    }
+
+    // Rows currently consumed
+    private ReceiveBuffers receiveBuffers;
+
+    // Next rows retrieved while the current rows are consumed, null if not retrieving ahead
+    private ReceiveBuffers readAheadBuffers;
+
+    // Ongoing or completed retrieval into read ahead buffers with number of rows retrieved, null if none
+    private CompletableFuture<Integer> readAhead;
+
+    // Returned when awaiting a retrieval ahead that was cancelled before started
+    private static final int NOT_RETRIEVED_AHEAD = -1;
+
+    /**
+     * @param retrieval for retrieving rows from and closing over the connection
+     * @param readAheadExecutor connection executor for retrieving ahead, or {@code null} for not retrieving ahead
+     * @param readAheadRetrieval for retrieving rows when run by {@code readAheadExecutor}, without entering the connection again
+     */
     ConnectionDirectResultSet(PREPARED_STATEMENT preparedStatement, ResultRetrieval retrieval, GenericResultSetMetaData<DATA_TYPE> metaData,
-            ResultRowDecoder<DATA_TYPE> resultRowDecoder, int remainingResultSetBufferChunkSize) {
-        super(preparedStatement, retrieval, metaData, resultRowDecoder);
+            ResultRowDecoder<DATA_TYPE> resultRowDecoder, int remainingResultSetBufferChunkSize, long remainingResultSetSpillThresholdBytes,
+            DirectChunkPool remainingResultSetDirectChunkPool, ReceiveBufferPool receiveBufferPool, int fetchSize, int maxBufferSize,
+            SerialExecutor readAheadExecutor, ResultRetrieval readAheadRetrieval, boolean stringDictionaries) {
+        super(preparedStatement, retrieval, metaData, resultRowDecoder, stringDictionaries);
 
         this.retrieval = Objects.requireNonNull(retrieval);
+        this.receiveBufferPool = Objects.requireNonNull(receiveBufferPool);
 
         if (remainingResultSetBufferChunkSize < 1) {
 
             throw new IllegalArgumentException();
         }
 
+        if (remainingResultSetSpillThresholdBytes < 0L) {
+
+            throw new IllegalArgumentException();
+        }
+
         this.remainingResultSetBufferChunkSize = remainingResultSetBufferChunkSize;
+        this.remainingResultSetSpillThresholdBytes = remainingResultSetSpillThresholdBytes;
+        this.remainingResultSetDirectChunkPool = remainingResultSetDirectChunkPool;
+
+        if (fetchSize < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (maxBufferSize < 1 || maxBufferSize > MAX_BUFFER_SIZE) {
+
+            throw new IllegalArgumentException();
+        }
 
         final long totalNumRows = metaData.getTotalNumRows();
 
         final int maxBytesPerResultRow = metaData.getMaxBytesPerResultRow();
 
+        // Fetch size if set, limited to as many rows as fit in max buffer size but at least one row
+        final int maxRowsForBufferSize = Math.max(maxBufferSize / maxBytesPerResultRow, 1);
+        final int maxRowsPerRetrieval = fetchSize != 0 ? Math.min(fetchSize, maxRowsForBufferSize) : maxRowsForBufferSize;
+
+        final int bufferRows;
         final int bufferSize;
 
         if (totalNumRows == GenericResultSetMetaData.NO_TOTAL_NUM_ROWS) {
 
             // Total number of rows returned from the database is not known ahead of time
-            this.maxRowsToRetrieve = MAX_BUFFER_SIZE / maxBytesPerResultRow;
-            this.remainingRowsOfResult = -1;
+            bufferRows = maxRowsPerRetrieval;
+            bufferSize = bufferRows * maxBytesPerResultRow;
 
-            bufferSize = MAX_BUFFER_SIZE;
+            this.maxRowsToRetrieve = getMaxRowsToRetrieve(bufferRows, bufferSize, fetchSize);
+            this.remainingRowsOfResult = -1;
         }
         else if (totalNumRows < 0) {
 
@@ -84,61 +210,142 @@ final class ConnectionDirectResultSet<PREPARED_STATEMENT, DATA_TYPE> extends Bas
             this.maxRowsToRetrieve = 0;
             this.remainingRowsOfResult = 0;
 
+            bufferRows = 0;
             bufferSize = 0;
         }
         else {
             // Total number of rows returned from database is known ahead of time
             this.remainingRowsOfResult = totalNumRows;
 
-            final long totalSize = totalNumRows * maxBytesPerResultRow;
+            bufferRows = (int)Math.min(totalNumRows, maxRowsPerRetrieval);
+            bufferSize = bufferRows * maxBytesPerResultRow;
 
-            if (totalSize > MAX_BUFFER_SIZE) {
+            this.maxRowsToRetrieve = (int)Math.min(totalNumRows, getMaxRowsToRetrieve(bufferRows, bufferSize, fetchSize));
+        }
 
-                this.maxRowsToRetrieve = MAX_BUFFER_SIZE / maxBytesPerResultRow;
-            }
-            else {
-                this.maxRowsToRetrieve = (int)totalNumRows;
+        this.receiveBufferSize = bufferSize;
+
+        this.allRowsRetrieved = remainingRowsOfResult == 0;
+
+        this.adaptiveFetchSizer = fetchSize == 0 && bufferRows > 0
+                ? new AdaptiveFetchSizer(bufferRows, maxRowsToRetrieve, maxBytesPerResultRow, bufferSize)
+                : null;
+
+        this.receiveBuffers = new ReceiveBuffers(receiveBufferPool, maxRowsToRetrieve, bufferSize, getConstantRowLength());
+
+        // No need for retrieving ahead if all rows fit in buffer
+        if (readAheadExecutor != null && remainingRowsOfResult != 0 && remainingRowsOfResult != bufferRows) {
+
+            this.readAheadExecutor = readAheadExecutor;
+            this.readAheadRetrieval = Objects.requireNonNull(readAheadRetrieval);
+            this.readAheadBuffers = new ReceiveBuffers(receiveBufferPool, maxRowsToRetrieve, bufferSize, getConstantRowLength());
+        }
+        else {
+            this.readAheadExecutor = null;
+            this.readAheadRetrieval = null;
+            this.readAheadBuffers = null;
+        }
+    }
+
+    @Override
+    public void close() throws AlreadyClosedException, GenericProtocolException {
+
+        // Result set is closed over the connection, so must not be in use by any retrieval ahead
+        if (readAhead != null) {
+
+            try {
+                awaitReadAhead();
             }
+            catch (GenericProtocolException ex) {
+
+                if (DEBUG) {
 
-            bufferSize = maxRowsToRetrieve * maxBytesPerResultRow;
+                    System.out.println("exception when retrieving ahead before close " + ex);
+                }
+            }
         }
 
-        this.rowLengths = new int[maxRowsToRetrieve];
-        this.retrievedRows = new RetrievedRows(rowLengths);
+        super.close();
 
-        this.resultRowBytes = bufferSize != 0 ? new byte[bufferSize] : null;
-        this.resultRowByteBuffer = ByteBuffer.wrap(resultRowBytes);
+        releaseReceiveBuffers();
     }
 
     @Override
     BufferedResultSet<PREPARED_STATEMENT, DATA_TYPE> readRemainingToBuffer(long resultRowBytesOffset, long remainingBufferedBytes, long bufferRowIndex,
             long remainingBufferedRows) throws GenericProtocolException {
 
-        final ResultSetBuffer resultSetBuffer = new ResultSetBuffer(remainingResultSetBufferChunkSize);
+        // Any rows retrieved ahead follow the remaining buffered rows
+        final int numReadAheadRows = readAhead != null ? awaitReadAhead() : NOT_RETRIEVED_AHEAD;
+
+        final ResultSetBuffer resultSetBuffer = new ResultSetBuffer(remainingResultSetBufferChunkSize, remainingResultSetSpillThresholdBytes,
+                remainingResultSetDirectChunkPool);
 
         final int bytesOffet = checkCastToInt(resultRowBytesOffset);
         final int remainingBytes = checkCastToInt(remainingBufferedBytes);
         final int rowIndex = checkCastToInt(bufferRowIndex);
         final int remainingRows = checkCastToInt(remainingBufferedRows);
 
-        resultSetBuffer.addData(resultRowBytes, bytesOffet, remainingBytes);
+        // No row lengths needed if rows are of constant length
+        final IntLargeArray rowLengthsIntLargeArray = getConstantRowLength() == NO_CONSTANT_ROW_LENGTH ? new IntLargeArray() : null;
+
+        // Positioned on the first of the remaining rows if positioned on a row
+        long numRows = remainingRows;
+
+        boolean ok = false;
+
+        try {
+            if (remainingRows > 0) {
+
+                resultSetBuffer.addData(receiveBuffers.resultRowBytes, bytesOffet, remainingBytes);
+
+                addRowLengths(rowLengthsIntLargeArray, receiveBuffers, rowIndex, remainingRows);
+            }
+
+            if (numReadAheadRows > 0) {
+
+                resultSetBuffer.addData(readAheadBuffers.resultRowBytes, 0, readAheadBuffers.retrievedRows.getNumBytes());
+
+                addRowLengths(rowLengthsIntLargeArray, readAheadBuffers, 0, numReadAheadRows);
+
+                numRows += numReadAheadRows;
+            }
+
+            while (!allRowsRetrieved) {
 
-        final IntLargeArray rowLengthsIntLargeArray = new IntLargeArray();
+                // Receive directly into buffer chunks instead of copying from the row buffer
+                resultSetBuffer.setReceiveCapacity(receiveBufferSize);
 
-        rowLengthsIntLargeArray.add(rowLengths, rowIndex, remainingRows);
+                final int numRetrievedRows = retrieveRows(retrieval, resultSetBuffer, limitToRemainingRows(maxRowsToRetrieve), receiveBuffers.retrievedRows);
 
-        int numRetrievedRows;
+                onRowsRetrieved(numRetrievedRows);
 
-        do {
-            numRetrievedRows = retrieveMoreRows();
+                if (numRetrievedRows > 0) {
 
-            resultSetBuffer.addData(resultRowBytes, 0, retrievedRows.getNumBytes());
+                    addRowLengths(rowLengthsIntLargeArray, receiveBuffers, 0, numRetrievedRows);
 
-            rowLengthsIntLargeArray.add(rowLengths, 0, numRetrievedRows);
+                    numRows += numRetrievedRows;
+                }
+            }
+
+            ok = true;
+
+            // No longer used after swapped to buffered result set
+            releaseReceiveBuffers();
         }
-        while (numRetrievedRows > 0);
+        catch (IOException ex) {
 
-        return new BufferedResultSet<>(getPreparedStatement(), retrieval, getMetaData(), getResultRowDecoder(), resultSetBuffer, rowLengthsIntLargeArray);
+            throw new ProtocolIOException(ex);
+        }
+        finally {
+
+            if (!ok) {
+
+                closeResultSetBuffer(resultSetBuffer);
+            }
+        }
+
+        return new BufferedResultSet<>(getPreparedStatement(), retrieval, getMetaData(), getResultRowDecoder(), isStringDictionaries(), resultSetBuffer,
+                rowLengthsIntLargeArray, numRows, remainingRows > 0);
     }
 
     @Override
@@ -149,59 +356,240 @@ final class ConnectionDirectResultSet<PREPARED_STATEMENT, DATA_TYPE> extends Bas
             throw new IllegalStateException();
         }
 
-        dst.init(resultRowBytes, resultRowByteBuffer, (int)resultRowBytesOffset);
+        dst.init(receiveBuffers.resultRowBytes, receiveBuffers.resultRowByteBuffer, (int)resultRowBytesOffset);
     }
 
     @Override
     int retrieveMoreRows() throws GenericProtocolException {
 
+        final long startNanos = System.nanoTime();
+
+        // Any rows retrieved while previous rows were consumed
+        final int numReadAheadRows = readAhead != null ? awaitReadAhead() : NOT_RETRIEVED_AHEAD;
+
+        final int numRetrievedRows;
+
+        if (numReadAheadRows != NOT_RETRIEVED_AHEAD) {
+
+            numRetrievedRows = numReadAheadRows;
+
+            // Swap buffers
+            final ReceiveBuffers consumedBuffers = receiveBuffers;
+
+            this.receiveBuffers = readAheadBuffers;
+            this.readAheadBuffers = consumedBuffers;
+        }
+        else {
+            numRetrievedRows = retrieveRows(retrieval, receiveBuffers, limitToRemainingRows(getNumRowsToRetrieve()));
+
+            onRowsRetrieved(numRetrievedRows);
+        }
+
+        if (adaptiveFetchSizer != null) {
+
+            // Consumer processed rows of previous retrieval in between retrievals
+            final long consumerNanos = numPreviousRetrievedRows != 0 ? startNanos - previousRetrievedNanos : 0L;
+
+            adaptiveFetchSizer.onRetrieved(numRetrievedRows, receiveBuffers.retrievedRows.getNumBytes(), receiveBuffers.retrievalNanos, consumerNanos,
+                    numPreviousRetrievedRows);
+
+            this.previousRetrievedNanos = System.nanoTime();
+            this.numPreviousRetrievedRows = numRetrievedRows;
+        }
+
+        // Not if holding the connection, since retrieving ahead would not start until released
+        if (readAheadBuffers != null && !allRowsRetrieved && !readAheadExecutor.isOwnedByCurrentThread()) {
+
+            startReadAhead();
+        }
+
+        return numRetrievedRows;
+    }
+
+    private int getNumRowsToRetrieve() {
+
+        return adaptiveFetchSizer != null ? adaptiveFetchSizer.getNumRowsToRetrieve() : maxRowsToRetrieve;
+    }
+
+    private void startReadAhead() {
+
+        final ReceiveBuffers buffers = readAheadBuffers;
+        final int numRowsToRetrieve = limitToRemainingRows(getNumRowsToRetrieve());
+
         if (DEBUG) {
 
-            System.out.println("result set retrieve more rows remainingRowsOfResult=" + remainingRowsOfResult);
+            System.out.println("result set start retrieving ahead numRowsToRetrieve=" + numRowsToRetrieve);
         }
 
-        final int maxBytesPerResultRow = getMetaData().getMaxBytesPerResultRow();
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        // Only accesses the read ahead buffers, which are published to the consumer along with the number of rows by completing the future
+        readAheadExecutor.execute(() -> {
+
+            // Cancelled if the connection was entered by a thread awaiting this retrieval before started
+            if (!future.isDone()) {
+
+                try {
+                    future.complete(retrieveRows(readAheadRetrieval, buffers, numRowsToRetrieve));
+                }
+                catch (GenericProtocolException | RuntimeException ex) {
+
+                    future.completeExceptionally(ex);
+                }
+            }
+        });
+
+        this.readAhead = future;
+    }
+
+    /**
+     * Await any ongoing retrieval ahead.
+     *
+     * @return number of rows retrieved ahead, or {@link #NOT_RETRIEVED_AHEAD} if cancelled before started
+     */
+    private int awaitReadAhead() throws GenericProtocolException {
+
+        final CompletableFuture<Integer> future = readAhead;
+
+        this.readAhead = null;
+
+        // Holding the connection means the retrieval has either completed or cannot start until released, so cancel instead of waiting
+        if (readAheadExecutor.isOwnedByCurrentThread() && future.cancel(false)) {
+
+            if (DEBUG) {
+
+                System.out.println("result set cancelled retrieving ahead");
+            }
+
+            return NOT_RETRIEVED_AHEAD;
+        }
 
         final int numRetrievedRows;
 
-        if (remainingRowsOfResult < 0) {
+        try {
+            numRetrievedRows = future.join();
+        }
+        catch (CompletionException ex) {
 
-            // Total number of rows returned from the database is not known ahead of time,
-            // retrieve as many as there is room for in the buffer
-            retrieval.retrieveResultRows(resultRowBytes, Integer.MAX_VALUE, maxBytesPerResultRow, retrievedRows);
+            if (ex.getCause() instanceof GenericProtocolException) {
 
-            numRetrievedRows = retrievedRows.getNumRows();
+                throw (GenericProtocolException)ex.getCause();
+            }
+
+            throw ex;
         }
-        else if (remainingRowsOfResult == 0) {
 
-            // Database returned no rows, known ahead of time
+        onRowsRetrieved(numRetrievedRows);
+
+        return numRetrievedRows;
+    }
+
+    private int retrieveRows(ResultRetrieval resultRetrieval, ReceiveBuffers buffers, int numRowsToRetrieve) throws GenericProtocolException {
+
+        buffers.resultRowsDestination.reset();
+
+        final long startNanos = System.nanoTime();
+
+        final int numRetrievedRows = retrieveRows(resultRetrieval, buffers.resultRowsDestination, numRowsToRetrieve, buffers.retrievedRows);
+
+        buffers.retrievalNanos = System.nanoTime() - startNanos;
+
+        return numRetrievedRows;
+    }
+
+    /**
+     * Retrieve rows, not updating any state of this result set since possibly run by the read ahead executor.
+     *
+     * @param resultRetrieval for retrieving rows
+     * @param dst destination of rows
+     * @param numRowsToRetrieve max number of rows to retrieve, {@code 0} if all rows have been retrieved
+     * @param retrievedRows initialized with retrieved rows
+     *
+     * @return number of rows retrieved
+     */
+    private int retrieveRows(ResultRetrieval resultRetrieval, IResultRowsDestination dst, int numRowsToRetrieve, RetrievedRows retrievedRows)
+            throws GenericProtocolException {
+
+        retrievedRows.reset();
+
+        if (DEBUG) {
+
+            System.out.println("result set retrieve rows numRowsToRetrieve=" + numRowsToRetrieve);
+        }
+
+        final int numRetrievedRows;
+
+        if (numRowsToRetrieve == 0) {
+
+            // Database returned no more rows, known ahead of time
             numRetrievedRows = 0;
         }
         else {
-            // Total number of rows returned from the database is known ahead of time,
-            // retrieve remaining, max rows to retrieve or as many as there is room for in the buffer
-            final int numRowsToRetrieve = (int)Math.min(remainingRowsOfResult, maxRowsToRetrieve);
-
-            retrieval.retrieveResultRows(resultRowBytes, numRowsToRetrieve, maxBytesPerResultRow, retrievedRows);
+            // Retrieve max rows or as many as there is room for in the buffer
+            resultRetrieval.retrieveResultRows(dst, numRowsToRetrieve, getMetaData().getMaxBytesPerResultRow(), retrievedRows);
 
             numRetrievedRows = retrievedRows.getNumRows();
 
-            if (numRetrievedRows == 0) {
+            // Total number of rows returned from the database is known ahead of time so there must be more rows
+            if (numRetrievedRows == 0 && getMetaData().getTotalNumRows() != GenericResultSetMetaData.NO_TOTAL_NUM_ROWS) {
 
                 throw new ProtocolErrorException();
             }
-
-            this.remainingRowsOfResult -= numRetrievedRows;
         }
 
         if (DEBUG) {
 
-            System.out.println("exit result set retrieve more rows numRetrievedRows=" + numRetrievedRows + " remainingRowsOfResult=" + remainingRowsOfResult);
+            System.out.println("exit result set retrieve rows numRetrievedRows=" + numRetrievedRows);
         }
 
         return numRetrievedRows;
     }
 
+    /**
+     * Limit number of rows to retrieve to the remaining rows of the result set, if known.
+     *
+     * @param maxRows max number of rows to retrieve
+     *
+     * @return number of rows to retrieve, {@code 0} if all rows have been retrieved
+     */
+    private int limitToRemainingRows(int maxRows) {
+
+        final int result;
+
+        if (allRowsRetrieved) {
+
+            result = 0;
+        }
+        else if (remainingRowsOfResult < 0) {
+
+            // Total number of rows returned from the database is not known ahead of time
+            result = maxRows;
+        }
+        else {
+            result = (int)Math.min(remainingRowsOfResult, maxRows);
+        }
+
+        return result;
+    }
+
+    private void onRowsRetrieved(int numRetrievedRows) {
+
+        if (remainingRowsOfResult > 0) {
+
+            this.remainingRowsOfResult -= numRetrievedRows;
+        }
+
+        if (numRetrievedRows == 0 || remainingRowsOfResult == 0) {
+
+            this.allRowsRetrieved = true;
+        }
+
+        if (DEBUG) {
+
+            System.out.println("result set retrieved rows numRetrievedRows=" + numRetrievedRows + " remainingRowsOfResult=" + remainingRowsOfResult);
+        }
+    }
+
     @Override
     int getRowLength(long rowIndex) {
 
@@ -210,7 +598,63 @@ final class ConnectionDirectResultSet<PREPARED_STATEMENT, DATA_TYPE> extends Bas
             throw new IllegalArgumentException();
         }
 
-        return rowLengths[(int)rowIndex];
+        final int[] rowLengths = receiveBuffers.rowLengths;
+
+        return rowLengths != null ? rowLengths[(int)rowIndex] : getConstantRowLength();
+    }
+
+    /**
+     * Get max number of rows to retrieve at a time.
+     *
+     * @param bufferRows number of rows of max length that fit in buffer
+     * @param bufferSize number of bytes of buffer
+     * @param fetchSize fetch size, {@code 0} if not set
+     *
+     * @return max number of rows to retrieve, without fetch size more than fit in buffer at max length since rows are often shorter,
+     *         but with row lengths taking up no more memory than the buffer
+     */
+    private static int getMaxRowsToRetrieve(int bufferRows, int bufferSize, int fetchSize) {
+
+        return fetchSize != 0
+                ? bufferRows
+                : (int)Math.min((long)bufferRows * MAX_ADAPTIVE_ROWS_FACTOR, Math.max(bufferSize / Integer.BYTES, bufferRows));
+    }
+
+    private void releaseReceiveBuffers() {
+
+        if (!receiveBuffersReleased) {
+
+            this.receiveBuffersReleased = true;
+
+            receiveBuffers.release(receiveBufferPool);
+
+            if (readAheadBuffers != null) {
+
+                readAheadBuffers.release(receiveBufferPool);
+            }
+        }
+    }
+
+    private static void addRowLengths(IntLargeArray rowLengthsIntLargeArray, ReceiveBuffers buffers, int rowIndex, int numRows) {
+
+        if (rowLengthsIntLargeArray != null) {
+
+            rowLengthsIntLargeArray.add(buffers.rowLengths, rowIndex, numRows);
+        }
+    }
+
+    private static void closeResultSetBuffer(ResultSetBuffer resultSetBuffer) {
+
+        try {
+            resultSetBuffer.close();
+        }
+        catch (IOException ex) {
+
+            if (DEBUG) {
+
+                System.out.println("exception when closing result set buffer " + ex);
+            }
+        }
     }
 
     private static int checkCastToInt(long value) {
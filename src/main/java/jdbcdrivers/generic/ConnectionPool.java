@@ -0,0 +1,379 @@
+package jdbcdrivers.generic;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.ProtocolIOException;
+
+/**
+ * Pool of connections to the same database with the same connection properties, so that connecting does not require a new socket connection
+ * and initial setup handshake.
+ *
+ * Borrowing and returning connections does not lock, idle connections are kept in a {@link ConcurrentLinkedDeque} with the most recently returned
+ * first, and the number of available connections is tracked by a {@link Semaphore} so that borrowing waits only when all connections are in use.
+ *
+ * Idle connections timed out are evicted from the tail when borrowing and returning connections, never below the minimum size.
+ */
+final class ConnectionPool<PREPARED_STATEMENT, DATA_TYPE> {
+
+    private static final boolean DEBUG = Boolean.FALSE;
+
+    @FunctionalInterface
+    interface ConnectionOpener<PREPARED_STATEMENT, DATA_TYPE> {
+
+        PooledConnection<PREPARED_STATEMENT, DATA_TYPE> open() throws GenericProtocolException;
+    }
+
+    /**
+     * Connection state that outlives each borrowed {@link GenericDriverConnection}.
+     */
+    static final class PooledConnection<PREPARED_STATEMENT, DATA_TYPE> {
+
+        private final DriverSocket socket;
+        private final IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> protocol;
+        private final SerialExecutor asyncExecutor;
+
+        // Prepared statements are kept across borrows, null if not caching
+        private final PreparedStatementCache<PREPARED_STATEMENT> preparedStatementCache;
+
+        private long idleSinceMillis;
+
+        PooledConnection(DriverSocket socket, IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> protocol, SerialExecutor asyncExecutor,
+                PreparedStatementCache<PREPARED_STATEMENT> preparedStatementCache) {
+
+            this.socket = Objects.requireNonNull(socket);
+            this.protocol = Objects.requireNonNull(protocol);
+            this.asyncExecutor = Objects.requireNonNull(asyncExecutor);
+            this.preparedStatementCache = preparedStatementCache;
+        }
+
+        DriverSocket getSocket() {
+            return socket;
+        }
+
+        IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> getProtocol() {
+            return protocol;
+        }
+
+        SerialExecutor getAsyncExecutor() {
+            return asyncExecutor;
+        }
+
+        PreparedStatementCache<PREPARED_STATEMENT> getPreparedStatementCache() {
+            return preparedStatementCache;
+        }
+
+        void close() {
+
+            try {
+                protocol.sendClose();
+            }
+            catch (GenericProtocolException ex) {
+
+                if (DEBUG) {
+
+                    System.out.println("exception when closing pooled connection " + ex);
+                }
+            }
+            finally {
+
+                try {
+                    socket.close();
+                }
+                catch (IOException ex) {
+
+                    if (DEBUG) {
+
+                        System.out.println("exception when closing pooled connection socket " + ex);
+                    }
+                }
+            }
+        }
+    }
+
+    private final ConnectionOpener<PREPARED_STATEMENT, DATA_TYPE> connectionOpener;
+    private final int minSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+
+    // Most recently returned first, so that connections at the tail time out when not needed
+    private final ConcurrentLinkedDeque<PooledConnection<PREPARED_STATEMENT, DATA_TYPE>> idleConnections;
+
+    // Number of idle connections plus number of connections that may still be opened
+    private final Semaphore available;
+
+    private final AtomicInteger numOpenConnections;
+
+    ConnectionPool(ConnectionOpener<PREPARED_STATEMENT, DATA_TYPE> connectionOpener, int minSize, int maxSize, long idleTimeoutMillis, long borrowTimeoutMillis) {
+
+        Objects.requireNonNull(connectionOpener);
+
+        if (minSize < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (maxSize < 1 || maxSize < minSize) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (idleTimeoutMillis < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (borrowTimeoutMillis < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.connectionOpener = connectionOpener;
+        this.minSize = minSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+
+        this.idleConnections = new ConcurrentLinkedDeque<>();
+        this.available = new Semaphore(maxSize);
+        this.numOpenConnections = new AtomicInteger();
+    }
+
+    /**
+     * Open the minimum number of connections in parallel.
+     *
+     * @param executor {@link Executor} for opening connections
+     *
+     * @throws GenericProtocolException if opening any of the connections failed, connections opened successfully are still added to the pool
+     */
+    void warmUp(Executor executor) throws GenericProtocolException {
+
+        Objects.requireNonNull(executor);
+
+        final List<CompletableFuture<PooledConnection<PREPARED_STATEMENT, DATA_TYPE>>> futures = new ArrayList<>(minSize);
+
+        for (int i = 0; i < minSize; ++ i) {
+
+            // Counts towards maximum size as if borrowed, for any connections borrowed concurrently
+            if (!available.tryAcquire()) {
+
+                break;
+            }
+
+            futures.add(CompletableFuture.supplyAsync(() -> {
+
+                try {
+                    return openConnection();
+                }
+                catch (GenericProtocolException ex) {
+
+                    throw new CompletionException(ex);
+                }
+            }, executor));
+        }
+
+        GenericProtocolException exception = null;
+
+        final long nowMillis = System.currentTimeMillis();
+
+        for (CompletableFuture<PooledConnection<PREPARED_STATEMENT, DATA_TYPE>> future : futures) {
+
+            try {
+                final PooledConnection<PREPARED_STATEMENT, DATA_TYPE> pooledConnection = future.join();
+
+                pooledConnection.idleSinceMillis = nowMillis;
+
+                idleConnections.addLast(pooledConnection);
+            }
+            catch (CompletionException ex) {
+
+                if (exception == null && ex.getCause() instanceof GenericProtocolException) {
+
+                    exception = (GenericProtocolException)ex.getCause();
+                }
+            }
+            finally {
+
+                available.release();
+            }
+        }
+
+        if (exception != null) {
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Borrow a connection, opening a new one if no idle connection is available and the pool is not at its maximum size.
+     *
+     * @return the borrowed connection, to be returned by {@link #release(PooledConnection, boolean)}
+     *
+     * @throws GenericProtocolException if opening a new connection failed, or if timed out waiting for a connection to be returned
+     */
+    PooledConnection<PREPARED_STATEMENT, DATA_TYPE> borrow() throws GenericProtocolException {
+
+        // Also evicted here since connections may not be returned for a long time
+        evictTimedOut(System.currentTimeMillis());
+
+        acquire();
+
+        boolean ok = false;
+
+        try {
+            PooledConnection<PREPARED_STATEMENT, DATA_TYPE> pooledConnection;
+
+            while ((pooledConnection = idleConnections.pollFirst()) != null) {
+
+                if (pooledConnection.getSocket().isValidForReuse()) {
+
+                    break;
+                }
+
+                if (DEBUG) {
+
+                    System.out.println("discard invalid pooled connection");
+                }
+
+                discard(pooledConnection);
+            }
+
+            final PooledConnection<PREPARED_STATEMENT, DATA_TYPE> result = pooledConnection != null ? pooledConnection : openConnection();
+
+            ok = true;
+
+            return result;
+        }
+        finally {
+
+            if (!ok) {
+
+                available.release();
+            }
+        }
+    }
+
+    /**
+     * Return a borrowed connection to the pool.
+     *
+     * @param pooledConnection the connection to return
+     * @param reusable whether the connection is in a state where it can be borrowed again, otherwise it is closed
+     */
+    void release(PooledConnection<PREPARED_STATEMENT, DATA_TYPE> pooledConnection, boolean reusable) {
+
+        Objects.requireNonNull(pooledConnection);
+
+        final long nowMillis = System.currentTimeMillis();
+
+        if (reusable) {
+
+            pooledConnection.idleSinceMillis = nowMillis;
+
+            idleConnections.addFirst(pooledConnection);
+        }
+        else {
+            discard(pooledConnection);
+        }
+
+        available.release();
+
+        evictTimedOut(nowMillis);
+    }
+
+    private void acquire() throws GenericProtocolException {
+
+        try {
+            if (!available.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+
+                throw new ProtocolIOException(new IOException("Timed out waiting for pooled connection"));
+            }
+        }
+        catch (InterruptedException ex) {
+
+            Thread.currentThread().interrupt();
+
+            throw new ProtocolIOException(new IOException("Interrupted waiting for pooled connection", ex));
+        }
+    }
+
+    private PooledConnection<PREPARED_STATEMENT, DATA_TYPE> openConnection() throws GenericProtocolException {
+
+        final PooledConnection<PREPARED_STATEMENT, DATA_TYPE> pooledConnection = connectionOpener.open();
+
+        numOpenConnections.incrementAndGet();
+
+        return pooledConnection;
+    }
+
+    private void discard(PooledConnection<PREPARED_STATEMENT, DATA_TYPE> pooledConnection) {
+
+        numOpenConnections.decrementAndGet();
+
+        pooledConnection.close();
+    }
+
+    /**
+     * Reserve evicting a connection by decrementing the number of open connections if above the minimum size, so that concurrent evictions
+     * cannot go below the minimum size.
+     *
+     * @return {@code true} if reserved, {@code false} if at the minimum size
+     */
+    private boolean reserveEviction() {
+
+        for (;;) {
+
+            final int num = numOpenConnections.get();
+
+            if (num <= minSize) {
+
+                return false;
+            }
+
+            if (numOpenConnections.compareAndSet(num, num - 1)) {
+
+                return true;
+            }
+        }
+    }
+
+    private void evictTimedOut(long nowMillis) {
+
+        final TimedFreeList.EvictTimes evictTimes = new TimedFreeList.EvictTimes();
+
+        evictTimes.init(idleTimeoutMillis, nowMillis);
+
+        PooledConnection<PREPARED_STATEMENT, DATA_TYPE> last;
+
+        while ((last = idleConnections.peekLast()) != null && last.idleSinceMillis <= nowMillis && evictTimes.shouldEvict(last.idleSinceMillis)) {
+
+            if (!reserveEviction()) {
+
+                break;
+            }
+
+            // May race with borrowing, only evict if still the same connection
+            if (idleConnections.removeLastOccurrence(last)) {
+
+                if (DEBUG) {
+
+                    System.out.println("evict idle pooled connection");
+                }
+
+                last.close();
+            }
+            else {
+                // Not evicted so still open
+                numOpenConnections.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package jdbcdrivers.generic;
+
+import java.util.Properties;
+
+/**
+ * Driver specific connection properties passed to {@link GenericDriver#connect(java.net.URI, Properties, java.nio.charset.Charset)}.
+ */
+final class ConnectionProperties {
+
+    /**
+     * Number of selector event loop threads shared by all connections of a driver, {@code 0} for blocking I/O with no event loop.
+     */
+    static final String IO_ENGINE_THREADS = "ioEngineThreads";
+
+    /**
+     * Maximum number of threads shared by all connections of a driver for executing asynchronous operations and non-blocking I/O callbacks.
+     */
+    static final String ASYNC_THREADS = "asyncThreads";
+
+    /**
+     * Maximum number of pooled connections for the same database and connection properties, {@code 0} for no pooling.
+     */
+    static final String POOL_MAX_SIZE = "poolMaxSize";
+
+    /**
+     * Number of pooled connections opened when the pool is created and kept open even if idle.
+     */
+    static final String POOL_MIN_SIZE = "poolMinSize";
+
+    /**
+     * Milliseconds after which idle pooled connections above the minimum number are closed.
+     */
+    static final String POOL_IDLE_TIMEOUT_MILLIS = "poolIdleTimeoutMillis";
+
+    /**
+     * Milliseconds to wait for a pooled connection to be returned when all are in use.
+     */
+    static final String POOL_BORROW_TIMEOUT_MILLIS = "poolBorrowTimeoutMillis";
+
+    /**
+     * Maximum number of prepared statements cached per connection, {@code 0} for no caching.
+     */
+    static final String STATEMENT_CACHE_MAX_COUNT = "statementCacheMaxCount";
+
+    /**
+     * Approximate maximum total size in bytes of prepared statements cached per connection, estimated from SQL length and number of result columns.
+     */
+    static final String STATEMENT_CACHE_MAX_BYTES = "statementCacheMaxBytes";
+
+    /**
+     * Approximate maximum number of bytes of batch rows to send before receiving responses, so that memory use does not depend on batch size.
+     */
+    static final String BATCH_FRAME_BYTES = "batchFrameBytes";
+
+    /**
+     * Number of bytes of a result set buffered on heap when executing other statements while it is open, beyond which it is spilled to a temporary file.
+     */
+    static final String RESULT_SET_SPILL_THRESHOLD_BYTES = "resultSetSpillThresholdBytes";
+
+    /**
+     * Whether to buffer result sets in off heap memory reused across result sets, instead of on heap.
+     */
+    static final String RESULT_SET_BUFFER_OFF_HEAP = "resultSetBufferOffHeap";
+
+    /**
+     * Number of result rows to fetch from the database at a time for statements with no fetch size set, {@code 0} for as many as fit in {@link #FETCH_MAX_BYTES}.
+     */
+    static final String DEFAULT_FETCH_SIZE = "defaultFetchSize";
+
+    /**
+     * Max number of bytes of result rows to fetch from the database at a time, limited to {@link ConnectionDirectResultSet#MAX_BUFFER_SIZE}.
+     */
+    static final String FETCH_MAX_BYTES = "fetchMaxBytes";
+
+    /**
+     * Whether to retrieve the next result rows in the background while the current rows are consumed, at the cost of twice the receive buffer memory.
+     */
+    static final String RESULT_SET_READ_AHEAD = "resultSetReadAhead";
+
+    /**
+     * Whether to keep a bounded dictionary of decoded strings per result set string column, so that repeated values are decoded and retained once.
+     */
+    static final String RESULT_SET_STRING_DICTIONARIES = "resultSetStringDictionaries";
+
+    private ConnectionProperties() {
+
+    }
+
+    static int getIOEngineThreads(Properties properties) {
+
+        return getInt(properties, IO_ENGINE_THREADS, 0, 0);
+    }
+
+    static int getAsyncThreads(Properties properties) {
+
+        return getInt(properties, ASYNC_THREADS, 2 * Runtime.getRuntime().availableProcessors(), 1);
+    }
+
+    static int getPoolMaxSize(Properties properties) {
+
+        return getInt(properties, POOL_MAX_SIZE, 0, 0);
+    }
+
+    static int getPoolMinSize(Properties properties) {
+
+        return getInt(properties, POOL_MIN_SIZE, 0, 0);
+    }
+
+    static int getPoolIdleTimeoutMillis(Properties properties) {
+
+        return getInt(properties, POOL_IDLE_TIMEOUT_MILLIS, 10 * 60 * 1000, 0);
+    }
+
+    static int getPoolBorrowTimeoutMillis(Properties properties) {
+
+        return getInt(properties, POOL_BORROW_TIMEOUT_MILLIS, 30 * 1000, 0);
+    }
+
+    static int getStatementCacheMaxCount(Properties properties) {
+
+        return getInt(properties, STATEMENT_CACHE_MAX_COUNT, 0, 0);
+    }
+
+    static int getStatementCacheMaxBytes(Properties properties) {
+
+        return getInt(properties, STATEMENT_CACHE_MAX_BYTES, 1024 * 1024, 1);
+    }
+
+    static int getBatchFrameBytes(Properties properties) {
+
+        return getInt(properties, BATCH_FRAME_BYTES, 1024 * 1024, 1);
+    }
+
+    static int getResultSetSpillThresholdBytes(Properties properties) {
+
+        return getInt(properties, RESULT_SET_SPILL_THRESHOLD_BYTES, 64 * 1024 * 1024, 0);
+    }
+
+    static int getDefaultFetchSize(Properties properties) {
+
+        return getInt(properties, DEFAULT_FETCH_SIZE, 0, 0);
+    }
+
+    static int getFetchMaxBytes(Properties properties) {
+
+        return Math.min(getInt(properties, FETCH_MAX_BYTES, 10 * 1024 * 1024, 1), ConnectionDirectResultSet.MAX_BUFFER_SIZE);
+    }
+
+    static boolean isResultSetBufferOffHeap(Properties properties) {
+
+        return getBoolean(properties, RESULT_SET_BUFFER_OFF_HEAP, false);
+    }
+
+    static boolean isResultSetReadAhead(Properties properties) {
+
+        return getBoolean(properties, RESULT_SET_READ_AHEAD, false);
+    }
+
+    static boolean isResultSetStringDictionaries(Properties properties) {
+
+        return getBoolean(properties, RESULT_SET_STRING_DICTIONARIES, false);
+    }
+
+    private static boolean getBoolean(Properties properties, String name, boolean defaultValue) {
+
+        final String value = properties != null ? properties.getProperty(name) : null;
+
+        final boolean result;
+
+        if (value == null) {
+
+            result = defaultValue;
+        }
+        else if (value.trim().equalsIgnoreCase("true")) {
+
+            result = true;
+        }
+        else if (value.trim().equalsIgnoreCase("false")) {
+
+            result = false;
+        }
+        else {
+            throw new IllegalArgumentException("Invalid value for connection property " + name);
+        }
+
+        return result;
+    }
+
+    private static int getInt(Properties properties, String name, int defaultValue, int minValue) {
+
+        final String value = properties != null ? properties.getProperty(name) : null;
+
+        final int result;
+
+        if (value == null) {
+
+            result = defaultValue;
+        }
+        else {
+            try {
+                result = Integer.parseInt(value.trim());
+            }
+            catch (NumberFormatException ex) {
+
+                throw new IllegalArgumentException("Invalid value for connection property " + name, ex);
+            }
+
+            if (result < minValue) {
+
+                throw new IllegalArgumentException("Invalid value for connection property " + name);
+            }
+        }
+
+        return result;
+    }
+}
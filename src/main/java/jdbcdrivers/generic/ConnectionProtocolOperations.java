@@ -3,7 +3,10 @@ package jdbcdrivers.generic;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol.PreparedStatementResult;
 import jdbcdrivers.databaseprotocol.api.IGenericPreparedStatementParameterGetters;
@@ -18,15 +21,27 @@ interface ConnectionProtocolOperations<PREPARED_STATEMENT, DATA_TYPE> {
 
     PreparedStatementResult<PREPARED_STATEMENT> prepareStatement(String sql, GenericStatementExecutionOptions statementParameters) throws GenericProtocolException;
 
-    GenericResultSet executePreparedQuery(PREPARED_STATEMENT preparedQuery, GenericPreparedStatementParameters parameters) throws GenericProtocolException;
+    // Fetch size 0 for connection default
+    GenericResultSet executePreparedQuery(PREPARED_STATEMENT preparedQuery, GenericPreparedStatementParameters parameters, int fetchSize) throws GenericProtocolException;
 
     int executePreparedUpdate(PREPARED_STATEMENT preparedStatement, GenericPreparedStatementParameters preparedStatementParameters) throws GenericProtocolException;
 
     int[] executeBatches(PREPARED_STATEMENT preparedStatement, Collection<? extends IGenericPreparedStatementParameterGetters> batches) throws GenericProtocolException;
 
+    long executeBatches(PREPARED_STATEMENT preparedStatement, Iterator<? extends IGenericPreparedStatementParameterGetters> batches) throws GenericProtocolException;
+
+    void executePipelinedUpdates(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException;
+
+    CompletableFuture<Void> executePipelinedUpdatesAsync(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException;
+
+    void resumePipelinedUpdates();
+
     void closePreparedStatement(PREPARED_STATEMENT preparedStatement) throws GenericProtocolException;
 
     void commit() throws GenericProtocolException, IOException;
 
+    // Reset autocommit and transaction state for reuse by connection pool, returns false if connection cannot be reused
+    boolean resetForReuse() throws GenericProtocolException, IOException;
+
     void sendClose() throws GenericProtocolException;
 }
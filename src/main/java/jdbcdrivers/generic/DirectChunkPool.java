@@ -0,0 +1,109 @@
+package jdbcdrivers.generic;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+/**
+ * Driver wide pool of off-heap chunks for buffering result sets, allocated as slices of larger direct buffers.
+ *
+ * Chunks are explicitly released back to the pool when a result set buffer is closed, so that off-heap memory is reused instead of
+ * retained until garbage collected.
+ */
+final class DirectChunkPool {
+
+    private static final boolean DEBUG = Boolean.FALSE;
+
+    // Size of each direct buffer chunks are sliced from, rounded down to a multiple of the chunk size
+    private static final int SLAB_SIZE = 1024 * 1024;
+
+    private final int chunkSize;
+    private final int maxFreeChunks;
+    private final int slabSize;
+
+    // Most recently released first
+    private final ArrayDeque<ByteBuffer> freeChunks;
+
+    private ByteBuffer slab;
+    private int slabOffset;
+
+    /**
+     * @param chunkSize size of each chunk
+     * @param maxFreeBytes max number of bytes of released chunks to keep for reuse
+     */
+    DirectChunkPool(int chunkSize, long maxFreeBytes) {
+
+        if (chunkSize < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (maxFreeBytes < 0L) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.chunkSize = chunkSize;
+        this.maxFreeChunks = (int)Math.min(maxFreeBytes / chunkSize, Integer.MAX_VALUE);
+        this.slabSize = Math.max(SLAB_SIZE / chunkSize, 1) * chunkSize;
+
+        this.freeChunks = new ArrayDeque<>();
+    }
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    synchronized ByteBuffer allocate() {
+
+        ByteBuffer result = freeChunks.pollFirst();
+
+        if (result == null) {
+
+            if (slab == null || slabOffset == slabSize) {
+
+                if (DEBUG) {
+
+                    System.out.println("allocate direct chunk slab slabSize=" + slabSize);
+                }
+
+                this.slab = ByteBuffer.allocateDirect(slabSize);
+                this.slabOffset = 0;
+            }
+
+            slab.limit(slabOffset + chunkSize);
+            slab.position(slabOffset);
+
+            result = slab.slice();
+
+            slab.clear();
+
+            this.slabOffset += chunkSize;
+        }
+
+        return result;
+    }
+
+    synchronized void release(ByteBuffer chunk) {
+
+        Objects.requireNonNull(chunk);
+
+        if (!chunk.isDirect() || chunk.capacity() != chunkSize) {
+
+            throw new IllegalArgumentException();
+        }
+
+        // Beyond max, left to be reclaimed along with its slab when garbage collected
+        if (freeChunks.size() < maxFreeChunks) {
+
+            chunk.clear();
+
+            freeChunks.addFirst(chunk);
+        }
+    }
+
+    synchronized int getNumFreeChunks() {
+
+        return freeChunks.size();
+    }
+}
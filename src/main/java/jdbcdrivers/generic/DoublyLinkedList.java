@@ -122,6 +122,39 @@ final class DoublyLinkedList<T extends DoublyLinkedList.DoublyLinkedNode<T>> {
         return result;
     }
 
+    void remove(T node) {
+
+        Objects.requireNonNull(node);
+
+        final DoublyLinkedNode<T> toRemoveNode = node;
+
+        if (toRemoveNode.previous == null && toRemoveNode.next == null && head != node) {
+
+            throw new IllegalStateException();
+        }
+
+        if (toRemoveNode.previous != null) {
+
+            ((DoublyLinkedNode<T>)toRemoveNode.previous).next = toRemoveNode.next;
+        }
+        else {
+            this.head = toRemoveNode.next;
+        }
+
+        if (toRemoveNode.next != null) {
+
+            ((DoublyLinkedNode<T>)toRemoveNode.next).previous = toRemoveNode.previous;
+        }
+        else {
+            this.tail = toRemoveNode.previous;
+        }
+
+        toRemoveNode.previous = null;
+        toRemoveNode.next = null;
+
+        -- numElements;
+    }
+
     <P> void removeTrailing(P parameter, BiPredicate<T, P> predicate) {
 
         Objects.requireNonNull(predicate);
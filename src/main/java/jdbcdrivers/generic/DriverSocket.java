@@ -1,16 +1,16 @@
 package jdbcdrivers.generic;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.StandardSocketOptions;
-import java.nio.channels.Channels;
+import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.util.Objects;
 
 import jdbcdrivers.util.BufferOutputStream;
 import jdbcdrivers.util.DriverUtil;
+import jdbcdrivers.util.ProtocolReader;
 
 /**
  * Socket connection to database, makes sure that complete messages are sent over the network connection.
@@ -21,8 +21,12 @@ final class DriverSocket implements AutoCloseable {
 
     private final SocketChannel socketChannel;
     private final BufferOutputStream bufferOutputStream;
+    private final ProtocolReader protocolReader;
 
-    DriverSocket(int sendBufferSize, int receiveBufferSize) throws IOException {
+    // Set if registered for non-blocking I/O with a SelectorEngine
+    private SelectorEngine.Registration registration;
+
+    DriverSocket(int sendBufferSize, int receiveBufferSize, int protocolReaderBufferSize) throws IOException {
 
         this.socketChannel = SocketChannel.open();
 
@@ -35,6 +39,8 @@ final class DriverSocket implements AutoCloseable {
             }
         };
 
+        this.protocolReader = new ProtocolReader(socketChannel, protocolReaderBufferSize, true);
+
         socketChannel.setOption(StandardSocketOptions.SO_SNDBUF, sendBufferSize);
         socketChannel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferSize);
     }
@@ -78,13 +84,69 @@ final class DriverSocket implements AutoCloseable {
     }
 
     /**
-     * Get socket {@link InputStream}.
+     * Switch to non-blocking I/O, waiting for readiness through a {@link SelectorEngine}. Must be called after {@link #connect(String, int)}.
+     *
+     * @param selectorEngine the {@link SelectorEngine} to register with
+     *
+     * @throws IOException if registering failed
+     */
+    void register(SelectorEngine selectorEngine) throws IOException {
+
+        Objects.requireNonNull(selectorEngine);
+
+        if (registration != null) {
+
+            throw new IllegalStateException();
+        }
+
+        this.registration = selectorEngine.register(socketChannel);
+
+        protocolReader.setReadinessWaiter(registration::awaitReadable);
+    }
+
+    /**
+     * Whether registered for non-blocking I/O.
+     *
+     * @return {@code true} if registered with a {@link SelectorEngine}
+     */
+    boolean isNonBlocking() {
+
+        return registration != null;
+    }
+
+    /**
+     * Call back once socket is readable, only for non-blocking I/O.
+     *
+     * @param callback the callback to execute
+     */
+    void onReadable(Runnable callback) {
+
+        if (registration == null) {
+
+            throw new IllegalStateException();
+        }
+
+        registration.onReadable(callback);
+    }
+
+    /**
+     * Cheap check of whether the socket may be reused by another connection, without any network round trip.
+     *
+     * @return {@code true} if still connected and no data received that has not been read
+     */
+    boolean isValidForReuse() {
+
+        return socketChannel.isOpen() && socketChannel.isConnected() && protocolReader.getNumBufferedBytes() == 0;
+    }
+
+    /**
+     * Get the {@link ProtocolReader} that buffers data received from the socket.
      *
-     * @return an {@link InputStream} by which to receive data from the socket
+     * @return a {@link ProtocolReader} by which to receive data from the socket
      */
-    InputStream getInputStream() {
+    ProtocolReader getProtocolReader() {
 
-        return Channels.newInputStream(socketChannel);
+        return protocolReader;
     }
 
     /**
@@ -99,14 +161,36 @@ final class DriverSocket implements AutoCloseable {
 
     private void sendMessage() throws IOException {
 
-        socketChannel.write(bufferOutputStream.getOutputByteBuffer());
+        final ByteBuffer byteBuffer = bufferOutputStream.getOutputByteBuffer();
 
-        bufferOutputStream.reset();
+        try {
+            while (byteBuffer.hasRemaining()) {
+
+                // Non-blocking sockets may write only part of the message
+                if (socketChannel.write(byteBuffer) == 0 && registration != null) {
+
+                    registration.awaitWritable();
+                }
+            }
+        }
+        finally {
+
+            bufferOutputStream.reset();
+        }
     }
 
     @Override
     public void close() throws IOException {
 
-        socketChannel.close();
+        try {
+            socketChannel.close();
+        }
+        finally {
+
+            if (registration != null) {
+
+                registration.close();
+            }
+        }
     }
 }
@@ -13,7 +13,8 @@ abstract class GenericCloseable<CHECK_CLOSED_EXCEPTION extends GenericDriverExce
 
     private final Supplier<CHECK_CLOSED_EXCEPTION> checkClosedExceptionSupplier;
 
-    private boolean closed;
+    // Checked by asynchronous operations run on other threads
+    private volatile boolean closed;
 
     GenericCloseable(Supplier<CHECK_CLOSED_EXCEPTION> checkClosedExceptionSupplier) {
 
@@ -29,6 +30,10 @@ abstract class GenericCloseable<CHECK_CLOSED_EXCEPTION extends GenericDriverExce
         this.closed = true;
     }
 
+    final boolean isClosed() {
+        return closed;
+    }
+
     final void checkNotAlreadyClosed() throws AlreadyClosedException {
 
         if (closed) {
@@ -1,24 +1,30 @@
 package jdbcdrivers.generic;
 
-import java.io.DataInput;
-import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
 
 import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol;
 import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol.PreparedStatementResult;
 import jdbcdrivers.databaseprotocol.api.IGenericPreparedStatementParameterGetters;
+import jdbcdrivers.databaseprotocol.api.IResultRowsDestination;
 import jdbcdrivers.databaseprotocol.api.IRetrievedRows;
 import jdbcdrivers.generic.api.ExecuteResult;
 import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
+import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.ProtocolErrorCodeException;
 import jdbcdrivers.generic.exceptions.ProtocolIOException;
 import jdbcdrivers.generic.exceptions.ProtocolStateException;
 import jdbcdrivers.generic.util.StringEncoder;
+import jdbcdrivers.util.ProtocolReader;
 
 /**
  * Base class for database connection protocol. Deals with state machinery for communication towards the database, and forwards to database specific code.
@@ -57,6 +63,9 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
         EXECUTING_PREPARED_UPDATE(),
         EXECUTED_PREPARED_UPDATE(true, true, true, true, true, false, false),
 
+        EXECUTING_PIPELINED_UPDATES(),
+        EXECUTED_PIPELINED_UPDATES(true, true, true, true, true, false, false),
+
         EXECUTING_BATCHES(),
         EXECUTED_BATCHES(true, true, true, true, true, true, true),
 
@@ -90,35 +99,89 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
         private final boolean canExecuteBatch;
     }
 
-    private static final int CACHED_RESULT_SET_CHUNK_SIZE = 10 * 1024;
+    static final int CACHED_RESULT_SET_CHUNK_SIZE = 10 * 1024;
 
     private final IDatabaseProtocol<PREPARED_STATEMENT, DATA_TYPE> databaseProtocol;
     private final StringEncoder stringEncoder;
+    private final int batchFrameBytes;
+    private final int resultSetSpillThresholdBytes;
+    private final DirectChunkPool resultSetDirectChunkPool;
+    private final ReceiveBufferPool receiveBufferPool;
+    private final int defaultFetchSize;
+    private final int fetchMaxBytes;
+    private final boolean resultSetReadAhead;
+    private final boolean resultSetStringDictionaries;
     private final SwappableResultSetFactory swappableResultSetFactory;
 
-    private final DataInput dataInput;
+    private final DriverSocket socket;
+
+    private final ProtocolReader dataInput;
     private final DataOutputStream dataOutput;
 
     private final ProtocolData<PREPARED_STATEMENT> protocolData;
 
     private final IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> connectionProtocol;
 
+    // Not entering the connection, for retrieving result set rows ahead from tasks run by the async executor
+    private final IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> unserializedConnectionProtocol;
+
+    private final SerialExecutor asyncExecutor;
+
     private boolean autoCommit;
     private boolean withinTransaction;
 
+    // Pipelined updates for which responses have not yet been received
+    private List<PipelinedUpdate<PREPARED_STATEMENT>> pipelinedUpdates;
+    private int pipelinedUpdatesIndex;
+    private boolean pipelinedBeginResponsePending;
+    private CompletableFuture<Void> pipelinedUpdatesFuture;
+
     GenericConnectionProtocol(DriverSocket socket, IDatabaseProtocol<PREPARED_STATEMENT, DATA_TYPE> databaseProtocol, StringEncoder stringEncoder,
-            GenericDriverSynchronizerFactory genericDriverSynchronizerFactory) {
+            int batchFrameBytes, int resultSetSpillThresholdBytes, DirectChunkPool resultSetDirectChunkPool,
+            ReceiveBufferPool receiveBufferPool, int defaultFetchSize, int fetchMaxBytes, boolean resultSetReadAhead,
+            boolean resultSetStringDictionaries, GenericDriverSynchronizerFactory genericDriverSynchronizerFactory, SerialExecutor asyncExecutor) {
         super(State.IDLE, State.CLOSED, ProtocolStateException::new);
 
         Objects.requireNonNull(databaseProtocol);
         Objects.requireNonNull(stringEncoder);
         Objects.requireNonNull(genericDriverSynchronizerFactory);
+        Objects.requireNonNull(asyncExecutor);
+
+        if (batchFrameBytes < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (resultSetSpillThresholdBytes < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (defaultFetchSize < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (fetchMaxBytes < 1) {
+
+            throw new IllegalArgumentException();
+        }
 
         this.databaseProtocol = databaseProtocol;
         this.stringEncoder = stringEncoder;
+        this.batchFrameBytes = batchFrameBytes;
+        this.resultSetSpillThresholdBytes = resultSetSpillThresholdBytes;
+        this.resultSetDirectChunkPool = resultSetDirectChunkPool;
+        this.receiveBufferPool = Objects.requireNonNull(receiveBufferPool);
+        this.defaultFetchSize = defaultFetchSize;
+        this.fetchMaxBytes = fetchMaxBytes;
+        this.resultSetReadAhead = resultSetReadAhead;
+        this.resultSetStringDictionaries = resultSetStringDictionaries;
         this.swappableResultSetFactory = genericDriverSynchronizerFactory.getSwappableResultSetFactory();
 
-        this.dataInput = new DataInputStream(socket.getInputStream());
+        this.socket = Objects.requireNonNull(socket);
+
+        this.dataInput = socket.getProtocolReader();
         this.dataOutput = new DataOutputStream(socket.getOutputStream());
 
         this.protocolData = new ProtocolData<>(s -> databaseProtocol.getPreparedStatementIdentifier(s));
@@ -133,7 +196,7 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
             }
 
             @Override
-            public void retrieveResultRows(byte[] dst, int numRows, int maxRetrievedRows, RetrievedRows retrievedRows) throws GenericProtocolException {
+            public void retrieveResultRows(IResultRowsDestination dst, int numRows, int maxRetrievedRows, RetrievedRows retrievedRows) throws GenericProtocolException {
 
                 GenericConnectionProtocol.this.retrieveResultRow(dst, numRows, maxRetrievedRows, retrievedRows);
             }
@@ -141,7 +204,7 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
             @Override
             public GenericResultSet executeQuery(String sql, GenericStatementExecutionOptions statementExecutionOptions) throws GenericProtocolException {
 
-                return GenericConnectionProtocol.this.executeQuery(sql);
+                return GenericConnectionProtocol.this.executeQuery(sql, statementExecutionOptions.getFetchSize());
             }
 
             @Override
@@ -175,9 +238,10 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
             }
 
             @Override
-            public GenericResultSet executePreparedQuery(PREPARED_STATEMENT preparedQuery, GenericPreparedStatementParameters parameters) throws GenericProtocolException {
+            public GenericResultSet executePreparedQuery(PREPARED_STATEMENT preparedQuery, GenericPreparedStatementParameters parameters, int fetchSize)
+                    throws GenericProtocolException {
 
-                return GenericConnectionProtocol.this.executePreparedQuery(preparedQuery, parameters);
+                return GenericConnectionProtocol.this.executePreparedQuery(preparedQuery, parameters, fetchSize);
             }
 
             @Override
@@ -194,6 +258,31 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
                 return GenericConnectionProtocol.this.executeBatches(preparedStatement, batches);
             }
 
+            @Override
+            public long executeBatches(PREPARED_STATEMENT preparedStatement, Iterator<? extends IGenericPreparedStatementParameterGetters> batches)
+                    throws GenericProtocolException {
+
+                return GenericConnectionProtocol.this.executeBatches(preparedStatement, batches);
+            }
+
+            @Override
+            public void executePipelinedUpdates(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException {
+
+                GenericConnectionProtocol.this.executePipelinedUpdates(updates);
+            }
+
+            @Override
+            public CompletableFuture<Void> executePipelinedUpdatesAsync(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException {
+
+                return GenericConnectionProtocol.this.executePipelinedUpdatesAsync(updates);
+            }
+
+            @Override
+            public void resumePipelinedUpdates() {
+
+                GenericConnectionProtocol.this.resumePipelinedUpdates();
+            }
+
             @Override
             public void closePreparedStatement(PREPARED_STATEMENT preparedStatement) throws GenericProtocolException {
 
@@ -206,6 +295,12 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
                 GenericConnectionProtocol.this.commit();
             }
 
+            @Override
+            public boolean resetForReuse() throws GenericProtocolException, IOException {
+
+                return GenericConnectionProtocol.this.resetForReuse();
+            }
+
             @Override
             public void sendClose() throws GenericProtocolException {
 
@@ -213,8 +308,14 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
             }
         };
 
-        this.connectionProtocol = genericDriverSynchronizerFactory.synchronizedConnectionProtocol(connectionProtocol);
+        // Synchronous operations wait for any ongoing asynchronous operations of the connection
+        this.connectionProtocol = new SerializedConnectionProtocol<>(genericDriverSynchronizerFactory.synchronizedConnectionProtocol(connectionProtocol),
+                asyncExecutor);
 
+        this.unserializedConnectionProtocol = connectionProtocol;
+        this.asyncExecutor = asyncExecutor;
+
+        this.autoCommit = true;
         this.withinTransaction = false;
 
         setState(State.CREATED);
@@ -252,6 +353,8 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
 
     private void setAutoCommit(boolean on) throws GenericProtocolException, IOException {
 
+        checkNotState(State.EXECUTING_PIPELINED_UPDATES);
+
         bufferAnyOngoingResultSet();
 
         this.autoCommit = on;
@@ -259,18 +362,21 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
         databaseProtocol.setAutoCommit(dataOutput, dataInput, on);
     }
 
-    private GenericResultSet executeQuery(String sql) throws GenericProtocolException {
+    private GenericResultSet executeQuery(String sql, int fetchSize) throws GenericProtocolException {
+
+        // Buffering any ongoing result set returns to idle state
+        bufferAnyOngoingResultSet();
 
         checkState(State.IDLE);
 
-        bufferAnyOngoingResultSet();
+        final int effectiveFetchSize = getEffectiveFetchSize(fetchSize);
 
         beginTransactionIfNotStarted();
 
         executeWithTemporaryStateAndSetNextState(State.EXECUTING_QUERY, State.EXECUTED_QUERY, () -> {
 
             try {
-                databaseProtocol.executeQuery(dataOutput, dataInput, sql);
+                databaseProtocol.executeQuery(dataOutput, dataInput, sql, effectiveFetchSize);
             }
             catch (IOException ex) {
 
@@ -280,7 +386,7 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
             return null;
         });
 
-        final GenericResultSet resultSet = retrieveResultMetaDataAndCreateResultSet();
+        final GenericResultSet resultSet = retrieveResultMetaDataAndCreateResultSet(effectiveFetchSize);
 
         setState(State.EXECUTED_QUERY_RETRIEVE_RESULT);
 
@@ -289,10 +395,10 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
 
     private int executeUpdate(String sql) throws GenericProtocolException {
 
-        checkState(State.IDLE);
-
         bufferAnyOngoingResultSet();
 
+        checkState(State.IDLE);
+
         beginTransactionIfNotStarted();
 
         final int updateCount = executeWithTemporaryStateAndSetNextState(State.EXECUTING_UPDATE, State.EXECUTED_UPDATE, () -> {
@@ -315,10 +421,10 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
 
     private ExecuteResult executeSQL(String sql) throws GenericProtocolException {
 
-        checkState(s -> s.canExecuteSQL);
-
         bufferAnyOngoingResultSet();
 
+        checkState(s -> s.canExecuteSQL);
+
         beginTransactionIfNotStarted();
 
         final ExecuteResult executeResultType = executeWithTemporaryStateAndSetNextState(State.EXECUTING_SQL, State.EXECUTED_SQL, () -> {
@@ -341,10 +447,10 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
 
     private PreparedStatementResult<PREPARED_STATEMENT> prepareStatement(String sql, GenericStatementExecutionOptions statementParameters) throws GenericProtocolException {
 
-        checkState(s -> s.canPrepareStatements);
-
         bufferAnyOngoingResultSet();
 
+        checkState(s -> s.canPrepareStatements);
+
         final PreparedStatementResult<PREPARED_STATEMENT> preparedStatement = executeWithTemporaryState(State.PREPARING_STATEMENT, () -> {
 
             final PreparedStatementResult<PREPARED_STATEMENT> result;
@@ -363,21 +469,24 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
         return preparedStatement;
     }
 
-    private GenericResultSet executePreparedQuery(PREPARED_STATEMENT preparedQuery, GenericPreparedStatementParameters parameters) throws GenericProtocolException {
+    private GenericResultSet executePreparedQuery(PREPARED_STATEMENT preparedQuery, GenericPreparedStatementParameters parameters, int fetchSize)
+            throws GenericProtocolException {
 
         Objects.requireNonNull(preparedQuery);
         Objects.requireNonNull(parameters);
 
+        bufferAnyOngoingResultSet();
+
         checkState(s -> s.canExecutePreparedQuery);
 
-        bufferAnyOngoingResultSet();
+        final int effectiveFetchSize = getEffectiveFetchSize(fetchSize);
 
         beginTransactionIfNotStarted();
 
         executeWithTemporaryStateAndSetNextState(State.EXECUTING_PREPARED_QUERY, State.EXECUTED_PREPARED_QUERY, () -> {
 
             try {
-                databaseProtocol.executePreparedQuery(preparedQuery, dataOutput, dataInput, parameters, stringEncoder);
+                databaseProtocol.executePreparedQuery(preparedQuery, dataOutput, dataInput, parameters, stringEncoder, effectiveFetchSize);
             }
             catch (IOException ex) {
 
@@ -387,7 +496,17 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
             return null;
         });
 
-        return retrieveResultMetaDataAndCreateResultSet(preparedQuery);
+        return retrieveResultMetaDataAndCreateResultSet(preparedQuery, effectiveFetchSize);
+    }
+
+    private int getEffectiveFetchSize(int fetchSize) {
+
+        if (fetchSize < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        return fetchSize != 0 ? fetchSize : defaultFetchSize;
     }
 
     private int executePreparedUpdate(PREPARED_STATEMENT preparedStatement, GenericPreparedStatementParameters preparedStatementParameters) throws GenericProtocolException {
@@ -395,6 +514,8 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
         Objects.requireNonNull(preparedStatement);
         Objects.requireNonNull(preparedStatementParameters);
 
+        bufferAnyOngoingResultSet();
+
         checkState(s -> s.canExecutePreparedUpdate);
 
         beginTransactionIfNotStarted();
@@ -417,42 +538,243 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
         return updateCount;
     }
 
+    private void executePipelinedUpdates(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException {
+
+        Objects.requireNonNull(updates);
+
+        bufferAnyOngoingResultSet();
+
+        checkState(s -> s.canExecutePreparedUpdate);
+
+        executeWithTemporaryStateAndSetNextState(State.EXECUTING_PIPELINED_UPDATES, State.EXECUTED_PIPELINED_UPDATES, () -> {
+
+            try {
+                sendPipelinedUpdates(updates);
+
+                receivePipelinedUpdateResponses(false);
+            }
+            catch (IOException ex) {
+
+                throw new ProtocolIOException(ex);
+            }
+            finally {
+
+                clearPipelinedUpdates();
+            }
+
+            return null;
+        });
+    }
+
+    private CompletableFuture<Void> executePipelinedUpdatesAsync(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException {
+
+        Objects.requireNonNull(updates);
+
+        bufferAnyOngoingResultSet();
+
+        checkState(s -> s.canExecutePreparedUpdate);
+
+        setState(State.EXECUTING_PIPELINED_UPDATES);
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        this.pipelinedUpdatesFuture = future;
+
+        try {
+            sendPipelinedUpdates(updates);
+        }
+        catch (IOException ex) {
+
+            completePipelinedUpdates(new ProtocolIOException(ex));
+
+            return future;
+        }
+
+        resumePipelinedUpdates();
+
+        return future;
+    }
+
+    private void sendPipelinedUpdates(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws IOException {
+
+        this.pipelinedUpdates = updates;
+        this.pipelinedUpdatesIndex = 0;
+        this.pipelinedBeginResponsePending = !withinTransaction;
+
+        // Send any begin and all updates before flushing and receiving any responses
+        if (pipelinedBeginResponsePending) {
+
+            databaseProtocol.sendBeginRequest(dataOutput);
+        }
+
+        for (PipelinedUpdate<PREPARED_STATEMENT> update : updates) {
+
+            databaseProtocol.sendPreparedUpdate(update.getPreparedStatement(), dataOutput, update.getParameters(), stringEncoder);
+        }
+
+        dataOutput.flush();
+    }
+
+    /**
+     * Receive responses to pipelined updates.
+     *
+     * @param untilNoneAvailable whether to return once no data is available at the start of a response, so that waiting for the remaining
+     *                           responses does not occupy the thread, any response partially received is completed by waiting for readiness
+     *
+     * @return {@code true} if all responses have been received, {@code false} if returned since no more data was available
+     */
+    private boolean receivePipelinedUpdateResponses(boolean untilNoneAvailable) throws GenericProtocolException, IOException {
+
+        boolean allReceived = true;
+
+        while (pipelinedBeginResponsePending || pipelinedUpdatesIndex < pipelinedUpdates.size()) {
+
+            if (untilNoneAvailable && dataInput.getNumBufferedBytes() == 0 && dataInput.fillAvailable() == 0) {
+
+                allReceived = false;
+                break;
+            }
+
+            if (pipelinedBeginResponsePending) {
+
+                databaseProtocol.receiveBeginResponse(dataInput);
+
+                this.pipelinedBeginResponsePending = false;
+                this.withinTransaction = true;
+            }
+            else {
+                final PipelinedUpdate<PREPARED_STATEMENT> update = pipelinedUpdates.get(pipelinedUpdatesIndex);
+
+                try {
+                    final int updateCount = databaseProtocol.receivePreparedUpdateResponse(update.getPreparedStatement(), dataInput);
+
+                    update.getFuture().complete(updateCount);
+                }
+                catch (ProtocolErrorCodeException ex) {
+
+                    // Error for this particular update only, response has been completely read so continue with the next
+                    update.getFuture().completeExceptionally(ex);
+                }
+
+                ++ pipelinedUpdatesIndex;
+            }
+        }
+
+        return allReceived;
+    }
+
+    private void resumePipelinedUpdates() {
+
+        try {
+            // For non-blocking I/O, wait for further responses without occupying the thread
+            if (receivePipelinedUpdateResponses(socket.isNonBlocking())) {
+
+                completePipelinedUpdates(null);
+            }
+            else {
+                socket.onReadable(() -> connectionProtocol.resumePipelinedUpdates());
+            }
+        }
+        catch (IOException ex) {
+
+            completePipelinedUpdates(new ProtocolIOException(ex));
+        }
+        catch (GenericProtocolException | RuntimeException ex) {
+
+            completePipelinedUpdates(ex);
+        }
+    }
+
+    private void completePipelinedUpdates(Exception exception) {
+
+        final CompletableFuture<Void> future = pipelinedUpdatesFuture;
+
+        if (exception != null) {
+
+            // Cannot know responses to remaining updates
+            for (int i = pipelinedUpdatesIndex; i < pipelinedUpdates.size(); ++ i) {
+
+                pipelinedUpdates.get(i).getFuture().completeExceptionally(exception);
+            }
+        }
+
+        clearPipelinedUpdates();
+
+        setState(State.EXECUTED_PIPELINED_UPDATES);
+
+        if (exception != null) {
+
+            future.completeExceptionally(exception);
+        }
+        else {
+            future.complete(null);
+        }
+    }
+
+    private void clearPipelinedUpdates() {
+
+        this.pipelinedUpdates = null;
+        this.pipelinedUpdatesIndex = 0;
+        this.pipelinedBeginResponsePending = false;
+        this.pipelinedUpdatesFuture = null;
+    }
+
     private int[] executeBatches(PREPARED_STATEMENT preparedStatement, Collection<? extends IGenericPreparedStatementParameterGetters> batches) throws GenericProtocolException {
 
-        Objects.requireNonNull(preparedStatement);
+        Objects.requireNonNull(batches);
 
-        checkState(s -> s.canExecuteBatch);
+        final int[] updateCounts = new int[batches.size()];
+        final int[] numUpdateCounts = new int[1];
+
+        executeBatches(preparedStatement, batches.iterator(), c -> updateCounts[numUpdateCounts[0] ++] = c);
+
+        return updateCounts;
+    }
+
+    private long executeBatches(PREPARED_STATEMENT preparedStatement, Iterator<? extends IGenericPreparedStatementParameterGetters> batches) throws GenericProtocolException {
+
+        Objects.requireNonNull(batches);
+
+        final long[] totalUpdateCount = new long[1];
+
+        executeBatches(preparedStatement, batches, c -> totalUpdateCount[0] += c);
+
+        return totalUpdateCount[0];
+    }
+
+    private void executeBatches(PREPARED_STATEMENT preparedStatement, Iterator<? extends IGenericPreparedStatementParameterGetters> batches, IntConsumer updateCountsDst)
+            throws GenericProtocolException {
+
+        Objects.requireNonNull(preparedStatement);
 
         bufferAnyOngoingResultSet();
 
-        beginTransactionIfNotStarted();
+        checkState(s -> s.canExecuteBatch);
 
-        final int[] updateCounts = executeWithTemporaryStateAndSetNextState(State.EXECUTING_BATCHES, State.EXECUTED_BATCHES, () -> {
+        beginTransactionIfNotStarted();
 
-            final int[] result;
+        executeWithTemporaryStateAndSetNextState(State.EXECUTING_BATCHES, State.EXECUTED_BATCHES, () -> {
 
             try {
-                result = databaseProtocol.executeBatches(preparedStatement, batches, dataOutput, dataInput, stringEncoder);
+                databaseProtocol.executeBatches(preparedStatement, batches, batchFrameBytes, dataOutput, dataInput, stringEncoder, updateCountsDst);
             }
             catch (IOException ex) {
 
                 throw new ProtocolIOException(ex);
             }
 
-            return result;
+            return null;
         });
-
-        return updateCounts;
     }
 
     private void closePreparedStatement(PREPARED_STATEMENT preparedStatement) throws GenericProtocolException {
 
         Objects.requireNonNull(preparedStatement);
 
-        checkState(s -> s.canClosePreparedStatement);
-
         bufferAnyOngoingResultSet();
 
+        checkState(s -> s.canClosePreparedStatement);
+
         try {
             databaseProtocol.closePreparedStatement(preparedStatement, dataOutput, dataInput);
         }
@@ -475,6 +797,9 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
             final BufferedResultSet<PREPARED_STATEMENT, DATA_TYPE> bufferedResultSet = columnGenericResultSet.readRemainingToBuffer();
 
             ongoingResultSet.swap(bufferedResultSet);
+
+            // All rows read so connection no longer retrieving the result set, nor closing it when the buffered result set is closed
+            setState(State.IDLE);
         }
     }
 
@@ -496,12 +821,89 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
 
     private void commit() throws GenericProtocolException, IOException {
 
+        checkNotState(State.EXECUTING_PIPELINED_UPDATES);
+
         databaseProtocol.sendCommit(dataOutput, dataInput);
 
         this.withinTransaction = false;
     }
 
-    private GenericResultSet retrieveResultMetaDataAndCreateResultSet() throws GenericProtocolException {
+    private boolean resetForReuse() throws GenericProtocolException, IOException {
+
+        // No way to roll back uncommitted changes
+        if (withinTransaction && !autoCommit) {
+
+            return false;
+        }
+
+        // Not accessible once borrowed again, closing any result set retrieving from the connection returns to idle state
+        for (BaseSwappableResultSet resultSet : protocolData.getResultSets()) {
+
+            try {
+                resultSet.close();
+            }
+            catch (AlreadyClosedException ex) {
+
+                // Removed when closed
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        // No way to recover from an ongoing operation
+        if (!isState(GenericConnectionProtocol::isCompleted)) {
+
+            return false;
+        }
+
+        if (!autoCommit) {
+
+            setAutoCommit(true);
+        }
+        else if (withinTransaction) {
+
+            commit();
+        }
+
+        if (!isState(s -> s == State.IDLE)) {
+
+            setState(State.IDLE);
+        }
+
+        return true;
+    }
+
+    /**
+     * Whether no operation is ongoing nor any result set being retrieved, so that the connection may be returned to idle state.
+     *
+     * @param state the state to check
+     *
+     * @return {@code true} if completed
+     */
+    private static boolean isCompleted(State state) {
+
+        final boolean result;
+
+        switch (state) {
+
+        case IDLE:
+        case EXECUTED_UPDATE:
+        case EXECUTED_SQL:
+        case EXECUTED_PREPARED_UPDATE:
+        case EXECUTED_PIPELINED_UPDATES:
+        case EXECUTED_BATCHES:
+
+            result = true;
+            break;
+
+        default:
+            result = false;
+            break;
+        }
+
+        return result;
+    }
+
+    private GenericResultSet retrieveResultMetaDataAndCreateResultSet(int fetchSize) throws GenericProtocolException {
 
         checkState(State.EXECUTED_QUERY_RETRIEVE_RESULT);
 
@@ -521,10 +923,10 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
             return result;
         });
 
-        return addResultSet(null, resultSetMetaData);
+        return addResultSet(null, resultSetMetaData, fetchSize);
     }
 
-    private GenericResultSet retrieveResultMetaDataAndCreateResultSet(PREPARED_STATEMENT preparedQuery) throws GenericProtocolException {
+    private GenericResultSet retrieveResultMetaDataAndCreateResultSet(PREPARED_STATEMENT preparedQuery, int fetchSize) throws GenericProtocolException {
 
         checkState(State.EXECUTED_PREPARED_QUERY);
 
@@ -544,15 +946,18 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
             return result;
         });
 
-        return addResultSet(preparedQuery, resultSetMetaData);
+        return addResultSet(preparedQuery, resultSetMetaData, fetchSize);
     }
 
-    private BaseSwappableResultSet addResultSet(PREPARED_STATEMENT preparedQuery, GenericResultSetMetaData<DATA_TYPE> resultSetMetaData) {
+    private BaseSwappableResultSet addResultSet(PREPARED_STATEMENT preparedQuery, GenericResultSetMetaData<DATA_TYPE> resultSetMetaData, int fetchSize) {
 
         final ResultRowDecoder<DATA_TYPE> resultRowDecoder = databaseProtocol.getResultRowDecoder();
 
+        // Retrieving ahead runs as a task of the async executor, so holds the connection without entering it again
         final RowDataResultSet rowDataResultSet = new ConnectionDirectResultSet<>(preparedQuery, connectionProtocol, resultSetMetaData, resultRowDecoder,
-                CACHED_RESULT_SET_CHUNK_SIZE);
+                CACHED_RESULT_SET_CHUNK_SIZE, resultSetSpillThresholdBytes, resultSetDirectChunkPool,
+                receiveBufferPool, fetchSize, fetchMaxBytes, resultSetReadAhead ? asyncExecutor : null,
+                resultSetReadAhead ? unserializedConnectionProtocol : null, resultSetStringDictionaries);
 
         final BaseSwappableResultSet swappableResultSet = swappableResultSetFactory.createSwappableResultSet(connectionProtocol, rowDataResultSet);
 
@@ -561,7 +966,7 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
         return swappableResultSet;
     }
 
-    private void retrieveResultRow(byte[] dst, int maxRowsToRetrieve, int maxBytesPerRow, IRetrievedRows retrievedRows) throws GenericProtocolException {
+    private void retrieveResultRow(IResultRowsDestination dst, int maxRowsToRetrieve, int maxBytesPerRow, IRetrievedRows retrievedRows) throws GenericProtocolException {
 
         checkState(State.RETRIEVING_RESULT_SET);
 
@@ -578,24 +983,31 @@ final class GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> extends Sta
 
         Objects.requireNonNull(resultSet);
 
-        checkState(State.RETRIEVING_RESULT_SET);
+        @SuppressWarnings("unchecked")
+        final ColumnGenericResultSet<PREPARED_STATEMENT, DATA_TYPE> columnGenericResultSet = (ColumnGenericResultSet<PREPARED_STATEMENT, DATA_TYPE>)resultSet.getDelegate();
 
-        try {
-            databaseProtocol.closeResultSet(dataOutput, dataInput);
-        }
-        catch (IOException ex) {
+        if (columnGenericResultSet instanceof ConnectionDirectResultSet) {
 
-            throw new ProtocolIOException(ex);
-        }
-        finally {
+            checkState(State.RETRIEVING_RESULT_SET);
 
-            @SuppressWarnings("unchecked")
-            final ColumnGenericResultSet<PREPARED_STATEMENT, DATA_TYPE> columnGenericResultSet = (ColumnGenericResultSet<PREPARED_STATEMENT, DATA_TYPE>)resultSet.getDelegate();
+            try {
+                databaseProtocol.closeResultSet(dataOutput, dataInput);
+            }
+            catch (IOException ex) {
 
+                throw new ProtocolIOException(ex);
+            }
+            finally {
+
+                protocolData.removeResultSet(columnGenericResultSet.getPreparedStatement(), resultSet);
+            }
+
+            setState(State.IDLE);
+        }
+        else {
+            // Rows of buffered result sets were all read from the connection when buffered
             protocolData.removeResultSet(columnGenericResultSet.getPreparedStatement(), resultSet);
         }
-
-        setState(State.IDLE);
     }
 
     private void sendClose() throws GenericProtocolException {
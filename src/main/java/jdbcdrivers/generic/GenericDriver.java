@@ -3,10 +3,16 @@ package jdbcdrivers.generic;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jdbcdrivers.databaseprotocol.api.IDatabaseDriver;
 import jdbcdrivers.generic.api.IGenericDriver;
@@ -20,11 +26,80 @@ import jdbcdrivers.generic.util.StringEncoder;
  */
 public final class GenericDriver<PREPARED_STATEMENT, DATA_TYPE> implements IGenericDriver {
 
+    /**
+     * Key for looking up connection pool, connections are only shared for the same database and connection properties.
+     */
+    private static final class PoolKey {
+
+        private final URI uri;
+        private final Properties properties;
+        private final Charset charset;
+
+        PoolKey(URI uri, Properties properties, Charset charset) {
+
+            this.uri = Objects.requireNonNull(uri);
+            this.properties = new Properties();
+            this.charset = Objects.requireNonNull(charset);
+
+            if (properties != null) {
+
+                this.properties.putAll(properties);
+            }
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(uri, properties, charset);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+
+            if (this == object) {
+
+                return true;
+            }
+
+            if (object == null || getClass() != object.getClass()) {
+
+                return false;
+            }
+
+            final PoolKey other = (PoolKey)object;
+
+            return uri.equals(other.uri) && properties.equals(other.properties) && charset.equals(other.charset);
+        }
+    }
+
+    // Max number of bytes of released off heap chunks kept for reuse
+    private static final long MAX_FREE_DIRECT_CHUNK_BYTES = 64 * 1024 * 1024;
+
+    // Max number of bytes of released receive buffers kept for reuse per size class
+    private static final long MAX_FREE_RECEIVE_BUFFER_BYTES_PER_SIZE_CLASS = 32 * 1024 * 1024;
+
     private final IDatabaseDriver<PREPARED_STATEMENT, DATA_TYPE> databaseDriver;
     private final GenericDriverSynchronizerFactory genericDriverSynchronizerFactory;
 
     private final Collection<GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE>> connections;
 
+    private final ConcurrentMap<PoolKey, ConnectionPool<PREPARED_STATEMENT, DATA_TYPE>> connectionPools;
+
+    // Idle seconds after which threads of the asynchronous operation pool are stopped
+    private static final long ASYNC_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    // Shared by all connections for executing asynchronous operations, created on first connection with the number of threads of that connection
+    private ExecutorService asyncExecutorService;
+
+    // Off heap chunks shared by all connections buffering result sets off heap
+    private final DirectChunkPool resultSetDirectChunkPool;
+
+    // Row receive buffers shared by all connections
+    private final ReceiveBufferPool receiveBufferPool;
+
+    // Created on first connection requesting non-blocking I/O
+    private SelectorEngine selectorEngine;
+
     public GenericDriver(IDatabaseDriver<PREPARED_STATEMENT, DATA_TYPE> databaseDriver, GenericDriverSynchronizerFactory genericDriverSynchronizerFactory) {
 
         Objects.requireNonNull(databaseDriver);
@@ -33,69 +108,178 @@ public final class GenericDriver<PREPARED_STATEMENT, DATA_TYPE> implements IGene
         this.databaseDriver = Objects.requireNonNull(databaseDriver);
         this.genericDriverSynchronizerFactory = Objects.requireNonNull(genericDriverSynchronizerFactory);
 
-        this.connections = new ArrayList<>();
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.connectionPools = new ConcurrentHashMap<>();
+        this.resultSetDirectChunkPool = new DirectChunkPool(GenericConnectionProtocol.CACHED_RESULT_SET_CHUNK_SIZE, MAX_FREE_DIRECT_CHUNK_BYTES);
+        this.receiveBufferPool = new ReceiveBufferPool(ConnectionDirectResultSet.MAX_BUFFER_SIZE, MAX_FREE_RECEIVE_BUFFER_BYTES_PER_SIZE_CLASS);
     }
 
     @Override
     public final IGenericDriverConnection connect(URI uri, Properties info, Charset charset) throws GenericProtocolException {
 
+        final GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection;
+
+        if (ConnectionProperties.getPoolMaxSize(info) > 0) {
+
+            final ConnectionPool<PREPARED_STATEMENT, DATA_TYPE> connectionPool = getConnectionPool(uri, info, charset);
+
+            connection = new GenericDriverConnection<>(this, connectionPool, connectionPool.borrow());
+        }
+        else {
+            final ConnectionPool.PooledConnection<PREPARED_STATEMENT, DATA_TYPE> opened = openConnection(uri, info, charset);
+
+            connection = new GenericDriverConnection<>(this, uri, info, opened.getSocket(), opened.getProtocol(), opened.getAsyncExecutor(),
+                    opened.getPreparedStatementCache());
+        }
+
+        addConnection(connection);
+
+        return connection;
+    }
+
+    private ConnectionPool<PREPARED_STATEMENT, DATA_TYPE> getConnectionPool(URI uri, Properties info, Charset charset) throws GenericProtocolException {
+
+        final PoolKey poolKey = new PoolKey(uri, info, charset);
+
+        ConnectionPool<PREPARED_STATEMENT, DATA_TYPE> connectionPool = connectionPools.get(poolKey);
+
+        if (connectionPool == null) {
+
+            final ConnectionPool<PREPARED_STATEMENT, DATA_TYPE> created = new ConnectionPool<>(() -> openConnection(uri, info, charset),
+                    ConnectionProperties.getPoolMinSize(info), ConnectionProperties.getPoolMaxSize(info),
+                    ConnectionProperties.getPoolIdleTimeoutMillis(info), ConnectionProperties.getPoolBorrowTimeoutMillis(info));
+
+            connectionPool = connectionPools.putIfAbsent(poolKey, created);
+
+            if (connectionPool == null) {
+
+                connectionPool = created;
+
+                created.warmUp(getAsyncExecutorService(ConnectionProperties.getAsyncThreads(info)));
+            }
+        }
+
+        return connectionPool;
+    }
+
+    private ConnectionPool.PooledConnection<PREPARED_STATEMENT, DATA_TYPE> openConnection(URI uri, Properties info, Charset charset) throws GenericProtocolException {
+
         final int mb = 1024 * 1024;
 
         final int sendBufferSize = 10 * mb;
         final int receiveBufferSize = 10 * mb;
+        final int protocolReaderBufferSize = 256 * 1024;
 
-        final GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection;
+        final ConnectionPool.PooledConnection<PREPARED_STATEMENT, DATA_TYPE> result;
 
         try {
-            final DriverSocket socket = new DriverSocket(sendBufferSize, receiveBufferSize);
+            final DriverSocket socket = new DriverSocket(sendBufferSize, receiveBufferSize, protocolReaderBufferSize);
 
             socket.connect(uri.getHost(), uri.getPort());
 
-            connection = new GenericDriverConnection<>(this, uri, info, socket, createConnectionProtocol(socket, charset));
+            final ExecutorService asyncExecutorService = getAsyncExecutorService(ConnectionProperties.getAsyncThreads(info));
+
+            final int ioEngineThreads = ConnectionProperties.getIOEngineThreads(info);
+
+            if (ioEngineThreads > 0) {
+
+                socket.register(getSelectorEngine(ioEngineThreads, asyncExecutorService));
+            }
 
-            connection.getProtocol().performInitialSetup(uri, info);
+            final int statementCacheMaxCount = ConnectionProperties.getStatementCacheMaxCount(info);
+
+            final PreparedStatementCache<PREPARED_STATEMENT> preparedStatementCache = statementCacheMaxCount > 0
+                    ? new PreparedStatementCache<>(statementCacheMaxCount, ConnectionProperties.getStatementCacheMaxBytes(info))
+                    : null;
+
+            final SerialExecutor asyncExecutor = new SerialExecutor(asyncExecutorService);
+
+            result = new ConnectionPool.PooledConnection<>(socket, createConnectionProtocol(socket, charset, info, asyncExecutor), asyncExecutor,
+                    preparedStatementCache);
+
+            result.getProtocol().performInitialSetup(uri, info);
         }
         catch (IOException ex) {
 
             throw new ProtocolIOException(ex);
         }
 
-        addConnection(connection);
+        return result;
+    }
 
-        return connection;
+    private synchronized SelectorEngine getSelectorEngine(int numThreads, ExecutorService callbackExecutor) throws IOException {
+
+        if (selectorEngine == null) {
+
+            this.selectorEngine = new SelectorEngine(numThreads, callbackExecutor);
+        }
+
+        return selectorEngine;
+    }
+
+    /**
+     * Get the executor for asynchronous operations, bounded so that blocking asynchronous operations do not each occupy a new thread under load.
+     * Threads are created on demand up to the maximum and stopped when idle.
+     *
+     * The queue is not bounded, but since operations of a connection are submitted one at a time by its {@link SerialExecutor},
+     * at most one operation per connection is queued in addition to non-blocking I/O callbacks.
+     */
+    private synchronized ExecutorService getAsyncExecutorService(int numThreads) {
+
+        if (asyncExecutorService == null) {
+
+            final AtomicInteger threadCounter = new AtomicInteger();
+
+            final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(numThreads, numThreads, ASYNC_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+
+                        final Thread thread = new Thread(r, "jdbcdrivers-async-" + threadCounter.incrementAndGet());
+
+                        thread.setDaemon(true);
+
+                        return thread;
+                    });
+
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+
+            this.asyncExecutorService = threadPoolExecutor;
+        }
+
+        return asyncExecutorService;
     }
 
-    private IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> createConnectionProtocol(DriverSocket socket, Charset charset) {
+    private IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> createConnectionProtocol(DriverSocket socket, Charset charset, Properties info,
+            SerialExecutor asyncExecutor) {
 
         final StringEncoder stringEncoder = new StringEncoder(charset, databaseDriver.getMaxStringBytes());
 
         final GenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> protocol = new GenericConnectionProtocol<>(socket, databaseDriver.createDatabaseProtocol(charset),
-                stringEncoder, genericDriverSynchronizerFactory);
+                stringEncoder, ConnectionProperties.getBatchFrameBytes(info), ConnectionProperties.getResultSetSpillThresholdBytes(info),
+                ConnectionProperties.isResultSetBufferOffHeap(info) ? resultSetDirectChunkPool : null, receiveBufferPool,
+                ConnectionProperties.getDefaultFetchSize(info), ConnectionProperties.getFetchMaxBytes(info),
+                ConnectionProperties.isResultSetReadAhead(info), ConnectionProperties.isResultSetStringDictionaries(info),
+                genericDriverSynchronizerFactory, asyncExecutor);
 
         return protocol.getConnectionProtocolInterface();
     }
 
-    private void addConnection(GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection) {
+    final void addConnection(GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection) {
 
         Objects.requireNonNull(connection);
 
-        if (connections.contains(connection)) {
+        if (!connections.add(connection)) {
 
             throw new IllegalStateException();
         }
-
-        connections.add(connection);
     }
 
     final void removeConnection(GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection) {
 
         Objects.requireNonNull(connection);
 
-        if (!connections.contains(connection)) {
+        if (!connections.remove(connection)) {
 
             throw new IllegalStateException();
         }
-
-        connections.remove(connection);
     }
 }
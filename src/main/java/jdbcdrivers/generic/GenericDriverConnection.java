@@ -2,14 +2,21 @@ package jdbcdrivers.generic;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol.PreparedStatementResult;
 import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
 import jdbcdrivers.generic.api.IGenericDriverConnection;
 import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.ConnectionClosedException;
+import jdbcdrivers.generic.exceptions.GenericDriverException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
 import jdbcdrivers.generic.exceptions.ProtocolIOException;
 
@@ -26,11 +33,31 @@ final class GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> extends Gener
     private final DriverSocket socket;
     private final IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> protocol;
 
+    // For executing asynchronous operations in order
+    private final SerialExecutor asyncExecutor;
+
+    // Set if borrowed from a connection pool, returned to the pool when closed
+    private final ConnectionPool<PREPARED_STATEMENT, DATA_TYPE> connectionPool;
+    private final ConnectionPool.PooledConnection<PREPARED_STATEMENT, DATA_TYPE> pooledConnection;
+
+    // Null if not caching prepared statements
+    private final PreparedStatementCache<PREPARED_STATEMENT> preparedStatementCache;
+
+    // Prepared statements not yet closed, closed when returned to the pool so that they cannot be used by any later borrower, null if not pooled
+    private final Set<GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE>> openPreparedStatements;
+
+    // Statements not yet closed, closed when returned to the pool for the same reason, null if not pooled
+    private final Set<GenericStatement> openStatements;
+
+    // Pipelines with updates queued but not yet sent, discarded when returned to the pool, null if not pooled
+    private final Set<GenericPipeline<PREPARED_STATEMENT, DATA_TYPE>> queuingPipelines;
+
     private PreparedStatementParametersPool preparedStatementParametersPool;
     private boolean autoCommit;
 
     GenericDriverConnection(GenericDriver<PREPARED_STATEMENT, DATA_TYPE> driver, URI uri, Properties properties, DriverSocket socket,
-            IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> protocol) {
+            IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> protocol, SerialExecutor asyncExecutor,
+            PreparedStatementCache<PREPARED_STATEMENT> preparedStatementCache) {
         super(ConnectionClosedException::new);
 
         this.driver = Objects.requireNonNull(driver);
@@ -40,6 +67,35 @@ final class GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> extends Gener
 */
         this.socket = Objects.requireNonNull(socket);
         this.protocol = Objects.requireNonNull(protocol);
+        this.asyncExecutor = Objects.requireNonNull(asyncExecutor);
+
+        this.connectionPool = null;
+        this.pooledConnection = null;
+        this.preparedStatementCache = preparedStatementCache;
+        this.openPreparedStatements = null;
+        this.openStatements = null;
+        this.queuingPipelines = null;
+
+        this.preparedStatementParametersPool = null;
+
+        this.autoCommit = true;
+    }
+
+    GenericDriverConnection(GenericDriver<PREPARED_STATEMENT, DATA_TYPE> driver, ConnectionPool<PREPARED_STATEMENT, DATA_TYPE> connectionPool,
+            ConnectionPool.PooledConnection<PREPARED_STATEMENT, DATA_TYPE> pooledConnection) {
+        super(ConnectionClosedException::new);
+
+        this.driver = Objects.requireNonNull(driver);
+        this.socket = pooledConnection.getSocket();
+        this.protocol = pooledConnection.getProtocol();
+        this.asyncExecutor = pooledConnection.getAsyncExecutor();
+
+        this.connectionPool = Objects.requireNonNull(connectionPool);
+        this.pooledConnection = pooledConnection;
+        this.preparedStatementCache = pooledConnection.getPreparedStatementCache();
+        this.openPreparedStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.openStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.queuingPipelines = Collections.newSetFromMap(new IdentityHashMap<>());
 
         this.preparedStatementParametersPool = null;
 
@@ -49,6 +105,13 @@ final class GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> extends Gener
     @Override
     public void close() throws AlreadyClosedException, GenericProtocolException {
 
+        if (connectionPool != null) {
+
+            closePooled();
+
+            return;
+        }
+
         try {
             protocol.sendClose();
 
@@ -70,8 +133,74 @@ final class GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> extends Gener
         }
     }
 
+    private void closePooled() throws AlreadyClosedException {
+
+        // Closed first so that asynchronous operations not yet started fail instead of running once returned to the pool
+        closeGeneric();
+
+        boolean reusable = false;
+
+        try {
+            // Closes any open result sets
+            reusable = protocol.resetForReuse();
+        }
+        catch (GenericProtocolException | IOException ex) {
+
+            // Connection state unknown so do not reuse
+        }
+
+        try {
+            // Queued updates never sent, releasing them unpins their prepared statements
+            for (GenericPipeline<PREPARED_STATEMENT, DATA_TYPE> pipeline : getQueuingPipelines()) {
+
+                try {
+                    pipeline.discardQueuedUpdates();
+                }
+                catch (GenericProtocolException ex) {
+
+                    reusable = false;
+                }
+            }
+
+            for (GenericStatement statement : getOpenStatements()) {
+
+                try {
+                    statement.close();
+                }
+                catch (AlreadyClosedException ex) {
+
+                    // Closed concurrently
+                }
+            }
+
+            // Closed on the database unless cached, all closed even if the connection is not reused so that none can be used after closed
+            for (GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> preparedStatement : getOpenPreparedStatements()) {
+
+                try {
+                    preparedStatement.close();
+                }
+                catch (GenericProtocolException ex) {
+
+                    reusable = false;
+                }
+            }
+        }
+        finally {
+
+            try {
+                driver.removeConnection(this);
+            }
+            finally {
+
+                connectionPool.release(pooledConnection, reusable);
+            }
+        }
+    }
+
     @Override
-    public void setAutoCommit(boolean on) throws GenericProtocolException {
+    public void setAutoCommit(boolean on) throws ConnectionClosedException, GenericProtocolException {
+
+        checkNotClosed();
 
         try {
             protocol.setAutoCommit(on);
@@ -91,25 +220,170 @@ final class GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> extends Gener
     }
 
     @Override
-    public GenericStatement createStatement(GenericStatementExecutionOptions statementParameters) {
+    public GenericStatement createStatement(GenericStatementExecutionOptions statementParameters) throws ConnectionClosedException {
+
+        Objects.requireNonNull(statementParameters);
+
+        checkNotClosed();
+
+        final GenericStatement result = new GenericStatement(this, protocol, statementParameters);
+
+        if (openStatements != null) {
 
-        return new GenericStatement(protocol, statementParameters);
+            synchronized (this) {
+
+                openStatements.add(result);
+            }
+        }
+
+        return result;
+    }
+
+    void removeOpenStatement(GenericStatement statement) {
+
+        Objects.requireNonNull(statement);
+
+        if (openStatements != null) {
+
+            synchronized (this) {
+
+                openStatements.remove(statement);
+            }
+        }
+    }
+
+    private List<GenericStatement> getOpenStatements() {
+
+        synchronized (this) {
+
+            return new ArrayList<>(openStatements);
+        }
     }
 
     @Override
     public GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> createPreparedStatement(String sql, GenericStatementExecutionOptions statementParameters)
-            throws GenericProtocolException {
+            throws ConnectionClosedException, GenericProtocolException {
 
         Objects.requireNonNull(sql);
         Objects.requireNonNull(statementParameters);
 
-        final PreparedStatementResult<PREPARED_STATEMENT> preparedStatementResult = protocol.prepareStatement(sql, statementParameters);
+        checkNotClosed();
+
+        final GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> result;
+
+        if (preparedStatementCache != null) {
+
+            PreparedStatementCache.CachedPreparedStatement<PREPARED_STATEMENT> cached = preparedStatementCache.acquire(sql, statementParameters);
+
+            PreparedStatementResult<PREPARED_STATEMENT> preparedStatementResult = null;
+
+            if (cached == null) {
+
+                preparedStatementResult = protocol.prepareStatement(sql, statementParameters);
+
+                // Not cached if statement for same SQL already cached but in use
+                cached = preparedStatementCache.add(sql, statementParameters, preparedStatementResult);
+            }
+
+            if (cached != null) {
+
+                result = new GenericPreparedStatement<>(this, cached, statementParameters.getFetchSize());
+            }
+            else {
+                result = new GenericPreparedStatement<>(this, preparedStatementResult.getPreparedStatement(), preparedStatementResult.getNumParameters(),
+                        statementParameters.getFetchSize());
+            }
+        }
+        else {
+            final PreparedStatementResult<PREPARED_STATEMENT> preparedStatementResult = protocol.prepareStatement(sql, statementParameters);
+
+            result = new GenericPreparedStatement<>(this, preparedStatementResult.getPreparedStatement(), preparedStatementResult.getNumParameters(),
+                    statementParameters.getFetchSize());
+        }
+
+        if (openPreparedStatements != null) {
 
-        return new GenericPreparedStatement<>(this, preparedStatementResult.getPreparedStatement(), preparedStatementResult.getNumParameters());
+            synchronized (this) {
+
+                openPreparedStatements.add(result);
+            }
+        }
+
+        return result;
+    }
+
+    void removeOpenPreparedStatement(GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> preparedStatement) {
+
+        Objects.requireNonNull(preparedStatement);
+
+        if (openPreparedStatements != null) {
+
+            synchronized (this) {
+
+                openPreparedStatements.remove(preparedStatement);
+            }
+        }
+    }
+
+    private List<GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE>> getOpenPreparedStatements() {
+
+        synchronized (this) {
+
+            return new ArrayList<>(openPreparedStatements);
+        }
+    }
+
+    void releaseCachedPreparedStatement(PreparedStatementCache.CachedPreparedStatement<PREPARED_STATEMENT> cachedPreparedStatement) throws GenericProtocolException {
+
+        preparedStatementCache.release(cachedPreparedStatement, protocol::closePreparedStatement);
+    }
+
+    @Override
+    public GenericPipeline<PREPARED_STATEMENT, DATA_TYPE> createPipeline() throws ConnectionClosedException {
+
+        checkNotClosed();
+
+        return new GenericPipeline<>(this);
+    }
+
+    void addQueuingPipeline(GenericPipeline<PREPARED_STATEMENT, DATA_TYPE> pipeline) {
+
+        Objects.requireNonNull(pipeline);
+
+        if (queuingPipelines != null) {
+
+            synchronized (this) {
+
+                queuingPipelines.add(pipeline);
+            }
+        }
+    }
+
+    void removeQueuingPipeline(GenericPipeline<PREPARED_STATEMENT, DATA_TYPE> pipeline) {
+
+        Objects.requireNonNull(pipeline);
+
+        if (queuingPipelines != null) {
+
+            synchronized (this) {
+
+                queuingPipelines.remove(pipeline);
+            }
+        }
+    }
+
+    private List<GenericPipeline<PREPARED_STATEMENT, DATA_TYPE>> getQueuingPipelines() {
+
+        synchronized (this) {
+
+            return new ArrayList<>(queuingPipelines);
+        }
     }
 
     @Override
-    public void commit() throws GenericProtocolException {
+    public void commit() throws ConnectionClosedException, GenericProtocolException {
+
+        checkNotClosed();
 
         try {
             protocol.commit();
@@ -120,6 +394,103 @@ final class GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> extends Gener
         }
     }
 
+    @Override
+    public CompletableFuture<Void> commitAsync() {
+
+        return executeAsync(() -> {
+
+            commit();
+
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    interface AsyncOperation<T> {
+
+        T execute() throws GenericDriverException;
+    }
+
+    /**
+     * Execute an operation asynchronously, operations are executed one at a time in the order submitted.
+     * Operations not yet started when the connection is closed are completed exceptionally with a {@link ConnectionClosedException}.
+     *
+     * @param <T> type of result
+     *
+     * @param operation the operation to execute
+     *
+     * @return a {@link CompletableFuture} that completes with the result of the operation, or exceptionally with any exception thrown
+     */
+    <T> CompletableFuture<T> executeAsync(AsyncOperation<T> operation) {
+
+        Objects.requireNonNull(operation);
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        asyncExecutor.execute(() -> {
+
+            try {
+                // Connection may have been closed and returned to the pool since submitted
+                checkNotClosed();
+
+                future.complete(operation.execute());
+            }
+            catch (Throwable ex) {
+
+                future.completeExceptionally(ex);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Execute an operation that itself completes asynchronously, operations are executed one at a time in the order submitted
+     * so the next operation is not started until the {@link CompletableFuture} returned by this operation has completed.
+     *
+     * @param <T> type of result
+     *
+     * @param operation the operation to execute
+     *
+     * @return a {@link CompletableFuture} that completes with the result of the operation, or exceptionally with any exception thrown
+     */
+    <T> CompletableFuture<T> executeAsyncComposed(AsyncOperation<CompletableFuture<T>> operation) {
+
+        Objects.requireNonNull(operation);
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        asyncExecutor.executeAsync(() -> {
+
+            final CompletableFuture<T> operationFuture;
+
+            try {
+                checkNotClosed();
+
+                operationFuture = operation.execute();
+            }
+            catch (Throwable ex) {
+
+                future.completeExceptionally(ex);
+
+                return null;
+            }
+
+            return operationFuture.whenComplete((r, ex) -> {
+
+                if (ex != null) {
+
+                    future.completeExceptionally(ex);
+                }
+                else {
+                    future.complete(r);
+                }
+            });
+        });
+
+        return future;
+    }
+
     IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> getProtocol() {
         return protocol;
     }
@@ -150,13 +521,20 @@ final class GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> extends Gener
 
         Objects.requireNonNull(toCopy);
 
-        return preparedStatementParametersPool.allocateCopy(toCopy);
+        // Synchronized since parameters may be freed from asynchronous operations
+        synchronized (this) {
+
+            return preparedStatementParametersPool.allocateCopy(toCopy);
+        }
     }
 
     void freeParameters(GenericPreparedStatementParameters preparedStatementParameters) {
 
         Objects.requireNonNull(preparedStatementParameters);
 
-        preparedStatementParametersPool.freeParameters(preparedStatementParameters, MAX_EVICT_DELTA_MILLIS);
+        synchronized (this) {
+
+            preparedStatementParametersPool.freeParameters(preparedStatementParameters, MAX_EVICT_DELTA_MILLIS);
+        }
     }
 }
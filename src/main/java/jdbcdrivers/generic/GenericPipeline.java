@@ -0,0 +1,251 @@
+package jdbcdrivers.generic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import jdbcdrivers.generic.api.IGenericPipeline;
+import jdbcdrivers.generic.api.IGenericPreparedStatement;
+import jdbcdrivers.generic.api.IGenericPreparedStatementParameters;
+import jdbcdrivers.generic.exceptions.ConnectionClosedException;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.PreparedStatementClosedException;
+
+/**
+ * Pipeline of prepared updates queued on a connection, sent together on sync. Prepared statements of queued updates are pinned until sent,
+ * so that closing them or evicting them from the prepared statement cache is deferred until then. Updates still queued when the connection
+ * is closed are discarded.
+ *
+ * @param <PREPARED_STATEMENT> database protocol prepared statement type
+ * @param <DATA_TYPE> database protocol datatype
+ */
+final class GenericPipeline<PREPARED_STATEMENT, DATA_TYPE> implements IGenericPipeline {
+
+    private static final boolean DEBUG = Boolean.FALSE;
+
+    // Max number of updates to queue before sending, so that responses do not fill up socket buffers while still sending
+    private static final int MAX_QUEUED_UPDATES = 1000;
+
+    private final GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection;
+
+    private List<PipelinedUpdate<PREPARED_STATEMENT>> queuedUpdates;
+
+    GenericPipeline(GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection) {
+
+        this.connection = Objects.requireNonNull(connection);
+
+        this.queuedUpdates = new ArrayList<>();
+    }
+
+    @Override
+    public CompletableFuture<Integer> addUpdate(IGenericPreparedStatement preparedStatement, IGenericPreparedStatementParameters parameters)
+            throws ConnectionClosedException, PreparedStatementClosedException, GenericProtocolException {
+
+        Objects.requireNonNull(preparedStatement);
+        Objects.requireNonNull(parameters);
+
+        connection.checkNotClosed();
+
+        @SuppressWarnings("unchecked")
+        final GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> genericPreparedStatement = (GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE>)preparedStatement;
+
+        if (!genericPreparedStatement.isOfConnection(connection)) {
+
+            throw new IllegalArgumentException();
+        }
+
+        genericPreparedStatement.checkNotClosed();
+
+        if (queuedUpdates.size() == MAX_QUEUED_UPDATES) {
+
+            sync();
+        }
+
+        final PipelinedUpdate<PREPARED_STATEMENT> pipelinedUpdate = new PipelinedUpdate<>(genericPreparedStatement,
+                connection.allocateParametersCopy((GenericPreparedStatementParameters)parameters));
+
+        if (queuedUpdates.isEmpty()) {
+
+            connection.addQueuingPipeline(this);
+        }
+
+        queuedUpdates.add(pipelinedUpdate);
+
+        return pipelinedUpdate.getFuture();
+    }
+
+    @Override
+    public void sync() throws ConnectionClosedException, GenericProtocolException {
+
+        if (DEBUG) {
+
+            System.out.println("pipeline sync numQueuedUpdates=" + queuedUpdates.size());
+        }
+
+        connection.checkNotClosed();
+
+        if (queuedUpdates.isEmpty()) {
+
+            return;
+        }
+
+        // Updates added from now on, for example when completing futures, are part of the next sync
+        final List<PipelinedUpdate<PREPARED_STATEMENT>> updatesToSync = removeQueuedUpdates();
+
+        GenericProtocolException exception = null;
+
+        try {
+            connection.getProtocol().executePipelinedUpdates(updatesToSync);
+        }
+        catch (GenericProtocolException ex) {
+
+            // Cannot know responses to remaining updates
+            for (PipelinedUpdate<PREPARED_STATEMENT> pipelinedUpdate : updatesToSync) {
+
+                pipelinedUpdate.getFuture().completeExceptionally(ex);
+            }
+
+            exception = ex;
+        }
+        finally {
+
+            try {
+                releaseUpdates(connection, updatesToSync);
+            }
+            catch (GenericProtocolException ex) {
+
+                if (exception != null) {
+
+                    exception.addSuppressed(ex);
+                }
+                else {
+                    exception = ex;
+                }
+            }
+        }
+
+        if (exception != null) {
+
+            throw exception;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> syncAsync() {
+
+        if (DEBUG) {
+
+            System.out.println("pipeline async sync numQueuedUpdates=" + queuedUpdates.size());
+        }
+
+        if (connection.isClosed()) {
+
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+
+            future.completeExceptionally(new ConnectionClosedException());
+
+            return future;
+        }
+
+        if (queuedUpdates.isEmpty()) {
+
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Updates added from now on are part of the next sync
+        final List<PipelinedUpdate<PREPARED_STATEMENT>> updatesToSync = removeQueuedUpdates();
+
+        return executeAsync(connection, updatesToSync);
+    }
+
+    /**
+     * Discard updates never sent since the connection has been closed, completing them exceptionally and releasing them.
+     *
+     * @throws GenericProtocolException if closing any prepared statement closed while pinned failed
+     */
+    void discardQueuedUpdates() throws GenericProtocolException {
+
+        final List<PipelinedUpdate<PREPARED_STATEMENT>> updatesToDiscard = removeQueuedUpdates();
+
+        final ConnectionClosedException exception = new ConnectionClosedException();
+
+        for (PipelinedUpdate<PREPARED_STATEMENT> pipelinedUpdate : updatesToDiscard) {
+
+            pipelinedUpdate.getFuture().completeExceptionally(exception);
+        }
+
+        releaseUpdates(connection, updatesToDiscard);
+    }
+
+    private List<PipelinedUpdate<PREPARED_STATEMENT>> removeQueuedUpdates() {
+
+        final List<PipelinedUpdate<PREPARED_STATEMENT>> result = queuedUpdates;
+
+        this.queuedUpdates = new ArrayList<>();
+
+        connection.removeQueuingPipeline(this);
+
+        return result;
+    }
+
+    /**
+     * Execute pipelined updates asynchronously, freeing their parameters once completed.
+     */
+    static <PREPARED_STATEMENT, DATA_TYPE> CompletableFuture<Void> executeAsync(GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection,
+            List<PipelinedUpdate<PREPARED_STATEMENT>> updates) {
+
+        final CompletableFuture<Void> future = connection.executeAsyncComposed(() -> connection.getProtocol().executePipelinedUpdatesAsync(updates));
+
+        return future.whenComplete((r, ex) -> {
+
+            if (ex != null) {
+
+                for (PipelinedUpdate<PREPARED_STATEMENT> pipelinedUpdate : updates) {
+
+                    pipelinedUpdate.getFuture().completeExceptionally(ex);
+                }
+            }
+
+            try {
+                releaseUpdates(connection, updates);
+            }
+            catch (GenericProtocolException releaseException) {
+
+                // Completes the returned future exceptionally unless already completed exceptionally
+                throw new CompletionException(releaseException);
+            }
+        });
+    }
+
+    /**
+     * Release updates once sent, freeing parameters and unpinning prepared statements.
+     *
+     * @throws GenericProtocolException if closing any prepared statement closed while pinned failed, thrown after all updates have been released
+     */
+    private static <PREPARED_STATEMENT> void releaseUpdates(GenericDriverConnection<PREPARED_STATEMENT, ?> connection,
+            List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException {
+
+        GenericProtocolException releaseException = null;
+
+        for (PipelinedUpdate<PREPARED_STATEMENT> pipelinedUpdate : updates) {
+
+            try {
+                pipelinedUpdate.release(connection);
+            }
+            catch (GenericProtocolException ex) {
+
+                if (releaseException == null) {
+
+                    releaseException = ex;
+                }
+            }
+        }
+
+        if (releaseException != null) {
+
+            throw releaseException;
+        }
+    }
+}
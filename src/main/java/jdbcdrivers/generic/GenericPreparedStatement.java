@@ -2,10 +2,16 @@ package jdbcdrivers.generic;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
 
 import jdbcdrivers.generic.api.IGenericPreparedStatement;
 import jdbcdrivers.generic.api.IGenericPreparedStatementParameters;
+import jdbcdrivers.generic.api.IGenericResultSet;
 import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
 import jdbcdrivers.generic.exceptions.PreparedStatementClosedException;
@@ -17,9 +23,20 @@ final class GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> extends Gene
     private final PREPARED_STATEMENT preparedStatement;
     private final int numParameters;
 
-    private final Collection<GenericPreparedStatementParameters> batches;
+    // Set if cached, returned to cache when closed instead of closing on database
+    private final PreparedStatementCache.CachedPreparedStatement<PREPARED_STATEMENT> cachedPreparedStatement;
 
-    GenericPreparedStatement(GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection, PREPARED_STATEMENT preparedStatement, int numParameters) {
+    private Collection<GenericPreparedStatementParameters> batches;
+
+    // Number of rows to fetch at a time, 0 for connection default
+    private int fetchSize;
+
+    // Number of queued pipelined updates not yet sent, closing is deferred until all have been sent
+    private int numPins;
+    private boolean closeDeferred;
+
+    GenericPreparedStatement(GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection, PREPARED_STATEMENT preparedStatement, int numParameters,
+            int fetchSize) {
         super(PreparedStatementClosedException::new);
 
         Objects.requireNonNull(connection);
@@ -30,9 +47,34 @@ final class GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> extends Gene
             throw new IllegalArgumentException();
         }
 
+        if (fetchSize < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
         this.connection = connection;
         this.preparedStatement = preparedStatement;
         this.numParameters = numParameters;
+        this.cachedPreparedStatement = null;
+        this.fetchSize = fetchSize;
+
+        this.batches = new ArrayList<>();
+    }
+
+    GenericPreparedStatement(GenericDriverConnection<PREPARED_STATEMENT, DATA_TYPE> connection,
+            PreparedStatementCache.CachedPreparedStatement<PREPARED_STATEMENT> cachedPreparedStatement, int fetchSize) {
+        super(PreparedStatementClosedException::new);
+
+        if (fetchSize < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.connection = Objects.requireNonNull(connection);
+        this.preparedStatement = cachedPreparedStatement.getPreparedStatementResult().getPreparedStatement();
+        this.numParameters = cachedPreparedStatement.getPreparedStatementResult().getNumParameters();
+        this.cachedPreparedStatement = cachedPreparedStatement;
+        this.fetchSize = fetchSize;
 
         this.batches = new ArrayList<>();
     }
@@ -40,15 +82,93 @@ final class GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> extends Gene
     @Override
     public void close() throws AlreadyClosedException, GenericProtocolException {
 
+        checkNotAlreadyClosed();
+
+        final boolean closeNow;
+
+        synchronized (this) {
+
+            closeNow = numPins == 0;
+
+            if (!closeNow) {
+
+                this.closeDeferred = true;
+            }
+        }
+
         try {
-            connection.getProtocol().closePreparedStatement(preparedStatement);
+            if (closeNow) {
+
+                closeOrRelease();
+            }
         }
         finally {
 
             closeGeneric();
+
+            connection.removeOpenPreparedStatement(this);
         }
     }
 
+    /**
+     * Pin for a queued pipelined update, so that the statement is neither closed on the database nor released to the cache
+     * until the update has been sent.
+     */
+    synchronized void pin() {
+
+        ++ numPins;
+    }
+
+    /**
+     * Unpin once a pipelined update has been sent, closing on the database or releasing to the cache if closed while pinned.
+     *
+     * @throws GenericProtocolException if closing a statement closed while pinned failed
+     */
+    void unpin() throws GenericProtocolException {
+
+        final boolean closeNow;
+
+        synchronized (this) {
+
+            if (numPins == 0) {
+
+                throw new IllegalStateException();
+            }
+
+            closeNow = -- numPins == 0 && closeDeferred;
+
+            if (closeNow) {
+
+                this.closeDeferred = false;
+            }
+        }
+
+        if (closeNow) {
+
+            closeOrRelease();
+        }
+    }
+
+    private void closeOrRelease() throws GenericProtocolException {
+
+        if (cachedPreparedStatement != null) {
+
+            connection.releaseCachedPreparedStatement(cachedPreparedStatement);
+        }
+        else {
+            connection.getProtocol().closePreparedStatement(preparedStatement);
+        }
+    }
+
+    PREPARED_STATEMENT getPreparedStatement() {
+        return preparedStatement;
+    }
+
+    boolean isOfConnection(GenericDriverConnection<?, ?> connection) {
+
+        return this.connection == connection;
+    }
+
     @Override
     public IGenericPreparedStatementParameters allocateParameters() {
 
@@ -68,7 +188,24 @@ final class GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> extends Gene
 
         checkNotClosed();
 
-        return connection.getProtocol().executePreparedQuery(preparedStatement, (GenericPreparedStatementParameters)parameters);
+        return connection.getProtocol().executePreparedQuery(preparedStatement, (GenericPreparedStatementParameters)parameters, fetchSize);
+    }
+
+    @Override
+    public void setFetchSize(int rows) {
+
+        if (rows < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.fetchSize = rows;
+    }
+
+    @Override
+    public int getFetchSize() {
+
+        return fetchSize;
     }
 
     @Override
@@ -99,18 +236,119 @@ final class GenericPreparedStatement<PREPARED_STATEMENT, DATA_TYPE> extends Gene
         final int[] updateCounts;
 
         try {
-            updateCounts = connection.getProtocol().executeBatches(preparedStatement, batches);
+            updateCounts = executeBatches(batches);
         }
         finally {
 
-            for (GenericPreparedStatementParameters preparedStatementParameters : batches) {
+            batches.clear();
+        }
+
+        return updateCounts;
+    }
+
+    @Override
+    public long executeBatches(Iterator<? extends IGenericPreparedStatementParameters> batches) throws PreparedStatementClosedException, GenericProtocolException {
 
-                connection.freeParameters(preparedStatementParameters);
+        Objects.requireNonNull(batches);
+
+        checkNotClosed();
+
+        // Parameters are encoded as returned, so no copying
+        final Iterator<GenericPreparedStatementParameters> parametersIterator = new Iterator<GenericPreparedStatementParameters>() {
+
+            @Override
+            public boolean hasNext() {
+
+                return batches.hasNext();
             }
 
-            batches.clear();
+            @Override
+            public GenericPreparedStatementParameters next() {
+
+                return (GenericPreparedStatementParameters)batches.next();
+            }
+        };
+
+        return connection.getProtocol().executeBatches(preparedStatement, parametersIterator);
+    }
+
+    @Override
+    public long executeBatches(Spliterator<? extends IGenericPreparedStatementParameters> batches) throws PreparedStatementClosedException, GenericProtocolException {
+
+        Objects.requireNonNull(batches);
+
+        return executeBatches(Spliterators.iterator(batches));
+    }
+
+    @Override
+    public CompletableFuture<IGenericResultSet> executeQueryAsync(IGenericPreparedStatementParameters parameters) throws PreparedStatementClosedException {
+
+        Objects.requireNonNull(parameters);
+
+        checkNotClosed();
+
+        final GenericPreparedStatementParameters parametersCopy = connection.allocateParametersCopy((GenericPreparedStatementParameters)parameters);
+
+        final CompletableFuture<IGenericResultSet> future = connection.executeAsync(() -> exeuteQuery(parametersCopy));
+
+        // Freed however completed, also if never executed since closed before run
+        return future.whenComplete((r, ex) -> connection.freeParameters(parametersCopy));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeUpdateAsync(IGenericPreparedStatementParameters parameters) throws PreparedStatementClosedException {
+
+        Objects.requireNonNull(parameters);
+
+        checkNotClosed();
+
+        final GenericPreparedStatementParameters parametersCopy = connection.allocateParametersCopy((GenericPreparedStatementParameters)parameters);
+
+        // Execute as single update pipeline so that waiting for the response does not occupy any thread
+        final PipelinedUpdate<PREPARED_STATEMENT> pipelinedUpdate = new PipelinedUpdate<>(this, parametersCopy);
+
+        GenericPipeline.executeAsync(connection, Collections.singletonList(pipelinedUpdate));
+
+        return pipelinedUpdate.getFuture();
+    }
+
+    @Override
+    public CompletableFuture<int[]> executeBatchesAsync() throws PreparedStatementClosedException {
+
+        checkNotClosed();
+
+        // Batches added from now on are part of the next execution
+        final Collection<GenericPreparedStatementParameters> batchesToExecute = batches;
+
+        this.batches = new ArrayList<>();
+
+        final CompletableFuture<int[]> future = connection.executeAsync(() -> {
+
+            checkNotClosed();
+
+            return connection.getProtocol().executeBatches(preparedStatement, batchesToExecute);
+        });
+
+        // Freed however completed, also if never executed since closed before run
+        return future.whenComplete((r, ex) -> freeBatches(batchesToExecute));
+    }
+
+    private int[] executeBatches(Collection<GenericPreparedStatementParameters> batchesToExecute) throws GenericProtocolException {
+
+        try {
+            return connection.getProtocol().executeBatches(preparedStatement, batchesToExecute);
         }
+        finally {
 
-        return updateCounts;
+            freeBatches(batchesToExecute);
+        }
+    }
+
+    private void freeBatches(Collection<GenericPreparedStatementParameters> batchesToFree) {
+
+        for (GenericPreparedStatementParameters preparedStatementParameters : batchesToFree) {
+
+            connection.freeParameters(preparedStatementParameters);
+        }
     }
 }
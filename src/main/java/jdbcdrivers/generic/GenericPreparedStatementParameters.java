@@ -12,26 +12,37 @@ import jdbcdrivers.generic.api.IGenericPreparedStatementParameters;
 /**
  * Parameter values for prepared statements.
  *
- * @implNote allows for reusing objects by way of a free list, to reduce the number of object allocations
+ * @implNote allows for reusing objects by way of a free list, to reduce the number of object allocations. Primitive values are stored in primitive arrays
+ *           by type tag so that binding and encoding numeric parameters does not box.
  */
 final class GenericPreparedStatementParameters extends TimedListNode<GenericPreparedStatementParameters>
         implements IGenericPreparedStatementParameters, IGenericPreparedStatementParameterGetters {
 
-    private static final Object notIsSet = new Object();
+    // Type of each parameter, null if not set
+    private final ParameterType[] types;
 
-    private final Object[] parameters;
+    // Boolean and integer values
+    private final long[] longValues;
+
+    // Floating point values
+    private final double[] doubleValues;
+
+    // String and decimal values
+    private final Object[] objectValues;
 
     GenericPreparedStatementParameters(int numParameters) {
 
-        this.parameters = new Object[numParameters];
+        this.types = new ParameterType[numParameters];
+        this.longValues = new long[numParameters];
+        this.doubleValues = new double[numParameters];
+        this.objectValues = new Object[numParameters];
 
         clear();
     }
 
     @Deprecated
     private GenericPreparedStatementParameters(GenericPreparedStatementParameters toCopy) {
-
-        this.parameters = new Object[toCopy.parameters.length];
+        this(toCopy.types.length);
 
         copy(toCopy);
     }
@@ -39,49 +50,49 @@ final class GenericPreparedStatementParameters extends TimedListNode<GenericPrep
     @Override
     public final int getNumParameters() {
 
-        return parameters.length;
+        return types.length;
     }
 
     @Override
     public void setBoolean(int index, boolean value) {
 
-        setParameter(index, value ? Boolean.TRUE : Boolean.FALSE);
+        setLong(index, ParameterType.BOOLEAN, value ? 1L : 0L);
     }
 
     @Override
     public void setByte(int index, byte value) {
 
-        setParameter(index, CachedValues.getInstance().getByte(value));
+        setLong(index, ParameterType.BYTE, value);
     }
 
     @Override
     public void setShort(int index, short value) {
 
-        setParameter(index, CachedValues.getInstance().getShort(value));
+        setLong(index, ParameterType.SHORT, value);
     }
 
     @Override
     public void setInt(int index, int value) {
 
-        setParameter(index, CachedValues.getInstance().getInt(value));
+        setLong(index, ParameterType.INT, value);
     }
 
     @Override
     public void setLong(int index, long value) {
 
-        setParameter(index, CachedValues.getInstance().getLong(value));
+        setLong(index, ParameterType.LONG, value);
     }
 
     @Override
     public void setFloat(int index, float value) {
 
-        setParameter(index, CachedValues.getInstance().getFloat(value));
+        setDouble(index, ParameterType.FLOAT, value);
     }
 
     @Override
     public void setDouble(int index, double value) {
 
-        setParameter(index, CachedValues.getInstance().getDouble(value));
+        setDouble(index, ParameterType.DOUBLE, value);
     }
 
     @Override
@@ -89,7 +100,45 @@ final class GenericPreparedStatementParameters extends TimedListNode<GenericPrep
 
         Objects.requireNonNull(value);
 
-        setParameter(index, value);
+        if (value instanceof Integer) {
+
+            setInt(index, (Integer)value);
+        }
+        else if (value instanceof Long) {
+
+            setLong(index, (Long)value);
+        }
+        else if (value instanceof String) {
+
+            setObject(index, ParameterType.STRING, value);
+        }
+        else if (value instanceof BigDecimal) {
+
+            setObject(index, ParameterType.DECIMAL, value);
+        }
+        else if (value instanceof Boolean) {
+
+            setBoolean(index, (Boolean)value);
+        }
+        else if (value instanceof Byte) {
+
+            setByte(index, (Byte)value);
+        }
+        else if (value instanceof Short) {
+
+            setShort(index, (Short)value);
+        }
+        else if (value instanceof Float) {
+
+            setFloat(index, (Float)value);
+        }
+        else if (value instanceof Double) {
+
+            setDouble(index, (Double)value);
+        }
+        else {
+            throw new UnsupportedOperationException();
+        }
     }
 
     @Override
@@ -98,13 +147,16 @@ final class GenericPreparedStatementParameters extends TimedListNode<GenericPrep
         Objects.requireNonNull(value);
         Objects.requireNonNull(jdbcType);
 
-        setParameter(index, value);
+        setObject(index, value);
     }
 
     @Override
     public void setNull(int index, JDBCType jdbcType) {
 
-        setParameter(index, null);
+        checkIndex(index);
+
+        types[index] = ParameterType.NULL;
+        objectValues[index] = null;
     }
 
     /**
@@ -113,141 +165,129 @@ final class GenericPreparedStatementParameters extends TimedListNode<GenericPrep
     @Override
     public void clear() {
 
-        Arrays.fill(parameters, notIsSet);
+        Arrays.fill(types, null);
+        Arrays.fill(objectValues, null);
     }
 
     @Override
     public ParameterType getParameterType(int index) {
 
-        final Object parameter = getParameter(index);
-
-        final ParameterType result;
-
-        if (parameter == null) {
-
-            result = ParameterType.NULL;
-        }
-        else {
-            if (parameter instanceof Boolean) {
-
-                result = ParameterType.BOOLEAN;
-            }
-            else if (parameter instanceof Byte) {
-
-                result = ParameterType.BYTE;
-            }
-            else if (parameter instanceof Short) {
-
-                result = ParameterType.SHORT;
-            }
-            else if (parameter instanceof Integer) {
-
-                result = ParameterType.INT;
-            }
-            else if (parameter instanceof Long) {
-
-                result = ParameterType.LONG;
-            }
-            else if (parameter instanceof Float) {
-
-                result = ParameterType.FLOAT;
-            }
-            else if (parameter instanceof Double) {
-
-                result = ParameterType.DOUBLE;
-            }
-            else if (parameter instanceof BigDecimal) {
-
-                result = ParameterType.DECIMAL;
-            }
-            else if (parameter instanceof String) {
-
-                result = ParameterType.STRING;
-            }
-            else {
-                throw new UnsupportedOperationException();
-            }
-        }
-
-        return result;
+        return getSetType(index);
     }
 
     @Override
     public boolean getBoolean(int index) {
 
-        return (Boolean)getParameter(index);
+        checkType(index, ParameterType.BOOLEAN);
+
+        return longValues[index] != 0L;
     }
 
     @Override
     public byte getByte(int index) {
 
-        return (Byte)getParameter(index);
+        checkWidenedType(index, ParameterType.BYTE, ParameterType.BYTE);
+
+        return (byte)longValues[index];
     }
 
     @Override
     public short getShort(int index) {
 
-        return (Short)getParameter(index);
+        checkWidenedType(index, ParameterType.BYTE, ParameterType.SHORT);
+
+        return (short)longValues[index];
     }
 
     @Override
     public int getInt(int index) {
 
-        return (Integer)getParameter(index);
+        checkWidenedType(index, ParameterType.BYTE, ParameterType.INT);
+
+        return (int)longValues[index];
     }
 
     @Override
     public long getLong(int index) {
 
-        return (Long)getParameter(index);
+        checkWidenedType(index, ParameterType.BYTE, ParameterType.LONG);
+
+        return longValues[index];
     }
 
     @Override
     public float getFloat(int index) {
 
-        return (Float)getParameter(index);
+        checkWidenedType(index, ParameterType.FLOAT, ParameterType.FLOAT);
+
+        return (float)doubleValues[index];
     }
 
     @Override
     public double getDouble(int index) {
 
-        return (Double)getParameter(index);
+        checkWidenedType(index, ParameterType.FLOAT, ParameterType.DOUBLE);
+
+        return doubleValues[index];
     }
 
     @Override
     public BigDecimal getDecimal(int index) {
 
-        return (BigDecimal)getParameter(index);
+        checkType(index, ParameterType.DECIMAL);
+
+        return (BigDecimal)objectValues[index];
     }
 
     @Override
     public String getString(int index) {
 
-        return (String)getParameter(index);
+        checkType(index, ParameterType.STRING);
+
+        return (String)objectValues[index];
     }
 
     @Override
     public boolean isNull(int index) {
 
-        return getParameter(index) == null;
+        return getSetType(index) == ParameterType.NULL;
+    }
+
+    private void setLong(int index, ParameterType type, long value) {
+
+        checkIndex(index);
+
+        types[index] = type;
+        longValues[index] = value;
+        objectValues[index] = null;
+    }
+
+    private void setDouble(int index, ParameterType type, double value) {
+
+        checkIndex(index);
+
+        types[index] = type;
+        doubleValues[index] = value;
+        objectValues[index] = null;
     }
 
-    private void setParameter(int index, Object parameter) {
+    private void setObject(int index, ParameterType type, Object value) {
 
         checkIndex(index);
 
-        parameters[index] = parameter;
+        types[index] = type;
+        objectValues[index] = value;
     }
 
     public boolean areAllSet() {
 
         boolean areAllSet = true;
 
-        final int numParameters = parameters.length;
+        final int numParameters = types.length;
 
         for (int i = 0; i < numParameters; ++ i) {
 
-            if (parameters[i] == notIsSet) {
+            if (types[i] == null) {
 
                 areAllSet = false;
                 break;
@@ -265,28 +305,53 @@ final class GenericPreparedStatementParameters extends TimedListNode<GenericPrep
 
     void copy(GenericPreparedStatementParameters toCopy) {
 
-        final int numParameters = parameters.length;
+        final int numParameters = types.length;
 
-        if (numParameters != toCopy.parameters.length) {
+        if (numParameters != toCopy.types.length) {
 
             throw new IllegalArgumentException();
         }
 
-        System.arraycopy(toCopy.parameters, 0, toCopy.parameters, 0, numParameters);
+        System.arraycopy(toCopy.types, 0, types, 0, numParameters);
+        System.arraycopy(toCopy.longValues, 0, longValues, 0, numParameters);
+        System.arraycopy(toCopy.doubleValues, 0, doubleValues, 0, numParameters);
+        System.arraycopy(toCopy.objectValues, 0, objectValues, 0, numParameters);
     }
 
-    private Object getParameter(int index) {
+    private ParameterType getSetType(int index) {
 
         checkIndex(index);
 
-        final Object parameter = parameters[index];
+        final ParameterType type = types[index];
 
-        if (parameter == notIsSet) {
+        if (type == null) {
 
             throw new IllegalStateException();
         }
 
-        return parameter;
+        return type;
+    }
+
+    private void checkType(int index, ParameterType expectedType) {
+
+        if (getSetType(index) != expectedType) {
+
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Check that a parameter was set as a type that widens without loss to the type read, so that a value is never read from the array of another
+     * type. Relies on {@link ParameterType} constants being ordered from narrowest to widest within integer and floating point types.
+     */
+    private void checkWidenedType(int index, ParameterType narrowestType, ParameterType widestType) {
+
+        final int ordinal = getSetType(index).ordinal();
+
+        if (ordinal < narrowestType.ordinal() || ordinal > widestType.ordinal()) {
+
+            throw new IllegalStateException();
+        }
     }
 
     private void checkIndex(int index) {
@@ -296,7 +361,7 @@ final class GenericPreparedStatementParameters extends TimedListNode<GenericPrep
             throw new IllegalArgumentException();
         }
 
-        if (index >= parameters.length) {
+        if (index >= types.length) {
 
             throw new IllegalArgumentException();
         }
@@ -1,9 +1,7 @@
 package jdbcdrivers.generic;
 
 import java.sql.JDBCType;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 import jdbcdrivers.generic.api.IGenericResultSetMetaData;
@@ -83,7 +81,7 @@ public final class GenericResultSetMetaData<DATA_TYPE> extends ResultColumns<DAT
     private final int maxBytesPerResultRow;
     private final ResultSetColumn<DATA_TYPE>[] columns;
 
-    private final Map<String, Integer> indexByColumnLabel;
+    private final ColumnLabelTable columnLabelTable;
 
     public GenericResultSetMetaData(int maxDataBytesPerRow, int maxBytesPerResultRow, List<ResultSetColumn<DATA_TYPE>> columns) {
         this(NO_TOTAL_NUM_ROWS, maxDataBytesPerRow, maxBytesPerResultRow, columns);
@@ -110,14 +108,14 @@ public final class GenericResultSetMetaData<DATA_TYPE> extends ResultColumns<DAT
 
         final int numColumns = columns.size();
 
-        this.indexByColumnLabel = new HashMap<String, Integer>(numColumns);
+        final String[] columnLabels = new String[numColumns];
 
         for (int i = 0; i < numColumns; ++ i) {
 
-            final ResultSetColumn<DATA_TYPE> resultColumn = this.columns[i];
-
-            indexByColumnLabel.put(columnLabelToKey(resultColumn.getLabel()), i);
+            columnLabels[i] = this.columns[i].getLabel();
         }
+
+        this.columnLabelTable = new ColumnLabelTable(columnLabels);
     }
 
     @SuppressWarnings("unchecked")
@@ -148,18 +146,21 @@ public final class GenericResultSetMetaData<DATA_TYPE> extends ResultColumns<DAT
     @Override
     public Integer getColumnIndex(String columnName) {
 
-        Objects.requireNonNull(columnName);
+        final int index = findColumnIndex(columnName);
 
-        return indexByColumnLabel.get(columnLabelToKey(columnName));
+        return index != ColumnLabelTable.NOT_FOUND ? index : null;
     }
 
-    final ResultSetColumn<DATA_TYPE> getColumn(int index) {
+    @Override
+    public int findColumnIndex(String columnName) {
 
-        return columns[index];
+        Objects.requireNonNull(columnName);
+
+        return columnLabelTable.getIndex(columnName);
     }
 
-    private static String columnLabelToKey(String columnLabel) {
+    final ResultSetColumn<DATA_TYPE> getColumn(int index) {
 
-        return columnLabel.toLowerCase();
+        return columns[index];
     }
 }
@@ -5,34 +5,74 @@ import java.util.Objects;
 import jdbcdrivers.generic.api.ExecuteResult;
 import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
 import jdbcdrivers.generic.api.IGenericStatement;
+import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.StatementClosedException;
 
-final class GenericStatement implements IGenericStatement {
+final class GenericStatement extends GenericCloseable<StatementClosedException> implements IGenericStatement {
 
+    private final GenericDriverConnection<?, ?> connection;
     private final SQLExecutor sqlExecutor;
-    private final GenericStatementExecutionOptions statementExecutionOptions;
+    private GenericStatementExecutionOptions statementExecutionOptions;
 
-    GenericStatement(SQLExecutor sqlExecutor, GenericStatementExecutionOptions statementParameters) {
+    GenericStatement(GenericDriverConnection<?, ?> connection, SQLExecutor sqlExecutor, GenericStatementExecutionOptions statementParameters) {
+        super(StatementClosedException::new);
 
+        this.connection = Objects.requireNonNull(connection);
         this.sqlExecutor = Objects.requireNonNull(sqlExecutor);
         this.statementExecutionOptions = Objects.requireNonNull(statementParameters);
     }
 
     @Override
-    public GenericResultSet executeQuery(String sql) throws GenericProtocolException {
+    public void close() throws AlreadyClosedException {
+
+        try {
+            closeGeneric();
+        }
+        finally {
+
+            connection.removeOpenStatement(this);
+        }
+    }
+
+    @Override
+    public GenericResultSet executeQuery(String sql) throws StatementClosedException, GenericProtocolException {
+
+        checkNotClosed();
 
         return sqlExecutor.executeQuery(sql, statementExecutionOptions);
     }
 
     @Override
-    public int executeUpdate(String sql) throws GenericProtocolException {
+    public int executeUpdate(String sql) throws StatementClosedException, GenericProtocolException {
+
+        checkNotClosed();
 
         return sqlExecutor.executeUpdate(sql, statementExecutionOptions);
     }
 
     @Override
-    public ExecuteResult execute(String sql) throws GenericProtocolException {
+    public ExecuteResult execute(String sql) throws StatementClosedException, GenericProtocolException {
+
+        checkNotClosed();
 
         return sqlExecutor.execute(sql, statementExecutionOptions);
     }
+
+    @Override
+    public void setFetchSize(int rows) {
+
+        if (rows < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.statementExecutionOptions = statementExecutionOptions.withFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() {
+
+        return statementExecutionOptions.getFetchSize();
+    }
 }
@@ -0,0 +1,55 @@
+package jdbcdrivers.generic;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+
+/**
+ * A prepared update queued in a pipeline, completed when the response has been received from the database. The prepared statement is pinned
+ * from construction until {@link #release(GenericDriverConnection)}, so that it is not closed while the update is queued.
+ *
+ * @param <PREPARED_STATEMENT> database protocol prepared statement type
+ */
+final class PipelinedUpdate<PREPARED_STATEMENT> {
+
+    private final GenericPreparedStatement<PREPARED_STATEMENT, ?> preparedStatement;
+    private final GenericPreparedStatementParameters parameters;
+    private final CompletableFuture<Integer> future;
+
+    PipelinedUpdate(GenericPreparedStatement<PREPARED_STATEMENT, ?> preparedStatement, GenericPreparedStatementParameters parameters) {
+
+        this.preparedStatement = Objects.requireNonNull(preparedStatement);
+        this.parameters = Objects.requireNonNull(parameters);
+
+        this.future = new CompletableFuture<>();
+
+        preparedStatement.pin();
+    }
+
+    PREPARED_STATEMENT getPreparedStatement() {
+        return preparedStatement.getPreparedStatement();
+    }
+
+    GenericPreparedStatementParameters getParameters() {
+        return parameters;
+    }
+
+    CompletableFuture<Integer> getFuture() {
+        return future;
+    }
+
+    /**
+     * Release once sent and no longer queued, freeing parameters and unpinning the prepared statement.
+     *
+     * @param connection connection that parameters were allocated from
+     *
+     * @throws GenericProtocolException if the prepared statement was closed while pinned and closing it failed
+     */
+    void release(GenericDriverConnection<PREPARED_STATEMENT, ?> connection) throws GenericProtocolException {
+
+        connection.freeParameters(parameters);
+
+        preparedStatement.unpin();
+    }
+}
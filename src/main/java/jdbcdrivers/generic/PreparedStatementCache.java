@@ -0,0 +1,282 @@
+package jdbcdrivers.generic;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol.PreparedStatementResult;
+import jdbcdrivers.generic.DoublyLinkedList.DoublyLinkedNode;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.AutoGeneratedKeys;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.Concurrency;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.Holdability;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.ResultSetType;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.util.PrintDebug;
+
+/**
+ * Per connection cache of prepared statements keyed by SQL and execution options, so that preparing the same SQL again does not require
+ * a round trip to the database. Statements not in use are evicted in least recently used order when above the maximum count or size,
+ * closing them on the database.
+ *
+ * The size of a statement is estimated from the length of its SQL and the number of result columns retained by the database protocol prepared
+ * statement, since the latter is opaque to the cache.
+ */
+final class PreparedStatementCache<PREPARED_STATEMENT> implements PrintDebug {
+
+    private static final boolean DEBUG = Boolean.FALSE;
+
+    // Estimated bytes retained per prepared statement besides SQL and columns, for the cache entry and the database protocol prepared statement
+    static final int STATEMENT_OVERHEAD_BYTES = 256;
+
+    // Estimated bytes retained per result column, for column metadata including name
+    static final int COLUMN_OVERHEAD_BYTES = 128;
+
+    @FunctionalInterface
+    interface PreparedStatementCloser<PREPARED_STATEMENT> {
+
+        void close(PREPARED_STATEMENT preparedStatement) throws GenericProtocolException;
+    }
+
+    /**
+     * Key of SQL and only the options that affect preparing, so that for example statements prepared with different fetch sizes are shared.
+     */
+    private static final class Key {
+
+        private final String sql;
+        private final AutoGeneratedKeys autoGeneratedKeys;
+        private final ResultSetType type;
+        private final Concurrency concurrency;
+        private final Holdability holdability;
+
+        Key(String sql, GenericStatementExecutionOptions statementExecutionOptions) {
+
+            this.sql = Objects.requireNonNull(sql);
+            this.autoGeneratedKeys = statementExecutionOptions.getAutoGeneratedKeys();
+            this.type = statementExecutionOptions.getType();
+            this.concurrency = statementExecutionOptions.getConcurrency();
+            this.holdability = statementExecutionOptions.getHoldability();
+        }
+
+        @Override
+        public int hashCode() {
+
+            return sql.hashCode() * 31 + Objects.hash(autoGeneratedKeys, type, concurrency, holdability);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+
+            if (this == object) {
+
+                return true;
+            }
+
+            if (object == null || getClass() != object.getClass()) {
+
+                return false;
+            }
+
+            final Key other = (Key)object;
+
+            return sql.equals(other.sql) && autoGeneratedKeys == other.autoGeneratedKeys && type == other.type && concurrency == other.concurrency
+                    && holdability == other.holdability;
+        }
+    }
+
+    static final class CachedPreparedStatement<PREPARED_STATEMENT> extends DoublyLinkedNode<CachedPreparedStatement<PREPARED_STATEMENT>> {
+
+        private final Key key;
+        private final PreparedStatementResult<PREPARED_STATEMENT> preparedStatementResult;
+        private final long numBytes;
+
+        private boolean inUse;
+
+        private CachedPreparedStatement(Key key, PreparedStatementResult<PREPARED_STATEMENT> preparedStatementResult, long numBytes) {
+
+            this.key = Objects.requireNonNull(key);
+            this.preparedStatementResult = Objects.requireNonNull(preparedStatementResult);
+            this.numBytes = numBytes;
+        }
+
+        PreparedStatementResult<PREPARED_STATEMENT> getPreparedStatementResult() {
+            return preparedStatementResult;
+        }
+    }
+
+    private final int maxCount;
+    private final long maxBytes;
+
+    private final Map<Key, CachedPreparedStatement<PREPARED_STATEMENT>> cachedByKey;
+
+    // Statements not in use, most recently used at head
+    private final DoublyLinkedList<CachedPreparedStatement<PREPARED_STATEMENT>> notInUseList;
+
+    private long totalNumBytes;
+
+    PreparedStatementCache(int maxCount, long maxBytes) {
+
+        if (maxCount < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (maxBytes < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.maxCount = maxCount;
+        this.maxBytes = maxBytes;
+
+        this.cachedByKey = new HashMap<>();
+        this.notInUseList = new DoublyLinkedList<>();
+    }
+
+    /**
+     * Look up a cached prepared statement that is not in use, marking it as in use.
+     *
+     * @param sql SQL of the prepared statement
+     * @param statementExecutionOptions options the statement was prepared with
+     *
+     * @return the cached prepared statement, or {@code null} if none cached or cached but in use
+     */
+    synchronized CachedPreparedStatement<PREPARED_STATEMENT> acquire(String sql, GenericStatementExecutionOptions statementExecutionOptions) {
+
+        final CachedPreparedStatement<PREPARED_STATEMENT> cached = cachedByKey.get(new Key(sql, statementExecutionOptions));
+
+        final CachedPreparedStatement<PREPARED_STATEMENT> result;
+
+        if (cached != null && !cached.inUse) {
+
+            notInUseList.remove(cached);
+
+            cached.inUse = true;
+
+            result = cached;
+        }
+        else {
+            result = null;
+        }
+
+        if (DEBUG) {
+
+            println("acquire cached prepared statement sql=" + sql + " found=" + (result != null));
+        }
+
+        return result;
+    }
+
+    /**
+     * Add a newly prepared statement as in use, unless a statement for the same SQL and options is already cached.
+     *
+     * @param sql SQL of the prepared statement
+     * @param statementExecutionOptions options the statement was prepared with
+     * @param preparedStatementResult result of preparing the statement
+     *
+     * @return the cached prepared statement, or {@code null} if not added
+     */
+    synchronized CachedPreparedStatement<PREPARED_STATEMENT> add(String sql, GenericStatementExecutionOptions statementExecutionOptions,
+            PreparedStatementResult<PREPARED_STATEMENT> preparedStatementResult) {
+
+        final Key key = new Key(sql, statementExecutionOptions);
+
+        final CachedPreparedStatement<PREPARED_STATEMENT> result;
+
+        if (cachedByKey.containsKey(key)) {
+
+            result = null;
+        }
+        else {
+            result = new CachedPreparedStatement<>(key, preparedStatementResult, estimateNumBytes(sql, preparedStatementResult));
+
+            result.inUse = true;
+
+            cachedByKey.put(key, result);
+
+            this.totalNumBytes += result.numBytes;
+        }
+
+        return result;
+    }
+
+    /**
+     * Release a prepared statement that is no longer in use, evicting least recently used statements if above maximum count or size.
+     *
+     * @param cachedPreparedStatement the statement to release
+     * @param closer for closing evicted statements on the database
+     *
+     * @throws GenericProtocolException if closing an evicted statement failed
+     */
+    void release(CachedPreparedStatement<PREPARED_STATEMENT> cachedPreparedStatement, PreparedStatementCloser<PREPARED_STATEMENT> closer)
+            throws GenericProtocolException {
+
+        Objects.requireNonNull(cachedPreparedStatement);
+        Objects.requireNonNull(closer);
+
+        PREPARED_STATEMENT toClose;
+
+        synchronized (this) {
+
+            if (!cachedPreparedStatement.inUse) {
+
+                throw new IllegalStateException();
+            }
+
+            cachedPreparedStatement.inUse = false;
+
+            notInUseList.addHead(cachedPreparedStatement);
+
+            toClose = evictLeastRecentlyUsed();
+        }
+
+        // Close outside of lock since closing requires a round trip
+        while (toClose != null) {
+
+            if (DEBUG) {
+
+                println("evict cached prepared statement " + toClose);
+            }
+
+            closer.close(toClose);
+
+            synchronized (this) {
+
+                toClose = evictLeastRecentlyUsed();
+            }
+        }
+    }
+
+    synchronized int getNumCached() {
+
+        return cachedByKey.size();
+    }
+
+    static long estimateNumBytes(String sql, PreparedStatementResult<?> preparedStatementResult) {
+
+        return (long)sql.length() * Character.BYTES
+                + STATEMENT_OVERHEAD_BYTES
+                + (long)preparedStatementResult.getNumColumns() * COLUMN_OVERHEAD_BYTES;
+    }
+
+    private PREPARED_STATEMENT evictLeastRecentlyUsed() {
+
+        final PREPARED_STATEMENT result;
+
+        if ((cachedByKey.size() > maxCount || totalNumBytes > maxBytes) && !notInUseList.isEmpty()) {
+
+            final CachedPreparedStatement<PREPARED_STATEMENT> evicted = notInUseList.removeTail();
+
+            cachedByKey.remove(evicted.key);
+
+            this.totalNumBytes -= evicted.numBytes;
+
+            result = evicted.preparedStatementResult.getPreparedStatement();
+        }
+        else {
+            result = null;
+        }
+
+        return result;
+    }
+}
@@ -1,14 +1,16 @@
 package jdbcdrivers.generic;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 
-import jdbcdrivers.util.DriverUtil;
-
 final class ProtocolData<PREPARED_STATEMENT> {
 
     private final Function<PREPARED_STATEMENT, Object> preparedStatementIdentifierGetter;
@@ -16,6 +18,9 @@ final class ProtocolData<PREPARED_STATEMENT> {
     private final Map<StatementKey, StatementData> statements;
     private final Map<PreparedStatementKey, PreparedStatementData<PREPARED_STATEMENT>> preparedStatements;
 
+    // At most one result set at a time retrieves rows directly from the connection, null if none
+    private BaseSwappableResultSet directConnectionResultSet;
+
     ProtocolData(Function<PREPARED_STATEMENT, Object> preparedStatementIdentifierGetter) {
 
         this.preparedStatementIdentifierGetter = Objects.requireNonNull(preparedStatementIdentifierGetter);
@@ -24,30 +29,30 @@ final class ProtocolData<PREPARED_STATEMENT> {
         this.preparedStatements = new HashMap<>();
     }
 
-    void addPreparedStatement(PREPARED_STATEMENT preparedStatement) {
-
-        Objects.requireNonNull(preparedStatement);
-
-        final Object identifier = preparedStatementIdentifierGetter.apply(preparedStatement);
-
-        preparedStatements.put(new PreparedStatementKey(identifier), new PreparedStatementData<>(preparedStatement));
-    }
-
     void addResultSet(PREPARED_STATEMENT preparedStatement, BaseSwappableResultSet resultSet) {
 
         Objects.requireNonNull(preparedStatement);
         Objects.requireNonNull(resultSet);
 
-        final Object identifier = preparedStatementIdentifierGetter.apply(preparedStatement);
+        final boolean isDirectConnection = isDirectConnection(resultSet);
 
-        final PreparedStatementData<PREPARED_STATEMENT> preparedStatementData = preparedStatements.get(new PreparedStatementKey(identifier));
-
-        if (preparedStatementData == null) {
+        if (isDirectConnection && findDirectConnectionResultSet() != null) {
 
             throw new IllegalStateException();
         }
 
+        final Object identifier = preparedStatementIdentifierGetter.apply(preparedStatement);
+
+        // Added on first result set, removed with last
+        final PreparedStatementData<PREPARED_STATEMENT> preparedStatementData = preparedStatements.computeIfAbsent(new PreparedStatementKey(identifier),
+                k -> new PreparedStatementData<>(preparedStatement));
+
         preparedStatementData.addResultSet(resultSet);
+
+        if (isDirectConnection) {
+
+            this.directConnectionResultSet = resultSet;
+        }
     }
 
     void removeResultSet(PREPARED_STATEMENT preparedStatement, BaseSwappableResultSet resultSet) {
@@ -65,92 +70,89 @@ final class ProtocolData<PREPARED_STATEMENT> {
         }
 
         preparedStatementData.removeResultSet(resultSet);
-    }
-
-    final BaseSwappableResultSet findDirectConnectionResultSet() {
-
-        final BaseSwappableResultSet statementSwappableResultSet = findDirectConnectionResultSet(statements);
-        final BaseSwappableResultSet preparedStatementSwappableResultSet = findDirectConnectionResultSet(preparedStatements);
-
-        final BaseSwappableResultSet found;
 
-        if (statementSwappableResultSet != null && preparedStatementSwappableResultSet != null) {
+        // Not kept for every prepared statement ever executed
+        if (preparedStatementData.hasNoResultSets()) {
 
-            throw new IllegalStateException();
+            preparedStatements.remove(new PreparedStatementKey(identifier));
         }
-        else if (statementSwappableResultSet != null) {
 
-            found = statementSwappableResultSet;
-        }
-        else if (preparedStatementSwappableResultSet != null) {
+        if (resultSet == directConnectionResultSet) {
 
-            found = preparedStatementSwappableResultSet;
-        }
-        else {
-            found = null;
+            this.directConnectionResultSet = null;
         }
-
-        return found;
     }
 
-    private static BaseSwappableResultSet findDirectConnectionResultSet(Map<?, ? extends BaseStatementData> map) {
+    /**
+     * Get all result sets added and not yet removed.
+     *
+     * @return copy of result sets, in no particular order
+     */
+    List<BaseSwappableResultSet> getResultSets() {
 
-        BaseSwappableResultSet found = null;
+        final List<BaseSwappableResultSet> result = new ArrayList<>();
 
-        for (BaseStatementData baseStatementData : map.values()) {
+        for (PreparedStatementData<PREPARED_STATEMENT> preparedStatementData : preparedStatements.values()) {
 
-            final BaseSwappableResultSet swappableResultSet = baseStatementData.findDirectConnectionResultSet();
+            preparedStatementData.getResultSets(result);
+        }
 
-            if (swappableResultSet != null) {
+        return result;
+    }
 
-                if (found != null) {
+    final BaseSwappableResultSet findDirectConnectionResultSet() {
 
-                    throw new IllegalStateException();
-                }
+        // No longer retrieving from connection once swapped to a buffered result set
+        if (directConnectionResultSet != null && !isDirectConnection(directConnectionResultSet)) {
 
-                found = swappableResultSet;
-            }
+            this.directConnectionResultSet = null;
         }
 
-        return found;
+        return directConnectionResultSet;
+    }
+
+    private static boolean isDirectConnection(BaseSwappableResultSet resultSet) {
+
+        return resultSet.getDelegate() instanceof ConnectionDirectResultSet<?, ?>;
     }
 
     private static abstract class BaseStatementData {
 
-        private final List<BaseSwappableResultSet> resultSets;
+        private final Set<BaseSwappableResultSet> resultSets;
 
         BaseStatementData() {
 
-            this.resultSets = new ArrayList<>();
+            this.resultSets = Collections.newSetFromMap(new IdentityHashMap<>());
         }
 
         final void addResultSet(BaseSwappableResultSet resultSet) {
 
             Objects.requireNonNull(resultSet);
 
-            if (resultSets.contains(resultSet)) {
+            if (!resultSets.add(resultSet)) {
 
                 throw new IllegalStateException();
             }
-
-            resultSets.add(resultSet);
         }
 
         final void removeResultSet(BaseSwappableResultSet resultSet) {
 
             Objects.requireNonNull(resultSet);
 
-            if (!resultSets.contains(resultSet)) {
+            if (!resultSets.remove(resultSet)) {
 
                 throw new IllegalStateException();
             }
+        }
+
+        final void getResultSets(Collection<BaseSwappableResultSet> dst) {
 
-            resultSets.remove(resultSet);
+            dst.addAll(resultSets);
         }
 
-        final BaseSwappableResultSet findDirectConnectionResultSet() {
+        final boolean hasNoResultSets() {
 
-            return DriverUtil.findAtMostOne(resultSets, r -> r.getDelegate() instanceof ConnectionDirectResultSet<?, ?>);
+            return resultSets.isEmpty();
         }
     }
 
@@ -0,0 +1,222 @@
+package jdbcdrivers.generic;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Driver wide pool of arrays for receiving result rows into, so that each query does not allocate new receive buffers.
+ *
+ * Arrays are pooled in power of two size classes by number of bytes, so that the smallest size class is of the same number of bytes regardless of
+ * element type, the largest size class being the max length. The number of released arrays kept per size class is bounded by number of bytes,
+ * so that no arrays are kept for size classes larger than the bound.
+ */
+final class ReceiveBufferPool {
+
+    private static final boolean DEBUG = Boolean.FALSE;
+
+    // Number of bytes of smallest size class
+    private static final int MIN_BYTES_SHIFT = 6;
+
+    private static final class SizeClasses<T> {
+
+        private final IntFunction<T> createArray;
+        private final ToIntFunction<T> getLength;
+        private final int maxLength;
+
+        // Length of smallest size class, in number of elements
+        private final int minLengthShift;
+        private final int minLength;
+
+        // Free arrays per size class, most recently released first
+        private final ArrayDeque<T>[] freeArrays;
+        private final int[] maxFreeArrays;
+
+        SizeClasses(IntFunction<T> createArray, ToIntFunction<T> getLength, int maxLength, int elementBytes, long maxFreeBytesPerSizeClass) {
+
+            this.createArray = Objects.requireNonNull(createArray);
+            this.getLength = Objects.requireNonNull(getLength);
+            this.maxLength = maxLength;
+
+            if (elementBytes < 1 || elementBytes > (1 << MIN_BYTES_SHIFT) || Integer.bitCount(elementBytes) != 1) {
+
+                throw new IllegalArgumentException();
+            }
+
+            this.minLengthShift = MIN_BYTES_SHIFT - Integer.numberOfTrailingZeros(elementBytes);
+            this.minLength = 1 << minLengthShift;
+
+            final int numSizeClasses = getSizeClass(maxLength) + 1;
+
+            this.freeArrays = allocateArrayDeques(numSizeClasses);
+            this.maxFreeArrays = new int[numSizeClasses];
+
+            for (int i = 0; i < numSizeClasses; ++ i) {
+
+                freeArrays[i] = new ArrayDeque<>();
+                // None kept if larger than max number of bytes
+                maxFreeArrays[i] = (int)Math.min(maxFreeBytesPerSizeClass / ((long)getSizeClassLength(i) * elementBytes), Integer.MAX_VALUE);
+            }
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static <T> ArrayDeque<T>[] allocateArrayDeques(int numArrayElements) {
+
+            return new ArrayDeque[numArrayElements];
+        }
+
+        T allocate(int minLength) {
+
+            if (minLength < 0) {
+
+                throw new IllegalArgumentException();
+            }
+
+            if (minLength > maxLength) {
+
+                throw new IllegalArgumentException();
+            }
+
+            final int sizeClass = getSizeClass(minLength);
+
+            final ArrayDeque<T> free = freeArrays[sizeClass];
+
+            T result;
+
+            synchronized (free) {
+
+                result = free.pollFirst();
+            }
+
+            if (result == null) {
+
+                if (DEBUG) {
+
+                    System.out.println("allocate receive buffer sizeClass=" + sizeClass + " length=" + getSizeClassLength(sizeClass));
+                }
+
+                result = createArray.apply(getSizeClassLength(sizeClass));
+            }
+
+            return result;
+        }
+
+        void release(T array) {
+
+            Objects.requireNonNull(array);
+
+            final int length = getLength.applyAsInt(array);
+
+            if (length > maxLength) {
+
+                throw new IllegalArgumentException();
+            }
+
+            final int sizeClass = getSizeClass(length);
+
+            if (getSizeClassLength(sizeClass) != length) {
+
+                throw new IllegalArgumentException();
+            }
+
+            final ArrayDeque<T> free = freeArrays[sizeClass];
+
+            synchronized (free) {
+
+                // Beyond max, left to be garbage collected
+                if (free.size() < maxFreeArrays[sizeClass]) {
+
+                    free.addFirst(array);
+                }
+            }
+        }
+
+        int getNumFree(int length) {
+
+            final ArrayDeque<T> free = freeArrays[getSizeClass(length)];
+
+            synchronized (free) {
+
+                return free.size();
+            }
+        }
+
+        private int getSizeClass(int length) {
+
+            return length <= minLength ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1) - minLengthShift;
+        }
+
+        private int getSizeClassLength(int sizeClass) {
+
+            return (int)Math.min((long)minLength << sizeClass, maxLength);
+        }
+    }
+
+    private final SizeClasses<byte[]> byteArrays;
+    private final SizeClasses<int[]> intArrays;
+
+    /**
+     * @param maxLength max length of arrays
+     * @param maxFreeBytesPerSizeClass max number of bytes of released arrays to keep for reuse per size class
+     */
+    ReceiveBufferPool(int maxLength, long maxFreeBytesPerSizeClass) {
+
+        if (maxLength < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (maxFreeBytesPerSizeClass < 0L) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.byteArrays = new SizeClasses<>(byte[]::new, a -> a.length, maxLength, Byte.BYTES, maxFreeBytesPerSizeClass);
+        this.intArrays = new SizeClasses<>(int[]::new, a -> a.length, maxLength, Integer.BYTES, maxFreeBytesPerSizeClass);
+    }
+
+    /**
+     * Allocate a byte array from the pool.
+     *
+     * @param minLength minimum length of array
+     *
+     * @return a byte array of at least {@code minLength}, and at least one in length, to be returned by {@link #releaseByteArray(byte[])}
+     */
+    byte[] allocateByteArray(int minLength) {
+
+        return byteArrays.allocate(minLength);
+    }
+
+    void releaseByteArray(byte[] array) {
+
+        byteArrays.release(array);
+    }
+
+    /**
+     * Allocate an int array from the pool.
+     *
+     * @param minLength minimum length of array
+     *
+     * @return an int array of at least {@code minLength}, and at least one in length, to be returned by {@link #releaseIntArray(int[])}
+     */
+    int[] allocateIntArray(int minLength) {
+
+        return intArrays.allocate(minLength);
+    }
+
+    void releaseIntArray(int[] array) {
+
+        intArrays.release(array);
+    }
+
+    int getNumFreeByteArrays(int length) {
+
+        return byteArrays.getNumFree(length);
+    }
+
+    int getNumFreeIntArrays(int length) {
+
+        return intArrays.getNumFree(length);
+    }
+}
@@ -1,5 +1,6 @@
 package jdbcdrivers.generic;
 
+import jdbcdrivers.databaseprotocol.api.IResultRowsDestination;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
 
 /**
@@ -7,5 +8,5 @@ import jdbcdrivers.generic.exceptions.GenericProtocolException;
  */
 interface ResultRetrieval extends ResultSetClosing {
 
-    void retrieveResultRows(byte[] dst, int maxRows, int numBytesPerRow, RetrievedRows retrievedRows) throws GenericProtocolException;
+    void retrieveResultRows(IResultRowsDestination dst, int maxRows, int numBytesPerRow, RetrievedRows retrievedRows) throws GenericProtocolException;
 }
@@ -14,6 +14,16 @@ public interface ResultRowDecoder<DATA_TYPE> {
 
     int findRowColumnOffset(byte[] buffer, ResultColumns<DATA_TYPE> resultColumns, int startOfRowOffset, int columnIndex);
 
+    /**
+     * Find the offsets of all columns of a row in one pass over the row.
+     *
+     * @param buffer buffer containing the row
+     * @param resultColumns columns of the row
+     * @param startOfRowOffset offset of the row in buffer
+     * @param rowColumnOffsets offsets of columns relative to start of row are stored here, at least number of columns in length
+     */
+    void findRowColumnOffsets(byte[] buffer, ResultColumns<DATA_TYPE> resultColumns, int startOfRowOffset, int[] rowColumnOffsets);
+
     boolean decodeBoolean   (byte[] buffer, DATA_TYPE dataType, int rowColumnOffset, int length);
 
     byte    decodeByte      (byte[] buffer, DATA_TYPE dataType, int rowColumnOffset, int length);
@@ -28,6 +38,46 @@ public interface ResultRowDecoder<DATA_TYPE> {
 
     String  decodeString    (byte[] buffer, ByteBuffer byteBuffer, DATA_TYPE dataType, int rowColumnOffset, int length, CachedValues cachedValues);
 
+    /**
+     * Get the offset of the encoded bytes of a string column.
+     *
+     * @param buffer buffer containing the row
+     * @param dataType data type of column
+     * @param rowColumnOffset offset of column in buffer
+     * @param length max length of column
+     *
+     * @return offset of string bytes in buffer
+     */
+    int getStringBytesOffset(byte[] buffer, DATA_TYPE dataType, int rowColumnOffset, int length);
+
+    /**
+     * Get the number of encoded bytes of a string column.
+     *
+     * @param buffer buffer containing the row
+     * @param dataType data type of column
+     * @param rowColumnOffset offset of column in buffer
+     * @param length max length of column
+     *
+     * @return number of string bytes in buffer
+     */
+    int getStringBytesLength(byte[] buffer, DATA_TYPE dataType, int rowColumnOffset, int length);
+
+    /**
+     * Decode a string column as a {@link CharSequence}, viewing the row bytes instead of decoding to a {@link String} where possible.
+     *
+     * @param buffer buffer containing the row
+     * @param byteBuffer {@link ByteBuffer} wrapping buffer
+     * @param dataType data type of column
+     * @param rowColumnOffset offset of column in buffer
+     * @param length max length of column
+     * @param dst reusable view to initialize over the row bytes
+     * @param cachedValues cached values for decoding to {@link String}
+     *
+     * @return {@code dst} if viewing row bytes, otherwise the decoded {@link String}
+     */
+    CharSequence decodeCharSequence(byte[] buffer, ByteBuffer byteBuffer, DATA_TYPE dataType, int rowColumnOffset, int length, AsciiCharSequence dst,
+            CachedValues cachedValues);
+
     byte[]  decodeBytes     (byte[] buffer, DATA_TYPE dataType, int rowColumnOffset, int length);
 
     int     decodeDate      (byte[] buffer, DATA_TYPE dataType, int rowColumnOffset, int length);
@@ -35,4 +85,41 @@ public interface ResultRowDecoder<DATA_TYPE> {
     long    decodeTimestamp (byte[] buffer, DATA_TYPE dataType, int rowColumnOffset, int length);
 
     Object  decodeObject    (byte[] buffer, ByteBuffer byteBuffer, DATA_TYPE dataType, int rowColumnOffset, int length, CachedValues cachedValues);
+
+    /**
+     * Whether null values of a data type are encoded in the row data, so that they can be told from non-null values by {@link #isNull}.
+     *
+     * @param dataType data type of column
+     *
+     * @return {@code true} if {@link #isNull} may be called for columns of the data type
+     */
+    boolean canDecodeNull(DATA_TYPE dataType);
+
+    /**
+     * Whether a column value is null, only for data types where {@link #canDecodeNull} is {@code true}.
+     *
+     * @param buffer buffer containing the row
+     * @param dataType data type of column
+     * @param rowColumnOffset offset of column in buffer
+     * @param length max length of column
+     *
+     * @return {@code true} if the value is null
+     *
+     * @throws UnsupportedOperationException if nulls of the data type are not encoded in the row data
+     */
+    boolean isNull          (byte[] buffer, DATA_TYPE dataType, int rowColumnOffset, int length);
+
+    /**
+     * Copy the encoded bytes of a string column, for decoding later or elsewhere.
+     *
+     * @param buffer buffer containing the row
+     * @param dataType data type of column
+     * @param rowColumnOffset offset of column in buffer
+     * @param length max length of column
+     * @param dst destination array, must have room for max length of column
+     * @param dstOffset offset into destination array
+     *
+     * @return number of bytes copied
+     */
+    int     decodeStringBytes(byte[] buffer, DATA_TYPE dataType, int rowColumnOffset, int length, byte[] dst, int dstOffset);
 }
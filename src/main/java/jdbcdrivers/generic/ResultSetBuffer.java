@@ -1,51 +1,314 @@
 package jdbcdrivers.generic;
 
+import java.io.DataInput;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
+import jdbcdrivers.databaseprotocol.api.IResultRowsDestination;
 import jdbcdrivers.util.Chunks;
 import jdbcdrivers.util.PrintDebug;
 
-final class ResultSetBuffer extends Chunks<ResultSetBuffer.Chunk> implements PrintDebug {
+/**
+ * Buffer of result set row data in chunks.
+ *
+ * Chunks are on heap, or off heap from a {@link DirectChunkPool}, up to a threshold beyond which they are spilled to a temporary file so that
+ * buffering large result sets does not run out of memory. Spilled chunks are read and written by positional {@link FileChannel} I/O through the decode
+ * buffer, so that no memory beyond the threshold is mapped or allocated. Off heap chunks are released and any file deleted when closed.
+ */
+final class ResultSetBuffer extends Chunks<ResultSetBuffer.Chunk> implements IResultRowsDestination, PrintDebug {
 
     private static final boolean DEBUG = Boolean.FALSE;
 
     static final class Chunk {
 
+        // null if off heap or spilled
         private final byte[] buffer;
+
+        // null if spilled
         private final ByteBuffer byteBuffer;
 
+        // null unless spilled
+        private final FileChannel spillFileChannel;
+        private final long spillFilePosition;
+
         Chunk(int chunkSize) {
 
             this.buffer = new byte[chunkSize];
             this.byteBuffer = ByteBuffer.wrap(buffer);
+            this.spillFileChannel = null;
+            this.spillFilePosition = 0L;
+        }
+
+        private Chunk(ByteBuffer offHeapByteBuffer) {
+
+            this.buffer = null;
+            this.byteBuffer = Objects.requireNonNull(offHeapByteBuffer);
+            this.spillFileChannel = null;
+            this.spillFilePosition = 0L;
+        }
+
+        private Chunk(FileChannel spillFileChannel, long spillFilePosition) {
+
+            if (spillFilePosition < 0L) {
+
+                throw new IllegalArgumentException();
+            }
+
+            this.buffer = null;
+            this.byteBuffer = null;
+            this.spillFileChannel = Objects.requireNonNull(spillFileChannel);
+            this.spillFilePosition = spillFilePosition;
+        }
+
+        private boolean isOffHeap() {
+
+            return buffer == null;
+        }
+
+        private void put(int chunkOffset, byte[] src, int srcOffset, int length) throws IOException {
+
+            if (buffer != null) {
+
+                copyBytes(src, srcOffset, buffer, chunkOffset, length);
+            }
+            else if (byteBuffer != null) {
+
+                byteBuffer.position(chunkOffset);
+                byteBuffer.put(src, srcOffset, length);
+            }
+            else {
+                final ByteBuffer srcByteBuffer = ByteBuffer.wrap(src, srcOffset, length);
+
+                while (srcByteBuffer.hasRemaining()) {
+
+                    spillFileChannel.write(srcByteBuffer, spillFilePosition + chunkOffset + srcByteBuffer.position() - srcOffset);
+                }
+            }
+        }
+
+        private void get(int chunkOffset, byte[] dst, int dstOffset, int length) {
+
+            if (buffer != null) {
+
+                copyBytes(buffer, chunkOffset, dst, dstOffset, length);
+            }
+            else if (byteBuffer != null) {
+
+                byteBuffer.position(chunkOffset);
+                byteBuffer.get(dst, dstOffset, length);
+            }
+            else {
+                final ByteBuffer dstByteBuffer = ByteBuffer.wrap(dst, dstOffset, length);
+
+                try {
+                    while (dstByteBuffer.hasRemaining()) {
+
+                        if (spillFileChannel.read(dstByteBuffer, spillFilePosition + chunkOffset + dstByteBuffer.position() - dstOffset) < 0) {
+
+                            throw new EOFException();
+                        }
+                    }
+                }
+                catch (IOException ex) {
+
+                    // Decoding does not declare IOException
+                    throw new UncheckedIOException(ex);
+                }
+            }
         }
 
         @Override
         public String toString() {
 
-            return getClass().getSimpleName() + " [buffer=" + buffer.length + " byteBuffer.getCapacity()=" + byteBuffer.capacity() + "]";
+            return getClass().getSimpleName() + " [buffer=" + (buffer != null ? buffer.length : null)
+                    + " byteBuffer.getCapacity()=" + (byteBuffer != null ? byteBuffer.capacity() : null) + " spillFilePosition=" + spillFilePosition + "]";
+        }
+    }
+
+    /**
+     * Allocates chunks on heap or from a {@link DirectChunkPool} until above threshold, then as regions of a temporary file.
+     */
+    private static final class ChunkAllocator {
+
+        private final int chunkSize;
+        private final long spillThresholdBytes;
+
+        // null if allocating on heap
+        private final DirectChunkPool directChunkPool;
+
+        // For releasing back to pool
+        private final List<ByteBuffer> directChunks;
+
+        private long numMemoryBytes;
+
+        // Opened when first spilling
+        private FileChannel spillFileChannel;
+        private long spillFileSize;
+
+        ChunkAllocator(int chunkSize, long spillThresholdBytes, DirectChunkPool directChunkPool) {
+
+            if (chunkSize < 1) {
+
+                throw new IllegalArgumentException();
+            }
+
+            if (spillThresholdBytes < 0L) {
+
+                throw new IllegalArgumentException();
+            }
+
+            if (directChunkPool != null && directChunkPool.getChunkSize() != chunkSize) {
+
+                throw new IllegalArgumentException();
+            }
+
+            this.chunkSize = chunkSize;
+            this.spillThresholdBytes = spillThresholdBytes;
+
+            this.directChunkPool = directChunkPool;
+            this.directChunks = directChunkPool != null ? new ArrayList<>() : null;
+        }
+
+        Chunk allocate(int chunkSize) {
+
+            if (chunkSize != this.chunkSize) {
+
+                throw new IllegalArgumentException();
+            }
+
+            final Chunk result;
+
+            if (numMemoryBytes + chunkSize <= spillThresholdBytes) {
+
+                this.numMemoryBytes += chunkSize;
+
+                if (directChunkPool != null) {
+
+                    final ByteBuffer directChunk = directChunkPool.allocate();
+
+                    directChunks.add(directChunk);
+
+                    result = new Chunk(directChunk);
+                }
+                else {
+                    result = new Chunk(chunkSize);
+                }
+            }
+            else {
+                try {
+                    result = allocateSpilled();
+                }
+                catch (IOException ex) {
+
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            return result;
+        }
+
+        private Chunk allocateSpilled() throws IOException {
+
+            if (spillFileChannel == null) {
+
+                if (DEBUG) {
+
+                    System.out.println("open result set spill file numMemoryBytes=" + numMemoryBytes);
+                }
+
+                this.spillFileChannel = FileChannel.open(Files.createTempFile("resultset", ".spill"), StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+            }
+
+            // File grows as chunks are written
+            final Chunk result = new Chunk(spillFileChannel, spillFileSize);
+
+            this.spillFileSize += chunkSize;
+
+            return result;
+        }
+
+        void close() throws IOException {
+
+            if (directChunks != null) {
+
+                for (ByteBuffer directChunk : directChunks) {
+
+                    directChunkPool.release(directChunk);
+                }
+
+                directChunks.clear();
+            }
+
+            if (spillFileChannel != null) {
+
+                try {
+                    spillFileChannel.close();
+                }
+                finally {
+                    this.spillFileChannel = null;
+                }
+            }
         }
     }
 
+    private final ChunkAllocator chunkAllocator;
+
     private final byte[] decodeBuffer;
     private final ByteBuffer decodeByteBuffer;
 
+    // Total number of bytes that may be received from the database protocol before having to call setReceiveCapacity() again
+    private long receiveLimit;
+
     private long getTotalNumBytes() {
 
         return getNumElements();
     }
 
     ResultSetBuffer(int chunkSize) {
-        super(chunkSize, Chunk[]::new, Chunk::new);
+        this(chunkSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a buffer that spills to a temporary file when above a threshold.
+     *
+     * @param chunkSize size of each chunk
+     * @param spillThresholdBytes max number of bytes to buffer on heap before spilling, must be closed by {@link #close()} if above
+     */
+    ResultSetBuffer(int chunkSize, long spillThresholdBytes) {
+        this(chunkSize, spillThresholdBytes, null);
+    }
+
+    /**
+     * Create a buffer with off heap chunks that spills to a temporary file when above a threshold.
+     *
+     * @param chunkSize size of each chunk
+     * @param spillThresholdBytes max number of bytes to buffer in memory before spilling
+     * @param directChunkPool pool to allocate off heap chunks from, or {@code null} for on heap, chunks are released by {@link #close()}
+     */
+    ResultSetBuffer(int chunkSize, long spillThresholdBytes, DirectChunkPool directChunkPool) {
+        this(chunkSize, new ChunkAllocator(chunkSize, spillThresholdBytes, directChunkPool));
+    }
+
+    private ResultSetBuffer(int chunkSize, ChunkAllocator chunkAllocator) {
+        super(chunkSize, Chunk[]::new, chunkAllocator::allocate);
+
+        this.chunkAllocator = chunkAllocator;
 
         this.decodeBuffer = new byte[chunkSize];
         this.decodeByteBuffer = ByteBuffer.wrap(decodeBuffer);
     }
 
-    void addData(byte[] bytes, int offset, int length) {
+    void addData(byte[] bytes, int offset, int length) throws IOException {
 
         Objects.requireNonNull(bytes);
 
@@ -59,12 +322,18 @@ final class ResultSetBuffer extends Chunks<ResultSetBuffer.Chunk> implements Pri
             throw new IllegalArgumentException();
         }
 
-        if (offset >= length) {
+        if (offset + length > bytes.length) {
 
             throw new IllegalArgumentException();
         }
 
-        addData(bytes, offset, length, (i, s, c, d, l) -> copyBytes(i, s, c.buffer, d, l));
+        try {
+            addData(bytes, offset, length, (i, s, c, d, l) -> c.put(d, i, s, l));
+        }
+        catch (UncheckedIOException ex) {
+
+            throw ex.getCause();
+        }
     }
 
     void addData(InputStream inputStream, int numBytes) throws IOException {
@@ -76,7 +345,96 @@ final class ResultSetBuffer extends Chunks<ResultSetBuffer.Chunk> implements Pri
             throw new IllegalArgumentException();
         }
 
-        addData(inputStream, 0, numBytes, (i, s, c, d, l) -> i.read(c.buffer, d, l));
+        try {
+            addData(inputStream, 0, numBytes, (i, s, c, d, l) -> {
+
+                // Number of bytes added is accounted for as soon as returning so must read all
+                if (c.isOffHeap()) {
+
+                    // Not decoding while adding, so can read through the decode buffer
+                    readFully(i, decodeBuffer, 0, l);
+
+                    c.put(d, decodeBuffer, 0, l);
+                }
+                else {
+                    readFully(i, c.buffer, d, l);
+                }
+            });
+        }
+        catch (UncheckedIOException ex) {
+
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Set the number of bytes that may be received into this buffer as an {@link IResultRowsDestination}, counting from the current end of the buffer.
+     *
+     * @param numBytes the number of bytes that may be received
+     *
+     * @throws IllegalArgumentException if {@code numBytes} is negative
+     */
+    void setReceiveCapacity(long numBytes) {
+
+        if (numBytes < 0L) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.receiveLimit = getTotalNumBytes() + numBytes;
+    }
+
+    @Override
+    public long getRemainingCapacity() {
+
+        return Math.max(receiveLimit - getTotalNumBytes(), 0L);
+    }
+
+    @Override
+    public void receiveRowBytes(DataInput dataInput, int numBytes) throws IOException {
+
+        Objects.requireNonNull(dataInput);
+
+        if (numBytes < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        if (numBytes > getRemainingCapacity()) {
+
+            throw new IllegalStateException();
+        }
+
+        try {
+            addData(dataInput, 0, numBytes, (i, s, c, d, l) -> {
+
+                if (c.isOffHeap()) {
+
+                    // Not decoding while receiving, so can read through the decode buffer
+                    i.readFully(decodeBuffer, 0, l);
+
+                    c.put(d, decodeBuffer, 0, l);
+                }
+                else {
+                    // Read directly into chunks, without any intermediate copy
+                    i.readFully(c.buffer, d, l);
+                }
+            });
+        }
+        catch (UncheckedIOException ex) {
+
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Release any off heap chunks and delete any spill file, the buffer cannot be used afterwards if any chunks are off heap.
+     *
+     * @throws IOException if closing the spill file failed
+     */
+    void close() throws IOException {
+
+        chunkAllocator.close();
     }
 
     @FunctionalInterface
@@ -162,16 +520,23 @@ final class ResultSetBuffer extends Chunks<ResultSetBuffer.Chunk> implements Pri
                     + " chunkRemaining=" + chunkRemaining + " numElementsOfChunk=" + numElementsOfChunk + " super=" + super.toString());
         }
 
-        if (chunkRemaining >= length) {
+        if (chunkRemaining >= length && !chunk.isOffHeap()) {
 
             bufferResultDecoder.decode(chunk.buffer, chunk.byteBuffer, chunkOffset, length, parameter);
         }
+        else if (chunkRemaining >= length) {
+
+            // Decoders operate on byte arrays so copy from off heap chunk
+            chunk.get(chunkOffset, decodeBuffer, 0, length);
+
+            bufferResultDecoder.decode(decodeBuffer, decodeByteBuffer, 0, length, parameter);
+        }
         else {
-            copyBytes(chunk.buffer, chunkOffset, decodeBuffer, 0, chunkRemaining);
+            chunk.get(chunkOffset, decodeBuffer, 0, chunkRemaining);
 
             final Chunk nextChunk = getChunk(chunkIndex + 1);
 
-            copyBytes(nextChunk.buffer, 0, decodeBuffer, chunkRemaining, length - chunkRemaining);
+            nextChunk.get(0, decodeBuffer, chunkRemaining, length - chunkRemaining);
 
             bufferResultDecoder.decode(decodeBuffer, decodeByteBuffer, 0, length, parameter);
         }
@@ -183,6 +548,23 @@ final class ResultSetBuffer extends Chunks<ResultSetBuffer.Chunk> implements Pri
         return getClass().getSimpleName() + " [super=" + super.toString() + ", totalNumBytes=" + getTotalNumBytes() + ", decodeBuffer=" + decodeBuffer.length + "]";
     }
 
+    private static void readFully(InputStream inputStream, byte[] dst, int offset, int length) throws IOException {
+
+        int numRead = 0;
+
+        while (numRead < length) {
+
+            final int numBytes = inputStream.read(dst, offset + numRead, length - numRead);
+
+            if (numBytes < 0) {
+
+                throw new EOFException();
+            }
+
+            numRead += numBytes;
+        }
+    }
+
     private static void copyBytes(byte[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
 
         System.arraycopy(src, srcOffset, dst, dstOffset, length);
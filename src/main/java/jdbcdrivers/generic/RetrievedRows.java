@@ -9,7 +9,9 @@ import jdbcdrivers.databaseprotocol.api.IRetrievedRows;
  */
 final class RetrievedRows implements IRetrievedRows{
 
+    // Null if rows are of constant length
     private final int[] rowLengths;
+    private final int constantRowLength;
 
     private int numRows;
     private int numBytes;
@@ -24,6 +26,23 @@ final class RetrievedRows implements IRetrievedRows{
         }
 
         this.rowLengths = rowLengths;
+        this.constantRowLength = ColumnGenericResultSet.NO_CONSTANT_ROW_LENGTH;
+    }
+
+    /**
+     * For rows of constant length, where length of each row is not stored.
+     *
+     * @param constantRowLength length of every row
+     */
+    RetrievedRows(int constantRowLength) {
+
+        if (constantRowLength < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.rowLengths = null;
+        this.constantRowLength = constantRowLength;
     }
 
     @Override
@@ -34,7 +53,16 @@ final class RetrievedRows implements IRetrievedRows{
             throw new IllegalArgumentException();
         }
 
-        rowLengths[numRows ++] = numRowBytes;
+        if (rowLengths != null) {
+
+            rowLengths[numRows] = numRowBytes;
+        }
+        else if (numRowBytes != constantRowLength) {
+
+            throw new IllegalArgumentException();
+        }
+
+        ++ numRows;
 
         numBytes += numRowBytes;
     }
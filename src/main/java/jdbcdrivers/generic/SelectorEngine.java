@@ -0,0 +1,394 @@
+package jdbcdrivers.generic;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multiplexes I/O readiness of many non-blocking connection sockets over a small number of event loop threads, each with its own {@link Selector}.
+ *
+ * Threads performing synchronous operations wait for readiness without blocking in socket reads or writes, and asynchronous operations are resumed
+ * by callbacks once data has arrived, so that no thread is occupied while waiting for a response.
+ */
+final class SelectorEngine {
+
+    private static final boolean DEBUG = Boolean.FALSE;
+
+    /**
+     * Registration of a socket channel with an event loop.
+     */
+    static final class Registration {
+
+        private final EventLoop eventLoop;
+
+        // Accessed from event loop thread only
+        private SelectionKey selectionKey;
+        private boolean awaitingRead;
+        private boolean awaitingWrite;
+        private Runnable readCallback;
+
+        // Guarded by this
+        private boolean readable;
+        private boolean writable;
+        private boolean closed;
+
+        private Registration(EventLoop eventLoop) {
+
+            this.eventLoop = Objects.requireNonNull(eventLoop);
+        }
+
+        /**
+         * Wait until the socket is readable.
+         *
+         * @throws IOException if closed or interrupted while waiting
+         */
+        void awaitReadable() throws IOException {
+
+            synchronized (this) {
+
+                this.readable = false;
+            }
+
+            eventLoop.submit(() -> {
+
+                this.awaitingRead = true;
+
+                updateInterestOps();
+            });
+
+            synchronized (this) {
+
+                while (!readable) {
+
+                    waitForSignal();
+                }
+            }
+        }
+
+        /**
+         * Wait until the socket is writable.
+         *
+         * @throws IOException if closed or interrupted while waiting
+         */
+        void awaitWritable() throws IOException {
+
+            synchronized (this) {
+
+                this.writable = false;
+            }
+
+            eventLoop.submit(() -> {
+
+                this.awaitingWrite = true;
+
+                updateInterestOps();
+            });
+
+            synchronized (this) {
+
+                while (!writable) {
+
+                    waitForSignal();
+                }
+            }
+        }
+
+        /**
+         * Call back once when the socket is readable or closed. The callback is executed on the callback {@link Executor} of the engine,
+         * never on the event loop thread.
+         *
+         * @param callback the callback to execute
+         */
+        void onReadable(Runnable callback) {
+
+            Objects.requireNonNull(callback);
+
+            eventLoop.submit(() -> {
+
+                if (readCallback != null) {
+
+                    throw new IllegalStateException();
+                }
+
+                if (selectionKey == null || !selectionKey.isValid()) {
+
+                    // Let callback find out about the closed socket
+                    eventLoop.executeCallback(callback);
+                }
+                else {
+                    this.readCallback = callback;
+
+                    updateInterestOps();
+                }
+            });
+        }
+
+        /**
+         * Deregister from the event loop, waking up any waiting threads and callbacks.
+         */
+        void close() {
+
+            synchronized (this) {
+
+                this.closed = true;
+
+                notifyAll();
+            }
+
+            eventLoop.submit(() -> {
+
+                if (selectionKey != null) {
+
+                    selectionKey.cancel();
+                }
+
+                onReady(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            });
+        }
+
+        private void waitForSignal() throws IOException {
+
+            if (closed) {
+
+                throw new ClosedChannelException();
+            }
+
+            try {
+                wait();
+            }
+            catch (InterruptedException ex) {
+
+                Thread.currentThread().interrupt();
+
+                throw new InterruptedIOException();
+            }
+        }
+
+        private void onReady(int readyOps) {
+
+            if ((readyOps & SelectionKey.OP_READ) != 0) {
+
+                if (awaitingRead) {
+
+                    this.awaitingRead = false;
+
+                    synchronized (this) {
+
+                        this.readable = true;
+
+                        notifyAll();
+                    }
+                }
+
+                final Runnable callback = readCallback;
+
+                if (callback != null) {
+
+                    this.readCallback = null;
+
+                    eventLoop.executeCallback(callback);
+                }
+            }
+
+            if ((readyOps & SelectionKey.OP_WRITE) != 0 && awaitingWrite) {
+
+                this.awaitingWrite = false;
+
+                synchronized (this) {
+
+                    this.writable = true;
+
+                    notifyAll();
+                }
+            }
+
+            updateInterestOps();
+        }
+
+        private void updateInterestOps() {
+
+            if (selectionKey != null && selectionKey.isValid()) {
+
+                final int interestOps = (awaitingRead || readCallback != null ? SelectionKey.OP_READ : 0)
+                        | (awaitingWrite ? SelectionKey.OP_WRITE : 0);
+
+                try {
+                    selectionKey.interestOps(interestOps);
+                }
+                catch (CancelledKeyException ex) {
+
+                    // Socket closed concurrently, waiters are woken up by close()
+                }
+            }
+        }
+    }
+
+    private static final class EventLoop implements Runnable {
+
+        private final Selector selector;
+        private final Executor callbackExecutor;
+
+        private final Queue<Runnable> tasks;
+
+        EventLoop(Executor callbackExecutor) throws IOException {
+
+            this.selector = Selector.open();
+            this.callbackExecutor = Objects.requireNonNull(callbackExecutor);
+
+            this.tasks = new ConcurrentLinkedQueue<>();
+        }
+
+        void submit(Runnable task) {
+
+            tasks.add(task);
+
+            selector.wakeup();
+        }
+
+        void executeCallback(Runnable callback) {
+
+            callbackExecutor.execute(callback);
+        }
+
+        @Override
+        public void run() {
+
+            for (;;) {
+
+                try {
+                    selector.select();
+                }
+                catch (IOException ex) {
+
+                    if (DEBUG) {
+
+                        System.out.println("selector exception " + ex);
+                    }
+
+                    continue;
+                }
+
+                Runnable task;
+
+                while ((task = tasks.poll()) != null) {
+
+                    try {
+                        task.run();
+                    }
+                    catch (RuntimeException ex) {
+
+                        // Keep event loop running for other connections
+                        if (DEBUG) {
+
+                            System.out.println("event loop task exception " + ex);
+                        }
+                    }
+                }
+
+                final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+
+                while (iterator.hasNext()) {
+
+                    final SelectionKey selectionKey = iterator.next();
+
+                    iterator.remove();
+
+                    final Registration registration = (Registration)selectionKey.attachment();
+
+                    int readyOps;
+
+                    try {
+                        readyOps = selectionKey.readyOps();
+                    }
+                    catch (CancelledKeyException ex) {
+
+                        readyOps = SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+                    }
+
+                    registration.onReady(readyOps);
+                }
+            }
+        }
+    }
+
+    private final EventLoop[] eventLoops;
+
+    private final AtomicInteger nextEventLoop;
+
+    /**
+     * Construct a new {@link SelectorEngine}, starting the event loop threads.
+     *
+     * @param numThreads the number of event loop threads
+     * @param callbackExecutor {@link Executor} for executing {@link Registration#onReadable(Runnable)} callbacks
+     *
+     * @throws IOException if opening selectors failed
+     */
+    SelectorEngine(int numThreads, Executor callbackExecutor) throws IOException {
+
+        if (numThreads < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        Objects.requireNonNull(callbackExecutor);
+
+        this.eventLoops = new EventLoop[numThreads];
+
+        for (int i = 0; i < numThreads; ++ i) {
+
+            final EventLoop eventLoop = new EventLoop(callbackExecutor);
+
+            final Thread thread = new Thread(eventLoop, "jdbcdrivers-selector-" + (i + 1));
+
+            thread.setDaemon(true);
+            thread.start();
+
+            eventLoops[i] = eventLoop;
+        }
+
+        this.nextEventLoop = new AtomicInteger();
+    }
+
+    /**
+     * Register a connected socket channel, switching it to non-blocking mode.
+     *
+     * @param socketChannel the socket channel to register
+     *
+     * @return a {@link Registration} for waiting for readiness
+     *
+     * @throws IOException if switching to non-blocking mode failed
+     */
+    Registration register(SocketChannel socketChannel) throws IOException {
+
+        Objects.requireNonNull(socketChannel);
+
+        socketChannel.configureBlocking(false);
+
+        final EventLoop eventLoop = eventLoops[Math.floorMod(nextEventLoop.getAndIncrement(), eventLoops.length)];
+
+        final Registration registration = new Registration(eventLoop);
+
+        eventLoop.submit(() -> {
+
+            try {
+                registration.selectionKey = socketChannel.register(eventLoop.selector, 0, registration);
+            }
+            catch (ClosedChannelException ex) {
+
+                registration.close();
+            }
+        });
+
+        return registration;
+    }
+}
@@ -0,0 +1,260 @@
+package jdbcdrivers.generic;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * {@link Executor} that runs tasks one at a time in submission order on an underlying shared {@link Executor}, so that operations on a connection
+ * are serialized without dedicating a thread to the connection.
+ *
+ * Tasks may also complete asynchronously, in which case the next task is not run until the {@link CompletionStage} returned by the task has completed,
+ * without occupying any thread while waiting.
+ *
+ * Synchronous operations are serialized with the tasks through exclusive sections run on the calling thread, see {@link #enterExclusive()}.
+ */
+final class SerialExecutor implements Executor {
+
+    private final Executor executor;
+
+    private final Queue<Supplier<? extends CompletionStage<?>>> tasks;
+
+    private boolean running;
+
+    // Thread running a task, a continuation of a task or an exclusive section, null if none
+    private final AtomicReference<Thread> ownerThread;
+
+    // Completed when exiting an exclusive section entered after waiting for previous tasks, null if none
+    private CompletableFuture<Void> exclusiveCompletion;
+
+    SerialExecutor(Executor executor) {
+
+        this.executor = Objects.requireNonNull(executor);
+
+        this.tasks = new ArrayDeque<>();
+        this.running = false;
+        this.ownerThread = new AtomicReference<>();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+
+        Objects.requireNonNull(task);
+
+        executeAsync(() -> {
+
+            task.run();
+
+            return null;
+        });
+    }
+
+    /**
+     * Execute a task that completes asynchronously, the next task is run once the returned {@link CompletionStage} has completed.
+     *
+     * @param task the task to execute, returning a {@link CompletionStage} or {@code null} if completed synchronously
+     */
+    void executeAsync(Supplier<? extends CompletionStage<?>> task) {
+
+        Objects.requireNonNull(task);
+
+        final boolean schedule;
+
+        synchronized (this) {
+
+            tasks.add(task);
+
+            schedule = !running;
+
+            this.running = true;
+        }
+
+        if (schedule) {
+
+            executor.execute(this::runTasks);
+        }
+    }
+
+    /**
+     * Enter an exclusive section on the calling thread once all previously submitted tasks have completed, tasks submitted meanwhile are not run
+     * until {@link #exitExclusive(boolean)}. Blocks the calling thread while waiting.
+     *
+     * @return {@code true} if entered, {@code false} if the calling thread is already running a task or an exclusive section, to be passed to
+     *         {@link #exitExclusive(boolean)}
+     */
+    boolean enterExclusive() {
+
+        final Thread currentThread = Thread.currentThread();
+
+        if (ownerThread.get() == currentThread) {
+
+            return false;
+        }
+
+        final CompletableFuture<Void> turn;
+        final CompletableFuture<Void> completion;
+
+        synchronized (this) {
+
+            if (!running) {
+
+                // No tasks running so enter directly
+                this.running = true;
+
+                turn = null;
+                completion = null;
+            }
+            else {
+                turn = new CompletableFuture<>();
+                completion = new CompletableFuture<>();
+
+                // Keeps remaining tasks from running until completed on exit
+                tasks.add(() -> {
+
+                    turn.complete(null);
+
+                    return completion;
+                });
+            }
+        }
+
+        if (turn != null) {
+
+            turn.join();
+        }
+
+        this.exclusiveCompletion = completion;
+
+        ownerThread.set(currentThread);
+
+        return true;
+    }
+
+    /**
+     * Exit an exclusive section, running any tasks submitted meanwhile.
+     *
+     * @param entered result of the corresponding {@link #enterExclusive()}
+     */
+    void exitExclusive(boolean entered) {
+
+        if (!entered) {
+
+            return;
+        }
+
+        if (!ownerThread.compareAndSet(Thread.currentThread(), null)) {
+
+            throw new IllegalStateException();
+        }
+
+        final CompletableFuture<Void> completion = exclusiveCompletion;
+
+        if (completion != null) {
+
+            this.exclusiveCompletion = null;
+
+            // Continues running remaining tasks
+            completion.complete(null);
+        }
+        else {
+            final boolean schedule;
+
+            synchronized (this) {
+
+                schedule = !tasks.isEmpty();
+
+                if (!schedule) {
+
+                    this.running = false;
+                }
+            }
+
+            if (schedule) {
+
+                executor.execute(this::runTasks);
+            }
+        }
+    }
+
+    /**
+     * Whether the calling thread is running a task, a continuation of a task or an exclusive section, in which case any tasks submitted
+     * are not run until after it completes.
+     *
+     * @return {@code true} if owned by the calling thread
+     */
+    boolean isOwnedByCurrentThread() {
+
+        return ownerThread.get() == Thread.currentThread();
+    }
+
+    /**
+     * Run a continuation of a task that completes asynchronously, so that operations called from the continuation are treated as part of that task.
+     *
+     * @param continuation the continuation to run on the calling thread
+     */
+    void runContinuation(Runnable continuation) {
+
+        Objects.requireNonNull(continuation);
+
+        final Thread currentThread = Thread.currentThread();
+
+        final boolean owner = ownerThread.compareAndSet(null, currentThread);
+
+        try {
+            continuation.run();
+        }
+        finally {
+
+            if (owner) {
+
+                ownerThread.compareAndSet(currentThread, null);
+            }
+        }
+    }
+
+    private void runTasks() {
+
+        final Thread currentThread = Thread.currentThread();
+
+        for (;;) {
+
+            final Supplier<? extends CompletionStage<?>> task;
+
+            synchronized (this) {
+
+                task = tasks.poll();
+
+                if (task == null) {
+
+                    this.running = false;
+                    break;
+                }
+            }
+
+            final CompletionStage<?> completionStage;
+
+            ownerThread.set(currentThread);
+
+            try {
+                completionStage = task.get();
+            }
+            finally {
+
+                // Not reset if ownership already handed over to an exclusive section
+                ownerThread.compareAndSet(currentThread, null);
+            }
+
+            if (completionStage != null && !completionStage.toCompletableFuture().isDone()) {
+
+                // Still running, continue with remaining tasks once completed
+                completionStage.whenCompleteAsync((r, ex) -> runTasks(), executor);
+                break;
+            }
+        }
+    }
+}
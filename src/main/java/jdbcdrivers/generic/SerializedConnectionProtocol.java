@@ -0,0 +1,297 @@
+package jdbcdrivers.generic;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol.PreparedStatementResult;
+import jdbcdrivers.databaseprotocol.api.IGenericPreparedStatementParameterGetters;
+import jdbcdrivers.databaseprotocol.api.IResultRowsDestination;
+import jdbcdrivers.generic.api.ExecuteResult;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+
+/**
+ * Serializes synchronous operations on a connection with the asynchronous operations run by its {@link SerialExecutor}, so that a synchronous operation
+ * first waits for all previously submitted asynchronous operations to complete, including those completing without occupying a thread.
+ * Operations called from within an asynchronous operation are not serialized again.
+ */
+final class SerializedConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> implements IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> {
+
+    private final IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> delegate;
+    private final SerialExecutor serialExecutor;
+
+    SerializedConnectionProtocol(IGenericConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> delegate, SerialExecutor serialExecutor) {
+
+        this.delegate = Objects.requireNonNull(delegate);
+        this.serialExecutor = Objects.requireNonNull(serialExecutor);
+    }
+
+    @Override
+    public void closeResultSet(BaseSwappableResultSet resultSet) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            delegate.closeResultSet(resultSet);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public void retrieveResultRows(IResultRowsDestination dst, int maxRows, int numBytesPerRow, RetrievedRows retrievedRows) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            delegate.retrieveResultRows(dst, maxRows, numBytesPerRow, retrievedRows);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public GenericResultSet executeQuery(String sql, GenericStatementExecutionOptions statementExecutionOptions) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.executeQuery(sql, statementExecutionOptions);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, GenericStatementExecutionOptions statementExecutionOptions) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.executeUpdate(sql, statementExecutionOptions);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public ExecuteResult execute(String sql, GenericStatementExecutionOptions statementExecutionOptions) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.execute(sql, statementExecutionOptions);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public void performInitialSetup(URI uri, Properties properties) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            delegate.performInitialSetup(uri, properties);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public void setAutoCommit(boolean on) throws GenericProtocolException, IOException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            delegate.setAutoCommit(on);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public PreparedStatementResult<PREPARED_STATEMENT> prepareStatement(String sql, GenericStatementExecutionOptions statementParameters) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.prepareStatement(sql, statementParameters);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public GenericResultSet executePreparedQuery(PREPARED_STATEMENT preparedQuery, GenericPreparedStatementParameters parameters, int fetchSize)
+            throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.executePreparedQuery(preparedQuery, parameters, fetchSize);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public int executePreparedUpdate(PREPARED_STATEMENT preparedStatement, GenericPreparedStatementParameters preparedStatementParameters)
+            throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.executePreparedUpdate(preparedStatement, preparedStatementParameters);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public int[] executeBatches(PREPARED_STATEMENT preparedStatement, Collection<? extends IGenericPreparedStatementParameterGetters> batches)
+            throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.executeBatches(preparedStatement, batches);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public long executeBatches(PREPARED_STATEMENT preparedStatement, Iterator<? extends IGenericPreparedStatementParameterGetters> batches)
+            throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.executeBatches(preparedStatement, batches);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public void executePipelinedUpdates(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            delegate.executePipelinedUpdates(updates);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> executePipelinedUpdatesAsync(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.executePipelinedUpdatesAsync(updates);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public void resumePipelinedUpdates() {
+
+        // Continuation of asynchronous pipelined updates, part of the serialized operation that sent them
+        serialExecutor.runContinuation(delegate::resumePipelinedUpdates);
+    }
+
+    @Override
+    public void closePreparedStatement(PREPARED_STATEMENT preparedStatement) throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            delegate.closePreparedStatement(preparedStatement);
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public void commit() throws GenericProtocolException, IOException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            delegate.commit();
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public boolean resetForReuse() throws GenericProtocolException, IOException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            return delegate.resetForReuse();
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+
+    @Override
+    public void sendClose() throws GenericProtocolException {
+
+        final boolean entered = serialExecutor.enterExclusive();
+
+        try {
+            delegate.sendClose();
+        }
+        finally {
+
+            serialExecutor.exitExclusive(entered);
+        }
+    }
+}
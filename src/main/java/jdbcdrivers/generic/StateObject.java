@@ -61,6 +61,13 @@ System.out.println("wrong state with predicate " + state);
         }
     }
 
+    protected final boolean isState(Predicate<STATE> predicate) {
+
+        Objects.requireNonNull(predicate);
+
+        return predicate.test(state);
+    }
+
     protected final void setState(STATE nextState) {
 
         Objects.requireNonNull(nextState);
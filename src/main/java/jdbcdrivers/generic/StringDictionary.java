@@ -0,0 +1,173 @@
+package jdbcdrivers.generic;
+
+import java.util.Arrays;
+
+/**
+ * Bounded dictionary of strings previously decoded for a result set column, looked up by their encoded bytes, so that repeated values
+ * of low cardinality columns are neither decoded nor retained more than once.
+ *
+ * Disables itself when too few lookups find a string, as for high cardinality columns, after which strings are neither looked up nor added.
+ */
+final class StringDictionary {
+
+    private static final boolean DEBUG = Boolean.FALSE;
+
+    // Max number of strings kept, table is twice as many slots for short probe sequences
+    static final int MAX_ENTRIES = 256;
+    private static final int NUM_SLOTS = MAX_ENTRIES * 2;
+
+    // Longer strings are unlikely to repeat and costly to compare
+    static final int MAX_STRING_BYTES = 64;
+
+    // Number of lookups between checking hit rate
+    static final int LOOKUPS_PER_CHECK = 1024;
+
+    // Disabled when less than 1 / this of lookups found a string
+    private static final int MIN_HIT_RATE_DIVISOR = 2;
+
+    // Null when disabled
+    private byte[][] keys;
+    private int[] hashes;
+    private String[] values;
+
+    private int numEntries;
+
+    private int numLookups;
+    private int numHits;
+
+    StringDictionary() {
+
+        this.keys = new byte[NUM_SLOTS][];
+        this.hashes = new int[NUM_SLOTS];
+        this.values = new String[NUM_SLOTS];
+
+        this.numEntries = 0;
+
+        this.numLookups = 0;
+        this.numHits = 0;
+    }
+
+    boolean isEnabled() {
+
+        return keys != null;
+    }
+
+    /**
+     * Look up a previously added string by its encoded bytes.
+     *
+     * @param bytes the bytes
+     * @param offset offset of string into {@code bytes}
+     * @param length number of bytes of string
+     *
+     * @return the string or {@code null} if not found
+     */
+    String get(byte[] bytes, int offset, int length) {
+
+        String result = null;
+
+        if (keys != null && length <= MAX_STRING_BYTES) {
+
+            final int hash = hash(bytes, offset, length);
+
+            for (int slot = hash & (NUM_SLOTS - 1); keys[slot] != null; slot = (slot + 1) & (NUM_SLOTS - 1)) {
+
+                if (hashes[slot] == hash && equals(keys[slot], bytes, offset, length)) {
+
+                    result = values[slot];
+                    break;
+                }
+            }
+
+            if (result != null) {
+
+                ++ this.numHits;
+            }
+
+            if (++ this.numLookups == LOOKUPS_PER_CHECK) {
+
+                checkHitRate();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Add a string not found by {@link #get(byte[], int, int)}, if there is room.
+     *
+     * @param bytes the bytes
+     * @param offset offset of string into {@code bytes}
+     * @param length number of bytes of string
+     * @param value the string decoded from the bytes
+     */
+    void put(byte[] bytes, int offset, int length, String value) {
+
+        if (keys != null && length <= MAX_STRING_BYTES && numEntries < MAX_ENTRIES) {
+
+            final int hash = hash(bytes, offset, length);
+
+            int slot = hash & (NUM_SLOTS - 1);
+
+            while (keys[slot] != null) {
+
+                slot = (slot + 1) & (NUM_SLOTS - 1);
+            }
+
+            keys[slot] = Arrays.copyOfRange(bytes, offset, offset + length);
+            hashes[slot] = hash;
+            values[slot] = value;
+
+            ++ this.numEntries;
+        }
+    }
+
+    private void checkHitRate() {
+
+        if (DEBUG) {
+
+            System.out.println("string dictionary hit rate numHits=" + numHits + " numLookups=" + numLookups + " numEntries=" + numEntries);
+        }
+
+        if (numHits * MIN_HIT_RATE_DIVISOR < numLookups) {
+
+            // Released for garbage collection
+            this.keys = null;
+            this.hashes = null;
+            this.values = null;
+        }
+
+        this.numLookups = 0;
+        this.numHits = 0;
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+
+        int hash = 0;
+
+        for (int i = 0; i < length; ++ i) {
+
+            hash = 31 * hash + bytes[offset + i];
+        }
+
+        // Spread high bits to low bits used for slot
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(byte[] key, byte[] bytes, int offset, int length) {
+
+        if (key.length != length) {
+
+            return false;
+        }
+
+        for (int i = 0; i < length; ++ i) {
+
+            if (key[i] != bytes[offset + i]) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
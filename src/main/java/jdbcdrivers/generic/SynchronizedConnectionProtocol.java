@@ -3,11 +3,15 @@ package jdbcdrivers.generic;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol.PreparedStatementResult;
 import jdbcdrivers.databaseprotocol.api.IGenericPreparedStatementParameterGetters;
+import jdbcdrivers.databaseprotocol.api.IResultRowsDestination;
 import jdbcdrivers.generic.api.ExecuteResult;
 import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
@@ -28,7 +32,7 @@ final class SynchronizedConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> implem
     }
 
     @Override
-    public synchronized void retrieveResultRows(byte[] dst, int maxRows, int numBytesPerRow, RetrievedRows retrievedRows) throws GenericProtocolException {
+    public synchronized void retrieveResultRows(IResultRowsDestination dst, int maxRows, int numBytesPerRow, RetrievedRows retrievedRows) throws GenericProtocolException {
 
         delegate.retrieveResultRows(dst, maxRows, numBytesPerRow, retrievedRows);
     }
@@ -70,9 +74,10 @@ final class SynchronizedConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> implem
     }
 
     @Override
-    public synchronized GenericResultSet executePreparedQuery(PREPARED_STATEMENT preparedQuery, GenericPreparedStatementParameters parameters) throws GenericProtocolException {
+    public synchronized GenericResultSet executePreparedQuery(PREPARED_STATEMENT preparedQuery, GenericPreparedStatementParameters parameters, int fetchSize)
+            throws GenericProtocolException {
 
-        return delegate.executePreparedQuery(preparedQuery, parameters);
+        return delegate.executePreparedQuery(preparedQuery, parameters, fetchSize);
     }
 
     @Override
@@ -89,6 +94,31 @@ final class SynchronizedConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> implem
         return delegate.executeBatches(preparedStatement, batches);
     }
 
+    @Override
+    public synchronized long executeBatches(PREPARED_STATEMENT preparedStatement, Iterator<? extends IGenericPreparedStatementParameterGetters> batches)
+            throws GenericProtocolException {
+
+        return delegate.executeBatches(preparedStatement, batches);
+    }
+
+    @Override
+    public synchronized void executePipelinedUpdates(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException {
+
+        delegate.executePipelinedUpdates(updates);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> executePipelinedUpdatesAsync(List<PipelinedUpdate<PREPARED_STATEMENT>> updates) throws GenericProtocolException {
+
+        return delegate.executePipelinedUpdatesAsync(updates);
+    }
+
+    @Override
+    public synchronized void resumePipelinedUpdates() {
+
+        delegate.resumePipelinedUpdates();
+    }
+
     @Override
     public synchronized void closePreparedStatement(PREPARED_STATEMENT preparedStatement) throws GenericProtocolException {
 
@@ -101,6 +131,12 @@ final class SynchronizedConnectionProtocol<PREPARED_STATEMENT, DATA_TYPE> implem
         delegate.commit();
     }
 
+    @Override
+    public synchronized boolean resetForReuse() throws GenericProtocolException, IOException {
+
+        return delegate.resetForReuse();
+    }
+
     @Override
     public synchronized void sendClose() throws GenericProtocolException {
 
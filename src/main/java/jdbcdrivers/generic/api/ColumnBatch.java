@@ -0,0 +1,204 @@
+package jdbcdrivers.generic.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Caller supplied column vectors for decoding a number of result rows at a time, see {@link IGenericResultSet#nextBatch(ColumnBatch)}.
+ *
+ * Columns are selected by index, each decoded into caller supplied primitive arrays of at least the batch capacity in length. Strings are
+ * decoded as bytes in the database encoding into a byte array, with the start offset of each row's string in an offsets array, and the end
+ * offset of the last row's string following it. Nulls are optionally marked in bitmaps with one bit per row.
+ */
+public final class ColumnBatch {
+
+    public enum VectorType {
+
+        INT,
+        LONG,
+        DOUBLE,
+        STRING;
+    }
+
+    private static final class SelectedColumn {
+
+        private final int columnIndex;
+        private final VectorType vectorType;
+
+        private final int[] intValues;
+        private final long[] longValues;
+        private final double[] doubleValues;
+        private final int[] stringOffsets;
+        private final byte[] stringBytes;
+
+        // Null if nulls not decoded
+        private final long[] nulls;
+
+        private SelectedColumn(int columnIndex, VectorType vectorType, int[] intValues, long[] longValues, double[] doubleValues, int[] stringOffsets,
+                byte[] stringBytes, long[] nulls) {
+
+            this.columnIndex = columnIndex;
+            this.vectorType = vectorType;
+            this.intValues = intValues;
+            this.longValues = longValues;
+            this.doubleValues = doubleValues;
+            this.stringOffsets = stringOffsets;
+            this.stringBytes = stringBytes;
+            this.nulls = nulls;
+        }
+    }
+
+    private final int capacity;
+
+    private final List<SelectedColumn> selectedColumns;
+
+    /**
+     * @param capacity max number of rows to decode at a time
+     */
+    public ColumnBatch(int capacity) {
+
+        if (capacity < 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.capacity = capacity;
+
+        this.selectedColumns = new ArrayList<>();
+    }
+
+    /**
+     * Check whether a row is marked as null in a null bitmap.
+     *
+     * @param nulls the null bitmap
+     * @param rowIndex index of row within batch
+     *
+     * @return {@code true} if null, {@code false} otherwise
+     */
+    public static boolean isNull(long[] nulls, int rowIndex) {
+
+        return (nulls[rowIndex >>> 6] & (1L << rowIndex)) != 0L;
+    }
+
+    /**
+     * Get length of null bitmap for a number of rows.
+     *
+     * @param numRows number of rows
+     *
+     * @return number of elements of null bitmap
+     */
+    public static int getNullsLength(int numRows) {
+
+        return (numRows + Long.SIZE - 1) >>> 6;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void selectIntColumn(int columnIndex, int[] values, long[] nulls) {
+
+        checkValuesLength(values.length);
+
+        add(new SelectedColumn(columnIndex, VectorType.INT, values, null, null, null, null, checkNulls(nulls)));
+    }
+
+    public void selectLongColumn(int columnIndex, long[] values, long[] nulls) {
+
+        checkValuesLength(values.length);
+
+        add(new SelectedColumn(columnIndex, VectorType.LONG, null, values, null, null, null, checkNulls(nulls)));
+    }
+
+    public void selectDoubleColumn(int columnIndex, double[] values, long[] nulls) {
+
+        checkValuesLength(values.length);
+
+        add(new SelectedColumn(columnIndex, VectorType.DOUBLE, null, null, values, null, null, checkNulls(nulls)));
+    }
+
+    /**
+     * Select a string column.
+     *
+     * @param columnIndex index of column
+     * @param offsets start offset of each row's string in {@code bytes}, followed by end offset of last row's string, so at least capacity plus one in length
+     * @param bytes string bytes, must have room for column max length for every row
+     * @param nulls null bitmap or {@code null} if not to decode nulls
+     */
+    public void selectStringColumn(int columnIndex, int[] offsets, byte[] bytes, long[] nulls) {
+
+        Objects.requireNonNull(bytes);
+
+        if (offsets.length < capacity + 1) {
+
+            throw new IllegalArgumentException();
+        }
+
+        add(new SelectedColumn(columnIndex, VectorType.STRING, null, null, null, offsets, bytes, checkNulls(nulls)));
+    }
+
+    public int getNumSelectedColumns() {
+        return selectedColumns.size();
+    }
+
+    public int getColumnIndex(int selectedIndex) {
+        return selectedColumns.get(selectedIndex).columnIndex;
+    }
+
+    public VectorType getVectorType(int selectedIndex) {
+        return selectedColumns.get(selectedIndex).vectorType;
+    }
+
+    public int[] getIntValues(int selectedIndex) {
+        return selectedColumns.get(selectedIndex).intValues;
+    }
+
+    public long[] getLongValues(int selectedIndex) {
+        return selectedColumns.get(selectedIndex).longValues;
+    }
+
+    public double[] getDoubleValues(int selectedIndex) {
+        return selectedColumns.get(selectedIndex).doubleValues;
+    }
+
+    public int[] getStringOffsets(int selectedIndex) {
+        return selectedColumns.get(selectedIndex).stringOffsets;
+    }
+
+    public byte[] getStringBytes(int selectedIndex) {
+        return selectedColumns.get(selectedIndex).stringBytes;
+    }
+
+    public long[] getNulls(int selectedIndex) {
+        return selectedColumns.get(selectedIndex).nulls;
+    }
+
+    private void add(SelectedColumn selectedColumn) {
+
+        if (selectedColumn.columnIndex < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        selectedColumns.add(selectedColumn);
+    }
+
+    private void checkValuesLength(int length) {
+
+        if (length < capacity) {
+
+            throw new IllegalArgumentException();
+        }
+    }
+
+    private long[] checkNulls(long[] nulls) {
+
+        if (nulls != null && nulls.length < getNullsLength(capacity)) {
+
+            throw new IllegalArgumentException();
+        }
+
+        return nulls;
+    }
+}
@@ -37,12 +37,16 @@ public final class GenericStatementExecutionOptions {
     private final Concurrency concurrency;
     private final Holdability holdability;
 
+    // Number of rows to fetch at a time, 0 for connection default
+    private final int fetchSize;
+
     public GenericStatementExecutionOptions(AutoGeneratedKeys autoGeneratedKeys, ResultSetType type, Concurrency concurrency) {
 
         this.autoGeneratedKeys = Objects.requireNonNull(autoGeneratedKeys);
         this.type = Objects.requireNonNull(type);
         this.concurrency = Objects.requireNonNull(concurrency);
         this.holdability = null;
+        this.fetchSize = 0;
     }
 
     public GenericStatementExecutionOptions(AutoGeneratedKeys autoGeneratedKeys, ResultSetType type, Concurrency concurrency, Holdability holdability) {
@@ -51,6 +55,33 @@ public final class GenericStatementExecutionOptions {
         this.type = Objects.requireNonNull(type);
         this.concurrency = Objects.requireNonNull(concurrency);
         this.holdability = Objects.requireNonNull(holdability);
+        this.fetchSize = 0;
+    }
+
+    private GenericStatementExecutionOptions(GenericStatementExecutionOptions options, int fetchSize) {
+
+        if (fetchSize < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.autoGeneratedKeys = options.autoGeneratedKeys;
+        this.type = options.type;
+        this.concurrency = options.concurrency;
+        this.holdability = options.holdability;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Get a copy of these options with another fetch size.
+     *
+     * @param fetchSize number of rows to fetch from the database at a time, {@code 0} for connection default
+     *
+     * @return options with the fetch size
+     */
+    public GenericStatementExecutionOptions withFetchSize(int fetchSize) {
+
+        return fetchSize == this.fetchSize ? this : new GenericStatementExecutionOptions(this, fetchSize);
     }
 
     public AutoGeneratedKeys getAutoGeneratedKeys() {
@@ -68,4 +99,33 @@ public final class GenericStatementExecutionOptions {
     public Holdability getHoldability() {
         return holdability;
     }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(autoGeneratedKeys, type, concurrency, holdability, fetchSize);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+
+        if (this == object) {
+
+            return true;
+        }
+
+        if (object == null || getClass() != object.getClass()) {
+
+            return false;
+        }
+
+        final GenericStatementExecutionOptions other = (GenericStatementExecutionOptions)object;
+
+        return autoGeneratedKeys == other.autoGeneratedKeys && type == other.type && concurrency == other.concurrency && holdability == other.holdability
+                && fetchSize == other.fetchSize;
+    }
 }
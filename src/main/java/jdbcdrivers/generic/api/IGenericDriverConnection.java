@@ -1,8 +1,11 @@
 package jdbcdrivers.generic.api;
 
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 
 import jdbcdrivers.generic.exceptions.AlreadyClosedException;
+import jdbcdrivers.generic.exceptions.ConnectionClosedException;
+import jdbcdrivers.generic.exceptions.GenericDriverException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
 
 /**
@@ -26,9 +29,10 @@ public interface IGenericDriverConnection {
      *
      * @param on {@code true} if autocommit mode should be switched on, {@code false} if to be switched off
      *
+     * @throws ConnectionClosedException if the connection has been closed
      * @throws GenericProtocolException for any protocol communication error
      */
-    void setAutoCommit(boolean on) throws GenericProtocolException;
+    void setAutoCommit(boolean on) throws ConnectionClosedException, GenericProtocolException;
 
     /**
      * Get the current autocommit state.
@@ -40,13 +44,15 @@ public interface IGenericDriverConnection {
     boolean getAutoCommit() throws GenericProtocolException;
 
     /**
-     * Create a {@link IGenericStatement} for executing SQLs on the database server.
+     * Create a {@link IGenericStatement} for executing SQLs on the database server. Closed when the connection is closed if not closed before.
      *
      * @param statementParameters various parameters
      *
      * @return an {@link IGenericStatement} for executing queries
+     *
+     * @throws ConnectionClosedException if the connection has been closed
      */
-    IGenericStatement createStatement(GenericStatementExecutionOptions statementParameters);
+    IGenericStatement createStatement(GenericStatementExecutionOptions statementParameters) throws ConnectionClosedException;
 
     /**
      * Prepare for executing an SQL on the database server and return a {@link IGenericPreparedStatement}.
@@ -55,14 +61,37 @@ public interface IGenericDriverConnection {
      *
      * @return an {@link IGenericPreparedStatement} for executing queries
      *
+     * @throws ConnectionClosedException if the connection has been closed
      * @throws GenericProtocolException for any protocol communication error
      */
-    IGenericPreparedStatement createPreparedStatement(String sql, GenericStatementExecutionOptions statementExecutionOptions) throws GenericProtocolException;
+    IGenericPreparedStatement createPreparedStatement(String sql, GenericStatementExecutionOptions statementExecutionOptions)
+            throws ConnectionClosedException, GenericProtocolException;
+
+    /**
+     * Create a {@link IGenericPipeline} for sending several prepared statement executions before reading their responses. Any updates still queued
+     * when the connection is closed are completed exceptionally with a {@link ConnectionClosedException}.
+     *
+     * @return an {@link IGenericPipeline} for executing prepared statements of this connection
+     *
+     * @throws ConnectionClosedException if the connection has been closed
+     */
+    IGenericPipeline createPipeline() throws ConnectionClosedException;
 
     /**
      * Commit current transaction.
      *
+     * @throws ConnectionClosedException if the connection has been closed
      * @throws GenericProtocolException
      */
-    void commit() throws GenericProtocolException;
+    void commit() throws ConnectionClosedException, GenericProtocolException;
+
+    /**
+     * Commit current transaction asynchronously, after any previously submitted asynchronous operations of this connection have completed.
+     *
+     * @implNote the commit is executed with blocking I/O on a thread of a shared pool bounded by the {@code asyncThreads} connection property,
+     *           so a thread is occupied while the commit is in flight.
+     *
+     * @return a {@link CompletableFuture} that completes when the transaction has been committed, or exceptionally with a {@link GenericDriverException}
+     */
+    CompletableFuture<Void> commitAsync();
 }
@@ -0,0 +1,49 @@
+package jdbcdrivers.generic.api;
+
+import java.util.concurrent.CompletableFuture;
+
+import jdbcdrivers.generic.exceptions.ConnectionClosedException;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.PreparedStatementClosedException;
+import jdbcdrivers.generic.exceptions.ProtocolErrorCodeException;
+
+/**
+ * Pipeline for queuing prepared statement executions, sending them all before reading any of the responses, thus saving network round trips.
+ */
+public interface IGenericPipeline {
+
+    /**
+     * Queue a prepared update for pipelined execution. Parameters are copied, so may be reused or freed after this call.
+     *
+     * @param preparedStatement the prepared statement to execute, must have been created by the same connection as this pipeline
+     * @param parameters the parameters passed to the SQL statement
+     *
+     * @return a {@link CompletableFuture} completed with the number of rows inserted, updated or deleted once the response has been received,
+     *         or completed exceptionally with a {@link ProtocolErrorCodeException} if the database returned an error for this particular update
+     *
+     * @throws ConnectionClosedException if the connection of this pipeline has been closed
+     * @throws PreparedStatementClosedException if the prepared statement has been closed
+     * @throws GenericProtocolException if any database communication error occurred when sending an already full pipeline
+     */
+    CompletableFuture<Integer> addUpdate(IGenericPreparedStatement preparedStatement, IGenericPreparedStatementParameters parameters)
+            throws ConnectionClosedException, PreparedStatementClosedException, GenericProtocolException;
+
+    /**
+     * Send all queued updates and receive their responses in order, completing the corresponding futures.
+     *
+     * @throws ConnectionClosedException if the connection of this pipeline has been closed
+     * @throws GenericProtocolException if any database communication error occurred, all updates not yet completed are then completed exceptionally
+     *                                  with the same exception
+     */
+    void sync() throws ConnectionClosedException, GenericProtocolException;
+
+    /**
+     * Send all queued updates and receive their responses asynchronously, completing the corresponding futures. Updates queued after this call
+     * are part of the next sync.
+     *
+     * @return a {@link CompletableFuture} completed once all responses have been received, exceptionally with a {@link ConnectionClosedException}
+     *         if the connection of this pipeline has been closed, or exceptionally with a {@link GenericProtocolException}
+     *         if any database communication error occurred, all updates not yet completed are then completed exceptionally with the same exception
+     */
+    CompletableFuture<Void> syncAsync();
+}
@@ -1,6 +1,11 @@
 package jdbcdrivers.generic.api;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+
 import jdbcdrivers.generic.exceptions.AlreadyClosedException;
+import jdbcdrivers.generic.exceptions.GenericDriverException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
 import jdbcdrivers.generic.exceptions.PreparedStatementClosedException;
 
@@ -43,6 +48,15 @@ public interface IGenericPreparedStatement {
      */
     IGenericResultSet exeuteQuery(IGenericPreparedStatementParameters parameters) throws PreparedStatementClosedException, GenericProtocolException;
 
+    /**
+     * Set the number of rows to fetch from the database at a time for queries executed from now on.
+     *
+     * @param rows number of rows, {@code 0} for connection default
+     */
+    void setFetchSize(int rows);
+
+    int getFetchSize();
+
     /**
      * Execute the prepared update with the supplied parameters.
      *
@@ -76,4 +90,74 @@ public interface IGenericPreparedStatement {
      * @throws GenericProtocolException if any database communication error occurred
      */
     int[] executeBatches() throws PreparedStatementClosedException, GenericProtocolException;
+
+    /**
+     * Execute the prepared SQL for each parameters returned by an {@link Iterator}, sending rows to the database in frames of bounded size as they are
+     * returned, so that memory use does not depend on the number of rows. Parameters returned may be reused by the iterator for the next row.
+     *
+     * @param batches {@link Iterator} of parameters for each row
+     *
+     * @return the total number of rows inserted, updated or deleted
+     *
+     * @throws PreparedStatementClosedException if the prepared statement has been closed
+     * @throws GenericProtocolException if any database communication error occurred
+     */
+    long executeBatches(Iterator<? extends IGenericPreparedStatementParameters> batches) throws PreparedStatementClosedException, GenericProtocolException;
+
+    /**
+     * Execute the prepared SQL for each parameters returned by a {@link Spliterator}, same as {@link #executeBatches(Iterator)}.
+     *
+     * @param batches {@link Spliterator} of parameters for each row
+     *
+     * @return the total number of rows inserted, updated or deleted
+     *
+     * @throws PreparedStatementClosedException if the prepared statement has been closed
+     * @throws GenericProtocolException if any database communication error occurred
+     */
+    long executeBatches(Spliterator<? extends IGenericPreparedStatementParameters> batches) throws PreparedStatementClosedException, GenericProtocolException;
+
+    /**
+     * Execute the prepared query asynchronously with the supplied parameters. Parameters are copied, so may be reused or freed after this call.
+     * Asynchronous operations of the same connection are executed one at a time in the order submitted, and synchronous operations on the connection
+     * wait for previously submitted asynchronous operations to complete.
+     *
+     * @implNote the query is executed with blocking I/O on a thread of a shared pool bounded by the {@code asyncThreads} connection property,
+     *           so a thread is occupied while the query is in flight.
+     *
+     * @param parameters the parameters passed to the query
+     *
+     * @return a {@link CompletableFuture} that completes with a {@link IGenericResultSet} for iterating result rows,
+     *         or exceptionally with a {@link GenericDriverException}
+     *
+     * @throws PreparedStatementClosedException if the prepared statement has been closed
+     */
+    CompletableFuture<IGenericResultSet> executeQueryAsync(IGenericPreparedStatementParameters parameters) throws PreparedStatementClosedException;
+
+    /**
+     * Execute the prepared update asynchronously with the supplied parameters. Parameters are copied, so may be reused or freed after this call.
+     * Asynchronous operations of the same connection are executed one at a time in the order submitted, and synchronous operations on the connection
+     * wait for previously submitted asynchronous operations to complete.
+     *
+     * @implNote executed as a single update pipeline, so with non-blocking I/O no thread is occupied while waiting for the response.
+     *
+     * @param parameters the parameters passed to the SQL statement
+     *
+     * @return a {@link CompletableFuture} that completes with the number of rows inserted, updated or deleted, or exceptionally with a {@link GenericDriverException}
+     *
+     * @throws PreparedStatementClosedException if the prepared statement has been closed
+     */
+    CompletableFuture<Integer> executeUpdateAsync(IGenericPreparedStatementParameters parameters) throws PreparedStatementClosedException;
+
+    /**
+     * Execute batches added so far asynchronously, batches added after this call will be part of the next batch execution.
+     *
+     * @implNote batches are executed with blocking I/O on a thread of a shared pool bounded by the {@code asyncThreads} connection property,
+     *           so a thread is occupied while the batches are in flight.
+     *
+     * @return a {@link CompletableFuture} that completes with an array of the number of rows inserted, updated or deleted, in the same order as batch parameters
+     *         were added, or exceptionally with a {@link GenericDriverException}
+     *
+     * @throws PreparedStatementClosedException if the prepared statement has been closed
+     */
+    CompletableFuture<int[]> executeBatchesAsync() throws PreparedStatementClosedException;
 }
@@ -26,6 +26,21 @@ public interface IGenericResultSet {
      */
     boolean next() throws GenericProtocolException;
 
+    /**
+     * Move past up to {@link ColumnBatch#getCapacity()} result rows, decoding the selected columns of each row into the column vectors of a batch.
+     * The current row is the last row decoded.
+     *
+     * @param columnBatch selected columns and vectors to decode into
+     *
+     * @return number of rows decoded, {@code 0} if there were no more result rows
+     *
+     * @throws ResultSetClosedException if result set is closed
+     * @throws WrongColumnTypeException if the vector type of a selected column does not match the column type
+     * @throws IllegalArgumentException if string bytes have no room for the batch or nulls are selected for a column type without encoded nulls
+     * @throws GenericProtocolException if any protocol communication error occurred
+     */
+    int nextBatch(ColumnBatch columnBatch) throws ResultSetClosedException, WrongColumnTypeException, GenericProtocolException;
+
     String getString(int index) throws ResultSetClosedException, WrongColumnTypeException;
     boolean getBoolean(int index) throws ResultSetClosedException, WrongColumnTypeException;
     byte getByte(int index) throws ResultSetClosedException, WrongColumnTypeException;
@@ -41,5 +56,18 @@ public interface IGenericResultSet {
     long getTimestamp(int index) throws ResultSetClosedException, WrongColumnTypeException;
     Object getObject(int index) throws ResultSetClosedException, WrongColumnTypeException;
 
+    /**
+     * Get a string column value for comparing or hashing, viewing the row bytes instead of decoding to a {@link String} where possible.
+     * A returned view is only valid until the result set is next accessed.
+     *
+     * @param index index of column
+     *
+     * @return the column value, call {@link CharSequence#toString()} to retain it
+     *
+     * @throws ResultSetClosedException if result set is closed
+     * @throws WrongColumnTypeException if column is not a string column
+     */
+    CharSequence getCharSequence(int index) throws ResultSetClosedException, WrongColumnTypeException;
+
     IGenericResultSetMetaData getResultSetMetaData();
 }
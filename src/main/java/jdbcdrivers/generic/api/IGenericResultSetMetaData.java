@@ -21,6 +21,15 @@ public interface IGenericResultSetMetaData {
      */
     Integer getColumnIndex(String columnName);
 
+    /**
+     * Get index of result row column by column name without boxing. Indices are counted from {@code 0}, column name comparison is case insensitive.
+     *
+     * @param columnName name of column to get index for
+     *
+     * @return index of column, or {@code -1} if the result set does not contain a column by that name
+     */
+    int findColumnIndex(String columnName);
+
     /**
      * Get metadata for one column.
      *
@@ -1,12 +1,21 @@
 package jdbcdrivers.generic.api;
 
+import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.StatementClosedException;
 
 /**
  * Interface for executing SQL statements.
  */
 public interface IGenericStatement {
 
+    /**
+     * Close an open statement, after which no more SQLs can be executed.
+     *
+     * @throws AlreadyClosedException thrown if statement has already been closed
+     */
+    void close() throws AlreadyClosedException;
+
     /**
      * Execute an SQL select query and return resulting rows.
      *
@@ -14,9 +23,10 @@ public interface IGenericStatement {
      *
      * @return a {@link IGenericResultSet} for retrieving any result rows
      *
+     * @throws StatementClosedException if the statement has been closed
      * @throws GenericProtocolException if any database protocol communication error occurred
      */
-    IGenericResultSet executeQuery(String sql) throws GenericProtocolException;
+    IGenericResultSet executeQuery(String sql) throws StatementClosedException, GenericProtocolException;
 
     /**
      * Execute an SQL insert, update or delete statement.
@@ -25,9 +35,10 @@ public interface IGenericStatement {
      *
      * @return a {@link IGenericResultSet} for retrieving any result rows
      *
+     * @throws StatementClosedException if the statement has been closed
      * @throws GenericProtocolException if any database protocol communication error occurred
      */
-    int executeUpdate(String sql) throws GenericProtocolException;
+    int executeUpdate(String sql) throws StatementClosedException, GenericProtocolException;
 
     /**
      * Execute an SQL.
@@ -36,7 +47,17 @@ public interface IGenericStatement {
      *
      * @return result of execution
      *
+     * @throws StatementClosedException if the statement has been closed
      * @throws GenericProtocolException if any database protocol communication error occurred
      */
-    ExecuteResult execute(String sql) throws GenericProtocolException;
+    ExecuteResult execute(String sql) throws StatementClosedException, GenericProtocolException;
+
+    /**
+     * Set the number of rows to fetch from the database at a time for queries executed from now on.
+     *
+     * @param rows number of rows, {@code 0} for connection default
+     */
+    void setFetchSize(int rows);
+
+    int getFetchSize();
 }
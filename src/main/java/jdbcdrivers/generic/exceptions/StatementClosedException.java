@@ -0,0 +1,6 @@
+package jdbcdrivers.generic.exceptions;
+
+public final class StatementClosedException extends GenericDriverException {
+
+    private static final long serialVersionUID = 1L;
+}
@@ -1,12 +1,15 @@
 package jdbcdrivers.generic.threadsafe;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
 import jdbcdrivers.generic.api.IGenericDriverConnection;
+import jdbcdrivers.generic.api.IGenericPipeline;
 import jdbcdrivers.generic.api.IGenericPreparedStatement;
 import jdbcdrivers.generic.api.IGenericStatement;
 import jdbcdrivers.generic.exceptions.AlreadyClosedException;
+import jdbcdrivers.generic.exceptions.ConnectionClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
 
 final class SynchronizedDriverConnection implements IGenericDriverConnection {
@@ -25,7 +28,7 @@ final class SynchronizedDriverConnection implements IGenericDriverConnection {
     }
 
     @Override
-    public synchronized void setAutoCommit(boolean on) throws GenericProtocolException {
+    public synchronized void setAutoCommit(boolean on) throws ConnectionClosedException, GenericProtocolException {
 
         delegate.setAutoCommit(on);
     }
@@ -37,20 +40,33 @@ final class SynchronizedDriverConnection implements IGenericDriverConnection {
     }
 
     @Override
-    public synchronized IGenericStatement createStatement(GenericStatementExecutionOptions statementParameters) {
+    public synchronized IGenericStatement createStatement(GenericStatementExecutionOptions statementParameters) throws ConnectionClosedException {
 
         return new SynchronizedGenericStatement(delegate.createStatement(statementParameters));
     }
 
     @Override
-    public synchronized IGenericPreparedStatement createPreparedStatement(String sql, GenericStatementExecutionOptions statementParameters) throws GenericProtocolException {
+    public synchronized IGenericPreparedStatement createPreparedStatement(String sql, GenericStatementExecutionOptions statementParameters)
+            throws ConnectionClosedException, GenericProtocolException {
 
         return new SynchronizedGenericPreparedStatement(delegate.createPreparedStatement(sql, statementParameters));
     }
 
     @Override
-    public synchronized void commit() throws GenericProtocolException {
+    public synchronized IGenericPipeline createPipeline() throws ConnectionClosedException {
+
+        return new SynchronizedPipeline(delegate.createPipeline());
+    }
+
+    @Override
+    public synchronized void commit() throws ConnectionClosedException, GenericProtocolException {
 
         delegate.commit();
     }
+
+    @Override
+    public synchronized CompletableFuture<Void> commitAsync() {
+
+        return delegate.commitAsync();
+    }
 }
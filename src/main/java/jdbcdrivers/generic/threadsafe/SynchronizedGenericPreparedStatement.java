@@ -1,6 +1,9 @@
 package jdbcdrivers.generic.threadsafe;
 
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
 
 import jdbcdrivers.generic.api.IGenericPreparedStatement;
 import jdbcdrivers.generic.api.IGenericPreparedStatementParameters;
@@ -18,6 +21,10 @@ final class SynchronizedGenericPreparedStatement implements IGenericPreparedStat
         this.delegate = Objects.requireNonNull(delegate);
     }
 
+    IGenericPreparedStatement getDelegate() {
+        return delegate;
+    }
+
     @Override
     public synchronized void close() throws AlreadyClosedException, GenericProtocolException {
 
@@ -42,10 +49,22 @@ final class SynchronizedGenericPreparedStatement implements IGenericPreparedStat
         return new SynchronizedResultSet(delegate.exeuteQuery(parameters));
     }
 
+    @Override
+    public synchronized void setFetchSize(int rows) {
+
+        delegate.setFetchSize(rows);
+    }
+
+    @Override
+    public synchronized int getFetchSize() {
+
+        return delegate.getFetchSize();
+    }
+
     @Override
     public synchronized int exeuteUpdate(IGenericPreparedStatementParameters parameters) throws PreparedStatementClosedException, GenericProtocolException {
 
-        return exeuteUpdate(parameters);
+        return delegate.exeuteUpdate(parameters);
     }
 
     @Override
@@ -59,4 +78,36 @@ final class SynchronizedGenericPreparedStatement implements IGenericPreparedStat
 
         return delegate.executeBatches();
     }
+
+    @Override
+    public synchronized long executeBatches(Iterator<? extends IGenericPreparedStatementParameters> batches)
+            throws PreparedStatementClosedException, GenericProtocolException {
+
+        return delegate.executeBatches(batches);
+    }
+
+    @Override
+    public synchronized long executeBatches(Spliterator<? extends IGenericPreparedStatementParameters> batches)
+            throws PreparedStatementClosedException, GenericProtocolException {
+
+        return delegate.executeBatches(batches);
+    }
+
+    @Override
+    public synchronized CompletableFuture<IGenericResultSet> executeQueryAsync(IGenericPreparedStatementParameters parameters) throws PreparedStatementClosedException {
+
+        return delegate.executeQueryAsync(parameters).thenApply(SynchronizedResultSet::new);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Integer> executeUpdateAsync(IGenericPreparedStatementParameters parameters) throws PreparedStatementClosedException {
+
+        return delegate.executeUpdateAsync(parameters);
+    }
+
+    @Override
+    public synchronized CompletableFuture<int[]> executeBatchesAsync() throws PreparedStatementClosedException {
+
+        return delegate.executeBatchesAsync();
+    }
 }
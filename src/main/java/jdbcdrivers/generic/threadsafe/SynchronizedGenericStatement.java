@@ -5,7 +5,9 @@ import java.util.Objects;
 import jdbcdrivers.generic.api.ExecuteResult;
 import jdbcdrivers.generic.api.IGenericResultSet;
 import jdbcdrivers.generic.api.IGenericStatement;
+import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.StatementClosedException;
 
 final class SynchronizedGenericStatement implements IGenericStatement {
 
@@ -17,20 +19,38 @@ final class SynchronizedGenericStatement implements IGenericStatement {
     }
 
     @Override
-    public synchronized IGenericResultSet executeQuery(String sql) throws GenericProtocolException {
+    public synchronized void close() throws AlreadyClosedException {
+
+        delegate.close();
+    }
+
+    @Override
+    public synchronized IGenericResultSet executeQuery(String sql) throws StatementClosedException, GenericProtocolException {
 
         return new SynchronizedResultSet(delegate.executeQuery(sql));
     }
 
     @Override
-    public synchronized int executeUpdate(String sql) throws GenericProtocolException {
+    public synchronized int executeUpdate(String sql) throws StatementClosedException, GenericProtocolException {
 
         return delegate.executeUpdate(sql);
     }
 
     @Override
-    public synchronized ExecuteResult execute(String sql) throws GenericProtocolException {
+    public synchronized ExecuteResult execute(String sql) throws StatementClosedException, GenericProtocolException {
 
         return delegate.execute(sql);
     }
+
+    @Override
+    public synchronized void setFetchSize(int rows) {
+
+        delegate.setFetchSize(rows);
+    }
+
+    @Override
+    public synchronized int getFetchSize() {
+
+        return delegate.getFetchSize();
+    }
 }
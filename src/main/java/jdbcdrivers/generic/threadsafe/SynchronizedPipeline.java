@@ -0,0 +1,47 @@
+package jdbcdrivers.generic.threadsafe;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import jdbcdrivers.generic.api.IGenericPipeline;
+import jdbcdrivers.generic.api.IGenericPreparedStatement;
+import jdbcdrivers.generic.api.IGenericPreparedStatementParameters;
+import jdbcdrivers.generic.exceptions.ConnectionClosedException;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.PreparedStatementClosedException;
+
+final class SynchronizedPipeline implements IGenericPipeline {
+
+    private final IGenericPipeline delegate;
+
+    SynchronizedPipeline(IGenericPipeline delegate) {
+
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Integer> addUpdate(IGenericPreparedStatement preparedStatement, IGenericPreparedStatementParameters parameters)
+            throws ConnectionClosedException, PreparedStatementClosedException, GenericProtocolException {
+
+        Objects.requireNonNull(preparedStatement);
+
+        // Pipeline operates on the underlying prepared statement
+        final IGenericPreparedStatement delegatePreparedStatement = preparedStatement instanceof SynchronizedGenericPreparedStatement
+                ? ((SynchronizedGenericPreparedStatement)preparedStatement).getDelegate()
+                : preparedStatement;
+
+        return delegate.addUpdate(delegatePreparedStatement, parameters);
+    }
+
+    @Override
+    public synchronized void sync() throws ConnectionClosedException, GenericProtocolException {
+
+        delegate.sync();
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> syncAsync() {
+
+        return delegate.syncAsync();
+    }
+}
@@ -3,6 +3,7 @@ package jdbcdrivers.generic.threadsafe;
 import java.math.BigDecimal;
 import java.util.Objects;
 
+import jdbcdrivers.generic.api.ColumnBatch;
 import jdbcdrivers.generic.api.IGenericResultSet;
 import jdbcdrivers.generic.api.IGenericResultSetMetaData;
 import jdbcdrivers.generic.exceptions.AlreadyClosedException;
@@ -31,6 +32,18 @@ final class SynchronizedResultSet implements IGenericResultSet {
         return delegate.next();
     }
 
+    @Override
+    public synchronized CharSequence getCharSequence(int index) throws ResultSetClosedException, WrongColumnTypeException {
+
+        return delegate.getCharSequence(index);
+    }
+
+    @Override
+    public synchronized int nextBatch(ColumnBatch columnBatch) throws ResultSetClosedException, WrongColumnTypeException, GenericProtocolException {
+
+        return delegate.nextBatch(columnBatch);
+    }
+
     @Override
     public synchronized String getString(int index) throws ResultSetClosedException, WrongColumnTypeException {
 
@@ -6,6 +6,7 @@ import java.sql.SQLException;
 import java.util.function.Supplier;
 
 import jdbcdrivers.generic.exceptions.AlreadyClosedException;
+import jdbcdrivers.generic.exceptions.ConnectionClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
 import jdbcdrivers.generic.exceptions.GenericProtocolExceptionVisitor;
 import jdbcdrivers.generic.exceptions.PreparedStatementClosedException;
@@ -14,6 +15,7 @@ import jdbcdrivers.generic.exceptions.ProtocolErrorException;
 import jdbcdrivers.generic.exceptions.ProtocolIOException;
 import jdbcdrivers.generic.exceptions.ProtocolStateException;
 import jdbcdrivers.generic.exceptions.ResultSetClosedException;
+import jdbcdrivers.generic.exceptions.StatementClosedException;
 import jdbcdrivers.generic.exceptions.WrongColumnTypeException;
 
 /**
@@ -39,6 +41,16 @@ abstract class BaseJDBC<STATE, CHECK_STATE_EXCEPTION extends Exception> extends
         return new SQLException(ex);
     }
 
+    static SQLException convert(ConnectionClosedException ex) {
+
+        return new SQLException(ex);
+    }
+
+    static SQLException convert(StatementClosedException ex) {
+
+        return new SQLException(ex);
+    }
+
     static SQLException convert(PreparedStatementClosedException ex) {
 
         return new SQLException(ex);
@@ -25,6 +25,7 @@ import jdbcdrivers.generic.api.IGenericDriverConnection;
 import jdbcdrivers.generic.api.IGenericPreparedStatement;
 import jdbcdrivers.generic.api.IGenericStatement;
 import jdbcdrivers.generic.exceptions.AlreadyClosedException;
+import jdbcdrivers.generic.exceptions.ConnectionClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
 
 /**
@@ -42,7 +43,15 @@ final class JDBCConnection extends BaseJDBC<Void, RuntimeException> implements C
     @Override
     public Statement createStatement() throws SQLException {
 
-        final IGenericStatement genericStatement = genericDriverConnection.createStatement(JDBCStatementExecutionOptions.getDefaultStatementExecutionOptions());
+        final IGenericStatement genericStatement;
+
+        try {
+            genericStatement = genericDriverConnection.createStatement(JDBCStatementExecutionOptions.getDefaultStatementExecutionOptions());
+        }
+        catch (ConnectionClosedException ex) {
+
+            throw convert(ex);
+        }
 
         return new JDBCStatement(genericStatement);
     }
@@ -71,6 +80,10 @@ final class JDBCConnection extends BaseJDBC<Void, RuntimeException> implements C
         try {
             genericDriverConnection.setAutoCommit(autoCommit);
         }
+        catch (ConnectionClosedException ex) {
+
+            throw convert(ex);
+        }
         catch (GenericProtocolException ex) {
 
             throw convert(ex);
@@ -99,6 +112,10 @@ final class JDBCConnection extends BaseJDBC<Void, RuntimeException> implements C
         try {
             genericDriverConnection.commit();
         }
+        catch (ConnectionClosedException ex) {
+
+            throw convert(ex);
+        }
         catch (GenericProtocolException ex) {
 
             throw convert(ex);
@@ -396,13 +413,17 @@ final class JDBCConnection extends BaseJDBC<Void, RuntimeException> implements C
 
         Objects.requireNonNull(statementParameters);
 
-        final IGenericStatement genericStatement = genericDriverConnection.createStatement(statementParameters);
-
+        final IGenericStatement genericStatement;
         final IGenericPreparedStatement genericPreparedStatement;
 
         try {
+            genericStatement = genericDriverConnection.createStatement(statementParameters);
             genericPreparedStatement = genericDriverConnection.createPreparedStatement(sql, statementParameters);
         }
+        catch (ConnectionClosedException ex) {
+
+            throw convert(ex);
+        }
         catch (GenericProtocolException ex) {
 
             throw convert(ex);
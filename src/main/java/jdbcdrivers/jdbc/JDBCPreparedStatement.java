@@ -70,6 +70,14 @@ final class JDBCPreparedStatement extends JDBCStatement implements PreparedState
         }
     }
 
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+
+        super.setFetchSize(rows);
+
+        genericPreparedStatement.setFetchSize(rows);
+    }
+
     @Override
     public ResultSet executeQuery() throws SQLException {
 
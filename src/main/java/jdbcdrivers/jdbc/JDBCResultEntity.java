@@ -9,6 +9,10 @@ public abstract class JDBCResultEntity extends BaseJDBC<Void, RuntimeException>
 
     private final IGenericResultSetMetaData metaData;
 
+    // Last found index per slot by hash code of column name, callers mostly passing the same string instances, allocated on first use
+    private String[] lastColumnNames;
+    private int[] lastColumnIndices;
+
     JDBCResultEntity(IGenericResultSetMetaData metaData) {
 
         this.metaData = Objects.requireNonNull(metaData);
@@ -18,14 +22,38 @@ public abstract class JDBCResultEntity extends BaseJDBC<Void, RuntimeException>
 
         Objects.requireNonNull(columnName);
 
-        final Integer index = metaData.getColumnIndex(columnName);
+        if (lastColumnNames == null) {
 
-        if (index == null) {
+            final int numSlots = Integer.highestOneBit(Math.max(metaData.getNumColumns(), 1) * 2 - 1) << 1;
 
-            throw new SQLException();
+            this.lastColumnNames = new String[numSlots];
+            this.lastColumnIndices = new int[numSlots];
+        }
+
+        // String hash code is computed once per instance
+        final int slot = columnName.hashCode() & (lastColumnNames.length - 1);
+
+        final int result;
+
+        if (lastColumnNames[slot] == columnName) {
+
+            result = lastColumnIndices[slot];
+        }
+        else {
+            final int index = metaData.findColumnIndex(columnName);
+
+            if (index < 0) {
+
+                throw new SQLException();
+            }
+
+            result = index + 1;
+
+            lastColumnNames[slot] = columnName;
+            lastColumnIndices[slot] = result;
         }
 
-        return index + 1;
+        return result;
     }
 
     final int toIndex(int columnIndex) throws SQLException {
@@ -44,6 +44,13 @@ final class JDBCResultSet extends JDBCResultEntity implements ResultSet {
         this.genericResultSet = Objects.requireNonNull(genericResultSet);
     }
 
+    @Override
+    Object getWrapped() {
+
+        // Allows unwrap to IGenericResultSet for batch decoding
+        return genericResultSet;
+    }
+
     @Override
     public boolean next() throws SQLException {
 
@@ -555,7 +562,9 @@ final class JDBCResultSet extends JDBCResultEntity implements ResultSet {
     @Override
     public int findColumn(String columnLabel) throws SQLException {
 
-        throw new UnsupportedOperationException();
+        Objects.requireNonNull(columnLabel);
+
+        return toColumnIndex(columnLabel);
     }
 
     @Override
@@ -10,7 +10,9 @@ import java.util.Objects;
 import jdbcdrivers.generic.api.ExecuteResult;
 import jdbcdrivers.generic.api.IGenericResultSet;
 import jdbcdrivers.generic.api.IGenericStatement;
+import jdbcdrivers.generic.exceptions.AlreadyClosedException;
 import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.StatementClosedException;
 
 /**
  * JDBC {@link Statement} implementation, delegates to the generic driver statement implementation.
@@ -69,7 +71,17 @@ class JDBCStatement extends BaseJDBC<JDBCStatement.State, SQLException> implemen
     @Override
     public void close() throws SQLException {
 
-        setState(State.CLOSED);
+        try {
+            genericStatement.close();
+        }
+        catch (AlreadyClosedException ex) {
+
+            throw convert(ex);
+        }
+        finally {
+
+            setState(State.CLOSED);
+        }
     }
 
     @Override
@@ -86,6 +98,10 @@ class JDBCStatement extends BaseJDBC<JDBCStatement.State, SQLException> implemen
 
                 resultSet = new JDBCResultSet(genericResultSet);
             }
+            catch (StatementClosedException ex) {
+
+                throw convert(ex);
+            }
             catch (GenericProtocolException ex) {
 
                 throw convert(ex);
@@ -105,6 +121,10 @@ class JDBCStatement extends BaseJDBC<JDBCStatement.State, SQLException> implemen
             try {
                 updateCount = genericStatement.executeUpdate(sql);
             }
+            catch (StatementClosedException ex) {
+
+                throw convert(ex);
+            }
             catch (GenericProtocolException ex) {
 
                 throw convert(ex);
@@ -202,6 +222,10 @@ class JDBCStatement extends BaseJDBC<JDBCStatement.State, SQLException> implemen
                 try {
                     statementResult = genericStatement.execute(sql);
                 }
+                catch (StatementClosedException ex) {
+
+                    throw convert(ex);
+                }
                 catch (GenericProtocolException ex) {
 
                     throw convert(ex);
@@ -281,15 +305,24 @@ class JDBCStatement extends BaseJDBC<JDBCStatement.State, SQLException> implemen
     }
 
     @Override
-    public final void setFetchSize(int rows) throws SQLException {
+    public void setFetchSize(int rows) throws SQLException {
 
-        throw new UnsupportedOperationException();
+        checkState(s -> s != State.CLOSED);
+
+        if (rows < 0) {
+
+            throw new SQLException("Fetch size must be non-negative");
+        }
+
+        genericStatement.setFetchSize(rows);
     }
 
     @Override
     public final int getFetchSize() throws SQLException {
 
-        throw new UnsupportedOperationException();
+        checkState(s -> s != State.CLOSED);
+
+        return genericStatement.getFetchSize();
     }
 
     @Override
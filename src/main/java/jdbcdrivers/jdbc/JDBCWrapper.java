@@ -2,6 +2,7 @@ package jdbcdrivers.jdbc;
 
 import java.sql.SQLException;
 import java.sql.Wrapper;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 import jdbcdrivers.generic.StateObject;
@@ -22,15 +23,58 @@ public abstract class JDBCWrapper<STATE, CHECK_STATE_EXCEPTION extends Exception
         super(initialState, closeState, checkStateExceptionSupplier);
     }
 
+    /**
+     * Get underlying object to unwrap to, if any.
+     *
+     * @return underlying object or {@code null} if none
+     */
+    Object getWrapped() {
+
+        return null;
+    }
+
     @Override
     public final <T> T unwrap(Class<T> iface) throws SQLException {
 
-        throw new UnsupportedOperationException();
+        Objects.requireNonNull(iface);
+
+        final T result;
+
+        if (iface.isInstance(this)) {
+
+            result = iface.cast(this);
+        }
+        else {
+            final Object wrapped = getWrapped();
+
+            if (wrapped == null || !iface.isInstance(wrapped)) {
+
+                throw new SQLException("Not a wrapper for " + iface.getName());
+            }
+
+            result = iface.cast(wrapped);
+        }
+
+        return result;
     }
 
     @Override
     public final boolean isWrapperFor(Class<?> iface) throws SQLException {
 
-        throw new UnsupportedOperationException();
+        Objects.requireNonNull(iface);
+
+        final boolean result;
+
+        if (iface.isInstance(this)) {
+
+            result = true;
+        }
+        else {
+            final Object wrapped = getWrapped();
+
+            result = wrapped != null && iface.isInstance(wrapped);
+        }
+
+        return result;
     }
 }
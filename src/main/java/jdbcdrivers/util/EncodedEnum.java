@@ -27,4 +27,19 @@ public interface EncodedEnum<E extends Enum<E> & EncodedEnum<E>> {
 
         return DriverUtil.findEnumOrNull(enumClass, e -> e.getCode() == code);
     }
+
+    /**
+     * Create a lookup of enum values by protocol code, for decoding codes in constant time.
+     *
+     * @param <E> protocol code enum type
+     * @param enumClass the {@link Class} of the enum type
+     *
+     * @return lookup of enum values by code
+     *
+     * @throws IllegalStateException if more than one enum value has the same code
+     */
+    public static <E extends Enum<E> & EncodedEnum<E>> EncodedEnumLookup<E> createLookup(Class<E> enumClass) {
+
+        return new EncodedEnumLookup<>(enumClass);
+    }
 }
@@ -0,0 +1,110 @@
+package jdbcdrivers.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Precomputed lookup of enum values by protocol code, for decoding codes without searching enum values.
+ *
+ * Codes are looked up in an array indexed by code if all codes are small, otherwise by binary search of sorted codes.
+ *
+ * @param <E> protocol code enum type
+ */
+public final class EncodedEnumLookup<E extends Enum<E> & EncodedEnum<E>> {
+
+    // Max length of array indexed by code
+    static final int MAX_DENSE_LENGTH = 4096;
+
+    // Enum value by code, null if not dense
+    private final E[] valuesByCode;
+
+    // Sorted codes and corresponding enum values, null if dense
+    private final int[] sortedCodes;
+    private final E[] sortedValues;
+
+    /**
+     * @param enumClass the {@link Class} of the enum type
+     *
+     * @throws IllegalStateException if more than one enum value has the same code
+     */
+    EncodedEnumLookup(Class<E> enumClass) {
+
+        Objects.requireNonNull(enumClass);
+
+        final E[] values = enumClass.getEnumConstants();
+
+        int minCode = Integer.MAX_VALUE;
+        int maxCode = Integer.MIN_VALUE;
+
+        for (E value : values) {
+
+            final int code = value.getCode();
+
+            minCode = Math.min(minCode, code);
+            maxCode = Math.max(maxCode, code);
+        }
+
+        if (values.length > 0 && minCode >= 0 && maxCode < MAX_DENSE_LENGTH) {
+
+            this.valuesByCode = Arrays.copyOf(values, maxCode + 1);
+
+            Arrays.fill(valuesByCode, null);
+
+            for (E value : values) {
+
+                if (valuesByCode[value.getCode()] != null) {
+
+                    throw new IllegalStateException();
+                }
+
+                valuesByCode[value.getCode()] = value;
+            }
+
+            this.sortedCodes = null;
+            this.sortedValues = null;
+        }
+        else {
+            this.sortedValues = values.clone();
+
+            Arrays.sort(sortedValues, (v1, v2) -> Integer.compare(v1.getCode(), v2.getCode()));
+
+            this.sortedCodes = new int[values.length];
+
+            for (int i = 0; i < sortedValues.length; ++ i) {
+
+                sortedCodes[i] = sortedValues[i].getCode();
+
+                if (i > 0 && sortedCodes[i] == sortedCodes[i - 1]) {
+
+                    throw new IllegalStateException();
+                }
+            }
+
+            this.valuesByCode = null;
+        }
+    }
+
+    /**
+     * Find the enum value corresponding to a protocol code.
+     *
+     * @param code protocol code
+     *
+     * @return found enum value, or {@code null} if none found
+     */
+    public E fromCodeOrNull(int code) {
+
+        final E result;
+
+        if (valuesByCode != null) {
+
+            result = code >= 0 && code < valuesByCode.length ? valuesByCode[code] : null;
+        }
+        else {
+            final int index = Arrays.binarySearch(sortedCodes, code);
+
+            result = index >= 0 ? sortedValues[index] : null;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,361 @@
+package jdbcdrivers.util;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+/**
+ * A {@link DataInput} that reads from a {@link ReadableByteChannel} in bulk into a {@link ByteBuffer}, so that protocol fields are parsed from the buffer
+ * instead of each field read resulting in a separate read from the channel.
+ *
+ * For non-blocking channels, a {@link ReadinessWaiter} is called whenever no data is available. Callers that must not wait may check for data with
+ * {@link #fillAvailable()} before starting to parse a message.
+ */
+public class ProtocolReader implements DataInput {
+
+    private static final boolean DEBUG = Boolean.FALSE;
+
+    /**
+     * Called when reading from a non-blocking channel and no data is available.
+     */
+    @FunctionalInterface
+    public interface ReadinessWaiter {
+
+        /**
+         * Wait until the channel is readable.
+         *
+         * @throws IOException if waiting failed, for example if the channel was closed
+         */
+        void awaitReadable() throws IOException;
+    }
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    private ReadinessWaiter readinessWaiter;
+
+    /**
+     * Construct a new {@link ProtocolReader}.
+     *
+     * @param channel the {@link ReadableByteChannel} to read from
+     * @param bufferSize size of buffer to read into from the channel
+     * @param direct whether to allocate a direct {@link ByteBuffer}, avoiding copying through a temporary buffer within the channel implementation
+     *
+     * @throws NullPointerException if {@code channel} is {@code null}
+     * @throws IllegalArgumentException if {@code bufferSize} is less than {@link Long#BYTES}
+     */
+    public ProtocolReader(ReadableByteChannel channel, int bufferSize, boolean direct) {
+
+        Objects.requireNonNull(channel);
+
+        if (bufferSize < Long.BYTES) {
+
+            throw new IllegalArgumentException();
+        }
+
+        this.channel = channel;
+        this.buffer = direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+
+        buffer.limit(0);
+
+        this.readinessWaiter = null;
+    }
+
+    /**
+     * Set the {@link ReadinessWaiter} to call when reading from a non-blocking channel and no data is available.
+     *
+     * @param readinessWaiter the {@link ReadinessWaiter} or {@code null} for blocking channels
+     */
+    public final void setReadinessWaiter(ReadinessWaiter readinessWaiter) {
+
+        this.readinessWaiter = readinessWaiter;
+    }
+
+    /**
+     * Get the number of bytes read from the channel but not yet consumed.
+     *
+     * @return number of buffered bytes
+     */
+    public final int getNumBufferedBytes() {
+
+        return buffer.remaining();
+    }
+
+    /**
+     * Read whatever data is available from the channel into the buffer, without waiting for readiness of non-blocking channels.
+     *
+     * @return number of buffered bytes, {@code 0} if none were buffered and no data was available
+     *
+     * @throws EOFException if at end of stream
+     * @throws IOException if reading failed
+     */
+    public final int fillAvailable() throws IOException {
+
+        buffer.compact();
+
+        try {
+            if (channel.read(buffer) < 0) {
+
+                throw new EOFException();
+            }
+        }
+        finally {
+            buffer.flip();
+        }
+
+        return buffer.remaining();
+    }
+
+    @Override
+    public final void readFully(byte[] b) throws IOException {
+
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public final void readFully(byte[] b, int off, int len) throws IOException {
+
+        Objects.requireNonNull(b);
+
+        if (off < 0 || len < 0 || off + len > b.length) {
+
+            throw new IndexOutOfBoundsException();
+        }
+
+        final int numBuffered = Math.min(buffer.remaining(), len);
+
+        buffer.get(b, off, numBuffered);
+
+        final int numRemaining = len - numBuffered;
+
+        if (numRemaining >= buffer.capacity()) {
+
+            // Large reads go directly into destination array
+            final ByteBuffer dst = ByteBuffer.wrap(b, off + numBuffered, numRemaining);
+
+            while (dst.hasRemaining()) {
+
+                readFromChannel(dst);
+            }
+        }
+        else if (numRemaining > 0) {
+
+            ensureBuffered(numRemaining);
+
+            buffer.get(b, off + numBuffered, numRemaining);
+        }
+    }
+
+    @Override
+    public final int skipBytes(int n) throws IOException {
+
+        if (n < 0) {
+
+            throw new IllegalArgumentException();
+        }
+
+        int numRemaining = n;
+
+        while (numRemaining > 0) {
+
+            if (!buffer.hasRemaining()) {
+
+                fill(1);
+            }
+
+            final int numSkip = Math.min(numRemaining, buffer.remaining());
+
+            buffer.position(buffer.position() + numSkip);
+
+            numRemaining -= numSkip;
+        }
+
+        return n;
+    }
+
+    @Override
+    public final boolean readBoolean() throws IOException {
+
+        return readByte() != 0;
+    }
+
+    @Override
+    public final byte readByte() throws IOException {
+
+        ensureBuffered(Byte.BYTES);
+
+        return buffer.get();
+    }
+
+    @Override
+    public final int readUnsignedByte() throws IOException {
+
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public final short readShort() throws IOException {
+
+        ensureBuffered(Short.BYTES);
+
+        return buffer.getShort();
+    }
+
+    @Override
+    public final int readUnsignedShort() throws IOException {
+
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public final char readChar() throws IOException {
+
+        ensureBuffered(Character.BYTES);
+
+        return buffer.getChar();
+    }
+
+    @Override
+    public final int readInt() throws IOException {
+
+        ensureBuffered(Integer.BYTES);
+
+        return buffer.getInt();
+    }
+
+    @Override
+    public final long readLong() throws IOException {
+
+        ensureBuffered(Long.BYTES);
+
+        return buffer.getLong();
+    }
+
+    @Override
+    public final float readFloat() throws IOException {
+
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public final double readDouble() throws IOException {
+
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Read a line of bytes terminated by {@code '\n'}, {@code '\r'} or {@code "\r\n"}, each byte converted to a character as by
+     * {@link java.io.DataInputStream#readLine()}.
+     *
+     * @return the line without terminator, or {@code null} if at end of stream before any byte was read
+     */
+    @Override
+    public final String readLine() throws IOException {
+
+        final StringBuilder sb = new StringBuilder();
+
+        boolean endOfStream = false;
+
+        for (;;) {
+
+            if (!buffer.hasRemaining() && !tryFill()) {
+
+                endOfStream = true;
+                break;
+            }
+
+            final int b = buffer.get() & 0xFF;
+
+            if (b == '\n') {
+
+                break;
+            }
+            else if (b == '\r') {
+
+                if ((buffer.hasRemaining() || tryFill()) && buffer.get(buffer.position()) == '\n') {
+
+                    buffer.get();
+                }
+
+                break;
+            }
+
+            sb.append((char)b);
+        }
+
+        return endOfStream && sb.length() == 0 ? null : sb.toString();
+    }
+
+    @Override
+    public final String readUTF() throws IOException {
+
+        return DataInputStream.readUTF(this);
+    }
+
+    private void ensureBuffered(int numBytes) throws IOException {
+
+        if (buffer.remaining() < numBytes) {
+
+            fill(numBytes);
+        }
+    }
+
+    private boolean tryFill() throws IOException {
+
+        boolean filled;
+
+        try {
+            fill(1);
+
+            filled = true;
+        }
+        catch (EOFException ex) {
+
+            filled = false;
+        }
+
+        return filled;
+    }
+
+    private void fill(int minBytes) throws IOException {
+
+        buffer.compact();
+
+        try {
+            while (buffer.position() < minBytes) {
+
+                readFromChannel(buffer);
+            }
+        }
+        finally {
+            buffer.flip();
+        }
+
+        if (DEBUG) {
+
+            System.out.println("filled buffer with " + buffer.remaining() + " bytes");
+        }
+    }
+
+    private void readFromChannel(ByteBuffer dst) throws IOException {
+
+        final int numRead = channel.read(dst);
+
+        if (numRead < 0) {
+
+            throw new EOFException();
+        }
+        else if (numRead == 0) {
+
+            // Non-blocking channel with no data available
+            if (readinessWaiter != null) {
+
+                readinessWaiter.awaitReadable();
+            }
+        }
+    }
+}
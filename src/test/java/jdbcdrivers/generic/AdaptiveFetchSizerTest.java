@@ -0,0 +1,73 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class AdaptiveFetchSizerTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testConstructorParameterValidation() {
+
+        assertThatThrownBy(() -> new AdaptiveFetchSizer(1, 0, 100, 1000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveFetchSizer(0, 10, 100, 1000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveFetchSizer(11, 10, 100, 1000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveFetchSizer(1, 10, 0, 1000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveFetchSizer(1, 10, 100, 99)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testFastConsumerNarrowRows() {
+
+        final AdaptiveFetchSizer fetchSizer = new AdaptiveFetchSizer(10, 80, 100, 1000);
+
+        assertThat(fetchSizer.getNumRowsToRetrieve()).isEqualTo(10);
+
+        // Rows of 10 bytes, so more than 10 rows fit in buffer, growing by doubling
+        fetchSizer.onRetrieved(10, 100, 1_000_000L, 0L, 0);
+        assertThat(fetchSizer.getNumRowsToRetrieve()).isEqualTo(20);
+
+        fetchSizer.onRetrieved(20, 200, 1_000_000L, 1_000L, 10);
+        assertThat(fetchSizer.getNumRowsToRetrieve()).isEqualTo(40);
+
+        fetchSizer.onRetrieved(40, 400, 1_000_000L, 1_000L, 20);
+        assertThat(fetchSizer.getNumRowsToRetrieve()).isEqualTo(80);
+
+        // Limited to max rows
+        fetchSizer.onRetrieved(80, 800, 1_000_000L, 1_000L, 40);
+        assertThat(fetchSizer.getNumRowsToRetrieve()).isEqualTo(80);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testWideRowsLimitedToBuffer() {
+
+        final AdaptiveFetchSizer fetchSizer = new AdaptiveFetchSizer(10, 80, 100, 1000);
+
+        fetchSizer.onRetrieved(10, 1000, 1_000_000L, 0L, 0);
+        assertThat(fetchSizer.getNumRowsToRetrieve()).isEqualTo(10);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testSlowConsumer() {
+
+        final AdaptiveFetchSizer fetchSizer = new AdaptiveFetchSizer(10, 80, 100, 1000);
+
+        fetchSizer.onRetrieved(10, 100, 1_000_000L, 0L, 0);
+
+        // 10 ms per row versus 1 ms round-trip, so few rows needed to hide round-trip
+        fetchSizer.onRetrieved(20, 200, 1_000_000L, 100_000_000L, 10);
+        assertThat(fetchSizer.getNumRowsToRetrieve()).isEqualTo(1);
+
+        // Consumer speeding up grows gradually
+        fetchSizer.onRetrieved(1, 10, 1_000_000L, 10_000L, 1);
+        assertThat(fetchSizer.getNumRowsToRetrieve()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,63 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class AsciiCharSequenceTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testParameterValidation() {
+
+        final AsciiCharSequence charSequence = new AsciiCharSequence();
+
+        assertThatThrownBy(() -> charSequence.init(null, 0, 0)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> charSequence.init(new byte[10], -1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> charSequence.init(new byte[10], 0, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> charSequence.init(new byte[10], 5, 6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testView() {
+
+        final byte[] bytes = "xxhello worldyy".getBytes(StandardCharsets.US_ASCII);
+
+        final AsciiCharSequence charSequence = new AsciiCharSequence();
+
+        charSequence.init(bytes, 2, 11);
+
+        assertThat(charSequence.length()).isEqualTo(11);
+        assertThat(charSequence.charAt(0)).isEqualTo('h');
+        assertThat(charSequence.charAt(10)).isEqualTo('d');
+        assertThatThrownBy(() -> charSequence.charAt(11)).isInstanceOf(IndexOutOfBoundsException.class);
+
+        assertThat(charSequence.toString()).isEqualTo("hello world");
+        assertThat(charSequence.subSequence(6, 11).toString()).isEqualTo("world");
+        assertThat(charSequence.hashCode()).isEqualTo("hello world".hashCode());
+
+        assertThat(charSequence.contentEquals("hello world")).isTrue();
+        assertThat(charSequence.contentEquals("hello worle")).isFalse();
+        assertThat(charSequence.contentEquals("hello")).isFalse();
+
+        final AsciiCharSequence other = new AsciiCharSequence();
+
+        other.init("hello world".getBytes(StandardCharsets.US_ASCII), 0, 11);
+
+        assertThat(charSequence).isEqualTo(other);
+        assertThat(charSequence).isNotEqualTo("hello world");
+
+        charSequence.init(bytes, 0, 0);
+
+        assertThat(charSequence.length()).isEqualTo(0);
+        assertThat(charSequence.toString()).isEmpty();
+        assertThat(charSequence.hashCode()).isEqualTo("".hashCode());
+    }
+}
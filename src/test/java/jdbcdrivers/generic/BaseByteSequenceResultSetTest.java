@@ -0,0 +1,296 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+import jdbcdrivers.generic.api.ColumnBatch;
+import jdbcdrivers.generic.exceptions.ResultSetClosedException;
+
+public final class BaseByteSequenceResultSetTest extends BaseTest {
+
+    private static final ResultSetClosing NO_CLOSING = r -> { };
+
+    private static final int BATCH_CAPACITY = 2;
+
+    private static final int NUM_VARIABLE_LENGTH_ROWS = 7;
+
+    @Test
+    @Category(UnitTests.class)
+    public void testNextBatch() throws Exception {
+
+        final TestResultRows rows = createBatchRows();
+
+        checkNextBatch(rows.createBufferedResultSet("preparedStatement", NO_CLOSING, new TestResultRowDecoder(true), 1024));
+        checkNextBatch(rows.createBufferedResultSet("preparedStatement", NO_CLOSING, new TestResultRowDecoder(false), 1024));
+
+        checkNextBatch(rows.createConnectionDirectResultSet("preparedStatement", rows.createRetrieval(), new TestResultRowDecoder(true),
+                GenericResultSetMetaData.NO_TOTAL_NUM_ROWS, 2));
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testNextBatchNullsOfColumnWithoutEncodedNulls() throws Exception {
+
+        final TestResultRows rows = createBatchRows();
+
+        final BufferedResultSet<Object, JDBCType> resultSet = rows.createBufferedResultSet("preparedStatement", NO_CLOSING, new TestResultRowDecoder(true),
+                1024);
+
+        final ColumnBatch columnBatch = new ColumnBatch(BATCH_CAPACITY);
+
+        columnBatch.selectStringColumn(2, new int[BATCH_CAPACITY + 1], new byte[BATCH_CAPACITY * (TestResultRows.MAX_VARCHAR_LENGTH + 1)],
+                new long[ColumnBatch.getNullsLength(BATCH_CAPACITY)]);
+
+        assertThatThrownBy(() -> resultSet.nextBatch(columnBatch)).isInstanceOf(IllegalArgumentException.class);
+
+        // Rejected before moving past any rows
+        assertThat(resultSet.next()).isTrue();
+        assertThat(resultSet.getInt(0)).isEqualTo(1);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testVariableLengthRows() throws Exception {
+
+        final TestResultRows rows = createVariableLengthRows();
+
+        // Rows crossing chunks of buffer
+        checkVariableLengthRows(rows.createBufferedResultSet("preparedStatement", NO_CLOSING, new TestResultRowDecoder(true), 1024), 0);
+        checkVariableLengthRows(rows.createBufferedResultSet("preparedStatement", NO_CLOSING, new TestResultRowDecoder(false), 1024), 0);
+
+        // Rows crossing retrievals
+        checkVariableLengthRows(rows.createConnectionDirectResultSet("preparedStatement", rows.createRetrieval(), new TestResultRowDecoder(true),
+                GenericResultSetMetaData.NO_TOTAL_NUM_ROWS, 2), 0);
+        checkVariableLengthRows(rows.createConnectionDirectResultSet("preparedStatement", rows.createRetrieval(), new TestResultRowDecoder(false),
+                GenericResultSetMetaData.NO_TOTAL_NUM_ROWS, 3), 0);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testReadRemainingVariableLengthRowsToBuffer() throws Exception {
+
+        final TestResultRows rows = createVariableLengthRows();
+
+        final ConnectionDirectResultSet<Object, JDBCType> resultSet = rows.createConnectionDirectResultSet("preparedStatement", rows.createRetrieval(),
+                new TestResultRowDecoder(false), GenericResultSetMetaData.NO_TOTAL_NUM_ROWS, 3);
+
+        // Positioned on a row within the first retrieval
+        assertThat(resultSet.next()).isTrue();
+        assertThat(resultSet.next()).isTrue();
+
+        checkVariableLengthRow(resultSet, 1);
+
+        final BufferedResultSet<Object, JDBCType> bufferedResultSet = resultSet.readRemainingToBuffer();
+
+        // Positioned on the current row
+        checkVariableLengthRow(bufferedResultSet, 1);
+        checkVariableLengthRows(bufferedResultSet, 2);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testConstantRowLengthSameAsVariableRowLength() throws Exception {
+
+        final TestResultRows rows = new TestResultRows(JDBCType.INTEGER, JDBCType.BIGINT, JDBCType.INTEGER);
+
+        for (int i = 0; i < 9; ++ i) {
+
+            rows.addRow(i % 3 == 0 ? null : -i, (long)i << 32, Integer.MAX_VALUE - i);
+        }
+
+        // Constant length decoding of all columns takes constant row length path
+        final TestResultRowDecoder constantLengthDecoder = new TestResultRowDecoder(true);
+        final TestResultRowDecoder variableLengthDecoder = new TestResultRowDecoder(false);
+
+        checkSameRows(rows.createBufferedResultSet("preparedStatement", NO_CLOSING, constantLengthDecoder, 64),
+                rows.createBufferedResultSet("preparedStatement", NO_CLOSING, variableLengthDecoder, 64), 9);
+
+        checkSameRows(rows.createConnectionDirectResultSet("preparedStatement", rows.createRetrieval(), constantLengthDecoder,
+                        GenericResultSetMetaData.NO_TOTAL_NUM_ROWS, 2),
+                rows.createConnectionDirectResultSet("preparedStatement", rows.createRetrieval(), variableLengthDecoder,
+                        GenericResultSetMetaData.NO_TOTAL_NUM_ROWS, 2), 9);
+
+        // Remaining rows buffered from within a retrieval
+        final ConnectionDirectResultSet<Object, JDBCType> constantLengthResultSet = rows.createConnectionDirectResultSet("preparedStatement",
+                rows.createRetrieval(), constantLengthDecoder, GenericResultSetMetaData.NO_TOTAL_NUM_ROWS, 4);
+        final ConnectionDirectResultSet<Object, JDBCType> variableLengthResultSet = rows.createConnectionDirectResultSet("preparedStatement",
+                rows.createRetrieval(), variableLengthDecoder, GenericResultSetMetaData.NO_TOTAL_NUM_ROWS, 4);
+
+        for (int i = 0; i < 6; ++ i) {
+
+            assertThat(constantLengthResultSet.next()).isTrue();
+            assertThat(variableLengthResultSet.next()).isTrue();
+        }
+
+        // Positioned on the sixth row so compared from the next
+        checkSameRows(constantLengthResultSet.readRemainingToBuffer(), variableLengthResultSet.readRemainingToBuffer(), 3);
+    }
+
+    private static void checkSameRows(BaseByteSequenceResultSet<Object, JDBCType> constantLengthResultSet,
+            BaseByteSequenceResultSet<Object, JDBCType> variableLengthResultSet, int expectedNumRows) throws Exception {
+
+        assertThat(constantLengthResultSet.getConstantRowLength()).isEqualTo(Integer.BYTES + Long.BYTES + Integer.BYTES);
+        assertThat(variableLengthResultSet.getConstantRowLength()).isEqualTo(ColumnGenericResultSet.NO_CONSTANT_ROW_LENGTH);
+
+        int numRows = 0;
+
+        for (;;) {
+
+            final boolean hasNext = constantLengthResultSet.next();
+
+            assertThat(variableLengthResultSet.next()).isEqualTo(hasNext);
+
+            if (!hasNext) {
+
+                break;
+            }
+
+            assertThat(constantLengthResultSet.getInt(2)).isEqualTo(variableLengthResultSet.getInt(2));
+            assertThat(constantLengthResultSet.getLong(1)).isEqualTo(variableLengthResultSet.getLong(1));
+            assertThat(constantLengthResultSet.getInt(0)).isEqualTo(variableLengthResultSet.getInt(0));
+
+            ++ numRows;
+        }
+
+        assertThat(numRows).isEqualTo(expectedNumRows);
+
+        constantLengthResultSet.close();
+        variableLengthResultSet.close();
+    }
+
+    private static TestResultRows createVariableLengthRows() {
+
+        final TestResultRows rows = new TestResultRows(JDBCType.VARCHAR, JDBCType.INTEGER, JDBCType.VARCHAR, JDBCType.BIGINT);
+
+        for (int i = 0; i < NUM_VARIABLE_LENGTH_ROWS; ++ i) {
+
+            // Lengths over 127 for unsigned length byte
+            rows.addRow(createString('a', i * 40), i, createString('b', TestResultRows.MAX_VARCHAR_LENGTH - i * 40), -(long)i);
+        }
+
+        return rows;
+    }
+
+    private static void checkVariableLengthRows(BaseByteSequenceResultSet<Object, JDBCType> resultSet, int firstRowIndex) throws Exception {
+
+        for (int i = firstRowIndex; i < NUM_VARIABLE_LENGTH_ROWS; ++ i) {
+
+            assertThat(resultSet.next()).isTrue();
+
+            checkVariableLengthRow(resultSet, i);
+        }
+
+        assertThat(resultSet.next()).isFalse();
+        assertThat(resultSet.next()).isFalse();
+
+        resultSet.close();
+    }
+
+    private static void checkVariableLengthRow(BaseByteSequenceResultSet<Object, JDBCType> resultSet, int rowIndex) throws Exception {
+
+        // Columns after variable length columns before the columns preceding them
+        assertThat(resultSet.getLong(3)).isEqualTo(-(long)rowIndex);
+        assertThat(resultSet.getString(2)).isEqualTo(createString('b', TestResultRows.MAX_VARCHAR_LENGTH - rowIndex * 40));
+        assertThat(resultSet.getInt(1)).isEqualTo(rowIndex);
+        assertThat(resultSet.getString(0)).isEqualTo(createString('a', rowIndex * 40));
+
+        // Again from offsets already found for the row
+        assertThat(resultSet.getLong(3)).isEqualTo(-(long)rowIndex);
+    }
+
+    private static String createString(char c, int length) {
+
+        final StringBuilder sb = new StringBuilder(length);
+
+        for (int i = 0; i < length; ++ i) {
+
+            sb.append(c);
+        }
+
+        return sb.toString();
+    }
+
+    private static TestResultRows createBatchRows() {
+
+        final TestResultRows rows = new TestResultRows(JDBCType.INTEGER, JDBCType.BIGINT, JDBCType.VARCHAR);
+
+        rows.addRow(1, 1L, "a");
+        rows.addRow(-1, -1L, "");
+        rows.addRow(null, null, "abc");
+        rows.addRow(Integer.MAX_VALUE, Long.MIN_VALUE + 1L, "de");
+        rows.addRow(-256, 0x100000000L, "f");
+
+        return rows;
+    }
+
+    private static void checkNextBatch(BaseByteSequenceResultSet<Object, JDBCType> resultSet) throws Exception {
+
+        final int[] intValues = new int[BATCH_CAPACITY];
+        final long[] intNulls = new long[ColumnBatch.getNullsLength(BATCH_CAPACITY)];
+        final long[] longValues = new long[BATCH_CAPACITY];
+        final long[] longNulls = new long[ColumnBatch.getNullsLength(BATCH_CAPACITY)];
+        final int[] stringOffsets = new int[BATCH_CAPACITY + 1];
+        final byte[] stringBytes = new byte[BATCH_CAPACITY * (TestResultRows.MAX_VARCHAR_LENGTH + 1)];
+
+        final ColumnBatch columnBatch = new ColumnBatch(BATCH_CAPACITY);
+
+        // Not in column order
+        columnBatch.selectStringColumn(2, stringOffsets, stringBytes, null);
+        columnBatch.selectIntColumn(0, intValues, intNulls);
+        columnBatch.selectLongColumn(1, longValues, longNulls);
+
+        assertThat(resultSet.nextBatch(columnBatch)).isEqualTo(2);
+
+        assertThat(intValues[0]).isEqualTo(1);
+        assertThat(intValues[1]).isEqualTo(-1);
+        assertThat(longValues[0]).isEqualTo(1L);
+        assertThat(longValues[1]).isEqualTo(-1L);
+        assertThat(ColumnBatch.isNull(intNulls, 0)).isFalse();
+        assertThat(ColumnBatch.isNull(intNulls, 1)).isFalse();
+        checkStrings(stringOffsets, stringBytes, "a", "");
+
+        // Current row is last row of batch
+        assertThat(resultSet.getInt(0)).isEqualTo(-1);
+
+        assertThat(resultSet.nextBatch(columnBatch)).isEqualTo(2);
+
+        assertThat(ColumnBatch.isNull(intNulls, 0)).isTrue();
+        assertThat(ColumnBatch.isNull(longNulls, 0)).isTrue();
+        assertThat(intValues[1]).isEqualTo(Integer.MAX_VALUE);
+        assertThat(longValues[1]).isEqualTo(Long.MIN_VALUE + 1L);
+        assertThat(ColumnBatch.isNull(intNulls, 1)).isFalse();
+        assertThat(ColumnBatch.isNull(longNulls, 1)).isFalse();
+        checkStrings(stringOffsets, stringBytes, "abc", "de");
+
+        // Fewer rows than capacity, nulls of previous batch cleared
+        assertThat(resultSet.nextBatch(columnBatch)).isEqualTo(1);
+
+        assertThat(intValues[0]).isEqualTo(-256);
+        assertThat(longValues[0]).isEqualTo(0x100000000L);
+        assertThat(ColumnBatch.isNull(intNulls, 0)).isFalse();
+        assertThat(ColumnBatch.isNull(longNulls, 0)).isFalse();
+        checkStrings(stringOffsets, stringBytes, "f");
+
+        assertThat(resultSet.nextBatch(columnBatch)).isEqualTo(0);
+        assertThat(resultSet.next()).isFalse();
+
+        resultSet.close();
+
+        assertThatThrownBy(() -> resultSet.nextBatch(columnBatch)).isInstanceOf(ResultSetClosedException.class);
+    }
+
+    private static void checkStrings(int[] offsets, byte[] bytes, String ... expected) {
+
+        for (int i = 0; i < expected.length; ++ i) {
+
+            assertThat(new String(bytes, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.US_ASCII)).isEqualTo(expected[i]);
+        }
+    }
+}
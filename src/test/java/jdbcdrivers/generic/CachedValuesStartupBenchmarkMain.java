@@ -0,0 +1,94 @@
+package jdbcdrivers.generic;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Objects;
+
+/**
+ * Compares time and retained heap of creating {@link CachedValues} with values cached on first use, to populating every cached value
+ * as was done at class initialization before.
+ */
+public class CachedValuesStartupBenchmarkMain {
+
+    public static void main(String[] args) {
+
+        final long heapBefore = getUsedHeapAfterGC();
+
+        final long createStart = System.nanoTime();
+
+        final CachedValues cachedValues = new CachedValues(true, CachedValues.DEFAULT_MAX_CACHED_INTEGER, true);
+
+        final long createNanos = System.nanoTime() - createStart;
+
+        final long heapAfterCreate = getUsedHeapAfterGC();
+
+        final long populateStart = System.nanoTime();
+
+        populateAll(cachedValues);
+
+        final long populateNanos = System.nanoTime() - populateStart;
+
+        final long heapAfterPopulate = getUsedHeapAfterGC();
+
+        print("create", createNanos, heapAfterCreate - heapBefore);
+        print("create and populate all", createNanos + populateNanos, heapAfterPopulate - heapBefore);
+
+        // Keep reachable until measured
+        Objects.requireNonNull(cachedValues);
+    }
+
+    private static void populateAll(CachedValues cachedValues) {
+
+        for (int i = 0; i <= Short.MAX_VALUE; ++ i) {
+
+            cachedValues.getShort((short)i);
+        }
+
+        for (int i = 0; i <= cachedValues.getMaxCachedInteger(); ++ i) {
+
+            cachedValues.getInt(i);
+        }
+
+        final char[] chars = new char[3];
+
+        for (char c1 = 0; c1 <= CachedValues.CACHE_ONE_CHAR_MAX; ++ c1) {
+
+            chars[0] = c1;
+
+            cachedValues.getString(chars, 1);
+
+            for (char c2 = 0; c2 <= CachedValues.CACHE_TWO_CHARS_MAX; ++ c2) {
+
+                chars[1] = c2;
+
+                cachedValues.getString(chars, 2);
+
+                for (char c3 = 0; c3 <= CachedValues.CACHE_TWO_CHARS_MAX; ++ c3) {
+
+                    chars[2] = c3;
+
+                    cachedValues.getString(chars, 3);
+                }
+            }
+        }
+    }
+
+    private static long getUsedHeapAfterGC() {
+
+        final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+        for (int i = 0; i < 3; ++ i) {
+
+            System.gc();
+        }
+
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void print(String action, long nanos, long heapBytes) {
+
+        Objects.requireNonNull(action);
+
+        System.out.println("Ran action '" + action + "', took " + (nanos / 1000L) + " micros, retained " + (heapBytes / 1024L) + " KB heap");
+    }
+}
@@ -72,7 +72,7 @@ public final class CachedValuesTest extends BaseTest {
 
             assertThat(boxedInteger.intValue()).isEqualTo(i);
 
-            if (i >= 0 && i <= CachedValues.MAX_CACHED_INTEGER) {
+            if (i >= 0 && i <= cachedValues.getMaxCachedInteger()) {
 
                 assertThat(boxedInteger).isSameAs(cachedValues.getInt(i));
             }
@@ -223,4 +223,88 @@ public final class CachedValuesTest extends BaseTest {
             }
         }
     }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testStringLength() {
+
+        final char[] chars = new char[] { 'a', '\u00e9', 'b', 'c' };
+
+        assertThat(cachedValues.getString(chars, 2)).isEqualTo("a\u00e9");
+        assertThat(cachedValues.getString(chars, 3)).isEqualTo("a\u00e9b");
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAsciiString() {
+
+        final byte[] bytes = new byte[] { 'x', 'a', 'b', '!', 'c', 'd', 'e' };
+
+        assertThat(cachedValues.getAsciiString(bytes, 1, 0)).isEmpty();
+
+        assertThat(cachedValues.getAsciiString(bytes, 1, 1)).isEqualTo("a");
+        assertThat(cachedValues.getAsciiString(bytes, 1, 1)).isSameAs(cachedValues.getString(new char[] { 'a' }));
+
+        assertThat(cachedValues.getAsciiString(bytes, 1, 2)).isEqualTo("ab");
+        assertThat(cachedValues.getAsciiString(bytes, 1, 2)).isSameAs(cachedValues.getString(new char[] { 'a', 'b' }));
+
+        assertThat(cachedValues.getAsciiString(bytes, 4, 3)).isEqualTo("cde");
+        assertThat(cachedValues.getAsciiString(bytes, 4, 3)).isSameAs(cachedValues.getString(new char[] { 'c', 'd', 'e' }));
+
+        assertThat(cachedValues.getAsciiString(bytes, 1, 3)).isEqualTo("ab!");
+
+        assertThat(cachedValues.getAsciiString(bytes, 0, bytes.length)).isEqualTo("xab!cde");
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testMaxCachedInteger() {
+
+        final CachedValues limited = new CachedValues(true, 10, true);
+
+        assertThat(limited.getInt(10)).isSameAs(limited.getInt(10));
+        assertThat(limited.getInt(1000)).isNotSameAs(limited.getInt(1000));
+        assertThat(limited.getShort((short)10)).isSameAs(limited.getShort((short)10));
+        assertThat(limited.getShort((short)1000)).isNotSameAs(limited.getShort((short)1000));
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testDisabled() {
+
+        final CachedValues disabled = new CachedValues(false, CachedValues.DEFAULT_MAX_CACHED_INTEGER, true);
+
+        assertThat(disabled.getMaxCachedInteger()).isEqualTo(-1);
+
+        assertThat(disabled.getInt(1000)).isEqualTo(1000);
+        assertThat(disabled.getInt(1000)).isNotSameAs(disabled.getInt(1000));
+        assertThat(disabled.getShort((short)1000)).isNotSameAs(disabled.getShort((short)1000));
+
+        final char[] chars = new char[] { 'a', 'b', 'c' };
+
+        for (int length = 1; length <= chars.length; ++ length) {
+
+            assertThat(disabled.getString(chars, length)).isEqualTo(String.valueOf(chars, 0, length));
+            assertThat(disabled.getString(chars, length)).isNotSameAs(disabled.getString(chars, length));
+        }
+
+        final byte[] bytes = new byte[] { 'a', 'b', 'c' };
+
+        assertThat(disabled.getAsciiString(bytes, 0, 1)).isEqualTo("a");
+        assertThat(disabled.getAsciiString(bytes, 0, 2)).isEqualTo("ab");
+        assertThat(disabled.getAsciiString(bytes, 0, 3)).isEqualTo("abc");
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testThreeCharacterStringsDisabled() {
+
+        final CachedValues noThreeCharacterStrings = new CachedValues(true, CachedValues.DEFAULT_MAX_CACHED_INTEGER, false);
+
+        final char[] chars = new char[] { 'a', 'b', 'c' };
+
+        assertThat(noThreeCharacterStrings.getString(chars, 2)).isSameAs(noThreeCharacterStrings.getString(chars, 2));
+        assertThat(noThreeCharacterStrings.getString(chars, 3)).isEqualTo("abc");
+        assertThat(noThreeCharacterStrings.getString(chars, 3)).isNotSameAs(noThreeCharacterStrings.getString(chars, 3));
+    }
 }
@@ -0,0 +1,73 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class ColumnLabelTableTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testCaseInsensitive() {
+
+        final ColumnLabelTable columnLabelTable = new ColumnLabelTable(new String[] { "id", "Name", "COUNTRY_CODE", "Stra\u00dfe", "\u00c5r" });
+
+        assertThat(columnLabelTable.getIndex("id")).isEqualTo(0);
+        assertThat(columnLabelTable.getIndex("ID")).isEqualTo(0);
+        assertThat(columnLabelTable.getIndex("name")).isEqualTo(1);
+        assertThat(columnLabelTable.getIndex("nAmE")).isEqualTo(1);
+        assertThat(columnLabelTable.getIndex("country_code")).isEqualTo(2);
+        assertThat(columnLabelTable.getIndex("STRA\u00dfE")).isEqualTo(3);
+        assertThat(columnLabelTable.getIndex("\u00e5R")).isEqualTo(4);
+
+        assertThat(columnLabelTable.getIndex("")).isEqualTo(ColumnLabelTable.NOT_FOUND);
+        assertThat(columnLabelTable.getIndex("nam")).isEqualTo(ColumnLabelTable.NOT_FOUND);
+        assertThat(columnLabelTable.getIndex("names")).isEqualTo(ColumnLabelTable.NOT_FOUND);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testDuplicateLabels() {
+
+        final ColumnLabelTable columnLabelTable = new ColumnLabelTable(new String[] { "a", "b", "A" });
+
+        assertThat(columnLabelTable.getIndex("a")).isEqualTo(0);
+        assertThat(columnLabelTable.getIndex("A")).isEqualTo(0);
+        assertThat(columnLabelTable.getIndex("b")).isEqualTo(1);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testManyColumns() {
+
+        final int numColumns = 1000;
+
+        final String[] labels = new String[numColumns];
+
+        for (int i = 0; i < numColumns; ++ i) {
+
+            labels[i] = "column" + i;
+        }
+
+        final ColumnLabelTable columnLabelTable = new ColumnLabelTable(labels);
+
+        for (int i = 0; i < numColumns; ++ i) {
+
+            assertThat(columnLabelTable.getIndex("COLUMN" + i)).isEqualTo(i);
+        }
+
+        assertThat(columnLabelTable.getIndex("column" + numColumns)).isEqualTo(ColumnLabelTable.NOT_FOUND);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testNoColumns() {
+
+        final ColumnLabelTable columnLabelTable = new ColumnLabelTable(new String[0]);
+
+        assertThat(columnLabelTable.getIndex("a")).isEqualTo(ColumnLabelTable.NOT_FOUND);
+    }
+}
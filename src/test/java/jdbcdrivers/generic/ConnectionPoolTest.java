@@ -0,0 +1,361 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static jdbcdrivers.generic.TestConnections.FAILING_QUERY;
+import static jdbcdrivers.generic.TestConnections.NUM_ROWS;
+import static jdbcdrivers.generic.TestConnections.QUERY;
+
+import java.sql.JDBCType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.AutoGeneratedKeys;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.Concurrency;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.ResultSetType;
+import jdbcdrivers.generic.exceptions.AlreadyClosedException;
+import jdbcdrivers.generic.exceptions.ConnectionClosedException;
+import jdbcdrivers.generic.exceptions.GenericDriverException;
+import jdbcdrivers.generic.exceptions.PreparedStatementClosedException;
+import jdbcdrivers.generic.exceptions.ProtocolIOException;
+import jdbcdrivers.generic.exceptions.ProtocolStateException;
+import jdbcdrivers.generic.exceptions.ResultSetClosedException;
+import jdbcdrivers.generic.exceptions.StatementClosedException;
+
+public final class ConnectionPoolTest extends BaseTest {
+
+    private static final int FETCH_SIZE = 2;
+
+    private static final GenericStatementExecutionOptions OPTIONS = new GenericStatementExecutionOptions(AutoGeneratedKeys.NO_GENERATED_KEYS,
+            ResultSetType.FORWARD_ONLY, Concurrency.READ_ONLY);
+
+    @Test
+    @Category(UnitTests.class)
+    public void testReuse() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final ConnectionPool.PooledConnection<Object, JDBCType> pooledConnection = connectionPool.borrow();
+
+            connectionPool.release(pooledConnection, true);
+
+            // Idle connection borrowed again without opening a new one
+            assertThat(connectionPool.borrow()).isSameAs(pooledConnection);
+            assertThat(connections.getNumOpened()).isEqualTo(1);
+
+            // Closed when not reusable
+            connectionPool.release(pooledConnection, false);
+
+            assertThat(pooledConnection.getSocket().isValidForReuse()).isFalse();
+
+            final ConnectionPool.PooledConnection<Object, JDBCType> openedPooledConnection = connectionPool.borrow();
+
+            assertThat(openedPooledConnection).isNotSameAs(pooledConnection);
+            assertThat(connections.getNumOpened()).isEqualTo(2);
+
+            connectionPool.release(openedPooledConnection, true);
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testEvictTimedOutWhenBorrowing() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool(1, 50L);
+
+            final ConnectionPool.PooledConnection<Object, JDBCType> pooledConnection = connectionPool.borrow();
+            final ConnectionPool.PooledConnection<Object, JDBCType> otherPooledConnection = connectionPool.borrow();
+
+            connectionPool.release(pooledConnection, true);
+            connectionPool.release(otherPooledConnection, true);
+
+            assertThat(pooledConnection.getSocket().isValidForReuse()).isTrue();
+
+            Thread.sleep(200L);
+
+            // Least recently returned evicted without any connection returned, most recently returned kept for minimum size
+            assertThat(connectionPool.borrow()).isSameAs(otherPooledConnection);
+
+            assertThat(pooledConnection.getSocket().isValidForReuse()).isFalse();
+            assertThat(connections.getNumOpened()).isEqualTo(2);
+
+            Thread.sleep(200L);
+
+            // Not evicted below minimum size when returned
+            connectionPool.release(otherPooledConnection, true);
+
+            assertThat(connectionPool.borrow()).isSameAs(otherPooledConnection);
+            assertThat(otherPooledConnection.getSocket().isValidForReuse()).isTrue();
+
+            connectionPool.release(otherPooledConnection, true);
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testCloseResetsStateForReuse() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            connection.setAutoCommit(false);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = createPreparedStatement(connection, QUERY);
+
+            final GenericResultSet resultSet = executeQuery(preparedStatement);
+
+            // Closed while still retrieving rows from the connection, within a transaction
+            checkNextRows(resultSet, 1, FETCH_SIZE + 1);
+
+            connection.commit();
+
+            connection.close();
+
+            final GenericDriverConnection<Object, JDBCType> reusedConnection = connections.borrowConnection(connectionPool);
+
+            assertThat(connections.getNumOpened()).isEqualTo(1);
+
+            // Auto commit and idle state restored, so may execute a new query
+            assertThat(reusedConnection.getAutoCommit()).isTrue();
+
+            final GenericPreparedStatement<Object, JDBCType> reusedPreparedStatement = createPreparedStatement(reusedConnection, QUERY);
+
+            final GenericResultSet reusedResultSet = executeQuery(reusedPreparedStatement);
+
+            checkNextRows(reusedResultSet, 1, NUM_ROWS);
+
+            assertThat(reusedResultSet.next()).isFalse();
+
+            reusedResultSet.close();
+            reusedPreparedStatement.close();
+            reusedConnection.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testCloseInvalidatesHandles() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = createPreparedStatement(connection, QUERY);
+            final GenericPreparedStatement<Object, JDBCType> closedPreparedStatement = createPreparedStatement(connection, QUERY);
+
+            final GenericResultSet resultSet = executeQuery(preparedStatement);
+
+            checkNextRows(resultSet, 1, 1);
+
+            closedPreparedStatement.close();
+
+            connection.close();
+
+            assertThatThrownBy(() -> resultSet.getInt(0)).isInstanceOf(ResultSetClosedException.class);
+
+            // Must not retrieve rows of queries executed by later borrowers
+            assertThatThrownBy(() -> resultSet.next()).isInstanceOf(ProtocolStateException.class);
+
+            assertThatThrownBy(() -> executeQuery(preparedStatement)).isInstanceOf(PreparedStatementClosedException.class);
+
+            // Statement not cached so closed on the database, once for each statement
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).containsExactly(QUERY, QUERY);
+
+            // Not closed again when closing after returned to pool
+            assertThatThrownBy(() -> preparedStatement.close()).isInstanceOf(AlreadyClosedException.class);
+            assertThatThrownBy(() -> resultSet.close()).isInstanceOf(AlreadyClosedException.class);
+
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).hasSize(2);
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testCloseInvalidatesStatementsAndPipelines() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            final GenericStatement statement = connection.createStatement(OPTIONS);
+            final GenericPipeline<Object, JDBCType> pipeline = connection.createPipeline();
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = createPreparedStatement(connection, QUERY);
+
+            final CompletableFuture<Integer> queuedUpdate = pipeline.addUpdate(preparedStatement, connection.allocateParameters(1));
+
+            // Closing deferred while pinned by queued update
+            preparedStatement.close();
+
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).isEmpty();
+
+            connection.close();
+
+            // Queued update never sent, unpinned so closed on the database
+            assertThatThrownBy(() -> queuedUpdate.get()).hasCauseInstanceOf(ConnectionClosedException.class);
+
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).containsExactly(QUERY);
+
+            // Must not execute on the session of later borrowers
+            assertThatThrownBy(() -> statement.executeQuery(QUERY)).isInstanceOf(StatementClosedException.class);
+            assertThatThrownBy(() -> statement.close()).isInstanceOf(AlreadyClosedException.class);
+
+            assertThatThrownBy(() -> pipeline.sync()).isInstanceOf(ConnectionClosedException.class);
+            assertThatThrownBy(() -> pipeline.syncAsync().get()).hasCauseInstanceOf(ConnectionClosedException.class);
+
+            assertThatThrownBy(() -> connection.createStatement(OPTIONS)).isInstanceOf(ConnectionClosedException.class);
+            assertThatThrownBy(() -> connection.createPipeline()).isInstanceOf(ConnectionClosedException.class);
+            assertThatThrownBy(() -> connection.commit()).isInstanceOf(ConnectionClosedException.class);
+
+            // Asynchronous operations submitted after close not run
+            final CompletableFuture<Integer> asyncOperation = connection.executeAsync(() -> 1);
+
+            assertThatThrownBy(() -> asyncOperation.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ConnectionClosedException.class);
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testCloseReleasesCachedPreparedStatements() throws Exception {
+
+        try (TestConnections connections = new TestConnections(true)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = createPreparedStatement(connection, QUERY);
+
+            connection.close();
+
+            assertThatThrownBy(() -> executeQuery(preparedStatement)).isInstanceOf(PreparedStatementClosedException.class);
+
+            // Released to the cache instead of closed on the database
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).isEmpty();
+
+            final GenericDriverConnection<Object, JDBCType> reusedConnection = connections.borrowConnection(connectionPool);
+
+            assertThat(connections.getNumOpened()).isEqualTo(1);
+
+            final GenericPreparedStatement<Object, JDBCType> reusedPreparedStatement = createPreparedStatement(reusedConnection, QUERY);
+
+            final GenericResultSet resultSet = executeQuery(reusedPreparedStatement);
+
+            checkNextRows(resultSet, 1, NUM_ROWS);
+
+            resultSet.close();
+            reusedConnection.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testCloseWithinTransactionNotReusable() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            connection.setAutoCommit(false);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = createPreparedStatement(connection, QUERY);
+
+            final GenericResultSet resultSet = executeQuery(preparedStatement);
+
+            checkNextRows(resultSet, 1, NUM_ROWS);
+
+            resultSet.close();
+            preparedStatement.close();
+
+            // No way to roll back the uncommitted transaction
+            connection.close();
+
+            checkNotReused(connections, connectionPool);
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testCloseWhenNotIdleNotReusable() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = createPreparedStatement(connection, FAILING_QUERY);
+
+            // Query executed but no result set to close, so cannot be returned to idle state
+            assertThatThrownBy(() -> executeQuery(preparedStatement)).isInstanceOf(ProtocolIOException.class);
+
+            connection.close();
+
+            assertThatThrownBy(() -> executeQuery(preparedStatement)).isInstanceOf(PreparedStatementClosedException.class);
+
+            checkNotReused(connections, connectionPool);
+        }
+    }
+
+    private static void checkNotReused(TestConnections connections, ConnectionPool<Object, JDBCType> connectionPool) throws GenericDriverException {
+
+        assertThat(connections.getPooledConnection(0).getSocket().isValidForReuse()).isFalse();
+
+        final GenericDriverConnection<Object, JDBCType> openedConnection = connections.borrowConnection(connectionPool);
+
+        assertThat(connections.getNumOpened()).isEqualTo(2);
+
+        final GenericPreparedStatement<Object, JDBCType> preparedStatement = createPreparedStatement(openedConnection, QUERY);
+
+        final GenericResultSet resultSet = executeQuery(preparedStatement);
+
+        checkNextRows(resultSet, 1, NUM_ROWS);
+
+        resultSet.close();
+        openedConnection.close();
+    }
+
+    private static GenericPreparedStatement<Object, JDBCType> createPreparedStatement(GenericDriverConnection<Object, JDBCType> connection, String sql)
+            throws GenericDriverException {
+
+        final GenericPreparedStatement<Object, JDBCType> preparedStatement = connection.createPreparedStatement(sql, OPTIONS);
+
+        preparedStatement.setFetchSize(FETCH_SIZE);
+
+        return preparedStatement;
+    }
+
+    private static GenericResultSet executeQuery(GenericPreparedStatement<Object, JDBCType> preparedStatement) throws GenericDriverException {
+
+        return preparedStatement.exeuteQuery(new GenericPreparedStatementParameters(0));
+    }
+
+    private static void checkNextRows(GenericResultSet resultSet, int firstValue, int lastValue) throws GenericDriverException {
+
+        for (int value = firstValue; value <= lastValue; ++ value) {
+
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getInt(0)).isEqualTo(value);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class DirectChunkPoolTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testConstructorParameterValidation() {
+
+        assertThatThrownBy(() -> new DirectChunkPool(0, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DirectChunkPool(1, -1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAllocateAndRelease() {
+
+        final int chunkSize = 100;
+
+        final DirectChunkPool pool = new DirectChunkPool(chunkSize, chunkSize);
+
+        final ByteBuffer chunk1 = pool.allocate();
+        final ByteBuffer chunk2 = pool.allocate();
+
+        assertThat(chunk1.isDirect()).isTrue();
+        assertThat(chunk1.capacity()).isEqualTo(chunkSize);
+        assertThat(chunk2.capacity()).isEqualTo(chunkSize);
+
+        // Separate slices of the same slab
+        chunk1.put(0, (byte)1);
+        chunk2.put(0, (byte)2);
+        assertThat(chunk1.get(0)).isEqualTo((byte)1);
+
+        assertThatThrownBy(() -> pool.release(ByteBuffer.allocate(chunkSize))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pool.release(ByteBuffer.allocateDirect(chunkSize + 1))).isInstanceOf(IllegalArgumentException.class);
+
+        chunk1.position(10);
+        pool.release(chunk1);
+
+        assertThat(pool.getNumFreeChunks()).isEqualTo(1);
+
+        // Above max free bytes so not kept
+        pool.release(chunk2);
+
+        assertThat(pool.getNumFreeChunks()).isEqualTo(1);
+
+        final ByteBuffer reused = pool.allocate();
+
+        assertThat(reused).isSameAs(chunk1);
+        assertThat(reused.position()).isEqualTo(0);
+        assertThat(pool.getNumFreeChunks()).isEqualTo(0);
+    }
+}
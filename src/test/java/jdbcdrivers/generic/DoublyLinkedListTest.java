@@ -215,6 +215,43 @@ public final class DoublyLinkedListTest extends BaseTest {
         assertThat(list.getNumElements()).isEqualTo(0);
     }
 
+    @Test
+    @Category(UnitTests.class)
+    public void testRemove() {
+
+        final DoublyLinkedList<TestNode> list = new DoublyLinkedList<>();
+
+        final TestNode node1 = new TestNode(1);
+        final TestNode node2 = new TestNode(2);
+        final TestNode node3 = new TestNode(3);
+
+        assertThatThrownBy(() -> list.remove(node1)).isInstanceOf(IllegalStateException.class);
+
+        list.addTail(node1);
+        list.addTail(node2);
+        list.addTail(node3);
+
+        list.remove(node2);
+        checkList(list, 1, 3);
+
+        list.remove(node3);
+        checkList(list, 1);
+
+        list.addHead(node2);
+        checkList(list, 2, 1);
+
+        list.remove(node2);
+        checkList(list, 1);
+
+        list.remove(node1);
+        checkList(list);
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.getNumElements()).isEqualTo(0);
+
+        list.addTail(node3);
+        checkList(list, 3);
+    }
+
     @Test
     @Category(UnitTests.class)
     public void testRemoveTrailing() {
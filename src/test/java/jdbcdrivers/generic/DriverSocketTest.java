@@ -0,0 +1,195 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+import jdbcdrivers.util.ProtocolReader;
+
+public final class DriverSocketTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAvailabilityCheck() throws Exception {
+
+        final ExecutorService executorService = Executors.newCachedThreadPool();
+
+        try (ServerSocketChannel serverSocketChannel = openServerSocketChannel();
+                DriverSocket socket = new DriverSocket(1024, 1024, 1024)) {
+
+            final SocketChannel peer = connect(socket, serverSocketChannel);
+
+            socket.register(new SelectorEngine(1, executorService));
+
+            assertThat(socket.isNonBlocking()).isTrue();
+
+            final ProtocolReader protocolReader = socket.getProtocolReader();
+
+            // Returns without waiting when no data available
+            assertThat(protocolReader.fillAvailable()).isEqualTo(0);
+            assertThat(protocolReader.getNumBufferedBytes()).isEqualTo(0);
+
+            final CountDownLatch readable = new CountDownLatch(1);
+
+            socket.onReadable(readable::countDown);
+
+            // Part of a response
+            write(peer, 0x01, 0x02);
+
+            assertThat(readable.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(fillAvailable(protocolReader, 2)).isEqualTo(2);
+            assertThat(socket.isValidForReuse()).isFalse();
+
+            // Remaining part of response waited for by reading
+            final Future<Integer> readFuture = executorService.submit(() -> protocolReader.readInt());
+
+            assertThatThrownBy(() -> readFuture.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            write(peer, 0x03, 0x04);
+
+            assertThat(readFuture.get(10, TimeUnit.SECONDS)).isEqualTo(0x01020304);
+
+            // All consumed
+            assertThat(protocolReader.fillAvailable()).isEqualTo(0);
+            assertThat(socket.isValidForReuse()).isTrue();
+
+            peer.close();
+
+            assertThatThrownBy(() -> fillAvailable(protocolReader, 1)).isInstanceOf(EOFException.class);
+        }
+        finally {
+
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testCloseWhileAwaitingReadable() throws Exception {
+
+        final ExecutorService executorService = Executors.newCachedThreadPool();
+
+        try (ServerSocketChannel serverSocketChannel = openServerSocketChannel();
+                DriverSocket socket = new DriverSocket(1024, 1024, 1024)) {
+
+            final SocketChannel peer = connect(socket, serverSocketChannel);
+
+            socket.register(new SelectorEngine(1, executorService));
+
+            final Future<Integer> readFuture = executorService.submit(() -> socket.getProtocolReader().readInt());
+
+            assertThatThrownBy(() -> readFuture.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            socket.close();
+
+            // Woken up instead of waiting forever
+            assertThatThrownBy(() -> readFuture.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+
+            // Callback registered after close still called back
+            final CountDownLatch readable = new CountDownLatch(1);
+
+            socket.onReadable(readable::countDown);
+
+            assertThat(readable.await(10, TimeUnit.SECONDS)).isTrue();
+
+            peer.close();
+        }
+        finally {
+
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testBlocking() throws Exception {
+
+        try (ServerSocketChannel serverSocketChannel = openServerSocketChannel();
+                DriverSocket socket = new DriverSocket(1024, 1024, 1024)) {
+
+            final SocketChannel peer = connect(socket, serverSocketChannel);
+
+            assertThat(socket.isNonBlocking()).isFalse();
+
+            assertThatThrownBy(() -> socket.onReadable(() -> { })).isInstanceOf(IllegalStateException.class);
+
+            write(peer, 0x01, 0x02, 0x03, 0x04);
+
+            assertThat(socket.getProtocolReader().readInt()).isEqualTo(0x01020304);
+            assertThat(socket.isValidForReuse()).isTrue();
+
+            peer.close();
+        }
+    }
+
+    private static ServerSocketChannel openServerSocketChannel() throws IOException {
+
+        final ServerSocketChannel serverSocketChannel = ServerSocketChannel.open();
+
+        serverSocketChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        return serverSocketChannel;
+    }
+
+    private static SocketChannel connect(DriverSocket socket, ServerSocketChannel serverSocketChannel) throws IOException {
+
+        final InetSocketAddress address = (InetSocketAddress)serverSocketChannel.getLocalAddress();
+
+        socket.connect(address.getHostString(), address.getPort());
+
+        return serverSocketChannel.accept();
+    }
+
+    private static void write(SocketChannel peer, int ... values) throws IOException {
+
+        final ByteBuffer byteBuffer = ByteBuffer.allocate(values.length);
+
+        for (int value : values) {
+
+            byteBuffer.put((byte)value);
+        }
+
+        byteBuffer.flip();
+
+        while (byteBuffer.hasRemaining()) {
+
+            peer.write(byteBuffer);
+        }
+    }
+
+    /**
+     * Fill until at least a number of bytes buffered, since data written by the peer may arrive in parts.
+     */
+    private static int fillAvailable(ProtocolReader protocolReader, int minBytes) throws IOException, InterruptedException {
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        int numBytes;
+
+        while ((numBytes = protocolReader.fillAvailable()) < minBytes && System.nanoTime() < deadline) {
+
+            Thread.sleep(10L);
+        }
+
+        return numBytes;
+    }
+}
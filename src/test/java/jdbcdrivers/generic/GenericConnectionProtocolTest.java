@@ -0,0 +1,176 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.JDBCType;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+import jdbcdrivers.generic.exceptions.GenericDriverException;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+
+public final class GenericConnectionProtocolTest extends BaseTest {
+
+    private static final int FETCH_SIZE = 2;
+
+    @Test
+    @Category(UnitTests.class)
+    public void testExecuteQueryWhileRetrievingAhead() throws Exception {
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        try (DriverSocket socket = new DriverSocket(1024, 1024, 1024)) {
+
+            final TestDatabaseProtocol databaseProtocol = new TestDatabaseProtocol();
+
+            final Object preparedQuery1 = "preparedQuery1";
+            final Object preparedQuery2 = "preparedQuery2";
+
+            databaseProtocol.addPreparedQuery(preparedQuery1, createRows(1, 6));
+            databaseProtocol.addPreparedQuery(preparedQuery2, createRows(10, 3));
+
+            final IGenericConnectionProtocol<Object, JDBCType> connectionProtocol = databaseProtocol.createConnectionProtocol(socket,
+                    new SerialExecutor(executorService), true);
+
+            // Retrieving ahead is the second retrieval
+            final CountDownLatch retrievalBlocked = new CountDownLatch(1);
+            final CountDownLatch unblockRetrieval = new CountDownLatch(1);
+
+            databaseProtocol.blockRetrieval(1, retrievalBlocked, unblockRetrieval);
+
+            final GenericResultSet resultSet1 = executePreparedQuery(connectionProtocol, preparedQuery1);
+
+            assertThat(resultSet1.next()).isTrue();
+            assertThat(resultSet1.getInt(0)).isEqualTo(1);
+
+            assertThat(retrievalBlocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            final Future<GenericResultSet> resultSet2Future = executorService.submit(() -> executePreparedQuery(connectionProtocol, preparedQuery2));
+
+            // Waits for retrieving ahead to complete before entering the connection
+            assertThatThrownBy(() -> resultSet2Future.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            unblockRetrieval.countDown();
+
+            final GenericResultSet resultSet2 = resultSet2Future.get(10, TimeUnit.SECONDS);
+
+            // Remaining rows buffered when executing the second query, continuing from the current row
+            assertThat(resultSet1.getInt(0)).isEqualTo(1);
+
+            checkRemainingRows(resultSet1, 2, 6);
+            checkRemainingRows(resultSet2, 10, 12);
+
+            resultSet1.close();
+            resultSet2.close();
+        }
+        finally {
+
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testExecuteQueryCancelsRetrievingAheadNotYetStarted() throws Exception {
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        try (DriverSocket socket = new DriverSocket(1024, 1024, 1024)) {
+
+            final TestDatabaseProtocol databaseProtocol = new TestDatabaseProtocol();
+
+            final Object preparedQuery1 = "preparedQuery1";
+            final Object preparedQuery2 = "preparedQuery2";
+
+            databaseProtocol.addPreparedQuery(preparedQuery1, createRows(1, 6));
+            databaseProtocol.addPreparedQuery(preparedQuery2, createRows(10, 3));
+
+            final SerialExecutor serialExecutor = new SerialExecutor(executorService);
+
+            final IGenericConnectionProtocol<Object, JDBCType> connectionProtocol = databaseProtocol.createConnectionProtocol(socket, serialExecutor, true);
+
+            final GenericResultSet resultSet1 = executePreparedQuery(connectionProtocol, preparedQuery1);
+
+            // Retrieves the first rows and starts retrieving ahead
+            executorService.submit(() -> checkNextRows(resultSet1, 1, 2)).get(10, TimeUnit.SECONDS);
+
+            final boolean entered = serialExecutor.enterExclusive();
+
+            assertThat(entered).isTrue();
+
+            final GenericResultSet resultSet2;
+
+            try {
+                assertThat(databaseProtocol.getNumRetrievals()).isEqualTo(2);
+
+                // Consumes rows retrieved ahead and starts retrieving ahead again, not run while the connection is held
+                executorService.submit(() -> checkNextRows(resultSet1, 3, 3)).get(10, TimeUnit.SECONDS);
+
+                // Would never complete if waiting for retrieving ahead queued after the connection was entered
+                resultSet2 = executePreparedQuery(connectionProtocol, preparedQuery2);
+
+                assertThat(databaseProtocol.getNumRetrievals()).isEqualTo(3);
+            }
+            finally {
+
+                serialExecutor.exitExclusive(entered);
+            }
+
+            checkRemainingRows(resultSet1, 4, 6);
+            checkRemainingRows(resultSet2, 10, 12);
+
+            resultSet1.close();
+            resultSet2.close();
+        }
+        finally {
+
+            executorService.shutdownNow();
+        }
+    }
+
+    private static TestResultRows createRows(int firstValue, int numRows) {
+
+        final TestResultRows rows = new TestResultRows(JDBCType.INTEGER);
+
+        for (int i = 0; i < numRows; ++ i) {
+
+            rows.addRow(firstValue + i);
+        }
+
+        return rows;
+    }
+
+    private static GenericResultSet executePreparedQuery(IGenericConnectionProtocol<Object, JDBCType> connectionProtocol, Object preparedQuery)
+            throws GenericProtocolException {
+
+        return connectionProtocol.executePreparedQuery(preparedQuery, new GenericPreparedStatementParameters(0), FETCH_SIZE);
+    }
+
+    private static Void checkNextRows(GenericResultSet resultSet, int firstValue, int lastValue) throws GenericDriverException {
+
+        for (int value = firstValue; value <= lastValue; ++ value) {
+
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getInt(0)).isEqualTo(value);
+        }
+
+        return null;
+    }
+
+    private static void checkRemainingRows(GenericResultSet resultSet, int firstValue, int lastValue) throws GenericDriverException {
+
+        checkNextRows(resultSet, firstValue, lastValue);
+
+        assertThat(resultSet.next()).isFalse();
+        assertThat(resultSet.next()).isFalse();
+    }
+}
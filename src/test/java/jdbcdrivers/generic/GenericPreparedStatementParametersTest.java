@@ -0,0 +1,128 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.sql.JDBCType;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+import jdbcdrivers.databaseprotocol.api.IGenericPreparedStatementParameterGetters.ParameterType;
+
+public final class GenericPreparedStatementParametersTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testSetAndGet() {
+
+        final GenericPreparedStatementParameters parameters = new GenericPreparedStatementParameters(10);
+
+        assertThat(parameters.areAllSet()).isFalse();
+        assertThatThrownBy(() -> parameters.getParameterType(0)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parameters.getInt(0)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parameters.setInt(10, 0)).isInstanceOf(IllegalArgumentException.class);
+
+        parameters.setBoolean(0, true);
+        parameters.setByte(1, (byte)-2);
+        parameters.setShort(2, (short)-3);
+        parameters.setInt(3, Integer.MIN_VALUE);
+        parameters.setLong(4, Long.MAX_VALUE);
+        parameters.setFloat(5, 1.5f);
+        parameters.setDouble(6, -2.25);
+        parameters.setObject(7, new BigDecimal("123.45"));
+        parameters.setObject(8, "test");
+        parameters.setNull(9, JDBCType.INTEGER);
+
+        assertThat(parameters.areAllSet()).isTrue();
+
+        checkParameters(parameters);
+
+        final GenericPreparedStatementParameters copy = new GenericPreparedStatementParameters(10);
+
+        copy.copy(parameters);
+
+        checkParameters(copy);
+
+        parameters.clear();
+
+        assertThat(parameters.areAllSet()).isFalse();
+        assertThatThrownBy(() -> parameters.getString(8)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testSetObjectPrimitiveWrappers() {
+
+        final GenericPreparedStatementParameters parameters = new GenericPreparedStatementParameters(2);
+
+        parameters.setObject(0, 123);
+        parameters.setObject(1, 456L, JDBCType.BIGINT);
+
+        assertThat(parameters.getParameterType(0)).isEqualTo(ParameterType.INT);
+        assertThat(parameters.getInt(0)).isEqualTo(123);
+        assertThat(parameters.getParameterType(1)).isEqualTo(ParameterType.LONG);
+        assertThat(parameters.getLong(1)).isEqualTo(456L);
+
+        assertThatThrownBy(() -> parameters.setObject(0, new Object())).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testGetTypeMismatch() {
+
+        final GenericPreparedStatementParameters parameters = new GenericPreparedStatementParameters(5);
+
+        parameters.setShort(0, (short)-3);
+        parameters.setLong(1, 123L);
+        parameters.setFloat(2, 1.5f);
+        parameters.setObject(3, "test");
+        parameters.setNull(4, JDBCType.INTEGER);
+
+        // Narrower types read widened
+        assertThat(parameters.getInt(0)).isEqualTo(-3);
+        assertThat(parameters.getLong(0)).isEqualTo(-3L);
+        assertThat(parameters.getDouble(2)).isEqualTo(1.5);
+
+        assertThatThrownBy(() -> parameters.getByte(0)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parameters.getBoolean(0)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parameters.getInt(1)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parameters.getDouble(1)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parameters.getLong(2)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parameters.getDecimal(3)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parameters.getString(4)).isInstanceOf(IllegalStateException.class);
+
+        // Another type set at the same index replaces the type checked
+        parameters.setDouble(1, -2.25);
+
+        assertThat(parameters.getDouble(1)).isEqualTo(-2.25);
+        assertThatThrownBy(() -> parameters.getLong(1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void checkParameters(GenericPreparedStatementParameters parameters) {
+
+        assertThat(parameters.getParameterType(0)).isEqualTo(ParameterType.BOOLEAN);
+        assertThat(parameters.getBoolean(0)).isTrue();
+        assertThat(parameters.getParameterType(1)).isEqualTo(ParameterType.BYTE);
+        assertThat(parameters.getByte(1)).isEqualTo((byte)-2);
+        assertThat(parameters.getParameterType(2)).isEqualTo(ParameterType.SHORT);
+        assertThat(parameters.getShort(2)).isEqualTo((short)-3);
+        assertThat(parameters.getParameterType(3)).isEqualTo(ParameterType.INT);
+        assertThat(parameters.getInt(3)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(parameters.getParameterType(4)).isEqualTo(ParameterType.LONG);
+        assertThat(parameters.getLong(4)).isEqualTo(Long.MAX_VALUE);
+        assertThat(parameters.getParameterType(5)).isEqualTo(ParameterType.FLOAT);
+        assertThat(parameters.getFloat(5)).isEqualTo(1.5f);
+        assertThat(parameters.getParameterType(6)).isEqualTo(ParameterType.DOUBLE);
+        assertThat(parameters.getDouble(6)).isEqualTo(-2.25);
+        assertThat(parameters.getParameterType(7)).isEqualTo(ParameterType.DECIMAL);
+        assertThat(parameters.getDecimal(7)).isEqualTo(new BigDecimal("123.45"));
+        assertThat(parameters.getParameterType(8)).isEqualTo(ParameterType.STRING);
+        assertThat(parameters.getString(8)).isEqualTo("test");
+        assertThat(parameters.getParameterType(9)).isEqualTo(ParameterType.NULL);
+        assertThat(parameters.isNull(9)).isTrue();
+        assertThat(parameters.isNull(8)).isFalse();
+    }
+}
@@ -0,0 +1,269 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static jdbcdrivers.generic.TestConnections.QUERY;
+
+import java.sql.JDBCType;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.AutoGeneratedKeys;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.Concurrency;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.ResultSetType;
+import jdbcdrivers.generic.exceptions.PreparedStatementClosedException;
+
+public final class GenericPreparedStatementTest extends BaseTest {
+
+    private static final String UPDATE = "insert into test values (?)";
+
+    // Not a multiple of rows per frame
+    private static final int NUM_BATCH_ROWS = 25;
+
+    private static final GenericStatementExecutionOptions OPTIONS = new GenericStatementExecutionOptions(AutoGeneratedKeys.NO_GENERATED_KEYS,
+            ResultSetType.FORWARD_ONLY, Concurrency.READ_ONLY);
+
+    @Test
+    @Category(UnitTests.class)
+    public void testCloseWhilePinned() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = connection.createPreparedStatement(QUERY, OPTIONS);
+
+            // Pinned by two queued updates
+            preparedStatement.pin();
+            preparedStatement.pin();
+
+            preparedStatement.close();
+
+            // Closed for use but not yet on the database
+            assertThatThrownBy(() -> preparedStatement.exeuteQuery(new GenericPreparedStatementParameters(0)))
+                    .isInstanceOf(PreparedStatementClosedException.class);
+
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).isEmpty();
+
+            preparedStatement.unpin();
+
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).isEmpty();
+
+            // Closed on the database on last unpin, only once
+            preparedStatement.unpin();
+
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).containsExactly(QUERY);
+
+            assertThatThrownBy(() -> preparedStatement.unpin()).isInstanceOf(IllegalStateException.class);
+
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).containsExactly(QUERY);
+
+            connection.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testExecuteBatchesAsyncClosedBeforeRun() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = connection.createPreparedStatement(UPDATE, OPTIONS);
+
+            // Pooled parameters so that the batch copy is the same instance
+            final GenericPreparedStatementParameters pooledParameters = connection.allocateParameters(1);
+
+            connection.freeParameters(pooledParameters);
+
+            final GenericPreparedStatementParameters parameters = new GenericPreparedStatementParameters(1);
+
+            parameters.setInt(0, 1);
+
+            preparedStatement.addBatch(parameters);
+
+            // Closed after submitted but before run
+            final CountDownLatch started = new CountDownLatch(1);
+            final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+            connection.executeAsync(() -> {
+
+                started.countDown();
+
+                return closed.join();
+            });
+
+            final CompletableFuture<int[]> future = preparedStatement.executeBatchesAsync();
+
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Pinned so that closing on the database, which waits for asynchronous operations, is deferred
+            preparedStatement.pin();
+            preparedStatement.close();
+
+            closed.complete(null);
+
+            assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(PreparedStatementClosedException.class);
+
+            // Batch copy freed back to the pool
+            assertThat(connection.allocateParameters(1)).isSameAs(pooledParameters);
+
+            assertThat(connections.getDatabaseProtocol(0).getBatchFrames()).isEmpty();
+
+            preparedStatement.unpin();
+
+            connection.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testExecuteBatchesIteratorInFrames() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = connection.createPreparedStatement(UPDATE, OPTIONS);
+
+            // Same parameters for every row
+            final GenericPreparedStatementParameters parameters = new GenericPreparedStatementParameters(1);
+
+            final Iterator<GenericPreparedStatementParameters> batches = new Iterator<GenericPreparedStatementParameters>() {
+
+                private int rowIndex = 0;
+
+                @Override
+                public boolean hasNext() {
+
+                    return rowIndex < NUM_BATCH_ROWS;
+                }
+
+                @Override
+                public GenericPreparedStatementParameters next() {
+
+                    parameters.setInt(0, rowIndex ++);
+
+                    return parameters;
+                }
+            };
+
+            assertThat(preparedStatement.executeBatches(batches)).isEqualTo(NUM_BATCH_ROWS);
+
+            checkBatchFrames(connections.getDatabaseProtocol(0));
+
+            preparedStatement.close();
+            connection.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testExecuteBatchesSpliteratorInFrames() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = connection.createPreparedStatement(UPDATE, OPTIONS);
+
+            final Spliterator<GenericPreparedStatementParameters> batches = IntStream.range(0, NUM_BATCH_ROWS)
+                    .mapToObj(i -> {
+
+                        final GenericPreparedStatementParameters parameters = new GenericPreparedStatementParameters(1);
+
+                        parameters.setInt(0, i);
+
+                        return parameters;
+                    })
+                    .spliterator();
+
+            assertThat(preparedStatement.executeBatches(batches)).isEqualTo(NUM_BATCH_ROWS);
+
+            checkBatchFrames(connections.getDatabaseProtocol(0));
+
+            preparedStatement.close();
+            connection.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testUnpinWithoutClose() throws Exception {
+
+        try (TestConnections connections = new TestConnections(false)) {
+
+            final ConnectionPool<Object, JDBCType> connectionPool = connections.createConnectionPool();
+
+            final GenericDriverConnection<Object, JDBCType> connection = connections.borrowConnection(connectionPool);
+
+            final GenericPreparedStatement<Object, JDBCType> preparedStatement = connection.createPreparedStatement(QUERY, OPTIONS);
+
+            preparedStatement.pin();
+            preparedStatement.unpin();
+
+            // Not closed by unpin unless closed while pinned
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).isEmpty();
+
+            final GenericResultSet resultSet = preparedStatement.exeuteQuery(new GenericPreparedStatementParameters(0));
+
+            assertThat(resultSet.next()).isTrue();
+
+            resultSet.close();
+
+            // Closed right away when not pinned
+            preparedStatement.close();
+
+            assertThat(connections.getDatabaseProtocol(0).getClosedPreparedStatements()).containsExactly(QUERY);
+
+            connection.close();
+        }
+    }
+
+    private static void checkBatchFrames(TestDatabaseProtocol databaseProtocol) {
+
+        final int maxRowsPerFrame = TestDatabaseProtocol.BATCH_FRAME_BYTES / TestDatabaseProtocol.BATCH_ROW_BYTES;
+
+        final List<List<Integer>> batchFrames = databaseProtocol.getBatchFrames();
+
+        // Rows in order over several frames, last frame not full
+        assertThat(batchFrames).hasSize((NUM_BATCH_ROWS + maxRowsPerFrame - 1) / maxRowsPerFrame);
+
+        int value = 0;
+
+        for (int i = 0; i < batchFrames.size(); ++ i) {
+
+            final List<Integer> frame = batchFrames.get(i);
+
+            assertThat(frame).hasSize(i < batchFrames.size() - 1 ? maxRowsPerFrame : NUM_BATCH_ROWS % maxRowsPerFrame);
+
+            for (Integer frameValue : frame) {
+
+                assertThat(frameValue).isEqualTo(value ++);
+            }
+        }
+
+        assertThat(value).isEqualTo(NUM_BATCH_ROWS);
+    }
+}
@@ -0,0 +1,160 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol.PreparedStatementResult;
+import jdbcdrivers.generic.PreparedStatementCache.CachedPreparedStatement;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.AutoGeneratedKeys;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.Concurrency;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions.ResultSetType;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+
+public final class PreparedStatementCacheTest extends BaseTest {
+
+    private static final GenericStatementExecutionOptions OPTIONS = new GenericStatementExecutionOptions(AutoGeneratedKeys.NO_GENERATED_KEYS,
+            ResultSetType.FORWARD_ONLY, Concurrency.READ_ONLY);
+
+    @Test
+    @Category(UnitTests.class)
+    public void testConstructorParameterValidation() {
+
+        assertThatThrownBy(() -> new PreparedStatementCache<String>(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PreparedStatementCache<String>(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAcquireAndRelease() throws GenericProtocolException {
+
+        final PreparedStatementCache<String> cache = new PreparedStatementCache<>(10, 1024);
+
+        final List<String> closed = new ArrayList<>();
+
+        assertThat(cache.acquire("select 1", OPTIONS)).isNull();
+
+        final CachedPreparedStatement<String> added = cache.add("select 1", OPTIONS, new PreparedStatementResult<>("stmt1", 0));
+
+        assertThat(added).isNotNull();
+        assertThat(cache.getNumCached()).isEqualTo(1);
+
+        // In use, so neither acquired nor added again
+        assertThat(cache.acquire("select 1", OPTIONS)).isNull();
+        assertThat(cache.add("select 1", OPTIONS, new PreparedStatementResult<>("stmt2", 0))).isNull();
+
+        cache.release(added, closed::add);
+
+        assertThat(closed).isEmpty();
+        assertThatThrownBy(() -> cache.release(added, closed::add)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.acquire("select 1", OPTIONS)).isSameAs(added);
+        assertThat(cache.acquire("select 1", new GenericStatementExecutionOptions(AutoGeneratedKeys.RETURN_GENERATED_KEYS,
+                ResultSetType.FORWARD_ONLY, Concurrency.READ_ONLY))).isNull();
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAcquireWithFetchSize() throws GenericProtocolException {
+
+        final PreparedStatementCache<String> cache = new PreparedStatementCache<>(10, 1024);
+
+        final List<String> closed = new ArrayList<>();
+
+        final CachedPreparedStatement<String> added = cache.add("select 1", OPTIONS.withFetchSize(100), new PreparedStatementResult<>("stmt1", 0));
+
+        cache.release(added, closed::add);
+
+        // Fetch size does not affect preparing, so cached statement reused
+        assertThat(cache.acquire("select 1", OPTIONS)).isSameAs(added);
+        assertThat(OPTIONS.withFetchSize(0)).isSameAs(OPTIONS);
+        assertThat(OPTIONS.withFetchSize(100).getFetchSize()).isEqualTo(100);
+
+        // Options otherwise differing by fetch size only are still different
+        assertThat(OPTIONS.withFetchSize(100)).isNotEqualTo(OPTIONS);
+        assertThat(OPTIONS.withFetchSize(100)).isEqualTo(OPTIONS.withFetchSize(100));
+        assertThat(OPTIONS.withFetchSize(100).hashCode()).isEqualTo(OPTIONS.withFetchSize(100).hashCode());
+
+        assertThatThrownBy(() -> OPTIONS.withFetchSize(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testEvictByCount() throws GenericProtocolException {
+
+        final PreparedStatementCache<String> cache = new PreparedStatementCache<>(2, 1024);
+
+        final List<String> closed = new ArrayList<>();
+
+        final CachedPreparedStatement<String> cached1 = cache.add("select 1", OPTIONS, new PreparedStatementResult<>("stmt1", 0));
+        final CachedPreparedStatement<String> cached2 = cache.add("select 2", OPTIONS, new PreparedStatementResult<>("stmt2", 0));
+        final CachedPreparedStatement<String> cached3 = cache.add("select 3", OPTIONS, new PreparedStatementResult<>("stmt3", 0));
+
+        // All in use, so none evicted
+        assertThat(cache.getNumCached()).isEqualTo(3);
+
+        cache.release(cached2, closed::add);
+        assertThat(closed).containsExactly("stmt2");
+
+        cache.release(cached1, closed::add);
+        cache.release(cached3, closed::add);
+        assertThat(closed).containsExactly("stmt2");
+        assertThat(cache.getNumCached()).isEqualTo(2);
+
+        // Least recently used evicted
+        assertThat(cache.acquire("select 3", OPTIONS)).isSameAs(cached3);
+        cache.release(cache.add("select 4", OPTIONS, new PreparedStatementResult<>("stmt4", 0)), closed::add);
+        assertThat(closed).containsExactly("stmt2", "stmt1");
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testEvictBySize() throws GenericProtocolException {
+
+        final long numBytes = PreparedStatementCache.estimateNumBytes("select 1", new PreparedStatementResult<>("stmt1", 0));
+
+        assertThat(numBytes).isEqualTo("select 1".length() * Character.BYTES + PreparedStatementCache.STATEMENT_OVERHEAD_BYTES);
+
+        final PreparedStatementCache<String> cache = new PreparedStatementCache<>(10, numBytes * 2);
+
+        final List<String> closed = new ArrayList<>();
+
+        cache.release(cache.add("select 1", OPTIONS, new PreparedStatementResult<>("stmt1", 0)), closed::add);
+        cache.release(cache.add("select 2", OPTIONS, new PreparedStatementResult<>("stmt2", 0)), closed::add);
+        assertThat(closed).isEmpty();
+
+        cache.release(cache.add("select 3", OPTIONS, new PreparedStatementResult<>("stmt3", 0)), closed::add);
+        assertThat(closed).containsExactly("stmt1");
+        assertThat(cache.getNumCached()).isEqualTo(2);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testEvictBySizeWithColumns() throws GenericProtocolException {
+
+        final PreparedStatementResult<String> withColumns = new PreparedStatementResult<>("stmt2", 0, 10);
+
+        final long numBytes = PreparedStatementCache.estimateNumBytes("select 2", withColumns);
+
+        assertThat(numBytes).isGreaterThan(PreparedStatementCache.estimateNumBytes("select 1", new PreparedStatementResult<>("stmt1", 0)) * 2);
+
+        final PreparedStatementCache<String> cache = new PreparedStatementCache<>(10, numBytes);
+
+        final List<String> closed = new ArrayList<>();
+
+        cache.release(cache.add("select 1", OPTIONS, new PreparedStatementResult<>("stmt1", 0)), closed::add);
+        assertThat(closed).isEmpty();
+
+        // Columns retained by the statement count towards size, so room for only this statement
+        cache.release(cache.add("select 2", OPTIONS, withColumns), closed::add);
+        assertThat(closed).containsExactly("stmt1");
+        assertThat(cache.getNumCached()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,173 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.sql.JDBCType;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class ProtocolDataTest extends BaseTest {
+
+    private static final ResultSetClosing NO_CLOSING = r -> { };
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAddAndRemoveResultSets() throws IOException {
+
+        final ProtocolData<Object> protocolData = new ProtocolData<>(Function.identity());
+
+        final Object preparedStatement = "preparedStatement";
+
+        final BaseSwappableResultSet resultSet1 = createBufferedResultSet(preparedStatement);
+        final BaseSwappableResultSet resultSet2 = createBufferedResultSet(preparedStatement);
+
+        protocolData.addResultSet(preparedStatement, resultSet1);
+        protocolData.addResultSet(preparedStatement, resultSet2);
+
+        assertThatThrownBy(() -> protocolData.addResultSet(preparedStatement, resultSet1)).isInstanceOf(IllegalStateException.class);
+
+        protocolData.removeResultSet(preparedStatement, resultSet1);
+
+        assertThatThrownBy(() -> protocolData.removeResultSet(preparedStatement, resultSet1)).isInstanceOf(IllegalStateException.class);
+
+        protocolData.removeResultSet(preparedStatement, resultSet2);
+
+        // No longer known after last result set removed
+        assertThatThrownBy(() -> protocolData.removeResultSet(preparedStatement, resultSet2)).isInstanceOf(IllegalStateException.class);
+        assertThat(protocolData.findDirectConnectionResultSet()).isNull();
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAddResultSetOfPreparedStatementNotAddedBefore() throws IOException {
+
+        final ProtocolData<Object> protocolData = new ProtocolData<>(Function.identity());
+
+        final Object preparedStatement = "preparedStatement";
+
+        final BaseSwappableResultSet resultSet = createBufferedResultSet(preparedStatement);
+
+        // Threw IllegalStateException when prepared statements had to be added separately before any result set
+        protocolData.addResultSet(preparedStatement, resultSet);
+        protocolData.removeResultSet(preparedStatement, resultSet);
+
+        // Added again after removed with last result set
+        protocolData.addResultSet(preparedStatement, resultSet);
+        protocolData.removeResultSet(preparedStatement, resultSet);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testRemoveResultSetOfUnknownPreparedStatement() throws IOException {
+
+        final ProtocolData<Object> protocolData = new ProtocolData<>(Function.identity());
+
+        final BaseSwappableResultSet resultSet = createBufferedResultSet("preparedStatement1");
+
+        protocolData.addResultSet("preparedStatement1", resultSet);
+
+        assertThatThrownBy(() -> protocolData.removeResultSet("preparedStatement2", resultSet)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testGetResultSets() throws IOException {
+
+        final ProtocolData<Object> protocolData = new ProtocolData<>(Function.identity());
+
+        assertThat(protocolData.getResultSets()).isEmpty();
+
+        final BaseSwappableResultSet resultSet1 = createBufferedResultSet("preparedStatement1");
+        final BaseSwappableResultSet resultSet2 = createBufferedResultSet("preparedStatement1");
+        final BaseSwappableResultSet resultSet3 = createDirectConnectionResultSet("preparedStatement2");
+
+        protocolData.addResultSet("preparedStatement1", resultSet1);
+        protocolData.addResultSet("preparedStatement1", resultSet2);
+        protocolData.addResultSet("preparedStatement2", resultSet3);
+
+        assertThat(protocolData.getResultSets()).containsExactlyInAnyOrder(resultSet1, resultSet2, resultSet3);
+
+        // Copy so that result sets may be removed while iterating
+        for (BaseSwappableResultSet resultSet : protocolData.getResultSets()) {
+
+            protocolData.removeResultSet(resultSet == resultSet3 ? "preparedStatement2" : "preparedStatement1", resultSet);
+        }
+
+        assertThat(protocolData.getResultSets()).isEmpty();
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testParameterValidation() throws IOException {
+
+        assertThatThrownBy(() -> new ProtocolData<>(null)).isInstanceOf(NullPointerException.class);
+
+        final ProtocolData<Object> protocolData = new ProtocolData<>(Function.identity());
+
+        final BaseSwappableResultSet resultSet = createBufferedResultSet("preparedStatement");
+
+        assertThatThrownBy(() -> protocolData.addResultSet(null, resultSet)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> protocolData.addResultSet("preparedStatement", null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> protocolData.removeResultSet(null, resultSet)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> protocolData.removeResultSet("preparedStatement", null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testDirectConnectionResultSet() throws IOException {
+
+        final ProtocolData<Object> protocolData = new ProtocolData<>(Function.identity());
+
+        final BaseSwappableResultSet directResultSet1 = createDirectConnectionResultSet("preparedStatement1");
+        final BaseSwappableResultSet directResultSet2 = createDirectConnectionResultSet("preparedStatement2");
+        final BaseSwappableResultSet bufferedResultSet = createBufferedResultSet("preparedStatement2");
+
+        protocolData.addResultSet("preparedStatement2", bufferedResultSet);
+
+        assertThat(protocolData.findDirectConnectionResultSet()).isNull();
+
+        protocolData.addResultSet("preparedStatement1", directResultSet1);
+
+        assertThat(protocolData.findDirectConnectionResultSet()).isSameAs(directResultSet1);
+
+        // At most one result set at a time retrieving from the connection
+        assertThatThrownBy(() -> protocolData.addResultSet("preparedStatement2", directResultSet2)).isInstanceOf(IllegalStateException.class);
+
+        // No longer found once swapped to a buffered result set
+        directResultSet1.swap(createBufferedResultSet("preparedStatement1").getDelegate());
+
+        assertThat(protocolData.findDirectConnectionResultSet()).isNull();
+
+        protocolData.addResultSet("preparedStatement2", directResultSet2);
+
+        assertThat(protocolData.findDirectConnectionResultSet()).isSameAs(directResultSet2);
+
+        protocolData.removeResultSet("preparedStatement2", directResultSet2);
+
+        assertThat(protocolData.findDirectConnectionResultSet()).isNull();
+
+        protocolData.removeResultSet("preparedStatement1", directResultSet1);
+        protocolData.removeResultSet("preparedStatement2", bufferedResultSet);
+    }
+
+    private static BaseSwappableResultSet createBufferedResultSet(Object preparedStatement) throws IOException {
+
+        final TestResultRows rows = new TestResultRows(JDBCType.INTEGER).addRow(1);
+
+        return new ReferenceSwappableResultSet(NO_CLOSING, rows.createBufferedResultSet(preparedStatement, NO_CLOSING, new TestResultRowDecoder(true), 16));
+    }
+
+    private static BaseSwappableResultSet createDirectConnectionResultSet(Object preparedStatement) {
+
+        final TestResultRows rows = new TestResultRows(JDBCType.INTEGER).addRow(1);
+
+        return new ReferenceSwappableResultSet(NO_CLOSING, rows.createConnectionDirectResultSet(preparedStatement, rows.createRetrieval(),
+                new TestResultRowDecoder(true), GenericResultSetMetaData.NO_TOTAL_NUM_ROWS, 0));
+    }
+}
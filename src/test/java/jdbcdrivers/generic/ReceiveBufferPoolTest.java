@@ -0,0 +1,99 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class ReceiveBufferPoolTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testConstructorParameterValidation() {
+
+        assertThatThrownBy(() -> new ReceiveBufferPool(0, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ReceiveBufferPool(1, -1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testSizeClasses() {
+
+        final ReceiveBufferPool pool = new ReceiveBufferPool(1000, 1024 * 1024);
+
+        assertThat(pool.allocateByteArray(0)).hasSize(64);
+        assertThat(pool.allocateByteArray(1)).hasSize(64);
+        assertThat(pool.allocateByteArray(64)).hasSize(64);
+        assertThat(pool.allocateByteArray(65)).hasSize(128);
+        assertThat(pool.allocateByteArray(512)).hasSize(512);
+        assertThat(pool.allocateByteArray(513)).hasSize(1000);
+        assertThat(pool.allocateByteArray(1000)).hasSize(1000);
+        assertThat(pool.allocateIntArray(100)).hasSize(128);
+
+        // Smallest size class of the same number of bytes
+        assertThat(pool.allocateIntArray(0)).hasSize(16);
+        assertThat(pool.allocateIntArray(16)).hasSize(16);
+        assertThat(pool.allocateIntArray(17)).hasSize(32);
+        assertThat(pool.allocateIntArray(1000)).hasSize(1000);
+
+        assertThatThrownBy(() -> pool.allocateByteArray(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pool.allocateByteArray(1001)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pool.releaseByteArray(new byte[100])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pool.releaseIntArray(new int[1001])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAllocateAndRelease() {
+
+        // Room for one free array in the 128 size class
+        final ReceiveBufferPool pool = new ReceiveBufferPool(1000, 128);
+
+        final byte[] bytes1 = pool.allocateByteArray(100);
+        final byte[] bytes2 = pool.allocateByteArray(100);
+
+        assertThat(bytes1).isNotSameAs(bytes2);
+
+        pool.releaseByteArray(bytes1);
+        pool.releaseByteArray(bytes2);
+
+        assertThat(pool.getNumFreeByteArrays(128)).isEqualTo(1);
+        assertThat(pool.allocateByteArray(120)).isSameAs(bytes1);
+        assertThat(pool.getNumFreeByteArrays(128)).isEqualTo(0);
+
+        // Separate from byte arrays, room for one free array of 128 bytes
+        final int[] ints = pool.allocateIntArray(32);
+
+        pool.releaseIntArray(ints);
+
+        assertThat(pool.getNumFreeIntArrays(32)).isEqualTo(1);
+        assertThat(pool.getNumFreeByteArrays(128)).isEqualTo(0);
+        assertThat(pool.allocateIntArray(17)).isSameAs(ints);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testReleaseBeyondMaxFreeBytes() {
+
+        final ReceiveBufferPool pool = new ReceiveBufferPool(1000, 128);
+
+        // Size classes larger than max number of free bytes keep no arrays
+        pool.releaseByteArray(pool.allocateByteArray(256));
+        pool.releaseIntArray(pool.allocateIntArray(64));
+
+        assertThat(pool.getNumFreeByteArrays(256)).isEqualTo(0);
+        assertThat(pool.getNumFreeIntArrays(64)).isEqualTo(0);
+
+        // Nothing kept at all
+        final ReceiveBufferPool noFreePool = new ReceiveBufferPool(1000, 0L);
+
+        noFreePool.releaseByteArray(noFreePool.allocateByteArray(64));
+        noFreePool.releaseIntArray(noFreePool.allocateIntArray(16));
+
+        assertThat(noFreePool.getNumFreeByteArrays(64)).isEqualTo(0);
+        assertThat(noFreePool.getNumFreeIntArrays(16)).isEqualTo(0);
+    }
+}
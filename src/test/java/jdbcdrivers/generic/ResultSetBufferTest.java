@@ -4,7 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
 
 import org.junit.Test;
@@ -46,6 +50,195 @@ public final class ResultSetBufferTest extends BaseTest implements PrintDebug {
         }
     }
 
+    @Test
+    @Category(UnitTests.class)
+    public void testReceiveRowBytes() throws IOException {
+
+        final int chunkSize = 7;
+        final int totalNumBytes = 100;
+
+        final byte[] bytes = new byte[totalNumBytes];
+
+        fillBytes(bytes, 0, totalNumBytes);
+
+        final DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        final ResultSetBuffer resultSetBuffer = new ResultSetBuffer(chunkSize);
+
+        assertThat(resultSetBuffer.getRemainingCapacity()).isEqualTo(0L);
+        assertThatThrownBy(() -> resultSetBuffer.receiveRowBytes(dataInputStream, 1)).isInstanceOf(IllegalStateException.class);
+
+        resultSetBuffer.setReceiveCapacity(totalNumBytes);
+
+        assertThatThrownBy(() -> resultSetBuffer.receiveRowBytes(dataInputStream, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> resultSetBuffer.receiveRowBytes(dataInputStream, totalNumBytes + 1)).isInstanceOf(IllegalStateException.class);
+
+        int numReceived = 0;
+
+        for (int rowLength = 1; numReceived + rowLength <= totalNumBytes; ++ rowLength) {
+
+            resultSetBuffer.receiveRowBytes(dataInputStream, rowLength);
+
+            numReceived += rowLength;
+
+            assertThat(resultSetBuffer.getRemainingCapacity()).isEqualTo(totalNumBytes - numReceived);
+        }
+
+        resultSetBuffer.receiveRowBytes(dataInputStream, totalNumBytes - numReceived);
+
+        assertThat(resultSetBuffer.getRemainingCapacity()).isEqualTo(0L);
+
+        final byte[] decodeBuffer = new byte[1];
+
+        for (int offset = 0; offset < totalNumBytes; ++ offset) {
+
+            resultSetBuffer.decode(offset, 1, (d, b, o, l) -> System.arraycopy(d, o, decodeBuffer, 0, l));
+
+            assertThat(decodeBuffer[0]).isEqualTo(bytes[offset]);
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testSpillToFile() throws IOException {
+
+        checkSpillToFile(null);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testOffHeap() throws IOException {
+
+        final DirectChunkPool directChunkPool = new DirectChunkPool(7, 1024);
+
+        checkSpillToFile(directChunkPool);
+
+        // Off heap chunks released when closed
+        assertThat(directChunkPool.getNumFreeChunks()).isEqualTo(2);
+
+        checkSpillToFile(directChunkPool);
+
+        assertThat(directChunkPool.getNumFreeChunks()).isEqualTo(2);
+    }
+
+    private void checkSpillToFile(DirectChunkPool directChunkPool) throws IOException {
+
+        final int chunkSize = 7;
+        final int totalNumBytes = 100;
+
+        final byte[] bytes = new byte[totalNumBytes];
+
+        fillBytes(bytes, 0, totalNumBytes);
+
+        final DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(bytes, 10, totalNumBytes - 10));
+
+        // Two chunks in memory, remaining in file
+        final ResultSetBuffer resultSetBuffer = new ResultSetBuffer(chunkSize, chunkSize * 2, directChunkPool);
+
+        try {
+            resultSetBuffer.addData(bytes, 0, 10);
+
+            resultSetBuffer.setReceiveCapacity(totalNumBytes - 10);
+
+            for (int offset = 10; offset < totalNumBytes; offset += 3) {
+
+                resultSetBuffer.receiveRowBytes(dataInputStream, Math.min(3, totalNumBytes - offset));
+            }
+
+            checkDecode(resultSetBuffer, chunkSize, bytes);
+        }
+        finally {
+
+            resultSetBuffer.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAddDataFromInputStreamReadingPartially() throws IOException {
+
+        checkAddDataFromInputStreamReadingPartially(null);
+        checkAddDataFromInputStreamReadingPartially(new DirectChunkPool(7, 1024));
+    }
+
+    private void checkAddDataFromInputStreamReadingPartially(DirectChunkPool directChunkPool) throws IOException {
+
+        final int chunkSize = 7;
+        final int totalNumBytes = 100;
+
+        final byte[] bytes = new byte[totalNumBytes];
+
+        fillBytes(bytes, 0, totalNumBytes);
+
+        // Returns at most two bytes per read
+        final InputStream inputStream = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+
+                return super.read(b, off, Math.min(len, 2));
+            }
+        };
+
+        // Two chunks in memory, remaining in file
+        final ResultSetBuffer resultSetBuffer = new ResultSetBuffer(chunkSize, chunkSize * 2, directChunkPool);
+
+        try {
+            resultSetBuffer.addData(inputStream, 10);
+            resultSetBuffer.addData(inputStream, totalNumBytes - 10);
+
+            checkDecode(resultSetBuffer, chunkSize, bytes);
+        }
+        finally {
+
+            resultSetBuffer.close();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testAddDataFromInputStreamEndOfStream() throws IOException {
+
+        checkAddDataFromInputStreamEndOfStream(null);
+        checkAddDataFromInputStreamEndOfStream(new DirectChunkPool(7, 1024));
+    }
+
+    private void checkAddDataFromInputStreamEndOfStream(DirectChunkPool directChunkPool) throws IOException {
+
+        final ResultSetBuffer resultSetBuffer = new ResultSetBuffer(7, Long.MAX_VALUE, directChunkPool);
+
+        try {
+            // Fewer bytes than requested must not be accounted for as added
+            assertThatThrownBy(() -> resultSetBuffer.addData(new ByteArrayInputStream(new byte[5]), 10)).isInstanceOf(EOFException.class);
+        }
+        finally {
+
+            resultSetBuffer.close();
+        }
+    }
+
+    private static void checkDecode(ResultSetBuffer resultSetBuffer, int chunkSize, byte[] bytes) {
+
+        final int totalNumBytes = bytes.length;
+
+        final byte[] decodeBuffer = new byte[chunkSize];
+
+        for (int length = 1; length <= chunkSize; ++ length) {
+
+            final int closureLength = length;
+
+            for (int offset = 0; offset + length <= totalNumBytes; ++ offset) {
+
+                resultSetBuffer.decode(offset, length, (d, b, o, l) -> System.arraycopy(d, o, decodeBuffer, 0, closureLength));
+
+                for (int i = 0; i < length; ++ i) {
+
+                    assertThat(decodeBuffer[i]).isEqualTo(bytes[offset + i]);
+                }
+            }
+        }
+    }
+
     private void checkResultSetBuffer(int chunkSize) throws IOException {
 
         final int maxChunks = 10;
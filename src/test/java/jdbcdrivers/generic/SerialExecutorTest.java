@@ -0,0 +1,187 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class SerialExecutorTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testTasksExecutedInOrderOneAtATime() throws InterruptedException {
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        try {
+            final SerialExecutor serialExecutor = new SerialExecutor(executorService);
+
+            final int numTasks = 10000;
+
+            final List<Integer> executed = new ArrayList<>(numTasks);
+
+            final AtomicInteger numConcurrent = new AtomicInteger();
+            final AtomicInteger maxConcurrent = new AtomicInteger();
+
+            final CountDownLatch countDownLatch = new CountDownLatch(numTasks);
+
+            for (int i = 0; i < numTasks; ++ i) {
+
+                final int taskNo = i;
+
+                serialExecutor.execute(() -> {
+
+                    maxConcurrent.accumulateAndGet(numConcurrent.incrementAndGet(), Math::max);
+
+                    executed.add(taskNo);
+
+                    numConcurrent.decrementAndGet();
+
+                    countDownLatch.countDown();
+                });
+            }
+
+            assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(maxConcurrent.get()).isEqualTo(1);
+            assertThat(executed).hasSize(numTasks);
+
+            for (int i = 0; i < numTasks; ++ i) {
+
+                assertThat(executed.get(i)).isEqualTo(i);
+            }
+        }
+        finally {
+
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testExclusiveWaitsForPreviousTasks() throws InterruptedException {
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        try {
+            final SerialExecutor serialExecutor = new SerialExecutor(executorService);
+
+            final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+            final CountDownLatch taskStarted = new CountDownLatch(1);
+            final CompletableFuture<Void> asyncCompletion = new CompletableFuture<>();
+
+            serialExecutor.execute(() -> {
+
+                taskStarted.countDown();
+
+                executed.add("task");
+            });
+
+            // Completes asynchronously, without occupying any thread
+            serialExecutor.executeAsync(() -> asyncCompletion.thenRun(() -> executed.add("async")));
+
+            assertThat(taskStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            executorService.execute(() -> {
+
+                sleep(100L);
+
+                asyncCompletion.complete(null);
+            });
+
+            final boolean entered = serialExecutor.enterExclusive();
+
+            final CountDownLatch laterTaskExecuted = new CountDownLatch(1);
+
+            try {
+                assertThat(entered).isTrue();
+
+                executed.add("exclusive");
+
+                serialExecutor.execute(() -> {
+
+                    executed.add("later");
+
+                    laterTaskExecuted.countDown();
+                });
+
+                // Within exclusive section so entered directly
+                assertThat(serialExecutor.enterExclusive()).isFalse();
+
+                sleep(100L);
+
+                assertThat(executed).containsExactly("task", "async", "exclusive");
+            }
+            finally {
+
+                serialExecutor.exitExclusive(entered);
+            }
+
+            assertThat(laterTaskExecuted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(executed).containsExactly("task", "async", "exclusive", "later");
+        }
+        finally {
+
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testExclusiveWithinTask() throws InterruptedException {
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try {
+            final SerialExecutor serialExecutor = new SerialExecutor(executorService);
+
+            final CompletableFuture<Boolean> enteredWithinTask = new CompletableFuture<>();
+
+            serialExecutor.execute(() -> {
+
+                final boolean entered = serialExecutor.enterExclusive();
+
+                serialExecutor.exitExclusive(entered);
+
+                enteredWithinTask.complete(entered);
+            });
+
+            assertThat(enteredWithinTask.join()).isFalse();
+
+            final boolean entered = serialExecutor.enterExclusive();
+
+            serialExecutor.exitExclusive(entered);
+
+            assertThat(entered).isTrue();
+        }
+        finally {
+
+            executorService.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException ex) {
+
+            throw new IllegalStateException(ex);
+        }
+    }
+}
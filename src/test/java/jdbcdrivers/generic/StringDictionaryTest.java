@@ -0,0 +1,105 @@
+package jdbcdrivers.generic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class StringDictionaryTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testGetAndPut() {
+
+        final StringDictionary stringDictionary = new StringDictionary();
+
+        final byte[] bytes = "xxNorwayyy".getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(stringDictionary.get(bytes, 2, 6)).isNull();
+
+        final String norway = "Norway";
+
+        stringDictionary.put(bytes, 2, 6, norway);
+
+        assertThat(stringDictionary.get(bytes, 2, 6)).isSameAs(norway);
+        assertThat(stringDictionary.get("Norway".getBytes(StandardCharsets.US_ASCII), 0, 6)).isSameAs(norway);
+
+        assertThat(stringDictionary.get(bytes, 2, 5)).isNull();
+        assertThat(stringDictionary.get(bytes, 1, 6)).isNull();
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testBounded() {
+
+        final StringDictionary stringDictionary = new StringDictionary();
+
+        final byte[] longBytes = new byte[StringDictionary.MAX_STRING_BYTES + 1];
+
+        stringDictionary.put(longBytes, 0, longBytes.length, "long");
+
+        assertThat(stringDictionary.get(longBytes, 0, longBytes.length)).isNull();
+
+        for (int i = 0; i < StringDictionary.MAX_ENTRIES + 1; ++ i) {
+
+            final String string = String.valueOf(i);
+            final byte[] stringBytes = string.getBytes(StandardCharsets.US_ASCII);
+
+            stringDictionary.put(stringBytes, 0, stringBytes.length, string);
+        }
+
+        assertThat(stringDictionary.get(bytes(StringDictionary.MAX_ENTRIES - 1), 0, 3)).isEqualTo(String.valueOf(StringDictionary.MAX_ENTRIES - 1));
+        assertThat(stringDictionary.get(bytes(StringDictionary.MAX_ENTRIES), 0, 3)).isNull();
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testDisabledOnLowHitRate() {
+
+        final StringDictionary stringDictionary = new StringDictionary();
+
+        // Distinct values never found
+        for (int i = 0; i < StringDictionary.LOOKUPS_PER_CHECK; ++ i) {
+
+            assertThat(stringDictionary.isEnabled()).isTrue();
+
+            final byte[] stringBytes = bytes(i);
+
+            assertThat(stringDictionary.get(stringBytes, 0, stringBytes.length)).isNull();
+
+            stringDictionary.put(stringBytes, 0, stringBytes.length, String.valueOf(i));
+        }
+
+        assertThat(stringDictionary.isEnabled()).isFalse();
+
+        assertThat(stringDictionary.get(bytes(0), 0, 1)).isNull();
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testEnabledOnHighHitRate() {
+
+        final StringDictionary stringDictionary = new StringDictionary();
+
+        for (int i = 0; i < StringDictionary.LOOKUPS_PER_CHECK * 2; ++ i) {
+
+            final byte[] stringBytes = bytes(i % 10);
+
+            if (stringDictionary.get(stringBytes, 0, stringBytes.length) == null) {
+
+                stringDictionary.put(stringBytes, 0, stringBytes.length, String.valueOf(i % 10));
+            }
+        }
+
+        assertThat(stringDictionary.isEnabled()).isTrue();
+    }
+
+    private static byte[] bytes(int value) {
+
+        return String.valueOf(value).getBytes(StandardCharsets.US_ASCII);
+    }
+}
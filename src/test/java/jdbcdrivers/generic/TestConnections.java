@@ -0,0 +1,155 @@
+package jdbcdrivers.generic;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.Charset;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jdbcdrivers.databaseprotocol.api.IDatabaseDriver;
+import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol;
+import jdbcdrivers.generic.exceptions.GenericDriverException;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.ProtocolIOException;
+
+/**
+ * Opens pooled connections connected to a local server socket, each with its own {@link TestDatabaseProtocol}.
+ */
+final class TestConnections implements AutoCloseable {
+
+    static final String QUERY = "select value from test";
+    static final String FAILING_QUERY = "select value from failing";
+
+    static final int NUM_ROWS = 6;
+
+    private final boolean cachePreparedStatements;
+
+    private final ServerSocketChannel serverSocketChannel;
+    private final ExecutorService executorService;
+    private final GenericDriver<Object, JDBCType> driver;
+
+    private final List<ConnectionPool.PooledConnection<Object, JDBCType>> pooledConnections;
+    private final List<TestDatabaseProtocol> databaseProtocols;
+
+    TestConnections(boolean cachePreparedStatements) throws IOException {
+
+        this.cachePreparedStatements = cachePreparedStatements;
+
+        this.serverSocketChannel = ServerSocketChannel.open();
+
+        serverSocketChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        this.executorService = Executors.newCachedThreadPool();
+
+        this.driver = new GenericDriver<>(new IDatabaseDriver<Object, JDBCType>() {
+
+            @Override
+            public int getMaxStringBytes() {
+
+                return 1024;
+            }
+
+            @Override
+            public IDatabaseProtocol<Object, JDBCType> createDatabaseProtocol(Charset charset) {
+
+                throw new UnsupportedOperationException();
+            }
+        }, NonSynchronizedGenericDriverSynchronizerFactory.INSTANCE);
+
+        this.pooledConnections = new ArrayList<>();
+        this.databaseProtocols = new ArrayList<>();
+    }
+
+    ConnectionPool<Object, JDBCType> createConnectionPool() {
+
+        return createConnectionPool(0, Long.MAX_VALUE);
+    }
+
+    ConnectionPool<Object, JDBCType> createConnectionPool(int minSize, long idleTimeoutMillis) {
+
+        return new ConnectionPool<>(this::open, minSize, 2, idleTimeoutMillis, 10000L);
+    }
+
+    GenericDriverConnection<Object, JDBCType> borrowConnection(ConnectionPool<Object, JDBCType> connectionPool) throws GenericDriverException {
+
+        final GenericDriverConnection<Object, JDBCType> connection = new GenericDriverConnection<>(driver, connectionPool, connectionPool.borrow());
+
+        driver.addConnection(connection);
+
+        return connection;
+    }
+
+    int getNumOpened() {
+        return pooledConnections.size();
+    }
+
+    ConnectionPool.PooledConnection<Object, JDBCType> getPooledConnection(int index) {
+        return pooledConnections.get(index);
+    }
+
+    TestDatabaseProtocol getDatabaseProtocol(int index) {
+        return databaseProtocols.get(index);
+    }
+
+    private ConnectionPool.PooledConnection<Object, JDBCType> open() throws GenericProtocolException {
+
+        final ConnectionPool.PooledConnection<Object, JDBCType> pooledConnection;
+
+        try {
+            final DriverSocket socket = new DriverSocket(1024, 1024, 1024);
+
+            final InetSocketAddress address = (InetSocketAddress)serverSocketChannel.getLocalAddress();
+
+            socket.connect(address.getHostString(), address.getPort());
+
+            final TestDatabaseProtocol databaseProtocol = new TestDatabaseProtocol();
+
+            final TestResultRows rows = new TestResultRows(JDBCType.INTEGER);
+
+            for (int i = 0; i < NUM_ROWS; ++ i) {
+
+                rows.addRow(i + 1);
+            }
+
+            databaseProtocol.addPreparedQuery(QUERY, rows);
+            databaseProtocol.addFailingPreparedQuery(FAILING_QUERY);
+
+            final SerialExecutor serialExecutor = new SerialExecutor(executorService);
+
+            pooledConnection = new ConnectionPool.PooledConnection<>(socket, databaseProtocol.createConnectionProtocol(socket, serialExecutor, false),
+                    serialExecutor, cachePreparedStatements ? new PreparedStatementCache<>(16, 1024 * 1024) : null);
+
+            databaseProtocols.add(databaseProtocol);
+        }
+        catch (IOException ex) {
+
+            throw new ProtocolIOException(ex);
+        }
+
+        pooledConnections.add(pooledConnection);
+
+        return pooledConnection;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        try {
+            for (ConnectionPool.PooledConnection<Object, JDBCType> pooledConnection : pooledConnections) {
+
+                pooledConnection.getSocket().close();
+            }
+
+            serverSocketChannel.close();
+        }
+        finally {
+
+            executorService.shutdownNow();
+        }
+    }
+}
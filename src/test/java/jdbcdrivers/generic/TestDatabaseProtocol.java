@@ -0,0 +1,340 @@
+package jdbcdrivers.generic;
+
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+
+import jdbcdrivers.databaseprotocol.api.IDatabaseProtocol;
+import jdbcdrivers.databaseprotocol.api.IGenericPreparedStatementParameterGetters;
+import jdbcdrivers.databaseprotocol.api.IResultRowsDestination;
+import jdbcdrivers.databaseprotocol.api.IRetrievedRows;
+import jdbcdrivers.generic.api.ExecuteResult;
+import jdbcdrivers.generic.api.GenericStatementExecutionOptions;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.util.StringEncoder;
+
+/**
+ * Database protocol returning the rows of a {@link TestResultRows} per prepared query, without any communication over the connection streams.
+ * Retrieval of rows may be blocked for testing concurrent use of a connection.
+ *
+ * Statements are prepared with the SQL string as the prepared statement. Batches are split into frames by a fixed number of bytes per row.
+ */
+final class TestDatabaseProtocol implements IDatabaseProtocol<Object, JDBCType> {
+
+    // Number of bytes of each row sent by executeBatches, for splitting into frames
+    static final int BATCH_ROW_BYTES = 100;
+
+    static final int BATCH_FRAME_BYTES = 1024;
+
+    private final Map<Object, TestResultRows> resultRowsByPreparedQuery;
+    private final ResultRowDecoder<JDBCType> resultRowDecoder;
+
+    // Prepared queries failing on execution
+    private final Set<Object> failingPreparedQueries;
+
+    // Prepared statements closed, in order
+    private final List<Object> closedPreparedStatements;
+
+    // First parameter of each row of each frame of batches executed
+    private final List<List<Integer>> batchFrames;
+
+    // Retrieval of rows of the most recently executed query, null if none
+    private TestResultRows.Retrieval retrieval;
+
+    private int numRetrievals;
+
+    // Index of retrieval to block until unblocked, -1 if none
+    private int blockedRetrievalIndex;
+    private CountDownLatch retrievalBlocked;
+    private CountDownLatch unblockRetrieval;
+
+    TestDatabaseProtocol() {
+
+        this.resultRowsByPreparedQuery = new HashMap<>();
+        this.resultRowDecoder = new TestResultRowDecoder(true);
+
+        this.failingPreparedQueries = new HashSet<>();
+        this.closedPreparedStatements = new ArrayList<>();
+        this.batchFrames = new ArrayList<>();
+
+        this.blockedRetrievalIndex = -1;
+    }
+
+    void addPreparedQuery(Object preparedQuery, TestResultRows resultRows) {
+
+        Objects.requireNonNull(preparedQuery);
+        Objects.requireNonNull(resultRows);
+
+        resultRowsByPreparedQuery.put(preparedQuery, resultRows);
+    }
+
+    void addFailingPreparedQuery(Object preparedQuery) {
+
+        failingPreparedQueries.add(Objects.requireNonNull(preparedQuery));
+    }
+
+    List<Object> getClosedPreparedStatements() {
+        return closedPreparedStatements;
+    }
+
+    List<List<Integer>> getBatchFrames() {
+        return batchFrames;
+    }
+
+    /**
+     * Create a connection protocol for this database protocol.
+     *
+     * @param socket socket of connection, not communicated over
+     * @param serialExecutor {@link SerialExecutor} of connection
+     * @param resultSetReadAhead whether to retrieve result set rows ahead
+     *
+     * @return connection protocol after initial setup
+     *
+     * @throws GenericProtocolException if initial setup failed
+     */
+    IGenericConnectionProtocol<Object, JDBCType> createConnectionProtocol(DriverSocket socket, SerialExecutor serialExecutor, boolean resultSetReadAhead)
+            throws GenericProtocolException {
+
+        final GenericConnectionProtocol<Object, JDBCType> protocol = new GenericConnectionProtocol<>(socket, this,
+                new StringEncoder(StandardCharsets.US_ASCII, 1024), BATCH_FRAME_BYTES, Integer.MAX_VALUE, null, new ReceiveBufferPool(1024 * 1024, 0L), 0, 1024 * 1024,
+                resultSetReadAhead, false, NonSynchronizedGenericDriverSynchronizerFactory.INSTANCE, serialExecutor);
+
+        final IGenericConnectionProtocol<Object, JDBCType> connectionProtocol = protocol.getConnectionProtocolInterface();
+
+        connectionProtocol.performInitialSetup(null, null);
+
+        return connectionProtocol;
+    }
+
+    /**
+     * Block a retrieval of rows, counting all retrievals over the connection.
+     *
+     * @param retrievalIndex index of retrieval to block
+     * @param blocked counted down when the retrieval is blocked
+     * @param unblock awaited before retrieving
+     */
+    synchronized void blockRetrieval(int retrievalIndex, CountDownLatch blocked, CountDownLatch unblock) {
+
+        this.blockedRetrievalIndex = retrievalIndex;
+        this.retrievalBlocked = Objects.requireNonNull(blocked);
+        this.unblockRetrieval = Objects.requireNonNull(unblock);
+    }
+
+    synchronized int getNumRetrievals() {
+        return numRetrievals;
+    }
+
+    @Override
+    public void performInitialSetup(DataOutputStream dataOutput, DataInput dataInput, URI uri, Properties properties) {
+
+    }
+
+    @Override
+    public void setAutoCommit(DataOutputStream dataOutput, DataInput dataInput, boolean on) {
+
+    }
+
+    @Override
+    public void executeQuery(DataOutputStream dataOutput, DataInput dataInput, String sql, int fetchSize) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int executeUpdate(DataOutputStream dataOutput, DataInput dataInput, String sql) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ExecuteResult executeSQL(DataOutputStream dataOutput, DataInput dataInput, String sql) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PreparedStatementResult<Object> prepareStatement(DataOutputStream dataOutput, DataInput dataInput, String sql,
+            GenericStatementExecutionOptions statementParameters) {
+
+        return new PreparedStatementResult<>(sql, 0);
+    }
+
+    @Override
+    public void executePreparedQuery(Object preparedStatement, DataOutputStream dataOutput, DataInput dataInput,
+            IGenericPreparedStatementParameterGetters preparedStatementParameters, StringEncoder stringEncoder, int fetchSize) throws IOException {
+
+        if (failingPreparedQueries.contains(preparedStatement)) {
+
+            throw new IOException();
+        }
+
+        if (!resultRowsByPreparedQuery.containsKey(preparedStatement)) {
+
+            throw new IllegalArgumentException();
+        }
+    }
+
+    @Override
+    public int executePreparedUpdate(Object preparedStatement, DataOutputStream dataOutput, DataInput dataInput,
+            IGenericPreparedStatementParameterGetters preparedStatementParameters, StringEncoder stringEncoder) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sendPreparedUpdate(Object preparedStatement, DataOutputStream dataOutput, IGenericPreparedStatementParameterGetters preparedStatementParameters,
+            StringEncoder stringEncoder) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int receivePreparedUpdateResponse(Object preparedStatement, DataInput dataInput) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void closePreparedStatement(Object preparedStatement, DataOutputStream dataOutput, DataInput dataInput) {
+
+        closedPreparedStatements.add(preparedStatement);
+    }
+
+    @Override
+    public void executeBatches(Object preparedStatement, Iterator<? extends IGenericPreparedStatementParameterGetters> batches, int maxFrameBytes,
+            DataOutputStream dataOutput, DataInput dataInput, StringEncoder stringEncoder, IntConsumer updateCountsDst) {
+
+        final int maxRowsPerFrame = Math.max(1, maxFrameBytes / BATCH_ROW_BYTES);
+
+        while (batches.hasNext()) {
+
+            final List<Integer> frame = new ArrayList<>(maxRowsPerFrame);
+
+            // Parameters may be reused for the next row so read as returned
+            while (frame.size() < maxRowsPerFrame && batches.hasNext()) {
+
+                frame.add(batches.next().getInt(0));
+            }
+
+            batchFrames.add(frame);
+
+            // One row updated for each row sent
+            for (int i = 0; i < frame.size(); ++ i) {
+
+                updateCountsDst.accept(1);
+            }
+        }
+    }
+
+    @Override
+    public void sendBegin(DataOutputStream dataOutput, DataInput dataInput) {
+
+    }
+
+    @Override
+    public void sendBeginRequest(DataOutputStream dataOutput) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void receiveBeginResponse(DataInput dataInput) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sendCommit(DataOutputStream dataOutput, DataInput dataInput) {
+
+    }
+
+    @Override
+    public GenericResultSetMetaData<JDBCType> retrieveResultMetaData(DataInput dataInput) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public GenericResultSetMetaData<JDBCType> retrievePreparedResultMetaData(DataInput dataInput, Object preparedStatement) {
+
+        final TestResultRows resultRows = resultRowsByPreparedQuery.get(preparedStatement);
+
+        this.retrieval = resultRows.createRetrieval();
+
+        return resultRows.createMetaData(resultRows.getNumRows());
+    }
+
+    @Override
+    public void retrieveResultRows(DataInput dataInput, IResultRowsDestination dst, int maxRowsToRetrieve, int numBytesPerRow, IRetrievedRows retrievedRows)
+            throws IOException {
+
+        final CountDownLatch blocked;
+        final CountDownLatch unblock;
+
+        synchronized (this) {
+
+            if (numRetrievals ++ == blockedRetrievalIndex) {
+
+                blocked = retrievalBlocked;
+                unblock = unblockRetrieval;
+            }
+            else {
+                blocked = null;
+                unblock = null;
+            }
+        }
+
+        if (blocked != null) {
+
+            blocked.countDown();
+
+            try {
+                unblock.await();
+            }
+            catch (InterruptedException ex) {
+
+                throw new InterruptedIOException();
+            }
+        }
+
+        retrieval.retrieveRows(dst, maxRowsToRetrieve, retrievedRows);
+    }
+
+    @Override
+    @Deprecated
+    public void closeResultSet(DataOutputStream dataOutput, DataInput dataInput) {
+
+    }
+
+    @Override
+    public void sendClose(DataOutputStream dataOutput, DataInput dataInput) {
+
+    }
+
+    @Override
+    public Object getPreparedStatementIdentifier(Object preparedStatement) {
+
+        return preparedStatement;
+    }
+
+    @Override
+    public ResultRowDecoder<JDBCType> getResultRowDecoder() {
+
+        return resultRowDecoder;
+    }
+}
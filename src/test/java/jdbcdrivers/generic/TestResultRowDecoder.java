@@ -0,0 +1,228 @@
+package jdbcdrivers.generic;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+
+/**
+ * Decodes result rows of {@link TestResultRows}, with {@link JDBCType} as datatype. INTEGER and BIGINT are big-endian with the smallest value
+ * reserved for null, VARCHAR is prefixed by an unsigned length byte.
+ */
+final class TestResultRowDecoder implements ResultRowDecoder<JDBCType> {
+
+    // Whether INTEGER and BIGINT are decoded as constant length, otherwise offsets of all columns are found from the row bytes
+    private final boolean constantLengthNumbers;
+
+    TestResultRowDecoder(boolean constantLengthNumbers) {
+
+        this.constantLengthNumbers = constantLengthNumbers;
+    }
+
+    @Override
+    public boolean isConstantLength(JDBCType dataType) {
+
+        return constantLengthNumbers && dataType != JDBCType.VARCHAR;
+    }
+
+    @Override
+    public int findRowColumnOffset(byte[] buffer, ResultColumns<JDBCType> resultColumns, int startOfRowOffset, int columnIndex) {
+
+        int offset = startOfRowOffset;
+
+        for (int i = 0; i < columnIndex; ++ i) {
+
+            offset = getNextColumnOffset(buffer, resultColumns.getResultColumn(i), offset);
+        }
+
+        return offset;
+    }
+
+    @Override
+    public void findRowColumnOffsets(byte[] buffer, ResultColumns<JDBCType> resultColumns, int startOfRowOffset, int[] rowColumnOffsets) {
+
+        int offset = startOfRowOffset;
+
+        for (int i = 0; i < resultColumns.getNumColumns(); ++ i) {
+
+            rowColumnOffsets[i] = offset - startOfRowOffset;
+
+            offset = getNextColumnOffset(buffer, resultColumns.getResultColumn(i), offset);
+        }
+    }
+
+    private static int getNextColumnOffset(byte[] buffer, ResultColumn<JDBCType> resultColumn, int offset) {
+
+        return resultColumn.getDataType() == JDBCType.VARCHAR
+                ? offset + (buffer[offset] & 0xFF) + 1
+                : offset + resultColumn.getNumRowBytesForColumn();
+    }
+
+    @Override
+    public boolean decodeBoolean(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public byte decodeByte(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public short decodeShort(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int decodeInt(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        return ByteBuffer.wrap(buffer, rowColumnOffset, Integer.BYTES).getInt();
+    }
+
+    @Override
+    public long decodeLong(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        return ByteBuffer.wrap(buffer, rowColumnOffset, Long.BYTES).getLong();
+    }
+
+    @Override
+    public float decodeFloat(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public double decodeDouble(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BigDecimal decodeDecimal(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length, int scale, CachedValues cachedValues) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String decodeString(byte[] buffer, ByteBuffer byteBuffer, JDBCType dataType, int rowColumnOffset, int length, CachedValues cachedValues) {
+
+        return new String(buffer, rowColumnOffset + 1, buffer[rowColumnOffset] & 0xFF, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public int getStringBytesOffset(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        return rowColumnOffset + 1;
+    }
+
+    @Override
+    public int getStringBytesLength(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        return buffer[rowColumnOffset] & 0xFF;
+    }
+
+    @Override
+    public CharSequence decodeCharSequence(byte[] buffer, ByteBuffer byteBuffer, JDBCType dataType, int rowColumnOffset, int length, AsciiCharSequence dst,
+            CachedValues cachedValues) {
+
+        dst.init(buffer, rowColumnOffset + 1, buffer[rowColumnOffset] & 0xFF);
+
+        return dst;
+    }
+
+    @Override
+    public byte[] decodeBytes(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int decodeDate(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long decodeTime(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long decodeTimestamp(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object decodeObject(byte[] buffer, ByteBuffer byteBuffer, JDBCType dataType, int rowColumnOffset, int length, CachedValues cachedValues) {
+
+        final Object result;
+
+        switch (dataType) {
+
+        case INTEGER:
+
+            result = decodeInt(buffer, dataType, rowColumnOffset, length);
+            break;
+
+        case BIGINT:
+
+            result = decodeLong(buffer, dataType, rowColumnOffset, length);
+            break;
+
+        case VARCHAR:
+
+            result = decodeString(buffer, byteBuffer, dataType, rowColumnOffset, length, cachedValues);
+            break;
+
+        default:
+            throw new UnsupportedOperationException();
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean canDecodeNull(JDBCType dataType) {
+
+        return dataType == JDBCType.INTEGER || dataType == JDBCType.BIGINT;
+    }
+
+    @Override
+    public boolean isNull(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length) {
+
+        final boolean result;
+
+        switch (dataType) {
+
+        case INTEGER:
+
+            result = decodeInt(buffer, dataType, rowColumnOffset, length) == Integer.MIN_VALUE;
+            break;
+
+        case BIGINT:
+
+            result = decodeLong(buffer, dataType, rowColumnOffset, length) == Long.MIN_VALUE;
+            break;
+
+        default:
+            throw new UnsupportedOperationException();
+        }
+
+        return result;
+    }
+
+    @Override
+    public int decodeStringBytes(byte[] buffer, JDBCType dataType, int rowColumnOffset, int length, byte[] dst, int dstOffset) {
+
+        final int stringLength = buffer[rowColumnOffset] & 0xFF;
+
+        System.arraycopy(buffer, rowColumnOffset + 1, dst, dstOffset, stringLength);
+
+        return stringLength;
+    }
+}
@@ -0,0 +1,291 @@
+package jdbcdrivers.generic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import jdbcdrivers.databaseprotocol.api.IResultRowsDestination;
+import jdbcdrivers.databaseprotocol.api.IRetrievedRows;
+import jdbcdrivers.generic.GenericResultSetMetaData.ResultSetColumn;
+import jdbcdrivers.generic.exceptions.GenericProtocolException;
+import jdbcdrivers.generic.exceptions.ProtocolIOException;
+import jdbcdrivers.util.IntLargeArray;
+
+/**
+ * Rows of a test result set encoded for {@link TestResultRowDecoder}, for creating result sets over them either buffered or retrieved as if from a
+ * connection.
+ */
+final class TestResultRows {
+
+    static final int MAX_VARCHAR_LENGTH = 255;
+
+    private final JDBCType[] types;
+
+    private final ByteArrayOutputStream rowBytes;
+    private final List<Integer> rowLengths;
+
+    TestResultRows(JDBCType ... types) {
+
+        this.types = types.clone();
+
+        this.rowBytes = new ByteArrayOutputStream();
+        this.rowLengths = new ArrayList<>();
+    }
+
+    /**
+     * Add a row.
+     *
+     * @param values {@link Integer}, {@link Long} or {@link String} value per column, {@code null} for null numbers
+     *
+     * @return this
+     */
+    TestResultRows addRow(Object ... values) {
+
+        if (values.length != types.length) {
+
+            throw new IllegalArgumentException();
+        }
+
+        int rowLength = 0;
+
+        for (int i = 0; i < types.length; ++ i) {
+
+            final byte[] bytes;
+
+            switch (types[i]) {
+
+            case INTEGER:
+
+                bytes = ByteBuffer.allocate(Integer.BYTES).putInt(values[i] != null ? (Integer)values[i] : Integer.MIN_VALUE).array();
+                break;
+
+            case BIGINT:
+
+                bytes = ByteBuffer.allocate(Long.BYTES).putLong(values[i] != null ? (Long)values[i] : Long.MIN_VALUE).array();
+                break;
+
+            case VARCHAR:
+
+                final byte[] stringBytes = ((String)values[i]).getBytes(StandardCharsets.US_ASCII);
+
+                if (stringBytes.length > MAX_VARCHAR_LENGTH) {
+
+                    throw new IllegalArgumentException();
+                }
+
+                bytes = new byte[stringBytes.length + 1];
+
+                bytes[0] = (byte)stringBytes.length;
+
+                System.arraycopy(stringBytes, 0, bytes, 1, stringBytes.length);
+                break;
+
+            default:
+                throw new UnsupportedOperationException();
+            }
+
+            rowBytes.write(bytes, 0, bytes.length);
+
+            rowLength += bytes.length;
+        }
+
+        rowLengths.add(rowLength);
+
+        return this;
+    }
+
+    int getNumRows() {
+
+        return rowLengths.size();
+    }
+
+    int getNumBytes() {
+
+        return rowBytes.size();
+    }
+
+    GenericResultSetMetaData<JDBCType> createMetaData(long totalNumRows) {
+
+        final List<ResultSetColumn<JDBCType>> columns = new ArrayList<>(types.length);
+
+        int byteArrayRowOffset = 0;
+
+        for (int i = 0; i < types.length; ++ i) {
+
+            final JDBCType type = types[i];
+
+            final int numRowBytesForColumn;
+
+            switch (type) {
+
+            case INTEGER:
+
+                numRowBytesForColumn = Integer.BYTES;
+                break;
+
+            case BIGINT:
+
+                numRowBytesForColumn = Long.BYTES;
+                break;
+
+            case VARCHAR:
+
+                numRowBytesForColumn = MAX_VARCHAR_LENGTH + 1;
+                break;
+
+            default:
+                throw new UnsupportedOperationException();
+            }
+
+            final String name = "column" + i;
+
+            columns.add(new ResultSetColumn<>(type, numRowBytesForColumn, numRowBytesForColumn, name, name, type, true, i, byteArrayRowOffset));
+
+            byteArrayRowOffset += numRowBytesForColumn;
+        }
+
+        return new GenericResultSetMetaData<>(totalNumRows, byteArrayRowOffset, byteArrayRowOffset, columns);
+    }
+
+    /**
+     * Create a result set over all rows buffered in a {@link ResultSetBuffer}.
+     *
+     * @param preparedStatement prepared statement of result set
+     * @param resultSetClosing for closing of result set
+     * @param resultRowDecoder decoder for rows
+     * @param chunkSize chunk size of {@link ResultSetBuffer}
+     *
+     * @return buffered result set, before first row
+     */
+    BufferedResultSet<Object, JDBCType> createBufferedResultSet(Object preparedStatement, ResultSetClosing resultSetClosing,
+            ResultRowDecoder<JDBCType> resultRowDecoder, int chunkSize) throws IOException {
+
+        final ResultSetBuffer resultSetBuffer = new ResultSetBuffer(chunkSize);
+
+        final byte[] bytes = rowBytes.toByteArray();
+
+        resultSetBuffer.addData(bytes, 0, bytes.length);
+
+        final GenericResultSetMetaData<JDBCType> metaData = createMetaData(GenericResultSetMetaData.NO_TOTAL_NUM_ROWS);
+
+        final IntLargeArray rowLengthsIntLargeArray;
+
+        if (isConstantRowLength(metaData, resultRowDecoder)) {
+
+            rowLengthsIntLargeArray = null;
+        }
+        else {
+            rowLengthsIntLargeArray = new IntLargeArray();
+
+            rowLengthsIntLargeArray.add(rowLengths.stream().mapToInt(Integer::intValue).toArray(), 0, rowLengths.size());
+        }
+
+        return new BufferedResultSet<>(preparedStatement, resultSetClosing, metaData, resultRowDecoder, false, resultSetBuffer, rowLengthsIntLargeArray,
+                rowLengths.size(), false);
+    }
+
+    /**
+     * Create a result set retrieving rows as if from a connection.
+     *
+     * @param preparedStatement prepared statement of result set
+     * @param retrieval for retrieving rows, e.g. from {@link #createRetrieval()}
+     * @param resultRowDecoder decoder for rows
+     * @param totalNumRows total number of rows known ahead of time, or {@link GenericResultSetMetaData#NO_TOTAL_NUM_ROWS}
+     * @param fetchSize number of rows to retrieve at a time, {@code 0} for adapting to consumer
+     *
+     * @return result set, before first row
+     */
+    ConnectionDirectResultSet<Object, JDBCType> createConnectionDirectResultSet(Object preparedStatement, ResultRetrieval retrieval,
+            ResultRowDecoder<JDBCType> resultRowDecoder, long totalNumRows, int fetchSize) {
+
+        return new ConnectionDirectResultSet<>(preparedStatement, retrieval, createMetaData(totalNumRows), resultRowDecoder, 1024, Long.MAX_VALUE, null,
+                new ReceiveBufferPool(1024 * 1024, 0L), fetchSize, 1024 * 1024, null, null, false);
+    }
+
+    private static boolean isConstantRowLength(GenericResultSetMetaData<JDBCType> metaData, ResultRowDecoder<JDBCType> resultRowDecoder) {
+
+        boolean result = true;
+
+        for (int i = 0; i < metaData.getNumColumns(); ++ i) {
+
+            if (!resultRowDecoder.isConstantLength(metaData.getColumn(i).getDataType())) {
+
+                result = false;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Retrieves rows as if from a connection, as many as requested and fit in the destination.
+     */
+    final class Retrieval implements ResultRetrieval {
+
+        private int rowIndex;
+        private int rowsByteOffset;
+
+        private int numRetrievals;
+
+        @Override
+        public void closeResultSet(BaseSwappableResultSet resultSet) throws GenericProtocolException {
+
+        }
+
+        @Override
+        public void retrieveResultRows(IResultRowsDestination dst, int maxRows, int numBytesPerRow, RetrievedRows retrievedRows)
+                throws GenericProtocolException {
+
+            try {
+                retrieveRows(dst, maxRows, retrievedRows);
+            }
+            catch (IOException ex) {
+
+                throw new ProtocolIOException(ex);
+            }
+        }
+
+        void retrieveRows(IResultRowsDestination dst, int maxRows, IRetrievedRows retrievedRows) throws IOException {
+
+            Objects.requireNonNull(dst);
+            Objects.requireNonNull(retrievedRows);
+
+            ++ this.numRetrievals;
+
+            final byte[] bytes = rowBytes.toByteArray();
+
+            for (int i = 0; i < maxRows && rowIndex < rowLengths.size() && dst.getRemainingCapacity() >= rowLengths.get(rowIndex); ++ i) {
+
+                final int rowLength = rowLengths.get(rowIndex);
+
+                retrievedRows.addRow(rowLength);
+
+                dst.receiveRowBytes(new DataInputStream(new ByteArrayInputStream(bytes, rowsByteOffset, rowLength)), rowLength);
+
+                ++ this.rowIndex;
+
+                this.rowsByteOffset += rowLength;
+            }
+        }
+
+        int getNumRetrievedRows() {
+            return rowIndex;
+        }
+
+        int getNumRetrievals() {
+            return numRetrievals;
+        }
+    }
+
+    Retrieval createRetrieval() {
+
+        return new Retrieval();
+    }
+}
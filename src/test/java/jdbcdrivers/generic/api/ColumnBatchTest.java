@@ -0,0 +1,73 @@
+package jdbcdrivers.generic.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+import jdbcdrivers.generic.api.ColumnBatch.VectorType;
+
+public final class ColumnBatchTest extends BaseTest {
+
+    @Test
+    @Category(UnitTests.class)
+    public void testParameterValidation() {
+
+        assertThatThrownBy(() -> new ColumnBatch(0)).isInstanceOf(IllegalArgumentException.class);
+
+        final ColumnBatch columnBatch = new ColumnBatch(100);
+
+        assertThatThrownBy(() -> columnBatch.selectIntColumn(-1, new int[100], null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> columnBatch.selectIntColumn(0, new int[99], null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> columnBatch.selectLongColumn(0, new long[100], new long[1])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> columnBatch.selectStringColumn(0, new int[100], new byte[1000], null)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(columnBatch.getNumSelectedColumns()).isEqualTo(0);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testSelectColumns() {
+
+        final ColumnBatch columnBatch = new ColumnBatch(100);
+
+        final int[] intValues = new int[100];
+        final long[] nulls = new long[2];
+        final int[] offsets = new int[101];
+        final byte[] bytes = new byte[1000];
+
+        columnBatch.selectIntColumn(3, intValues, nulls);
+        columnBatch.selectStringColumn(1, offsets, bytes, null);
+
+        assertThat(columnBatch.getNumSelectedColumns()).isEqualTo(2);
+
+        assertThat(columnBatch.getColumnIndex(0)).isEqualTo(3);
+        assertThat(columnBatch.getVectorType(0)).isEqualTo(VectorType.INT);
+        assertThat(columnBatch.getIntValues(0)).isSameAs(intValues);
+        assertThat(columnBatch.getNulls(0)).isSameAs(nulls);
+
+        assertThat(columnBatch.getColumnIndex(1)).isEqualTo(1);
+        assertThat(columnBatch.getVectorType(1)).isEqualTo(VectorType.STRING);
+        assertThat(columnBatch.getStringOffsets(1)).isSameAs(offsets);
+        assertThat(columnBatch.getStringBytes(1)).isSameAs(bytes);
+        assertThat(columnBatch.getNulls(1)).isNull();
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testNulls() {
+
+        assertThat(ColumnBatch.getNullsLength(1)).isEqualTo(1);
+        assertThat(ColumnBatch.getNullsLength(64)).isEqualTo(1);
+        assertThat(ColumnBatch.getNullsLength(65)).isEqualTo(2);
+
+        final long[] nulls = new long[] { 1L << 63, 1L };
+
+        assertThat(ColumnBatch.isNull(nulls, 0)).isFalse();
+        assertThat(ColumnBatch.isNull(nulls, 63)).isTrue();
+        assertThat(ColumnBatch.isNull(nulls, 64)).isTrue();
+        assertThat(ColumnBatch.isNull(nulls, 65)).isFalse();
+    }
+}
@@ -0,0 +1,107 @@
+package jdbcdrivers.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class EncodedEnumLookupTest extends BaseTest {
+
+    private enum DenseCodes implements EncodedEnum<DenseCodes> {
+
+        FIRST(0x0001),
+        SECOND(0x0002),
+        LAST(0x007E);
+
+        private final int code;
+
+        private DenseCodes(int code) {
+            this.code = code;
+        }
+
+        @Override
+        public int getCode() {
+            return code;
+        }
+    }
+
+    private enum SparseCodes implements EncodedEnum<SparseCodes> {
+
+        NEGATIVE(-1),
+        SMALL(0x0002),
+        LARGE(EncodedEnumLookup.MAX_DENSE_LENGTH),
+        LARGEST(Integer.MAX_VALUE);
+
+        private final int code;
+
+        private SparseCodes(int code) {
+            this.code = code;
+        }
+
+        @Override
+        public int getCode() {
+            return code;
+        }
+    }
+
+    private enum DuplicateCodes implements EncodedEnum<DuplicateCodes> {
+
+        FIRST(0x0001),
+        SECOND(0x0001);
+
+        private final int code;
+
+        private DuplicateCodes(int code) {
+            this.code = code;
+        }
+
+        @Override
+        public int getCode() {
+            return code;
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testDenseCodes() {
+
+        final EncodedEnumLookup<DenseCodes> lookup = EncodedEnum.createLookup(DenseCodes.class);
+
+        for (DenseCodes value : DenseCodes.values()) {
+
+            assertThat(lookup.fromCodeOrNull(value.getCode())).isSameAs(value);
+        }
+
+        assertThat(lookup.fromCodeOrNull(0)).isNull();
+        assertThat(lookup.fromCodeOrNull(3)).isNull();
+        assertThat(lookup.fromCodeOrNull(-1)).isNull();
+        assertThat(lookup.fromCodeOrNull(0x007F)).isNull();
+        assertThat(lookup.fromCodeOrNull(Integer.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testSparseCodes() {
+
+        final EncodedEnumLookup<SparseCodes> lookup = EncodedEnum.createLookup(SparseCodes.class);
+
+        for (SparseCodes value : SparseCodes.values()) {
+
+            assertThat(lookup.fromCodeOrNull(value.getCode())).isSameAs(value);
+        }
+
+        assertThat(lookup.fromCodeOrNull(0)).isNull();
+        assertThat(lookup.fromCodeOrNull(-2)).isNull();
+        assertThat(lookup.fromCodeOrNull(EncodedEnumLookup.MAX_DENSE_LENGTH + 1)).isNull();
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testDuplicateCodes() {
+
+        assertThatThrownBy(() -> EncodedEnum.createLookup(DuplicateCodes.class)).isInstanceOf(IllegalStateException.class);
+    }
+}
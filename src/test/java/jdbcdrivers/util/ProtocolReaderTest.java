@@ -0,0 +1,215 @@
+package jdbcdrivers.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdbcdrivers.BaseTest;
+
+public final class ProtocolReaderTest extends BaseTest {
+
+    /**
+     * Channel that returns at most a fixed number of bytes for each read, for testing reads that span multiple channel reads.
+     */
+    private static final class TestChannel implements ReadableByteChannel {
+
+        private final byte[] bytes;
+        private final int maxBytesPerRead;
+
+        private int offset;
+        private int numReads;
+
+        TestChannel(byte[] bytes, int maxBytesPerRead) {
+
+            this.bytes = bytes;
+            this.maxBytesPerRead = maxBytesPerRead;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+
+            if (offset == bytes.length) {
+
+                return -1;
+            }
+
+            final int numBytes = Math.min(Math.min(maxBytesPerRead, dst.remaining()), bytes.length - offset);
+
+            dst.put(bytes, offset, numBytes);
+
+            offset += numBytes;
+
+            ++ numReads;
+
+            return numBytes;
+        }
+
+        @Override
+        public boolean isOpen() {
+
+            return true;
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testConstructorParameterValidation() {
+
+        assertThatThrownBy(() -> new ProtocolReader(null, 1024, false)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new ProtocolReader(new TestChannel(new byte[0], 1), Long.BYTES - 1, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testReadFields() throws IOException {
+
+        final byte[] bytes = createTestBytes();
+
+        for (int maxBytesPerRead = 1; maxBytesPerRead <= bytes.length; ++ maxBytesPerRead) {
+
+            checkReadFields(new ProtocolReader(new TestChannel(bytes, maxBytesPerRead), Long.BYTES, false));
+            checkReadFields(new ProtocolReader(new TestChannel(bytes, maxBytesPerRead), 1024, true));
+        }
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testBulkRead() throws IOException {
+
+        final byte[] bytes = createTestBytes();
+
+        final TestChannel testChannel = new TestChannel(bytes, Integer.MAX_VALUE);
+
+        final ProtocolReader protocolReader = new ProtocolReader(testChannel, 1024, true);
+
+        assertThat(protocolReader.readUnsignedShort()).isEqualTo(0x1234);
+        assertThat(testChannel.numReads).isEqualTo(1);
+        assertThat(protocolReader.getNumBufferedBytes()).isEqualTo(bytes.length - Short.BYTES);
+
+        checkRemainingFields(protocolReader);
+
+        assertThat(testChannel.numReads).isEqualTo(1);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testReadFullyLargerThanBuffer() throws IOException {
+
+        final byte[] bytes = new byte[100];
+
+        for (int i = 0; i < bytes.length; ++ i) {
+
+            bytes[i] = (byte)i;
+        }
+
+        final ProtocolReader protocolReader = new ProtocolReader(new TestChannel(bytes, 7), Long.BYTES, false);
+
+        assertThat(protocolReader.readByte()).isEqualTo((byte)0);
+
+        final byte[] dst = new byte[bytes.length];
+
+        protocolReader.readFully(dst, 1, bytes.length - 2);
+
+        for (int i = 1; i < bytes.length - 1; ++ i) {
+
+            assertThat(dst[i]).isEqualTo(bytes[i]);
+        }
+
+        assertThat(protocolReader.readUnsignedByte()).isEqualTo(bytes.length - 1);
+        assertThatThrownBy(() -> protocolReader.readByte()).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testEOF() throws IOException {
+
+        final ProtocolReader protocolReader = new ProtocolReader(new TestChannel(new byte[] { 1, 2, 3 }, 1), Long.BYTES, false);
+
+        assertThat(protocolReader.readUnsignedShort()).isEqualTo(0x0102);
+        assertThatThrownBy(() -> protocolReader.readInt()).isInstanceOf(EOFException.class);
+        assertThatThrownBy(() -> protocolReader.skipBytes(2)).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testFillAvailable() throws IOException {
+
+        final TestChannel testChannel = new TestChannel(new byte[] { 1, 2, 3 }, 2);
+
+        final ProtocolReader protocolReader = new ProtocolReader(testChannel, Long.BYTES, false);
+
+        assertThat(protocolReader.fillAvailable()).isEqualTo(2);
+        assertThat(protocolReader.readUnsignedByte()).isEqualTo(1);
+        assertThat(protocolReader.fillAvailable()).isEqualTo(2);
+        assertThat(testChannel.numReads).isEqualTo(2);
+        assertThat(protocolReader.readUnsignedShort()).isEqualTo(0x0203);
+        assertThatThrownBy(() -> protocolReader.fillAvailable()).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    @Category(UnitTests.class)
+    public void testReadLine() throws IOException {
+
+        final byte[] bytes = "first\nsecond\r\nthird\rfourth".getBytes(StandardCharsets.US_ASCII);
+
+        final ProtocolReader protocolReader = new ProtocolReader(new TestChannel(bytes, 3), Long.BYTES, false);
+
+        assertThat(protocolReader.readLine()).isEqualTo("first");
+        assertThat(protocolReader.readLine()).isEqualTo("second");
+        assertThat(protocolReader.readLine()).isEqualTo("third");
+        assertThat(protocolReader.readLine()).isEqualTo("fourth");
+        assertThat(protocolReader.readLine()).isNull();
+    }
+
+    private static byte[] createTestBytes() throws IOException {
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        try (DataOutputStream dataOutputStream = new DataOutputStream(baos)) {
+
+            dataOutputStream.writeShort(0x1234);
+            dataOutputStream.writeInt(0xFEDCBA98);
+            dataOutputStream.writeLong(0x0123456789ABCDEFL);
+            dataOutputStream.writeByte(0xFF);
+            dataOutputStream.write(new byte[5]);
+            dataOutputStream.writeUTF("test");
+            dataOutputStream.writeShort(0xFFFE);
+        }
+
+        return baos.toByteArray();
+    }
+
+    private static void checkReadFields(ProtocolReader protocolReader) throws IOException {
+
+        assertThat(protocolReader.readUnsignedShort()).isEqualTo(0x1234);
+
+        checkRemainingFields(protocolReader);
+    }
+
+    private static void checkRemainingFields(ProtocolReader protocolReader) throws IOException {
+
+        assertThat(protocolReader.readInt()).isEqualTo(0xFEDCBA98);
+        assertThat(protocolReader.readLong()).isEqualTo(0x0123456789ABCDEFL);
+        assertThat(protocolReader.readUnsignedByte()).isEqualTo(0xFF);
+        assertThat(protocolReader.skipBytes(5)).isEqualTo(5);
+        assertThat(protocolReader.readUTF()).isEqualTo("test");
+        assertThat(protocolReader.readShort()).isEqualTo((short)0xFFFE);
+        assertThat(protocolReader.getNumBufferedBytes()).isEqualTo(0);
+    }
+}